@@ -0,0 +1,108 @@
+package benchmark;
+
+import app.ApiServer;
+import dao.UserDAO;
+import model.UserRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load test for {@link ApiServer} on localhost: several client threads send requests to one embedded server.
+ * <p>
+ * Each benchmark is measured as throughput (requests per millisecond across all threads) and as sampled latency,
+ * whose report includes the p99. {@code availability} checks a random venue for a random event;
+ * {@code bookAndCancel} books a random event at one of a few venues, so attempts compete for the write lock
+ * and many clash, and cancels each booking made with a second request.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(16)
+@Fork(1)
+public class ApiServerBenchmark {
+
+    private static final int HOT_VENUES = 10;
+    private static final Pattern BOOKING_ID = Pattern.compile("\"bookingId\":(\\d+)");
+
+    private ApiServer server;
+    private HttpClient client;
+    private String baseUrl;
+    private int events;
+    private int venues;
+
+    /**
+     * Starts the server on a free port against the benchmark database, with a user to record on bookings.
+     *
+     * @param database the benchmark database
+     * @throws IOException if the server cannot be started
+     */
+    @Setup(Level.Trial)
+    public void startServer(BenchmarkDatabase database) throws IOException {
+        UserDAO.addUser("Load", "Test", "loadtest", "loadtest", UserRole.STAFF);
+        server = ApiServer.start(new InetSocketAddress("127.0.0.1", 0));
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://127.0.0.1:" + server.getPort() + "/api";
+        events = database.events;
+        venues = database.venues;
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        client.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public int availability() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/availability?venueId="
+                + (1 + random.nextInt(venues)) + "&eventId=" + (1 + random.nextInt(events)))).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode();
+    }
+
+    @Benchmark
+    public int bookAndCancel() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String body = "{\"eventId\":" + (1 + random.nextInt(events)) + ",\"venueId\":"
+                + (1 + random.nextInt(Math.min(HOT_VENUES, venues))) + ",\"bookedBy\":\"loadtest\"}";
+        HttpRequest book = HttpRequest.newBuilder(URI.create(baseUrl + "/bookings"))
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        HttpResponse<String> response = client.send(book, HttpResponse.BodyHandlers.ofString());
+
+        Matcher bookingId = BOOKING_ID.matcher(response.body());
+        if (response.statusCode() != 201 || !bookingId.find()) {
+            return response.statusCode();
+        }
+        HttpRequest cancel = HttpRequest.newBuilder(URI.create(baseUrl + "/bookings/" + bookingId.group(1)))
+                .DELETE().build();
+        return client.send(cancel, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
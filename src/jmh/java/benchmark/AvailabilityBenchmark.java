@@ -0,0 +1,63 @@
+package benchmark;
+
+import dao.BookingDAO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link BookingDAO#checkAvailability(int, LocalDate, LocalTime, int)} for random venues and time slots.
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+    private static final int SLOTS = 1024;
+
+    private final int[] venueIds = new int[SLOTS];
+    private final LocalDate[] dates = new LocalDate[SLOTS];
+    private final LocalTime[] times = new LocalTime[SLOTS];
+    private int next;
+
+    /**
+     * Picks the venues and time slots to query.
+     *
+     * @param database the benchmark database
+     */
+    @Setup(Level.Trial)
+    public void pickSlots(BenchmarkDatabase database) {
+        Random random = new Random(database.seed);
+        for (int i = 0; i < SLOTS; i++) {
+            venueIds[i] = 1 + random.nextInt(database.venues);
+            dates[i] = BenchmarkDatabase.FIRST_DATE.plusDays(random.nextInt(365));
+            times[i] = LocalTime.of(17 + random.nextInt(5), 0);
+        }
+    }
+
+    @Benchmark
+    public boolean checkAvailability() throws SQLException {
+        int i = next++ & (SLOTS - 1);
+        return BookingDAO.checkAvailability(venueIds[i], dates[i], times[i], 3);
+    }
+}
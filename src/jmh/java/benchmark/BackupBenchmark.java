@@ -0,0 +1,83 @@
+package benchmark;
+
+import dao.BookingDAO;
+import dao.EventDAO;
+import dao.VenueDAO;
+import model.Booking;
+import model.Event;
+import model.Venue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import service.BackupHandler;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks writing and reading the transaction backup with {@link BackupHandler}.
+ * <p>
+ * Backup files are written to the benchmark database's temporary directory through the {@code lmvm.backup.dir}
+ * system property, so the backups in the working directory are never overwritten.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BackupBenchmark {
+
+    private List<Booking> bookings;
+    private List<Event> events;
+    private List<Venue> venues;
+
+    /**
+     * Loads the data to back up and writes an initial backup for the restore benchmark.
+     *
+     * @param database the benchmark database
+     */
+    @Setup(Level.Trial)
+    public void loadData(BenchmarkDatabase database) {
+        System.setProperty(BackupHandler.BACKUP_DIR_PROPERTY, database.directory.toString());
+        bookings = BookingDAO.getAllBookingsBU();
+        events = EventDAO.getAllEventsBU();
+        venues = VenueDAO.getAllVenuesBU();
+        BackupHandler.backupTransactionData(bookings, events, venues);
+    }
+
+    /**
+     * Restores the default backup directory.
+     */
+    @TearDown(Level.Trial)
+    public void clearBackupDirectory() {
+        System.clearProperty(BackupHandler.BACKUP_DIR_PROPERTY);
+    }
+
+    @Benchmark
+    public void backupTransactionData() {
+        BackupHandler.backupTransactionData(bookings, events, venues);
+    }
+
+    @Benchmark
+    public void restoreTransactionData(Blackhole blackhole) throws IOException, ClassNotFoundException {
+        blackhole.consume(BackupHandler.restoreBookings());
+        blackhole.consume(BackupHandler.restoreEvents());
+        blackhole.consume(BackupHandler.restoreVenues());
+    }
+}
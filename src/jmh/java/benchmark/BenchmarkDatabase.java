@@ -0,0 +1,114 @@
+package benchmark;
+
+import dao.DatabaseHandler;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import util.DatasetGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * JMH state that creates a throwaway SQLite database populated at a configurable scale.
+ * <p>
+ * The database is created in a temporary directory and selected through the {@code lmvm.db.url} system property,
+ * so the application database in {@code db/} is never touched. It is filled by {@link DatasetGenerator}, with the
+ * number of events set by the {@code rows} parameter, e.g. {@code -p rows=1000000}. Data is generated from a
+ * fixed seed so runs are comparable.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    @Param({"5000"})
+    public int rows;
+
+    @Param({"42"})
+    public long seed;
+
+    /** First event date; unbooked events are spread over the following year. */
+    static final LocalDate FIRST_DATE = DatasetGenerator.DEFAULT_START_DATE;
+
+    Path directory;
+    int venues;
+    int events;
+
+    /**
+     * Creates and populates the benchmark database.
+     *
+     * @throws IOException  if the temporary directory cannot be created
+     * @throws SQLException if the data cannot be inserted
+     */
+    @Setup(Level.Trial)
+    public void create() throws IOException, SQLException {
+        directory = Files.createTempDirectory("lmvm-bench");
+        System.setProperty(DatabaseHandler.DB_URL_PROPERTY, "jdbc:sqlite:" + directory.resolve("bench.db"));
+        DatabaseHandler.initialiseDatabase();
+
+        DatasetGenerator generator = DatasetGenerator.ofScale(rows, seed);
+        generator.writeDatabase();
+        venues = generator.getVenueCount();
+        events = generator.getEventCount();
+    }
+
+    /**
+     * Adds an unbooked event for the first client, for checks that need an event at a known time.
+     *
+     * @param date     the date of the event
+     * @param start    the start time of the event
+     * @param duration the duration of the event in hours
+     * @return the ID of the new event
+     * @throws SQLException if the event cannot be inserted
+     */
+    static int insertEvent(LocalDate date, LocalTime start, int duration) throws SQLException {
+        String sql = """
+                INSERT INTO events (event_name, event_artist, event_date, event_time, event_end_time, event_duration,
+                                    required_capacity, event_type, event_category, client_id)
+                VALUES ('Check', 'Check', ?, ?, ?, ?, 1, 'Check', 'INDOOR', (SELECT MIN(client_id) FROM clients))
+                """;
+        try (Connection connection = DatabaseHandler.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, String.valueOf(date.toEpochDay()));
+            stmt.setString(2, start.toString());
+            stmt.setString(3, start.plusHours(duration) + ":00");
+            stmt.setInt(4, duration);
+            stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                keys.next();
+                return keys.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * Deletes the benchmark database.
+     *
+     * @throws IOException if the files cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        System.clearProperty(DatabaseHandler.DB_URL_PROPERTY);
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package benchmark;
+
+import model.BookedSlot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.BookingAuditService;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks auditing confirmed bookings for double-booked venues with {@link BookingAuditService}.
+ * <p>
+ * {@code sweep} runs the sweep line alone over {@code bookings} generated bookings, spread over 2,000 venues and
+ * a year, without the database. {@code auditAll} reads and sweeps every confirmed booking of the benchmark
+ * database.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingAuditBenchmark {
+
+    private static final int VENUES = 2_000;
+    private static final int DAYS = 365;
+
+    @Param({"1000000"})
+    public int bookings;
+
+    private List<BookedSlot> slots;
+
+    /**
+     * Generates the bookings to sweep.
+     *
+     * @param database the benchmark database
+     */
+    @Setup(Level.Trial)
+    public void generateBookings(BenchmarkDatabase database) {
+        Random random = new Random(database.seed);
+        LocalDate first = LocalDate.of(2025, 1, 1);
+        slots = new ArrayList<>(bookings);
+        for (int i = 0; i < bookings; i++) {
+            slots.add(new BookedSlot(i + 1, 1 + random.nextInt(VENUES), i + 1, first.plusDays(random.nextInt(DAYS)),
+                    LocalTime.of(9 + random.nextInt(12), random.nextBoolean() ? 0 : 30), 1 + random.nextInt(4)));
+        }
+    }
+
+    @Benchmark
+    public int sweep() {
+        return BookingAuditService.findConflicts(slots).size();
+    }
+
+    @Benchmark
+    public int auditAll() {
+        return BookingAuditService.getInstance().auditAll().conflicts().size();
+    }
+}
@@ -0,0 +1,112 @@
+package benchmark;
+
+import dao.BookingDAO;
+import model.BookingOutcome;
+import model.BookingRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link BookingDAO#bookVenues} for batches of random events and venues, as an auto-match would book
+ * them.
+ * <p>
+ * Before the trial, the same requests are booked one at a time with {@link BookingDAO#bookVenue} at one venue
+ * and as one batch at another, around bookings that run into the evening and past midnight. The benchmark fails
+ * unless both methods accept and refuse the same requests.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class BulkBookingBenchmark {
+
+    @Param({"100"})
+    public int batchSize;
+
+    private int events;
+    private int venues;
+
+    /**
+     * Fails the benchmark if booking one request at a time and booking a batch give different outcomes.
+     *
+     * @param database the benchmark database
+     * @throws SQLException if the bookings cannot be made
+     */
+    @Setup(Level.Trial)
+    public void verifyBatchMatchesSingleBookings(BenchmarkDatabase database) throws SQLException {
+        events = database.events;
+        venues = database.venues;
+
+        LocalDate date = BenchmarkDatabase.FIRST_DATE.plusYears(20);
+        int singleVenue = database.venues;
+        int batchVenue = database.venues - 1;
+        for (int venueId : new int[] {singleVenue, batchVenue}) {
+            int evening = BenchmarkDatabase.insertEvent(date, LocalTime.of(19, 0), 4);
+            int overnight = BenchmarkDatabase.insertEvent(date.plusDays(1), LocalTime.of(23, 0), 3);
+            if (!BookingDAO.bookVenue(date, "CONFIRMED", evening, venueId, 1, "check")
+                    || !BookingDAO.bookVenue(date, "CONFIRMED", overnight, venueId, 1, "check")) {
+                throw new IllegalStateException("Could not book the events to check the batch against");
+            }
+        }
+
+        // Starts every 75 minutes from the afternoon before the evening booking to the morning after the
+        // overnight one, so the requests overlap the bookings and each other in every way.
+        List<Boolean> single = new ArrayList<>();
+        List<BookingRequest> batch = new ArrayList<>();
+        LocalDateTime last = date.plusDays(2).atTime(4, 0);
+        int i = 0;
+        for (LocalDateTime start = date.atTime(16, 0); start.isBefore(last); start = start.plusMinutes(75), i++) {
+            int duration = 1 + i % 3;
+            int singleEvent = BenchmarkDatabase.insertEvent(start.toLocalDate(), start.toLocalTime(), duration);
+            int batchEvent = BenchmarkDatabase.insertEvent(start.toLocalDate(), start.toLocalTime(), duration);
+            single.add(BookingDAO.bookVenue(date, "CONFIRMED", singleEvent, singleVenue, 1, "check"));
+            batch.add(new BookingRequest(batchEvent, batchVenue, 1));
+        }
+        List<BookingOutcome> outcomes = BookingDAO.bookVenues(date, "check", batch);
+
+        for (int r = 0; r < single.size(); r++) {
+            if (single.get(r) != (outcomes.get(r) == BookingOutcome.BOOKED)) {
+                throw new IllegalStateException("Request " + r + " was " + (single.get(r) ? "booked" : "refused")
+                        + " on its own but " + outcomes.get(r) + " in a batch");
+            }
+        }
+        if (!single.contains(true) || !single.contains(false)) {
+            throw new IllegalStateException("The check requests were all booked or all refused");
+        }
+    }
+
+    @Benchmark
+    public List<BookingOutcome> bookVenues() throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<BookingRequest> requests = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            requests.add(new BookingRequest(1 + random.nextInt(events), 1 + random.nextInt(venues), 1));
+        }
+        return BookingDAO.bookVenues(LocalDate.now(), "bulk", requests);
+    }
+}
@@ -0,0 +1,89 @@
+package benchmark;
+
+import model.Event;
+import model.Venue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.CSVHandler;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing venue and event CSV files with {@link CSVHandler}.
+ * <p>
+ * The CSV files are written in the format of the bundled {@code venues.csv} and {@code requests.csv}, with the
+ * number of rows set by the {@code csvRows} parameter. Event import also resolves each client in the database.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CSVImportBenchmark {
+
+    @Param({"1000"})
+    public int csvRows;
+
+    private Path venuesFile;
+    private Path eventsFile;
+
+    /**
+     * Writes the CSV files to import.
+     *
+     * @param database the benchmark database, which provides the directory and seed
+     * @throws IOException if the files cannot be written
+     */
+    @Setup(Level.Trial)
+    public void writeFiles(BenchmarkDatabase database) throws IOException {
+        Random random = new Random(database.seed);
+        venuesFile = database.directory.resolve("venues.csv");
+        eventsFile = database.directory.resolve("requests.csv");
+
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(venuesFile))) {
+            out.println("Name,Capacity,Suitable for,Category,Booking price / hour");
+            for (int i = 0; i < csvRows; i++) {
+                out.println("CSV Venue " + i + "," + (50 + random.nextInt(5000)) + ",gig; disco,Indoor," + (100 + random.nextInt(2000)));
+            }
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(eventsFile))) {
+            out.println("Client,Title,Artist,Date,Time,Duration,Target Audience,Type,Category");
+            for (int i = 0; i < csvRows; i++) {
+                out.println("Client " + (1 + random.nextInt(100)) + ", Show " + i + ", Artist " + i + ", "
+                        + (1 + random.nextInt(28)) + "-" + (1 + random.nextInt(12)) + "-25, 8pm,"
+                        + (1 + random.nextInt(4)) + "," + (50 + random.nextInt(4000)) + ", gig, indoor");
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Venue> importVenues() throws IOException, SQLException {
+        return CSVHandler.importVenueDataCSV(venuesFile.toString());
+    }
+
+    @Benchmark
+    public List<Event> importEvents() {
+        return CSVHandler.importEventDataCSV(eventsFile.toString());
+    }
+}
@@ -0,0 +1,132 @@
+package benchmark;
+
+import dao.BookingDAO;
+import dao.DatabaseHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import util.TimeSlots;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stress test for {@link BookingDAO#bookVenue}: several threads book random events into a small pool of venues,
+ * so most attempts compete for the same slots and the database write lock.
+ * <p>
+ * The score is booking attempts per second, successful or not. When the trial ends, the database is checked
+ * for events with more than one confirmed booking and for overlapping confirmed bookings at the same venue,
+ * including bookings that run past midnight; the benchmark fails if any are found. Before the trial, bookings
+ * that only partly overlap an existing booking are checked to be refused. The pool size is set with the
+ * {@code hotVenues} parameter.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Threads(8)
+@Fork(1)
+public class ConcurrentBookingBenchmark {
+
+    @Param({"10"})
+    public int hotVenues;
+
+    @Benchmark
+    public boolean bookVenue(BenchmarkDatabase database) throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int eventId = 1 + random.nextInt(database.events);
+        int venueId = 1 + random.nextInt(Math.min(hotVenues, database.venues));
+        return BookingDAO.bookVenue(LocalDate.now(), "CONFIRMED", eventId, venueId, 1, "stress");
+    }
+
+    /**
+     * Fails the benchmark if a booking that starts inside an existing booking and ends after it is accepted, on
+     * the same day or across midnight. The events are placed well after the generated data, away from the stress
+     * bookings.
+     *
+     * @param database the benchmark database
+     * @throws SQLException if the bookings cannot be made
+     */
+    @Setup(Level.Trial)
+    public void verifyPartialOverlapsRefused(BenchmarkDatabase database) throws SQLException {
+        LocalDate date = BenchmarkDatabase.FIRST_DATE.plusYears(10);
+        int venueId = database.venues;
+
+        int evening = BenchmarkDatabase.insertEvent(date, LocalTime.of(19, 0), 4);
+        int lateShow = BenchmarkDatabase.insertEvent(date, LocalTime.of(22, 0), 2);
+        int overnight = BenchmarkDatabase.insertEvent(date.plusDays(1), LocalTime.of(23, 0), 3);
+        int earlyShow = BenchmarkDatabase.insertEvent(date.plusDays(2), LocalTime.of(1, 0), 2);
+        int morningShow = BenchmarkDatabase.insertEvent(date.plusDays(2), LocalTime.of(2, 0), 2);
+
+        if (!BookingDAO.bookVenue(date, "CONFIRMED", evening, venueId, 1, "stress")
+                || !BookingDAO.bookVenue(date, "CONFIRMED", overnight, venueId, 1, "stress")) {
+            throw new IllegalStateException("Could not book the events to check partial overlaps against");
+        }
+        if (BookingDAO.bookVenue(date, "CONFIRMED", lateShow, venueId, 1, "stress")) {
+            throw new IllegalStateException("Accepted a 22:00-00:00 booking over a 19:00-23:00 booking");
+        }
+        if (BookingDAO.bookVenue(date, "CONFIRMED", earlyShow, venueId, 1, "stress")) {
+            throw new IllegalStateException("Accepted a 01:00-03:00 booking over a 23:00-02:00 booking");
+        }
+        if (!BookingDAO.bookVenue(date, "CONFIRMED", morningShow, venueId, 1, "stress")) {
+            throw new IllegalStateException("Refused a booking that starts when an overnight booking ends");
+        }
+    }
+
+    /**
+     * Fails the benchmark if the concurrent bookings produced any double-bookings.
+     *
+     * @throws SQLException if the check cannot be run
+     */
+    @TearDown(Level.Trial)
+    public void verifyNoDoubleBookings() throws SQLException {
+        String sql = """
+                SELECT (SELECT COUNT(*) FROM (SELECT event_id FROM bookings
+                                              WHERE booking_status = 'CONFIRMED'
+                                              GROUP BY event_id HAVING COUNT(*) > 1)) AS double_booked_events,
+                       (SELECT COUNT(*)
+                        FROM bookings a
+                        JOIN events ea ON a.event_id = ea.event_id
+                        JOIN bookings b ON b.venue_id = a.venue_id AND b.booking_id > a.booking_id
+                        JOIN events eb ON b.event_id = eb.event_id
+                        WHERE a.booking_status = 'CONFIRMED' AND b.booking_status = 'CONFIRMED'
+                        AND %s < %s
+                        AND %s < %s) AS overlapping_bookings
+                """.formatted(TimeSlots.startMinuteSql("ea"), TimeSlots.endMinuteSql("eb"),
+                              TimeSlots.startMinuteSql("eb"), TimeSlots.endMinuteSql("ea"));
+
+        try (Connection connection = DatabaseHandler.getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            int doubleBookedEvents = rs.getInt("double_booked_events");
+            int overlappingBookings = rs.getInt("overlapping_bookings");
+            if (doubleBookedEvents > 0 || overlappingBookings > 0) {
+                throw new IllegalStateException("Found " + doubleBookedEvents + " double-booked events and "
+                        + overlappingBookings + " overlapping venue bookings");
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.TimingWheel;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks finding the expired holds once a second, as {@link service.HoldService} does.
+ * <p>
+ * Each benchmark keeps {@code holds} holds with lifetimes of up to 30 minutes, advances a simulated clock by one
+ * second, and replaces every hold that expired with a new one. {@code timingWheel} uses a {@link TimingWheel};
+ * {@code scan}, the baseline, checks the expiry time of every hold on each tick.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HoldExpiryBenchmark {
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int MAX_TTL_SECONDS = 30 * 60;
+
+    @Param({"100000"})
+    public int holds;
+
+    private Random random;
+    private TimingWheel<Integer> wheel;
+    private long[] deadlines;
+    private long wheelNow;
+    private long scanNow;
+
+    /**
+     * Schedules the holds on the wheel and in the baseline's array.
+     *
+     * @param database the benchmark database, for its seed
+     */
+    @Setup(Level.Trial)
+    public void scheduleHolds(BenchmarkDatabase database) {
+        random = new Random(database.seed);
+        wheel = new TimingWheel<>(TICK_MILLIS, 512, 0);
+        deadlines = new long[holds];
+        for (int i = 0; i < holds; i++) {
+            deadlines[i] = nextDeadline(0);
+            wheel.schedule(i, deadlines[i]);
+        }
+    }
+
+    @Benchmark
+    public int timingWheel() {
+        wheelNow += TICK_MILLIS;
+        int expired = 0;
+        for (int hold : wheel.advance(wheelNow)) {
+            wheel.schedule(hold, nextDeadline(wheelNow));
+            expired++;
+        }
+        return expired;
+    }
+
+    @Benchmark
+    public int scan() {
+        scanNow += TICK_MILLIS;
+        int expired = 0;
+        for (int i = 0; i < deadlines.length; i++) {
+            if (deadlines[i] <= scanNow) {
+                deadlines[i] = nextDeadline(scanNow);
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    private long nextDeadline(long now) {
+        return now + (1 + random.nextInt(MAX_TTL_SECONDS)) * TICK_MILLIS;
+    }
+}
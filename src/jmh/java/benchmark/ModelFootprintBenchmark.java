@@ -0,0 +1,77 @@
+package benchmark;
+
+import model.Booking;
+import model.BookingRow;
+import model.Client;
+import model.Venue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the heap footprint of the domain objects built by the bulk read paths.
+ * <p>
+ * Run with the GC profiler, e.g. {@code -Djmh.args="-prof gc ModelFootprint"}: each benchmark builds one object
+ * graph and returns it, so {@code gc.alloc.rate.norm} is the number of bytes allocated per object. {@code booking}
+ * is a booking as read for the bookings table, with its event, venue and client; {@code bookingRow} is the
+ * projection the management summary reads instead. {@code currencyFormatter} is the {@code NumberFormat} that every
+ * {@code Booking} and {@code Client} used to create for itself, for comparison.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelFootprintBenchmark {
+
+    private final LocalDate date = LocalDate.of(2026, 3, 14);
+    private final LocalTime time = LocalTime.of(19, 30);
+    private int id;
+
+    @Benchmark
+    public Booking booking() {
+        id++;
+        return new Booking(id, id, "Event " + id, date, time, 3, "Artist", id, "Venue", 250.0, id, "Client",
+                "CONFIRMED", "staff");
+    }
+
+    @Benchmark
+    public BookingRow bookingRow() {
+        id++;
+        return new BookingRow(id, "Event " + id, "Venue", "Client", "staff", 750.0, 0.1);
+    }
+
+    @Benchmark
+    public Client client() {
+        id++;
+        return new Client(id, "Client " + id);
+    }
+
+    @Benchmark
+    public Venue venue() {
+        id++;
+        return new Venue(id, "Venue " + id, 250.0);
+    }
+
+    @Benchmark
+    public NumberFormat currencyFormatter() {
+        return NumberFormat.getCurrencyInstance(Locale.US);
+    }
+}
@@ -0,0 +1,78 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.OccupancyGrid;
+import service.OccupancyService;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks building a 90-day {@link OccupancyGrid} and checking every venue's availability against it.
+ * <p>
+ * Compare {@code findFreeVenues} with {@link AvailabilityBenchmark}, which costs one query per venue checked.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OccupancyBenchmark {
+
+    private static final int DAYS = 90;
+    private static final int SLOTS = 1024;
+
+    private final LocalDate[] dates = new LocalDate[SLOTS];
+    private final LocalTime[] times = new LocalTime[SLOTS];
+    private final List<Integer> venueIds = new ArrayList<>();
+    private OccupancyGrid grid;
+    private int next;
+
+    /**
+     * Picks the time slots to check and builds the grid they are checked against.
+     *
+     * @param database the benchmark database
+     */
+    @Setup(Level.Trial)
+    public void pickSlots(BenchmarkDatabase database) {
+        Random random = new Random(database.seed);
+        for (int i = 0; i < SLOTS; i++) {
+            dates[i] = BenchmarkDatabase.FIRST_DATE.plusDays(random.nextInt(DAYS - 1));
+            times[i] = LocalTime.of(17 + random.nextInt(5), 0);
+        }
+        for (int venueId = 1; venueId <= database.venues; venueId++) {
+            venueIds.add(venueId);
+        }
+        grid = buildGrid();
+    }
+
+    @Benchmark
+    public OccupancyGrid buildGrid() {
+        return OccupancyService.getInstance().buildGrid(BenchmarkDatabase.FIRST_DATE, DAYS);
+    }
+
+    @Benchmark
+    public List<Integer> findFreeVenues() {
+        int i = next++ & (SLOTS - 1);
+        return grid.findFreeVenues(venueIds, dates[i], times[i], 3);
+    }
+}
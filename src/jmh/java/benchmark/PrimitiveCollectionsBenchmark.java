@@ -0,0 +1,190 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.IntHashSet;
+import util.IntIntHashMap;
+import util.IntObjectHashMap;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the primitive {@code int} collections in {@code util} with the boxed {@code java.util} collections they
+ * replace, for the ways the application uses them: collecting IDs and then probing them.
+ * <p>
+ * The build benchmarks insert {@code size} sequential IDs, as read from a table, and the probe benchmarks look up
+ * the same number of random IDs, half of which are present. No database is needed.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveCollectionsBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private int[] ids;
+    private int[] probes;
+    private Object value;
+
+    private Set<Integer> boxedSet;
+    private IntHashSet intSet;
+    private Map<Integer, Integer> boxedIntMap;
+    private IntIntHashMap intIntMap;
+    private Map<Integer, Object> boxedObjectMap;
+    private IntObjectHashMap<Object> intObjectMap;
+
+    /**
+     * Picks the IDs to insert and the IDs to probe for, and builds the collections for the probe benchmarks.
+     */
+    @Setup(Level.Trial)
+    public void pickIds() {
+        Random random = new Random(42);
+        ids = new int[size];
+        probes = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i + 1;
+            probes[i] = 1 + random.nextInt(size * 2);
+        }
+        value = new Object();
+
+        boxedSet = buildBoxedSet();
+        intSet = buildIntHashSet();
+        boxedIntMap = buildBoxedIntMap();
+        intIntMap = buildIntIntHashMap();
+        boxedObjectMap = buildBoxedObjectMap();
+        intObjectMap = buildIntObjectHashMap();
+    }
+
+    @Benchmark
+    public Set<Integer> buildBoxedSet() {
+        Set<Integer> set = new HashSet<>();
+        for (int id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public IntHashSet buildIntHashSet() {
+        IntHashSet set = new IntHashSet();
+        for (int id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> buildBoxedIntMap() {
+        Map<Integer, Integer> map = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            map.put(ids[i], i);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public IntIntHashMap buildIntIntHashMap() {
+        IntIntHashMap map = new IntIntHashMap(-1);
+        for (int i = 0; i < ids.length; i++) {
+            map.put(ids[i], i);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Map<Integer, Object> buildBoxedObjectMap() {
+        Map<Integer, Object> map = new HashMap<>();
+        for (int id : ids) {
+            map.put(id, value);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public IntObjectHashMap<Object> buildIntObjectHashMap() {
+        IntObjectHashMap<Object> map = new IntObjectHashMap<>();
+        for (int id : ids) {
+            map.put(id, value);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public int probeBoxedSet() {
+        int found = 0;
+        for (int probe : probes) {
+            if (boxedSet.contains(probe)) found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int probeIntHashSet() {
+        int found = 0;
+        for (int probe : probes) {
+            if (intSet.contains(probe)) found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public long probeBoxedIntMap() {
+        long total = 0;
+        for (int probe : probes) {
+            Integer position = boxedIntMap.get(probe);
+            if (position != null) total += position;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long probeIntIntHashMap() {
+        long total = 0;
+        for (int probe : probes) {
+            int position = intIntMap.get(probe);
+            if (position != -1) total += position;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int probeBoxedObjectMap() {
+        int found = 0;
+        for (int probe : probes) {
+            if (boxedObjectMap.get(probe) != null) found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int probeIntObjectHashMap() {
+        int found = 0;
+        for (int probe : probes) {
+            if (intObjectMap.get(probe) != null) found++;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,58 @@
+package benchmark;
+
+import dao.EventDAO;
+import model.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.ScheduleOptimiser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks building a greedy plan for every unbooked event with {@link ScheduleOptimiser}.
+ * <p>
+ * The local search is given no time, so this measures the fixed cost of a solve: loading the confirmed bookings,
+ * building every event's options and placing them greedily. A real solve adds its time budget.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleOptimiserBenchmark {
+
+    private List<Event> unbooked;
+    private ScheduleOptimiser optimiser;
+
+    /**
+     * Loads the unbooked events.
+     *
+     * @param database the benchmark database
+     */
+    @Setup(Level.Trial)
+    public void loadEvents(BenchmarkDatabase database) {
+        unbooked = EventDAO.getAvailableEvents();
+        optimiser = new ScheduleOptimiser(new ScheduleOptimiser.Options(Duration.ZERO, 60, 42));
+    }
+
+    @Benchmark
+    public ScheduleOptimiser.Schedule greedyPlan() {
+        return optimiser.optimise(unbooked);
+    }
+}
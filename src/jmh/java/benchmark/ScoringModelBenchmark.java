@@ -0,0 +1,104 @@
+package benchmark;
+
+import dao.BookingDAO;
+import dao.EventDAO;
+import model.Event;
+import model.Venue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.PairFeatures;
+import service.ScoringFeature;
+import service.VenueCatalog;
+import service.WeightedScoringModel;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks re-weighting a {@link WeightedScoringModel} and re-ranking every venue for a batch of events.
+ * <p>
+ * The features of every event and venue pair are extracted once; {@code extract} measures that step on its own.
+ * The benchmark fails if the extracted availability of the first {@value #CHECKED_EVENTS} events' pairs differs
+ * from {@link BookingDAO#checkAvailability}.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringModelBenchmark {
+
+    /** The number of events whose availability is checked against the database before the trial. */
+    private static final int CHECKED_EVENTS = 10;
+
+    @Param({"50"})
+    public int scoreEvents;
+
+    private List<Event> batch;
+    private PairFeatures features;
+    private double priceWeight;
+
+    /**
+     * Loads the events to score, extracts their features against every venue, and checks the availability of the
+     * first events' pairs.
+     *
+     * @param database the benchmark database
+     * @throws SQLException if availability cannot be checked
+     */
+    @Setup(Level.Trial)
+    public void extractFeatures(BenchmarkDatabase database) throws SQLException {
+        batch = List.copyOf(EventDAO.getAllEvents().subList(0, Math.min(scoreEvents, database.events)));
+        features = extract();
+
+        List<Venue> venues = features.getVenues();
+        for (int e = 0; e < Math.min(CHECKED_EVENTS, batch.size()); e++) {
+            Event event = batch.get(e);
+            for (int v = 0; v < venues.size(); v++) {
+                boolean extracted = features.value(ScoringFeature.AVAILABILITY, features.pair(e, v)) != 0;
+                boolean checked = BookingDAO.checkAvailability(venues.get(v).getVenueId(), event.getEventDate(),
+                        event.getEventTime(), event.getDuration());
+                if (extracted != checked) {
+                    throw new IllegalStateException("Event " + event.getEventId() + " at venue "
+                            + venues.get(v).getVenueId() + " is " + (checked ? "" : "not ") + "available, but its "
+                            + "extracted availability says otherwise");
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public PairFeatures extract() {
+        return PairFeatures.extract(batch, VenueCatalog.getInstance().getVenues());
+    }
+
+    @Benchmark
+    public int reweightAndRank() {
+        priceWeight = priceWeight <= -5 ? 0 : priceWeight - 0.5;
+        double[] scores = WeightedScoringModel.STANDARD
+                .withWeight(ScoringFeature.PRICE_PER_ATTENDEE, priceWeight)
+                .withWeight(ScoringFeature.CAPACITY_UTILISATION, 10)
+                .compile()
+                .scoreAll(features);
+        int best = 0;
+        for (int event = 0; event < batch.size(); event++) {
+            best += features.topVenues(scores, event, 5)[0];
+        }
+        return best;
+    }
+}
@@ -0,0 +1,144 @@
+package benchmark;
+
+import dao.BookingDAO;
+import model.FreeSlot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.SlotFinder;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link SlotFinder} searches for random venues over a week, once the timelines are loaded.
+ * <p>
+ * Compare with {@link AvailabilityBenchmark}, which costs a query for every start time probed.
+ * </p>
+ * <p>
+ * Before the trial, every start time around bookings that run into the evening and past midnight is checked
+ * with both the finder and {@link BookingDAO#checkAvailability}. The benchmark fails unless they agree.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotFinderBenchmark {
+
+    private static final int SEARCHES = 1024;
+
+    private final int[] venueIds = new int[SEARCHES];
+    private final SlotFinder.Window[] windows = new SlotFinder.Window[SEARCHES];
+    private final SlotFinder finder = SlotFinder.getInstance();
+    private int next;
+
+    /**
+     * Fails the benchmark if the finder offers a slot the booking check refuses, or misses one it accepts.
+     *
+     * @param database the benchmark database
+     * @throws SQLException if the bookings cannot be made or checked
+     */
+    @Setup(Level.Trial)
+    public void verifyAgainstBookingCheck(BenchmarkDatabase database) throws SQLException {
+        LocalDate date = BenchmarkDatabase.FIRST_DATE.plusYears(30);
+        int venueId = database.venues;
+        int[] booked = {
+                BenchmarkDatabase.insertEvent(date, LocalTime.of(19, 0), 4),
+                BenchmarkDatabase.insertEvent(date.plusDays(1), LocalTime.of(23, 0), 3),
+                BenchmarkDatabase.insertEvent(date.plusDays(2), LocalTime.of(10, 30), 2)
+        };
+        for (int eventId : booked) {
+            if (!BookingDAO.bookVenue(date, "CONFIRMED", eventId, venueId, 1, "check")) {
+                throw new IllegalStateException("Could not book the events to check the finder against");
+            }
+        }
+        finder.invalidate();
+
+        // Every quarter hour of each day, for slots ending by midnight, so the probes overlap the bookings
+        // partly, wholly and not at all, and the morning after the overnight booking is covered.
+        SlotFinder.Window window = new SlotFinder.Window(date, date.plusDays(2), LocalTime.MIDNIGHT, LocalTime.MIDNIGHT);
+        int free = 0;
+        int taken = 0;
+        for (int hours = 1; hours <= 3; hours++) {
+            List<FreeSlot> gaps = finder.findFreeGaps(venueId, hours, window);
+            for (int day = 0; day <= 2; day++) {
+                for (int minute = 0; minute + hours * 60 <= 24 * 60; minute += 15) {
+                    LocalDate probeDate = date.plusDays(day);
+                    LocalTime start = LocalTime.ofSecondOfDay(minute * 60L);
+                    boolean offered = contains(gaps, probeDate.atTime(start), probeDate.atTime(start).plusHours(hours));
+                    boolean available = BookingDAO.checkAvailability(venueId, probeDate, start, hours);
+                    if (offered != available) {
+                        throw new IllegalStateException(hours + "h at " + probeDate + " " + start + " is "
+                                + (offered ? "offered" : "not offered") + " by the finder but "
+                                + (available ? "available" : "unavailable") + " to the booking check");
+                    }
+                    if (available) {
+                        free++;
+                    } else {
+                        taken++;
+                    }
+                }
+            }
+        }
+        if (free == 0 || taken == 0) {
+            throw new IllegalStateException("The check slots were all free or all taken");
+        }
+    }
+
+    private static boolean contains(List<FreeSlot> gaps, LocalDateTime start, LocalDateTime end) {
+        for (FreeSlot gap : gaps) {
+            if (!gap.start().isAfter(start) && !gap.end().isBefore(end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Picks the venues and weeks to search and loads the timelines.
+     *
+     * @param database the benchmark database
+     */
+    @Setup(Level.Trial)
+    public void pickSearches(BenchmarkDatabase database) {
+        Random random = new Random(database.seed);
+        for (int i = 0; i < SEARCHES; i++) {
+            venueIds[i] = 1 + random.nextInt(database.venues);
+            LocalDate first = BenchmarkDatabase.FIRST_DATE.plusDays(random.nextInt(365));
+            windows[i] = SlotFinder.Window.days(first, 7);
+        }
+        finder.invalidate();
+        finder.findFreeGaps(venueIds[0], 1, windows[0]);
+    }
+
+    @Benchmark
+    public List<FreeSlot> findEarliestSlots() {
+        int i = next++ & (SEARCHES - 1);
+        return finder.findEarliestSlots(venueIds[i], 3, windows[i], 5);
+    }
+
+    @Benchmark
+    public List<FreeSlot> findFreeGaps() {
+        int i = next++ & (SEARCHES - 1);
+        return finder.findFreeGaps(venueIds[i], 3, windows[i]);
+    }
+}
@@ -0,0 +1,65 @@
+package benchmark;
+
+import dao.EventDAO;
+import model.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.VenueMatchingService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link VenueMatchingService#getRecommendations(List)} for a batch of events against every venue.
+ * <p>
+ * The batch size is set with the {@code matchEvents} parameter. The database has one venue for every ten rows,
+ * so running with {@code -p rows=1000,5000,20000} shows how matching cost scales with the number of venues.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VenueMatchingBenchmark {
+
+    @Param({"5"})
+    public int matchEvents;
+
+    private final VenueMatchingService matchingService = new VenueMatchingService();
+    private List<Event> batch;
+
+    /**
+     * Loads the events to match.
+     *
+     * @param database the benchmark database
+     */
+    @Setup(Level.Trial)
+    public void loadEvents(BenchmarkDatabase database) {
+        batch = List.copyOf(EventDAO.getAllEvents().subList(0, Math.min(matchEvents, database.events)));
+    }
+
+    @Benchmark
+    public List<VenueMatchingService.AutoMatchResult> getRecommendations() {
+        return matchingService.getRecommendations(batch);
+    }
+
+    @Benchmark
+    public List<VenueMatchingService.VenueCandidate> getTopFiveCandidates() {
+        return matchingService.getTopCandidates(batch.get(0), 5);
+    }
+}
@@ -0,0 +1,595 @@
+package app;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dao.BookingDAO;
+import dao.DatabaseHandler;
+import dao.EventDAO;
+import dao.UserDAO;
+import model.BookingHold;
+import model.Event;
+import model.Venue;
+import model.VenueType;
+import service.HoldService;
+import service.VenueCatalog;
+import util.ChangeFeed;
+import util.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP server exposing venues, events, availability, booking, holds and cancellation as a JSON API.
+ * <p>
+ * Several front-desk terminals can book through the server instead of each writing bookings to the database
+ * file: the bookings, cancellations and holds made through the API take turns on the server's shared write
+ * connection (see {@link DatabaseHandler#inWriteTransaction}) instead of competing for the file lock, and reach
+ * the other terminals through the change feed. The terminals still read from the database file, and write other
+ * changes, such as imports, venue changes and booking edits, to it directly; those changes do not appear in the
+ * feed. Each request runs on its own virtual thread.
+ * </p>
+ * <p>
+ * With {@code --token-file FILE}, every request must carry the token held in the file as
+ * {@code Authorization: Bearer TOKEN}, and is otherwise refused with status 401. The token identifies a trusted
+ * terminal, which names the user making each booking in {@code bookedBy}. Without a token the API has no
+ * authentication, so the server only listens on a loopback address, which is the default; it refuses to start
+ * on any other address unless a token is given.
+ * </p>
+ * <pre>
+ *   GET    /api/venues                               every venue
+ *   GET    /api/events[?available=true]              every event, or those without a confirmed booking
+ *   GET    /api/events/{id}                          one event
+ *   GET    /api/availability?venueId=V&amp;eventId=E    whether the venue is free for the event's time slot
+ *   POST   /api/bookings                             book a venue: {"eventId": E, "venueId": V, "bookedBy": "user"}
+ *   DELETE /api/bookings/{id}                        cancel a booking
+ *   POST   /api/holds                                hold a venue: {"eventId": E, "venueId": V, "bookedBy": "user",
+ *                                                    "ttlSeconds": S}, where ttlSeconds is optional
+ *   POST   /api/holds/{id}/confirm                   confirm a held booking
+ *   DELETE /api/holds/{id}                           release a hold
+ *   GET    /api/changes[?since=N]                    the changes made through the server after revision N
+ * </pre>
+ * <p>
+ * A hold keeps the venue's time slot from being booked by anyone else until it is confirmed, released or lapses
+ * (see {@link HoldService}); the server expires lapsed holds while it runs.
+ * </p>
+ * <p>
+ * The change feed lets terminals keep their screens current: it returns
+ * {@code {"revision": R, "reset": false, "changes": [...]}}, with each change event as a JSON object (see
+ * {@link ChangeFeed}), and the terminal asks for the changes after {@code R} next time. Without {@code since}, it
+ * returns the current revision and no changes. {@code reset} is {@code true} when the changes after {@code N} are
+ * no longer held, or {@code N} is from an earlier run of the server, and the terminal should reload everything.
+ * {@link service.ApiClient} is the terminals' side of the API.
+ * </p>
+ * <p>
+ * Errors are returned as {@code {"error": "..."}} with status 400 for a malformed request, 401 for a missing or
+ * wrong token, 404 for an unknown
+ * event, venue, user, booking or hold, 405 for an unsupported method, 409 when a booking clashes with another, and
+ * 500 for a database error.
+ * </p>
+ * <pre>
+ *   mvn -q -Papi compile exec:exec -Dapi.args="--db db/music_venue.db --port 8080"
+ * </pre>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class ApiServer {
+
+    /** The port the server listens on unless another is given. */
+    public static final int DEFAULT_PORT = 8080;
+
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    /**
+     * JDK property that turns on {@code TCP_NODELAY} for the server's connections. Without it, a response's
+     * headers and body go out as two small packets, and the second waits for the client's delayed ACK, adding
+     * about 40 ms to every request.
+     */
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private static final String USAGE = "Usage: ApiServer [--db FILE] [--bind ADDRESS] [--port PORT] [--token-file FILE]";
+
+    private final HttpServer server;
+    /** The token every request must carry, or {@code null} if the API has no authentication. */
+    private final String token;
+    private final ExecutorService executor;
+    private final ChangeFeed feed = new ChangeFeed();
+
+    /**
+     * A request that cannot be served, reported to the client with its status code.
+     */
+    private static class ApiException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Handles one request, returning the body of a successful response: 201 for a POST, 200 otherwise.
+     */
+    @FunctionalInterface
+    private interface Route {
+        Object handle(HttpExchange exchange) throws ApiException, SQLException, IOException;
+    }
+
+    private ApiServer(InetSocketAddress address, String token) throws IOException {
+        this.token = token;
+        // Read once, when the first server is created.
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+        server = HttpServer.create(address, 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/venues", exchange -> serve(exchange, authorised(this::venues)));
+        server.createContext("/api/events", exchange -> serve(exchange, authorised(this::events)));
+        server.createContext("/api/availability", exchange -> serve(exchange, authorised(this::availability)));
+        server.createContext("/api/bookings", exchange -> serve(exchange, authorised(this::bookings)));
+        server.createContext("/api/holds", exchange -> serve(exchange, authorised(this::holds)));
+        server.createContext("/api/changes", exchange -> serve(exchange, authorised(this::changes)));
+    }
+
+    /**
+     * Starts a server without authentication on the given address, using the database selected by
+     * {@link DatabaseHandler}, and the {@link HoldService} that expires its holds.
+     *
+     * @param address the address to listen on; port 0 picks a free port
+     * @return the running server
+     * @throws IOException if the address cannot be bound
+     */
+    public static ApiServer start(InetSocketAddress address) throws IOException {
+        return start(address, null);
+    }
+
+    /**
+     * Starts a server on the given address, using the database selected by {@link DatabaseHandler}, and the
+     * {@link HoldService} that expires its holds.
+     *
+     * @param address the address to listen on; port 0 picks a free port
+     * @param token   the token every request must carry, or {@code null} for no authentication
+     * @return the running server
+     * @throws IOException if the address cannot be bound
+     */
+    public static ApiServer start(InetSocketAddress address, String token) throws IOException {
+        ApiServer apiServer = new ApiServer(address, token);
+        HoldService.getInstance();
+        apiServer.server.start();
+        return apiServer;
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return the bound port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server, letting requests in progress finish for up to a second.
+     */
+    public void stop() {
+        server.stop(1);
+        executor.close();
+        feed.close();
+    }
+
+    /**
+     * Initialises the database and runs the server until the process is stopped.
+     *
+     * @param args the options: {@code --db FILE}, {@code --bind ADDRESS}, {@code --port PORT} and
+     *             {@code --token-file FILE}
+     * @throws IOException if the token file cannot be read or the address cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        String host = "127.0.0.1";
+        int port = DEFAULT_PORT;
+        String token = null;
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                System.err.println(USAGE);
+                System.exit(2);
+            }
+            switch (args[i]) {
+                case "--db" -> System.setProperty(DatabaseHandler.DB_URL_PROPERTY, "jdbc:sqlite:" + args[i + 1]);
+                case "--bind" -> host = args[i + 1];
+                case "--port" -> port = Integer.parseInt(args[i + 1]);
+                case "--token-file" -> token = Files.readString(Path.of(args[i + 1])).strip();
+                default -> {
+                    System.err.println(USAGE);
+                    System.exit(2);
+                }
+            }
+        }
+
+        if (token != null && token.isEmpty()) {
+            System.err.println("The token file is empty");
+            System.exit(2);
+        }
+        if (token == null && !InetAddress.getByName(host).isLoopbackAddress()) {
+            System.err.println("The API has no authentication without --token-file, so it only listens on a loopback address");
+            System.exit(2);
+        }
+
+        try {
+            DatabaseHandler.initialiseDatabase();
+        } catch (SQLException e) {
+            System.err.println("Error initialising database: " + e.getMessage());
+            System.exit(1);
+        }
+        ApiServer apiServer = start(new InetSocketAddress(host, port), token);
+        Runtime.getRuntime().addShutdownHook(new Thread(apiServer::stop));
+        System.out.println("Listening on http://" + host + ":" + apiServer.getPort() + "/api");
+    }
+
+    private Object venues(HttpExchange exchange) throws ApiException {
+        requireMethod(exchange, "GET");
+        return VenueCatalog.getInstance().getVenues().stream().map(ApiServer::toJson).toList();
+    }
+
+    private Object events(HttpExchange exchange) throws ApiException {
+        requireMethod(exchange, "GET");
+        String id = pathId(exchange);
+        if (id != null) {
+            Event event = EventDAO.getEventById(parseId(id, "event"));
+            if (event == null) {
+                throw new ApiException(404, "No event with ID " + id);
+            }
+            return toJson(event);
+        }
+        boolean available = "true".equals(query(exchange).get("available"));
+        List<Event> events = available ? EventDAO.getAvailableEvents() : EventDAO.getAllEvents();
+        return events.stream().map(ApiServer::toJson).toList();
+    }
+
+    private Object availability(HttpExchange exchange) throws ApiException, SQLException {
+        requireMethod(exchange, "GET");
+        Map<String, String> query = query(exchange);
+        Event event = findEvent(parseId(query.get("eventId"), "eventId"));
+        Venue venue = findVenue(parseId(query.get("venueId"), "venueId"));
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("venueId", venue.getVenueId());
+        body.put("eventId", event.getEventId());
+        body.put("available", BookingDAO.checkAvailability(venue.getVenueId(), event.getEventDate(),
+                event.getEventTime(), event.getDuration()));
+        return body;
+    }
+
+    private Object bookings(HttpExchange exchange) throws ApiException, SQLException, IOException {
+        String id = pathId(exchange);
+        if (id == null) {
+            requireMethod(exchange, "POST");
+            return book(exchange);
+        }
+        requireMethod(exchange, "DELETE");
+        int bookingId = parseId(id, "booking");
+        if (!BookingDAO.cancelBooking(bookingId)) {
+            throw new ApiException(404, "No booking with ID " + bookingId);
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("bookingId", bookingId);
+        body.put("status", "CANCELLED");
+        return body;
+    }
+
+    private Object book(HttpExchange exchange) throws ApiException, SQLException, IOException {
+        Map<?, ?> request = readObject(exchange);
+        Event event = requestEvent(request);
+        Venue venue = requestVenue(request);
+        String bookedBy = requestUser(request);
+
+        int bookingId = BookingDAO.createBooking(LocalDate.now(), "CONFIRMED", event.getEventId(), venue.getVenueId(),
+                event.getClientId(), bookedBy);
+        if (bookingId <= 0) {
+            throw new ApiException(409, "The event is already booked, or the venue is booked at an overlapping time");
+        }
+        exchange.getResponseHeaders().set("Location", "/api/bookings/" + bookingId);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("bookingId", bookingId);
+        body.put("eventId", event.getEventId());
+        body.put("venueId", venue.getVenueId());
+        body.put("status", "CONFIRMED");
+        return body;
+    }
+
+    private Object holds(HttpExchange exchange) throws ApiException, SQLException, IOException {
+        List<String> segments = pathSegments(exchange);
+        if (segments.isEmpty()) {
+            requireMethod(exchange, "POST");
+            return hold(exchange);
+        }
+        int bookingId = parseId(segments.get(0), "hold");
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("bookingId", bookingId);
+        if (segments.size() == 2 && segments.get(1).equals("confirm")) {
+            requireMethod(exchange, "POST");
+            if (!HoldService.getInstance().confirm(bookingId)) {
+                throw new ApiException(404, "No unexpired hold on booking " + bookingId);
+            }
+            body.put("status", "CONFIRMED");
+            return body;
+        }
+        if (segments.size() != 1) {
+            throw new ApiException(404, "No such resource");
+        }
+        requireMethod(exchange, "DELETE");
+        if (!HoldService.getInstance().release(bookingId)) {
+            throw new ApiException(404, "No hold on booking " + bookingId);
+        }
+        body.put("status", "CANCELLED");
+        return body;
+    }
+
+    private Object hold(HttpExchange exchange) throws ApiException, SQLException, IOException {
+        Map<?, ?> request = readObject(exchange);
+        Event event = requestEvent(request);
+        Venue venue = requestVenue(request);
+        String bookedBy = requestUser(request);
+        Duration ttl = HoldService.DEFAULT_TTL;
+        Object ttlSeconds = request.get("ttlSeconds");
+        if (ttlSeconds != null) {
+            if (!(ttlSeconds instanceof Long seconds) || seconds <= 0) {
+                throw new ApiException(400, "ttlSeconds must be a positive integer");
+            }
+            ttl = Duration.ofSeconds(seconds);
+        }
+
+        Optional<BookingHold> hold = HoldService.getInstance().placeHold(event.getEventId(), venue.getVenueId(),
+                event.getClientId(), bookedBy, ttl);
+        if (hold.isEmpty()) {
+            throw new ApiException(409,
+                    "The event is already booked or held, or the venue is booked or held at an overlapping time");
+        }
+        exchange.getResponseHeaders().set("Location", "/api/holds/" + hold.get().bookingId());
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("bookingId", hold.get().bookingId());
+        body.put("eventId", event.getEventId());
+        body.put("venueId", venue.getVenueId());
+        body.put("status", "PENDING");
+        body.put("expiresAt", hold.get().expiresAt());
+        return body;
+    }
+
+    private Object changes(HttpExchange exchange) throws ApiException {
+        requireMethod(exchange, "GET");
+        String since = query(exchange).get("since");
+        ChangeFeed.Changes changes = since == null ? new ChangeFeed.Changes(feed.getRevision(), false, List.of())
+                                                   : feed.since(parseRevision(since));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("revision", changes.revision());
+        body.put("reset", changes.reset());
+        body.put("changes", changes.changes().stream().map(ChangeFeed::toJson).toList());
+        return body;
+    }
+
+    /**
+     * Wraps a route so it only runs for a request carrying the server's token, if the server has one.
+     */
+    private Route authorised(Route route) {
+        return exchange -> {
+            if (token != null) {
+                String header = exchange.getRequestHeaders().getFirst("Authorization");
+                byte[] expected = ("Bearer " + token).getBytes(StandardCharsets.UTF_8);
+                // Compared in constant time, so the token cannot be guessed from response times.
+                if (header == null || !MessageDigest.isEqual(expected, header.getBytes(StandardCharsets.UTF_8))) {
+                    exchange.getResponseHeaders().set("WWW-Authenticate", "Bearer");
+                    throw new ApiException(401, "A valid API token is required");
+                }
+            }
+            return route.handle(exchange);
+        };
+    }
+
+    /**
+     * Runs a route and sends its result, or the error it reports, as JSON.
+     * <p>
+     * Any other failure, including an {@link Error} such as a {@link StackOverflowError}, is answered with a 500,
+     * so the exchange is always answered and closed rather than left for the client to time out.
+     * </p>
+     */
+    private static void serve(HttpExchange exchange, Route route) throws IOException {
+        int status;
+        String body;
+        try {
+            body = Json.write(route.handle(exchange));
+            status = "POST".equals(exchange.getRequestMethod()) ? 201 : 200;
+        } catch (ApiException e) {
+            status = e.status;
+            body = Json.write(Map.of("error", e.getMessage()));
+        } catch (SQLException | RuntimeException | Error e) {
+            e.printStackTrace();
+            System.err.println("Error serving " + exchange.getRequestMethod() + " " + exchange.getRequestURI()
+                    + ": " + e.getMessage());
+            status = 500;
+            body = Json.write(Map.of("error", "Internal error"));
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(status, bytes.length);
+            out.write(bytes);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method) throws ApiException {
+        if (!method.equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Allow", method);
+            throw new ApiException(405, exchange.getRequestMethod() + " is not supported here");
+        }
+    }
+
+    /**
+     * Returns the path segment after the context path, or {@code null} if the request is for the context itself.
+     */
+    private static String pathId(HttpExchange exchange) throws ApiException {
+        List<String> segments = pathSegments(exchange);
+        if (segments.size() > 1) {
+            throw new ApiException(404, "No such resource");
+        }
+        return segments.isEmpty() ? null : segments.get(0);
+    }
+
+    /**
+     * Returns the path segments after the context path, which are empty if the request is for the context itself.
+     */
+    private static List<String> pathSegments(HttpExchange exchange) throws ApiException {
+        String rest = exchange.getRequestURI().getPath().substring(exchange.getHttpContext().getPath().length());
+        if (rest.isEmpty() || rest.equals("/")) {
+            return List.of();
+        }
+        List<String> segments = List.of(rest.substring(1).split("/", -1));
+        if (rest.charAt(0) != '/' || segments.contains("")) {
+            throw new ApiException(404, "No such resource");
+        }
+        return segments;
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException, ApiException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new ApiException(400, "The request body is too large");
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Map<?, ?> readObject(HttpExchange exchange) throws IOException, ApiException {
+        try {
+            if (!(Json.parse(readBody(exchange)) instanceof Map<?, ?> map)) {
+                throw new ApiException(400, "The request body must be a JSON object");
+            }
+            return map;
+        } catch (Json.ParseException e) {
+            throw new ApiException(400, "Invalid JSON: " + e.getMessage());
+        }
+    }
+
+    private static Event requestEvent(Map<?, ?> request) throws ApiException {
+        if (!(request.get("eventId") instanceof Long eventId)) {
+            throw new ApiException(400, "eventId must be an integer");
+        }
+        return findEvent(eventId.intValue());
+    }
+
+    private static Venue requestVenue(Map<?, ?> request) throws ApiException {
+        if (!(request.get("venueId") instanceof Long venueId)) {
+            throw new ApiException(400, "venueId must be an integer");
+        }
+        return findVenue(venueId.intValue());
+    }
+
+    private static String requestUser(Map<?, ?> request) throws ApiException {
+        if (!(request.get("bookedBy") instanceof String bookedBy)) {
+            throw new ApiException(400, "bookedBy must be a username");
+        }
+        if (UserDAO.findUserByUsername(bookedBy).isEmpty()) {
+            throw new ApiException(404, "No user named " + bookedBy);
+        }
+        return bookedBy;
+    }
+
+    private static int parseId(String value, String name) throws ApiException {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, name + " must be an integer");
+        }
+    }
+
+    private static long parseRevision(String value) throws ApiException {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "since must be an integer");
+        }
+    }
+
+    private static Event findEvent(int eventId) throws ApiException {
+        Event event = EventDAO.getEventById(eventId);
+        if (event == null) {
+            throw new ApiException(404, "No event with ID " + eventId);
+        }
+        return event;
+    }
+
+    private static Venue findVenue(int venueId) throws ApiException {
+        for (Venue venue : VenueCatalog.getInstance().getVenues()) {
+            if (venue.getVenueId() == venueId) {
+                return venue;
+            }
+        }
+        throw new ApiException(404, "No venue with ID " + venueId);
+    }
+
+    private static Map<String, Object> toJson(Venue venue) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("venueId", venue.getVenueId());
+        json.put("name", venue.getName());
+        json.put("category", venue.getCategory());
+        json.put("capacity", venue.getCapacity());
+        json.put("hirePricePerHour", venue.getHirePricePerHour());
+        json.put("venueTypes", venue.getVenueTypes().stream().map(VenueType::getVenueType).toList());
+        return json;
+    }
+
+    private static Map<String, Object> toJson(Event event) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("eventId", event.getEventId());
+        json.put("name", event.getEventName());
+        json.put("artist", event.getArtist());
+        json.put("date", event.getEventDate());
+        json.put("time", event.getEventTime());
+        json.put("duration", event.getDuration());
+        json.put("requiredCapacity", event.getRequiredCapacity());
+        json.put("type", event.getEventType());
+        json.put("category", event.getCategory());
+        json.put("clientId", event.getClientId());
+        json.put("clientName", event.getClientName());
+        return json;
+    }
+}
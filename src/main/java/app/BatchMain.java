@@ -0,0 +1,436 @@
+package app;
+
+import dao.BookingDAO;
+import dao.ClientDAO;
+import dao.DatabaseHandler;
+import dao.EventDAO;
+import dao.ReportingDAO;
+import dao.UserDAO;
+import dao.VenueDAO;
+import model.Booking;
+import model.BookingConflict;
+import model.BookingOutcome;
+import model.BookingRequest;
+import model.Client;
+import model.Event;
+import model.User;
+import model.Venue;
+import service.BackupHandler;
+import service.BookingAuditService;
+import service.BookingService;
+import service.ManagementService;
+import service.ScheduleOptimiser;
+import service.ScoringModel;
+import service.SessionManager;
+import service.VenueMatchingService;
+import service.WeightedScoringModel;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Headless entry point that runs imports, auto-matching and backups from the command line, for scheduled jobs.
+ * <p>
+ * The JavaFX toolkit is never started. Options come first, followed by one or more stages, which run in the
+ * order given:
+ * </p>
+ * <pre>
+ *   [--db FILE] [--backup-dir DIR] [--user USERNAME] [--weights FEATURE=WEIGHT,...] STAGE...
+ *
+ *   import-venues FILE   import venues from a CSV file
+ *   import-events FILE   import events from a CSV file
+ *   match                auto-match the events without a confirmed booking, without booking them
+ *   book                 auto-match the events without a confirmed booking and bulk book the matches (needs --user)
+ *   optimise             plan a venue and start time for every event without a confirmed booking, without booking them
+ *   book-plan            plan as optimise does and bulk book the plan (needs --user)
+ *   backup               back up the transaction and master data
+ *   restore              read back the transaction and master data backups
+ *   audit                check every confirmed booking for double-booked venues; fails if any are found
+ *   verify-summaries     check the reporting summary tables against the bookings, rebuilding them if they differ
+ * </pre>
+ * <p>
+ * As in the manager view, restoring reads and counts the backed-up records without writing them to the database.
+ * </p>
+ * <p>
+ * The {@code match} and {@code book} stages rank venues by the standard compatibility score unless
+ * {@code --weights} changes the weights of its features, for example
+ * {@code --weights price-per-attendee=-2,capacity-utilisation=10}; see {@link WeightedScoringModel#parse}. The
+ * weights can also be set with the {@value ScoringModel#WEIGHTS_PROPERTY} system property, as for the dashboard.
+ * </p>
+ * <p>
+ * The {@code optimise} and {@code book-plan} stages run {@link ScheduleOptimiser} with its default options and print
+ * one {@code plan} line per placement, giving the event, venue, date, start time, shift in minutes and hire income,
+ * before the stage's line, which reports the objective ({@code income}) and the {@code solveMillis}. When booking
+ * the plan, an event whose start was shifted is moved to its planned start first, and moved back if its booking is
+ * refused.
+ * </p>
+ * <p>
+ * Each stage prints one line to standard output of space-separated {@code key=value} fields, starting with
+ * {@code stage} and {@code status} and ending with the elapsed {@code millis}, followed by a {@code stage=total}
+ * line. Errors go to standard error. The run stops at the first stage that fails, such as an import whose file
+ * cannot be read, and the exit status is 0 on success, 1 if a stage failed and 2 for a usage error. For example:
+ * </p>
+ * <pre>
+ *   mvn -q -Pbatch compile exec:exec -Dbatch.args="--user admin import-events events.csv book backup"
+ * </pre>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class BatchMain {
+
+    private static final String USAGE = """
+            Usage: BatchMain [--db FILE] [--backup-dir DIR] [--user USERNAME] [--weights FEATURE=WEIGHT,...] STAGE...
+            Stages: import-venues FILE | import-events FILE | match | book | optimise | book-plan | backup | restore | audit
+                    | verify-summaries""";
+
+    /**
+     * One stage of a batch run.
+     */
+    @FunctionalInterface
+    private interface Stage {
+        /**
+         * Runs the stage, adding its counts to {@code fields} in the order they are printed.
+         */
+        void run(Map<String, Object> fields) throws Exception;
+    }
+
+    /**
+     * Thrown by a stage that ran but found a problem, such as double bookings. Only its message is reported.
+     */
+    private static class StageFailure extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        StageFailure(String message) {
+            super(message);
+        }
+    }
+
+    private BatchMain() {}
+
+    /**
+     * Runs the stages named on the command line and exits with the run's status.
+     *
+     * @param args the options and stages
+     */
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /**
+     * Runs the stages named on the command line.
+     *
+     * @param args the options and stages
+     * @return the exit status: 0 on success, 1 if a stage failed, 2 for a usage error
+     */
+    static int run(String[] args) {
+        String username = null;
+        int i = 0;
+        for (; i < args.length && args[i].startsWith("--"); i += 2) {
+            if (i + 1 >= args.length) {
+                return usage("Missing value for " + args[i]);
+            }
+            switch (args[i]) {
+                case "--db" -> System.setProperty(DatabaseHandler.DB_URL_PROPERTY, "jdbc:sqlite:" + args[i + 1]);
+                case "--backup-dir" -> System.setProperty(BackupHandler.BACKUP_DIR_PROPERTY, args[i + 1]);
+                case "--user" -> username = args[i + 1];
+                case "--weights" -> {
+                    try {
+                        WeightedScoringModel.parse(args[i + 1]);
+                    } catch (IllegalArgumentException e) {
+                        return usage("Invalid --weights: " + e.getMessage());
+                    }
+                    System.setProperty(ScoringModel.WEIGHTS_PROPERTY, args[i + 1]);
+                }
+                default -> {
+                    return usage("Unknown option " + args[i]);
+                }
+            }
+        }
+
+        // Parse every stage first, so a mistyped stage fails before any work is done.
+        List<String> names = new ArrayList<>();
+        List<Stage> stages = new ArrayList<>();
+        boolean needsUser = false;
+        for (; i < args.length; i++) {
+            String name = args[i];
+            switch (name) {
+                case "import-venues", "import-events" -> {
+                    if (i + 1 >= args.length) {
+                        return usage("Missing CSV file for " + name);
+                    }
+                    String file = args[++i];
+                    stages.add(name.equals("import-venues") ? fields -> importVenues(file, fields)
+                                                            : fields -> importEvents(file, fields));
+                }
+                case "match" -> stages.add(fields -> match(false, fields));
+                case "book" -> {
+                    needsUser = true;
+                    stages.add(fields -> match(true, fields));
+                }
+                case "optimise" -> stages.add(fields -> optimise(false, fields));
+                case "book-plan" -> {
+                    needsUser = true;
+                    stages.add(fields -> optimise(true, fields));
+                }
+                case "backup" -> stages.add(BatchMain::backup);
+                case "restore" -> stages.add(BatchMain::restore);
+                case "audit" -> stages.add(BatchMain::audit);
+                case "verify-summaries" -> stages.add(BatchMain::verifySummaries);
+                default -> {
+                    return usage("Unknown stage " + name);
+                }
+            }
+            names.add(name);
+        }
+        if (stages.isEmpty()) {
+            return usage("No stage given");
+        }
+        if (needsUser && username == null) {
+            return usage("The book and book-plan stages need --user, whose name is recorded on the bookings");
+        }
+
+        long start = System.nanoTime();
+        try {
+            DatabaseHandler.initialiseDatabase();
+        } catch (SQLException e) {
+            System.err.println("Error initialising database: " + e.getMessage());
+            return 1;
+        }
+        if (username != null) {
+            Optional<User> user = UserDAO.findUserByUsername(username);
+            if (user.isEmpty()) {
+                System.err.println("Unknown user: " + username);
+                return 1;
+            }
+            SessionManager.setCurrentUser(user.get());
+        }
+
+        for (int s = 0; s < stages.size(); s++) {
+            if (!runStage(names.get(s), stages.get(s))) {
+                return 1;
+            }
+        }
+        Map<String, Object> total = new LinkedHashMap<>();
+        total.put("stages", stages.size());
+        print("total", "ok", total, start);
+        return 0;
+    }
+
+    private static boolean runStage(String name, Stage stage) {
+        long start = System.nanoTime();
+        Map<String, Object> fields = new LinkedHashMap<>();
+        try {
+            stage.run(fields);
+            print(name, "ok", fields, start);
+            return true;
+        } catch (StageFailure e) {
+            System.err.println(name + ": " + e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.err.println(name + ": " + e.getMessage());
+        }
+        print(name, "failed", fields, start);
+        return false;
+    }
+
+    private static void importVenues(String file, Map<String, Object> fields) throws Exception {
+        requireReadable(file);
+        ManagementService.ImportResult result = ManagementService.getInstance().importVenues(file);
+        fields.put("rows", result.rows());
+        fields.put("imported", result.imported());
+        fields.put("failed", result.failed().size());
+        result.failed().forEach(venueName -> System.err.println("import-venues: failed to add venue " + venueName));
+    }
+
+    private static void importEvents(String file, Map<String, Object> fields) throws Exception {
+        requireReadable(file);
+        ManagementService.ImportResult result = ManagementService.getInstance().importEvents(file);
+        fields.put("rows", result.rows());
+        fields.put("imported", result.imported());
+        fields.put("failed", result.rows() - result.imported());
+    }
+
+    /**
+     * Fails an import stage whose file cannot be read. The CSV reader reports such a file as empty, which would
+     * otherwise pass as a successful import of no rows.
+     */
+    private static void requireReadable(String file) throws IOException {
+        if (!Files.isReadable(Path.of(file))) {
+            throw new IOException("Cannot read CSV file " + file);
+        }
+    }
+
+    /**
+     * Auto-matches the events without a confirmed booking with the configured scoring model, as the dashboard does,
+     * and optionally books the matches.
+     */
+    private static void match(boolean book, Map<String, Object> fields) {
+        List<Event> events = EventDAO.getAvailableEvents();
+        List<VenueMatchingService.AutoMatchResult> recommendations =
+                new VenueMatchingService(ScoringModel.configured()).getRecommendations(events);
+        long matched = recommendations.stream().filter(result -> result.candidate != null).count();
+        fields.put("events", events.size());
+        fields.put("matched", matched);
+        fields.put("unmatched", events.size() - matched);
+        if (!book) {
+            return;
+        }
+
+        Map<BookingOutcome, Integer> outcomes = new EnumMap<>(BookingOutcome.class);
+        for (BookingOutcome outcome : BookingOutcome.values()) {
+            outcomes.put(outcome, 0);
+        }
+        for (BookingService.BulkBookingResult result : BookingService.bulkBookRecommendations(recommendations)) {
+            // Events without a match are already counted as unmatched.
+            if (result.venue() != null) {
+                outcomes.merge(result.outcome(), 1, Integer::sum);
+            }
+        }
+        fields.put("booked", outcomes.get(BookingOutcome.BOOKED));
+        fields.put("conflicts", outcomes.get(BookingOutcome.CONFLICT));
+        fields.put("failed", outcomes.get(BookingOutcome.FAILED));
+    }
+
+    /**
+     * Plans every event without a confirmed booking with {@link ScheduleOptimiser}, printing the placements, and
+     * optionally books the plan.
+     */
+    private static void optimise(boolean book, Map<String, Object> fields) throws SQLException {
+        ScheduleOptimiser.Schedule schedule = new ScheduleOptimiser().optimiseUnbookedEvents();
+        List<ScheduleOptimiser.Placement> placements = schedule.placements();
+        for (ScheduleOptimiser.Placement placement : placements) {
+            System.out.println("plan event=" + placement.event().getEventId()
+                    + " venue=" + placement.venue().getVenueId()
+                    + " date=" + placement.event().getEventDate()
+                    + " start=" + placement.start()
+                    + " shift=" + placement.shiftMinutes()
+                    + " income=" + String.format(Locale.ROOT, "%.2f", placement.income()));
+        }
+        fields.put("events", placements.size() + schedule.unplaced().size());
+        fields.put("placed", placements.size());
+        fields.put("unplaced", schedule.unplaced().size());
+        fields.put("shifted", placements.stream().filter(placement -> placement.shiftMinutes() != 0).count());
+        fields.put("income", String.format(Locale.ROOT, "%.2f", schedule.totalIncome()));
+        fields.put("greedyIncome", String.format(Locale.ROOT, "%.2f", schedule.greedyIncome()));
+        fields.put("iterations", schedule.iterations());
+        fields.put("solveMillis", schedule.solveTime().toMillis());
+        if (!book) {
+            return;
+        }
+
+        // Shifted events are checked at their planned starts, and only move if they are booked.
+        List<Event> retimed = new ArrayList<>();
+        List<BookingRequest> requests = new ArrayList<>(placements.size());
+        for (ScheduleOptimiser.Placement placement : placements) {
+            Event event = placement.event();
+            if (placement.shiftMinutes() != 0) {
+                event.setEventTime(placement.start());
+                retimed.add(event);
+            }
+            requests.add(new BookingRequest(event.getEventId(), placement.venue().getVenueId(), event.getClientId()));
+        }
+        String bookedBy = SessionManager.getCurrentUser().getUsername();
+        List<BookingOutcome> booked = BookingDAO.bookVenues(LocalDate.now(), bookedBy, requests, retimed);
+
+        Map<BookingOutcome, Integer> outcomes = new EnumMap<>(BookingOutcome.class);
+        for (BookingOutcome outcome : BookingOutcome.values()) {
+            outcomes.put(outcome, 0);
+        }
+        for (BookingOutcome outcome : booked) {
+            outcomes.merge(outcome, 1, Integer::sum);
+        }
+        fields.put("booked", outcomes.get(BookingOutcome.BOOKED));
+        fields.put("conflicts", outcomes.get(BookingOutcome.CONFLICT));
+        fields.put("failed", outcomes.get(BookingOutcome.FAILED));
+    }
+
+    private static void backup(Map<String, Object> fields) {
+        List<Booking> bookings = BookingDAO.getAllBookingsBU();
+        List<Event> events = EventDAO.getAllEventsBU();
+        List<Venue> venues = VenueDAO.getAllVenuesWithTypesBU();
+        BackupHandler.backupTransactionData(bookings, events, venues);
+
+        List<User> users = UserDAO.getAllUsers();
+        List<Client> clients = ClientDAO.getAllClientsBU();
+        BackupHandler.backupMasterData(users, clients);
+
+        putCounts(fields, bookings.size(), events.size(), venues.size(), users.size(), clients.size());
+    }
+
+    private static void restore(Map<String, Object> fields) throws Exception {
+        putCounts(fields, BackupHandler.restoreBookings().size(), BackupHandler.restoreEvents().size(),
+                BackupHandler.restoreVenues().size(), BackupHandler.restoreUsers().size(),
+                BackupHandler.restoreClients().size());
+    }
+
+    /**
+     * Audits every confirmed booking for double-booked venues, listing each conflict group on standard error.
+     */
+    private static void audit(Map<String, Object> fields) throws StageFailure {
+        BookingAuditService.AuditReport report = BookingAuditService.getInstance().auditAll();
+        List<BookingConflict> conflicts = report.conflicts();
+        fields.put("scanned", report.bookingsScanned());
+        fields.put("conflicts", conflicts.size());
+        fields.put("venues", conflicts.stream().mapToInt(BookingConflict::venueId).distinct().count());
+        fields.put("bookings", conflicts.stream().mapToInt(conflict -> conflict.bookingIds().size()).sum());
+        if (conflicts.isEmpty()) {
+            return;
+        }
+        for (BookingConflict conflict : conflicts) {
+            System.err.println("audit: venue " + conflict.venueId() + " double-booked from " + conflict.start()
+                    + " to " + conflict.end() + " by bookings " + conflict.bookingIds());
+        }
+        throw new StageFailure(conflicts.size() + " double-booking group(s) found");
+    }
+
+    /**
+     * Checks the materialised reporting summaries against the bookings, and rebuilds them if any row differs.
+     */
+    private static void verifySummaries(Map<String, Object> fields) throws SQLException, StageFailure {
+        int inconsistent = ReportingDAO.verifySummaries();
+        fields.put("inconsistent", inconsistent);
+        fields.put("rebuilt", inconsistent > 0);
+        if (inconsistent == 0) {
+            return;
+        }
+        ReportingDAO.rebuildSummaries();
+        int remaining = ReportingDAO.verifySummaries();
+        fields.put("remaining", remaining);
+        if (remaining > 0) {
+            throw new StageFailure(remaining + " summary row(s) still differ from the bookings after the rebuild");
+        }
+    }
+
+    private static void putCounts(Map<String, Object> fields, int bookings, int events, int venues, int users,
+                                  int clients) {
+        fields.put("bookings", bookings);
+        fields.put("events", events);
+        fields.put("venues", venues);
+        fields.put("users", users);
+        fields.put("clients", clients);
+    }
+
+    private static void print(String stage, String status, Map<String, Object> fields, long startNanos) {
+        StringBuilder line = new StringBuilder("stage=").append(stage).append(" status=").append(status);
+        fields.forEach((key, value) -> line.append(' ').append(key).append('=').append(value));
+        line.append(" millis=").append((System.nanoTime() - startNanos) / 1_000_000);
+        System.out.println(line);
+    }
+
+    private static int usage(String message) {
+        System.err.println(message);
+        System.err.println(USAGE);
+        return 2;
+    }
+}
@@ -1,15 +1,26 @@
 package app;
 
+import service.ApiClient;
+import service.HoldService;
 import service.SceneManager;
 import javafx.application.Application;
 import javafx.stage.Stage;
 import dao.DatabaseHandler;
 
+import java.sql.SQLException;
+
 public class Main extends Application {
     @Override
-    public void start(Stage stage) {
-        // Initialize database once at startup
+    public void start(Stage stage) throws SQLException {
+        // Initialize database once at startup; the application does not start if it fails
         DatabaseHandler.initialiseDatabase();
+        if (ApiClient.isConfigured()) {
+            // Book through the front-desk API and follow its change feed; the server expires the holds
+            ApiClient.getInstance();
+        } else {
+            // Start expiring holds, including any left from an earlier run
+            HoldService.getInstance();
+        }
 
         SceneManager.setStage(stage);
         SceneManager.switchScene("main-view.fxml"); // Load main view first
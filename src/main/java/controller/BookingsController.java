@@ -16,9 +16,13 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
 import model.*;
+import service.BookingService;
 import service.SceneManager;
 import service.SessionManager;
 import util.AlertUtils;
+import util.ChangeBus;
+import util.IntHashSet;
+import util.IntIntHashMap;
 
 
 /**
@@ -28,6 +32,11 @@ import util.AlertUtils;
  * providing filtering functionality, and handling user actions such as updating and cancelling bookings.
  * It interacts with the data access layer (via {@link BookingDAO} and {@link ClientDAO}) to fetch and update data.
  * </p>
+ * <p>
+ * The tables are loaded once. Afterwards the controller listens for booking and event changes on the
+ * {@link ChangeBus} and patches only the affected rows: a cancelled booking is updated in place, and a created or
+ * updated booking reloads just the client that holds it.
+ * </p>
  *
  * @author  Bodene Downie
  * @version 1.0
@@ -59,6 +68,15 @@ public class BookingsController {
     /** FilteredList to manage booking filtering based on booking status. */
     private FilteredList<Booking> filteredBookingList;
 
+    /** The unfiltered table rows, with the position of each row keyed by booking ID and client ID. */
+    private final ObservableList<Booking> bookingList = FXCollections.observableArrayList();
+    private final ObservableList<Client> clientList = FXCollections.observableArrayList();
+    private final IntIntHashMap bookingPositions = new IntIntHashMap(-1);
+    private final IntIntHashMap clientPositions = new IntIntHashMap(-1);
+
+    /** Held so the change bus keeps delivering events while this view is alive. */
+    private List<ChangeBus.Subscription> subscriptions;
+
     /**
      * Initialises the controller after the FXML elements have been loaded.
      * <p>
@@ -69,6 +87,7 @@ public class BookingsController {
     private void initialize() {
         setupTables();
         setupToggleButton();
+        subscribeToChanges();
     }
 
     /**
@@ -91,16 +110,19 @@ public class BookingsController {
         statusColumn.setCellValueFactory(cellData -> cellData.getValue().getStatusProperty());
 
         // Fetch client summaries, which include associated bookings.
-        List<Client> clientList = ClientDAO.getAllClientSummaries();
+        List<Client> clients = ClientDAO.getAllClientSummaries();
 
         // Extract all bookings from the client list.
-        List<Booking> allBookings = clientList.stream()
+        List<Booking> allBookings = clients.stream()
                 .flatMap(client -> client.getBookings().stream())
                 .toList();
 
-        // Wrap bookings in an ObservableList and apply filtering.
-        ObservableList<Booking> bookingObservableList = FXCollections.observableArrayList(allBookings);
-        filteredBookingList = new FilteredList<>(bookingObservableList, p -> true);
+        // Add the bookings to the table list, remembering each row's position, and apply filtering.
+        for (Booking booking : allBookings) {
+            bookingPositions.put(booking.getBookingId(), bookingList.size());
+            bookingList.add(booking);
+        }
+        filteredBookingList = new FilteredList<>(bookingList, p -> true);
         bookingOrderSummaryTable.setItems(filteredBookingList);
 
         // Setup Client Table columns.
@@ -111,9 +133,107 @@ public class BookingsController {
         clientCommissionColumn.setCellValueFactory(cellData -> cellData.getValue().getTotalCommissionProperty());
         totalClientSpendColumn.setCellValueFactory(cellData -> cellData.getValue().getClientBookingTotalProperty());
 
-        // Convert client list into an ObservableList and set it in the client table.
-        ObservableList<Client> observableClientList = FXCollections.observableArrayList(clientList);
-        clientOrderSummaryTable.setItems(observableClientList);
+        // Add the clients to the client table, remembering each row's position.
+        for (Client client : clients) {
+            clientPositions.put(client.getClientId(), clientList.size());
+            clientList.add(client);
+        }
+        clientOrderSummaryTable.setItems(clientList);
+    }
+
+    /**
+     * Subscribes to the booking and event changes that affect the tables.
+     * <p>
+     * Changes may be published from a background task, so each listener runs on the JavaFX Application Thread.
+     * </p>
+     */
+    private void subscribeToChanges() {
+        ChangeBus bus = ChangeBus.getInstance();
+        subscriptions = List.of(
+                bus.subscribe(ChangeEvent.BookingCancelled.class, ChangeBus.onFxThread(this::applyCancellation)),
+                bus.subscribe(ChangeEvent.BookingCreated.class,
+                        ChangeBus.onFxThread(change -> reloadClient(change.clientId()))),
+                bus.subscribe(ChangeEvent.BookingUpdated.class, ChangeBus.onFxThread(change -> {
+                    reloadClient(change.previousClientId());
+                    if (change.clientId() != change.previousClientId()) {
+                        reloadClient(change.clientId());
+                    }
+                })),
+                bus.subscribe(ChangeEvent.EventUpdated.class, ChangeBus.onFxThread(this::applyEventUpdate)));
+    }
+
+    /**
+     * Marks a cancelled booking in the table and refreshes its client's totals.
+     * <p>
+     * Replacing the row in the underlying list makes the {@link FilteredList} re-test it, so the booking drops
+     * out of the table when only confirmed bookings are shown.
+     * </p>
+     *
+     * @param change the cancellation
+     */
+    private void applyCancellation(ChangeEvent.BookingCancelled change) {
+        int position = bookingPositions.get(change.bookingId());
+        if (position == -1) {
+            reloadClient(change.clientId());
+            return;
+        }
+        Booking booking = bookingList.get(position);
+        booking.setStatus(BookingStatus.CANCELLED);
+        bookingList.set(position, booking);
+
+        int clientPosition = clientPositions.get(change.clientId());
+        if (clientPosition != -1) {
+            clientList.set(clientPosition, clientList.get(clientPosition));
+        }
+    }
+
+    /**
+     * Reloads the clients whose bookings refer to an updated event, so the event's new date and artist are shown.
+     *
+     * @param change the event update
+     */
+    private void applyEventUpdate(ChangeEvent.EventUpdated change) {
+        IntHashSet clientIds = new IntHashSet();
+        for (Booking booking : bookingList) {
+            if (booking.getEvent().getEventId() == change.eventId()) {
+                clientIds.add(booking.getClient().getClientId());
+            }
+        }
+        clientIds.forEach(this::reloadClient);
+    }
+
+    /**
+     * Reloads one client and its bookings from the database and replaces their rows in both tables.
+     * <p>
+     * Bookings that are new to the table are appended. A booking that moved to another client keeps its row,
+     * which is replaced when that client is reloaded.
+     * </p>
+     *
+     * @param clientId the ID of the client to reload
+     */
+    private void reloadClient(int clientId) {
+        Client client = ClientDAO.getClientSummary(clientId);
+        if (client == null) {
+            return;
+        }
+
+        int clientPosition = clientPositions.get(clientId);
+        if (clientPosition == -1) {
+            clientPositions.put(clientId, clientList.size());
+            clientList.add(client);
+        } else {
+            clientList.set(clientPosition, client);
+        }
+
+        for (Booking booking : client.getBookings()) {
+            int position = bookingPositions.get(booking.getBookingId());
+            if (position == -1) {
+                bookingPositions.put(booking.getBookingId(), bookingList.size());
+                bookingList.add(booking);
+            } else {
+                bookingList.set(position, booking);
+            }
+        }
     }
 
     /**
@@ -141,7 +261,8 @@ public class BookingsController {
      * Updates the selected booking.
      * <p>
      * This method retrieves the booking selected by the user from the table and opens a new window
-     * with the booking details loaded in the edit view. After editing, the booking data is refreshed.
+     * with the booking details loaded in the edit view. Saved changes are applied to the tables through the
+     * change events published by the DAO.
      * If no booking is selected, a warning alert is shown.
      * </p>
      */
@@ -169,9 +290,6 @@ public class BookingsController {
             stage.setTitle("Edit Booking");
             stage.setScene(new Scene(root));
             stage.showAndWait();
-
-            // Refresh booking data after the update operation.
-            refreshBookingData();
         } catch (Exception e) {
             AlertUtils.showAlert("Error", "Failed to load booking edit view: " + e.getMessage(), Alert.AlertType.ERROR);
         }
@@ -181,8 +299,8 @@ public class BookingsController {
      * Cancels the selected booking.
      * <p>
      * This method retrieves the selected booking and, after user confirmation,
-     * initiates an asynchronous task to cancel the booking via {@link BookingDAO}.
-     * Upon success or failure, the UI is updated accordingly.
+     * initiates an asynchronous task to cancel the booking via {@link BookingService}.
+     * Upon success or failure, the user is notified; the row itself is updated by {@link #applyCancellation}.
      * </p>
      */
     @FXML
@@ -204,7 +322,7 @@ public class BookingsController {
             Task<Boolean> cancelTask = new Task<>() {
                 @Override
                 protected Boolean call() throws SQLException {
-                    return BookingDAO.cancelBooking(selectedBooking.getBookingId());
+                    return BookingService.cancelBooking(selectedBooking.getBookingId());
                 }
             };
 
@@ -213,7 +331,6 @@ public class BookingsController {
                 boolean success = cancelTask.getValue();
                 if (success) {
                     AlertUtils.showAlert("Success", "Booking canceled successfully.", Alert.AlertType.INFORMATION);
-                    refreshBookingData();
                 } else {
                     AlertUtils.showAlert("Error", "Failed to cancel the booking. Please try again.", Alert.AlertType.ERROR);
                 }
@@ -232,43 +349,6 @@ public class BookingsController {
         }
     }
 
-    /**
-     * Refreshes the booking and client data in the tables.
-     * <p>
-     * This method fetches updated client summaries and extracts the latest booking data,
-     * reapplying any active filters before updating the table views.
-     * </p>
-     */
-    private void refreshBookingData() {
-
-        // Retrieve updated client summaries.
-        List<Client> updatedClients = ClientDAO.getAllClientSummaries();
-
-        // Extract updated bookings from the clients.
-        List<Booking> updatedBookings = updatedClients.stream()
-                .flatMap(client -> client.getBookings().stream())
-                .toList();
-
-        // Create an observable list for the updated bookings.
-        ObservableList<Booking> updatedBookingList = FXCollections.observableArrayList(updatedBookings);
-
-        // Create a new FilteredList with the updated bookings.
-        FilteredList<Booking> newFilteredList = new FilteredList<>(updatedBookingList, p -> true);
-
-        // Reapply the confirmed bookings filter if the toggle is selected.
-        if (filterConfirmedOnlyToggle.isSelected()) {
-            newFilteredList.setPredicate(booking -> booking.getStatus() == BookingStatus.CONFIRMED);
-        }
-
-        // Update the filtered booking list and table view.
-        filteredBookingList = newFilteredList;
-        bookingOrderSummaryTable.setItems(filteredBookingList);
-
-        // Update the client table with the latest client data.
-        ObservableList<Client> updatedClientList = FXCollections.observableArrayList(updatedClients);
-        clientOrderSummaryTable.setItems(updatedClientList);
-    }
-
     /**
      * Navigates to the dashboard view.
      * <p>
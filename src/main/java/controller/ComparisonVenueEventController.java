@@ -8,6 +8,7 @@ import javafx.stage.Stage;
 import model.Event;
 import model.Venue;
 import model.VenueType;
+import service.VenueMatchingService;
 import util.NumberUtils;
 
 
@@ -20,8 +21,9 @@ import util.NumberUtils;
  * </p>
  *
  * <p>
- * The controller leverages helper methods to safely format strings, generate a comma-separated list
- * of venue types, and verify if the event type matches any of the venue's types.
+ * The controller leverages helper methods to safely format strings and generate a comma-separated list
+ * of venue types. Whether the venue meets each criterion is taken from the score breakdown the dashboard ranked
+ * the venue with, so the comparison always agrees with the venue's score.
  * </p>
  *
  * @author  Bodene Downie
@@ -40,16 +42,17 @@ public class ComparisonVenueEventController {
     @FXML private Label eventDateTimeLabel;
     @FXML private Label venueAvailabilityLabel;
     @FXML private Label venuePriceLabel;
+    @FXML private Label matchScoreLabel;
 
     /** The selected event and Venue to be compared. */
     private Event selectedEvent;
     private Venue selectedVenue;
 
-    /** Flag indicating whether the venue is available for the event. */
-    private boolean isAvailable;
+    /** The criteria the venue meets for the event. */
+    private VenueMatchingService.ScoreBreakdown breakdown;
 
     /**
-     * Sets the selected venue, event, and availability status, then updates the UI.
+     * Sets the selected venue, event, and score breakdown, then updates the UI.
      * <p>
      * This method is used to pass the details from the dashboard to the comparison view.
      * Once the values are set, it calls {@link #updateUI()} to refresh the displayed data.
@@ -57,12 +60,12 @@ public class ComparisonVenueEventController {
      *
      * @param venue     the selected venue
      * @param event     the selected event
-     * @param available {@code true} if the venue is available for the event, {@code false} otherwise
+     * @param breakdown the criteria the venue meets for the event, including whether it is available
      */
-    public void setVenueAndEvent(Venue venue, Event event, boolean available) {
+    public void setVenueAndEvent(Venue venue, Event event, VenueMatchingService.ScoreBreakdown breakdown) {
         this.selectedEvent = event;
         this.selectedVenue = venue;
-        this.isAvailable = available;
+        this.breakdown = breakdown;
         updateUI();
     }
 
@@ -75,7 +78,7 @@ public class ComparisonVenueEventController {
      * </p>
      */
     private void updateUI() {
-        if (selectedEvent == null || selectedVenue == null) {
+        if (selectedEvent == null || selectedVenue == null || breakdown == null) {
             return;
         }
 
@@ -89,7 +92,8 @@ public class ComparisonVenueEventController {
 
         // Set capacities with formatted numbers.
         eventCapacityLabel.setText(NumberUtils.formatNumber(selectedEvent.getRequiredCapacity()));
-        venueCapacityLabel.setText(NumberUtils.formatNumber(selectedVenue.getCapacity()));
+        venueCapacityLabel.setText(NumberUtils.formatNumber(selectedVenue.getCapacity())
+                + " (" + (breakdown.capacitySlack() >= 0 ? "+" : "") + NumberUtils.formatNumber(breakdown.capacitySlack()) + ")");
 
         // Set event type and formatted venue types.
         eventTypeLabel.setText(safeString(selectedEvent.getEventType()));
@@ -97,18 +101,18 @@ public class ComparisonVenueEventController {
 
         // Set event date and time, and display availability.
         eventDateTimeLabel.setText(selectedEvent.getEventDate() + " " + selectedEvent.getEventTime());
-        venueAvailabilityLabel.setText(isAvailable ? "✅ Available" : "❌ Not Available");
+        venueAvailabilityLabel.setText(breakdown.available() ? "✅ Available" : "❌ Not Available");
 
         // Set the venue price formatted as currency.
         venuePriceLabel.setText(NumberUtils.formatCurrency(selectedVenue.getHirePricePerHour()));
 
+        // Show the compatibility score the venue was ranked with.
+        matchScoreLabel.setText(breakdown.score() + " / 100");
+
         // Highlight mismatches in key fields.
-        highlightMismatch(eventCategoryLabel, venueCategoryLabel,
-                !selectedEvent.getCategory().equals(selectedVenue.getCategory()));
-        highlightMismatch(eventCapacityLabel, venueCapacityLabel,
-                selectedVenue.getCapacity() < selectedEvent.getRequiredCapacity());
-        highlightMismatch(eventTypeLabel, venueTypesLabel,
-                !hasMatchingVenueType(selectedEvent.getEventType(), selectedVenue.getVenueTypes()));
+        highlightMismatch(eventCategoryLabel, venueCategoryLabel, !breakdown.categoryMatch());
+        highlightMismatch(eventCapacityLabel, venueCapacityLabel, !breakdown.capacityMet());
+        highlightMismatch(eventTypeLabel, venueTypesLabel, !breakdown.typeMatch());
     }
 
     /**
@@ -129,25 +133,6 @@ public class ComparisonVenueEventController {
         }
     }
 
-    /**
-     * Checks if the event type matches any of the venue types.
-     * <p>
-     * This method compares the event type (case-insensitive) with the list of venue types. It returns
-     * {@code true} if a match is found.
-     * </p>
-     *
-     * @param eventType  the type of the event
-     * @param venueTypes the list of venue types associated with the venue
-     * @return {@code true} if the event type matches any of the venue types, {@code false} otherwise
-     */
-    private boolean hasMatchingVenueType(String eventType, List<VenueType> venueTypes) {
-        List<String> venueTypeNames = venueTypes.stream()
-                .map(VenueType::getVenueType)
-                .map(String::toLowerCase)
-                .toList();
-        return venueTypeNames.contains(eventType.toLowerCase());
-    }
-
     /**
      * Formats a list of venue types into a comma-separated string.
      * <p>
@@ -3,7 +3,7 @@ package controller;
 import dao.BookingDAO;
 import dao.ClientDAO;
 import dao.EventDAO;
-import dao.VenueDAO;
+import dao.VenueTypeDAO;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
@@ -16,14 +16,25 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import model.*;
 import service.BookingService;
+import service.HoldService;
+import service.MatchWaitlist;
 import service.SceneManager;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
+import service.ScoringModel;
 import service.SessionManager;
+import service.SlotFinder;
+import service.VenueCatalog;
 import service.VenueMatchingService;
 import util.AlertUtils;
+import util.ChangeBus;
+import util.IntObjectHashMap;
 import java.sql.SQLException;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 
@@ -43,8 +54,13 @@ import java.util.stream.Collectors;
  *   <li>Filtering venues using various criteria such as availability, capacity, event category, and venue type.</li>
  *   <li>Providing detailed views for events and venue comparisons.</li>
  *   <li>Booking venues for events and handling booking errors.</li>
+ *   <li>Holding a venue for an event while the booking is confirmed or released.</li>
  * </ul>
  * </p>
+ * <p>
+ * The event table is loaded once and then kept current from the booking and event changes published on the
+ * {@link ChangeBus}: booked events are removed, cancelled events are added back, and edited events are replaced.
+ * </p>
  *
  * @author  Bodene Downie
  * @version 1.0
@@ -68,6 +84,13 @@ public class DashboardController {
     @FXML private TableColumn<Venue, Integer> compatibilityScoreColumn;
     private ObservableList<Venue> venueList = FXCollections.observableArrayList();
 
+    /** How the venue table ranks venues for the selected event: every venue, closest capacity first on ties. */
+    private static final VenueMatchingService.RankingOptions VENUE_RANKING =
+            VenueMatchingService.RankingOptions.allVenues(VenueMatchingService.TieBreak.CLOSEST_CAPACITY);
+
+    /** The score breakdown of each venue in the venue table for the selected event, by venue ID. */
+    private IntObjectHashMap<VenueMatchingService.ScoreBreakdown> venueBreakdowns = new IntObjectHashMap<>();
+
     /* BOOKINGS TABLE COMPONENTS */
     @FXML private TableView<Booking> currentBookingTable;
     @FXML private TableColumn<Booking, Integer> bookingIdColumn;
@@ -82,10 +105,19 @@ public class DashboardController {
     @FXML private CheckBox eventTypeCheckbox;
     @FXML private CheckBox venueCategoryCheckbox;
 
+    /** The format of a hold's expiry time. */
+    private static final DateTimeFormatter HOLD_TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
     /** The event and venue selected by the user. */
     private Event selectedEvent;
     private Venue selectedVenue;
 
+    /** Held so the change bus keeps delivering events while this view is alive. */
+    private List<ChangeBus.Subscription> subscriptions;
+
+    /** Held so the match waitlist keeps reporting new matches while this view is alive. */
+    private Consumer<List<VenueMatchingService.AutoMatchResult>> waitlistListener;
+
     /**
      * Initialises the Dashboard controller after the FXML elements have been loaded.
      * <p>
@@ -100,11 +132,85 @@ public class DashboardController {
         setupVenueTableColumns();
         setUpBookingTableColumns();
         currentBookingTable.setPlaceholder(new Label("Please select a venue to view bookings."));
+        subscribeToChanges();
+        waitlistListener = ChangeBus.onFxThread(this::showWaitlistMatches);
+        MatchWaitlist.getInstance().addListener(waitlistListener);
 
         // Load event data after UI initialisation.
         Platform.runLater(this::loadEventData);
     }
 
+    /**
+     * Subscribes to the booking and event changes that affect which events are available.
+     * <p>
+     * Changes may be published from a background task, so each listener runs on the JavaFX Application Thread.
+     * </p>
+     */
+    private void subscribeToChanges() {
+        ChangeBus bus = ChangeBus.getInstance();
+        subscriptions = List.of(
+                bus.subscribe(ChangeEvent.BookingCreated.class, ChangeBus.onFxThread(change -> {
+                    if (change.status() == BookingStatus.CONFIRMED) removeAvailableEvent(change.eventId());
+                })),
+                bus.subscribe(ChangeEvent.BookingCancelled.class, ChangeBus.onFxThread(change -> {
+                    if (change.wasConfirmed()) addAvailableEvent(change.eventId());
+                })),
+                bus.subscribe(ChangeEvent.BookingUpdated.class, ChangeBus.onFxThread(change -> {
+                    if (change.confirmed() && change.eventId() != change.previousEventId()) {
+                        addAvailableEvent(change.previousEventId());
+                        removeAvailableEvent(change.eventId());
+                    }
+                })),
+                bus.subscribe(ChangeEvent.EventUpdated.class, ChangeBus.onFxThread(change -> replaceAvailableEvent(change.eventId()))),
+                bus.subscribe(ChangeEvent.EventsAdded.class,
+                        ChangeBus.onFxThread(change -> eventList.addAll(EventDAO.getEventsByIds(change.eventIds())))),
+                bus.subscribe(ChangeEvent.EventsReset.class, ChangeBus.onFxThread(change -> loadEventData())));
+    }
+
+    /**
+     * Removes a newly booked event from the event table.
+     *
+     * @param eventId the ID of the booked event
+     */
+    private void removeAvailableEvent(int eventId) {
+        eventList.removeIf(event -> event.getEventId() == eventId);
+        if (eventList.isEmpty()) {
+            eventTable.setPlaceholder(new Label("No available events."));
+        }
+    }
+
+    /**
+     * Adds an event whose confirmed booking was cancelled or moved back to the event table.
+     *
+     * @param eventId the ID of the event that is available again
+     */
+    private void addAvailableEvent(int eventId) {
+        if (eventList.stream().anyMatch(event -> event.getEventId() == eventId)) {
+            return;
+        }
+        Event event = EventDAO.getEventById(eventId);
+        if (event != null) {
+            eventList.add(event);
+        }
+    }
+
+    /**
+     * Replaces an edited event in the event table with its current details.
+     *
+     * @param eventId the ID of the edited event
+     */
+    private void replaceAvailableEvent(int eventId) {
+        for (int i = 0; i < eventList.size(); i++) {
+            if (eventList.get(i).getEventId() == eventId) {
+                Event event = EventDAO.getEventById(eventId);
+                if (event != null) {
+                    eventList.set(i, event);
+                }
+                return;
+            }
+        }
+    }
+
     /**
      * Configures the columns of the event table and sets a listener for event selection.
      * <p>
@@ -151,17 +257,9 @@ public class DashboardController {
         venueNoColumn.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().getVenueId()));
         venueNameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getName()));
 
-        // Calculate and display compatibility score for each venue.
-        compatibilityScoreColumn.setCellValueFactory(cellData -> {
-            try {
-                Event selectedEvent = getSelectedEvent();
-                if (selectedEvent == null) return new SimpleObjectProperty<>(0);
-                return new SimpleObjectProperty<>(VenueMatchingService.calculateCompatibility(cellData.getValue(), selectedEvent));
-            } catch (SQLException e) {
-                AlertUtils.showAlert("Error calculating venue compatibility: ", e.getMessage(), Alert.AlertType.ERROR);
-                return new SimpleObjectProperty<>(0);
-            }
-        });
+        // Display the compatibility score each venue was ranked with.
+        compatibilityScoreColumn.setCellValueFactory(cellData ->
+                new SimpleObjectProperty<>((int) cellData.getValue().getCompatibilityScore()));
 
         // Add listener to load confirmed bookings when a venue is selected.
         venueTable.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
@@ -188,28 +286,13 @@ public class DashboardController {
     /**
      * Loads event data from the database.
      * <p>
-     * This method retrieves all events, excludes those that have confirmed bookings,
-     * and updates the event table with the available events.
+     * This method retrieves the events that do not have confirmed bookings and updates the event table with them.
+     * Later changes are applied through the change bus rather than by calling this method again.
      * </p>
      */
     private void loadEventData() {
-        // Retrieve all events from the database.
-        List<Event> allEvents = EventDAO.getAllEvents();
-
-        // Retrieve all clients and their bookings.
-        List<Client> allClients = ClientDAO.getAllClientSummaries();
-
-        // Extract event IDs that already have confirmed bookings.
-        List<Integer> bookedEventIds = allClients.stream()
-                .flatMap(client -> client.getBookings().stream())
-                .filter(booking -> booking.getStatus() == BookingStatus.CONFIRMED)
-                .map(booking -> booking.getEvent().getEventId())
-                .collect(Collectors.toList());
-
-        // Filter events to include only those that are not booked.
-        List<Event> availableEvents = allEvents.stream()
-                .filter(event -> !bookedEventIds.contains(event.getEventId()))
-                .collect(Collectors.toList());
+        // Retrieve the events that do not have a confirmed booking.
+        List<Event> availableEvents = EventDAO.getAvailableEvents();
 
         // Update the event table with available events.
         if (!availableEvents.isEmpty()) {
@@ -226,29 +309,28 @@ public class DashboardController {
     /**
      * Loads venues for the selected event and applies compatibility calculations.
      * <p>
-     * The method retrieves all venues, calculates their compatibility with the given event,
-     * sorts them by compatibility score, and updates the venue table.
+     * The method ranks every venue for the given event with the {@code VenueMatchingService}, which scores each
+     * venue once, keeps each venue's score breakdown for the filters and the comparison view, and updates the
+     * venue table in rank order.
      * </p>
      *
      * @param event the selected event for which venues are to be loaded
      */
     private void loadVenuesForEvent(Event event) {
         try {
-            // Retrieve all venues from the database.
-            List<Venue> allVenues = VenueDAO.getAllVenues();
-
-            // Calculate compatibility scores and sort venues.
-            List<Venue> filteredVenues = allVenues.stream()
-                .map(venue -> {
-                    try {
-                        venue.setCompatibilityScore(VenueMatchingService.calculateCompatibility(venue, event));
-                    } catch (SQLException e) {
-                        e.printStackTrace();
-                    }
-                    return venue;
-                })
-                .sorted((v1, v2) -> Double.compare(v2.getCompatibilityScore(), v1.getCompatibilityScore()))
-                        .collect(Collectors.toList());
+            List<VenueMatchingService.VenueCandidate> ranked = new VenueMatchingService(ScoringModel.configured())
+                    .rankVenues(event, VENUE_RANKING);
+
+            // Score copies of the venues, as the catalog's venues are shared.
+            IntObjectHashMap<VenueMatchingService.ScoreBreakdown> breakdowns = new IntObjectHashMap<>(ranked.size());
+            List<Venue> filteredVenues = new ArrayList<>(ranked.size());
+            for (VenueMatchingService.VenueCandidate candidate : ranked) {
+                Venue venue = new Venue(candidate.venue);
+                venue.setCompatibilityScore(candidate.score);
+                breakdowns.put(venue.getVenueId(), candidate.breakdown);
+                filteredVenues.add(venue);
+            }
+            venueBreakdowns = breakdowns;
 
                 venueList.setAll(filteredVenues);
                 venueTable.setItems(venueList);
@@ -307,8 +389,8 @@ public class DashboardController {
     /**
      * Filters the list of venues based on the selected checkboxes.
      * <p>
-     * The filtering criteria include availability, capacity, event category, and venue type matching.
-     * If no event is selected, a warning alert is displayed.
+     * The filtering criteria include availability, capacity, event category, and venue type matching, read from
+     * the score breakdowns the venues were ranked with. If no event is selected, a warning alert is displayed.
      * </p>
      */
     @FXML
@@ -317,45 +399,36 @@ public class DashboardController {
             AlertUtils.showAlert("No Event Selected", "Please select an event before filtering venues.", Alert.AlertType.WARNING);
             return;
         }
+        // The venue list is already ranked, and each venue's breakdown records the criteria it meets.
         List<Venue> filteredList = venueList.stream()
                 .filter(venue -> {
+                    VenueMatchingService.ScoreBreakdown breakdown = venueBreakdowns.get(venue.getVenueId());
+                    if (breakdown == null) {
+                        return false;
+                    }
                     boolean match = true;
 
                     // Filter by Availability.
                     if (availableCheckbox.isSelected()) {
-                        try {
-                            match &= BookingDAO.checkAvailability(venue.getVenueId(), selectedEvent.getEventDate(), selectedEvent.getEventTime(), selectedEvent.getDuration());
-                        } catch (SQLException e) {
-                            throw new RuntimeException(e);
-                        }
+                        match &= breakdown.available();
                     }
 
                     // Filter by Capacity.
                     if (sufficientCapacityCheckbox.isSelected()) {
-                        match &= venue.getCapacity() >= selectedEvent.getRequiredCapacity();
+                        match &= breakdown.capacityMet();
                     }
 
                     // Filter by Venue Category.
                     if (venueCategoryCheckbox.isSelected()) {
-                        boolean categoryMatch = switch (selectedEvent.getCategory()) {
-                            case INDOOR -> venue.getCategory() == VenueCategory.INDOOR || venue.getCategory() == VenueCategory.CONVERTIBLE;
-                            case OUTDOOR -> venue.getCategory() == VenueCategory.OUTDOOR || venue.getCategory() == VenueCategory.CONVERTIBLE;
-                            case CONVERTIBLE -> venue.getCategory() == VenueCategory.CONVERTIBLE;
-                        };
-                        match &= categoryMatch;
+                        match &= breakdown.categoryMatch();
                     }
 
                     // Filter by Venue Type.
                     if (eventTypeCheckbox.isSelected()) {
-                        boolean typeMatch = venue.getVenueTypes().stream()
-                                .map(type -> type.toString().trim().toLowerCase())
-                                .collect(Collectors.toSet())
-                                .contains(selectedEvent.getEventType().toLowerCase().trim());
-                        match &= typeMatch;
+                        match &= breakdown.typeMatch();
                     }
                     return match;
                 })
-                .sorted((v1, v2) -> Double.compare(v2.getCompatibilityScore(), v1.getCompatibilityScore()))
                 .collect(Collectors.toList());
 
         venueTable.setItems(FXCollections.observableArrayList(filteredList));
@@ -382,18 +455,21 @@ public class DashboardController {
      *       providing the user with a choice to "Book All" or cancel.</li>
      *   <li>If the user selects "Book All", the method calls {@code BookingService.bulkBookRecommendations()}
      *       to perform bulk bookings based on the recommendations, then builds and displays the booking results in another wide alert.</li>
-     *   <li>Finally, it refreshes the event data by calling {@code loadEventData()}.</li>
+     *   <li>Each booked event is removed from the event table by the change events the bookings publish.</li>
      * </ol>
      * </p>
      */
     @FXML
     private void autoMatch() {
-        VenueMatchingService matchingService = new VenueMatchingService();
+        VenueMatchingService matchingService = new VenueMatchingService(ScoringModel.configured());
 
         // Get current events
         List<Event> activeEvents = new ArrayList<>(eventList);
         List<VenueMatchingService.AutoMatchResult> recommendations = matchingService.getRecommendations(activeEvents);
 
+        // Events with no venue wait for a cancellation to free one.
+        MatchWaitlist.getInstance().addUnmatched(recommendations);
+
         // Build recommendation text.
         StringBuilder recommendationText = new StringBuilder();
         for (VenueMatchingService.AutoMatchResult result : recommendations) {
@@ -426,28 +502,48 @@ public class DashboardController {
         Optional<ButtonType> userResponse = alert.showAndWait();
         if (userResponse.isPresent() && userResponse.get() == bookAllButton) {
             // Use the service to bulk book recommendations.
-            Map<Event, Boolean> bookingResults = BookingService.bulkBookRecommendations(recommendations);
+            List<BookingService.BulkBookingResult> bookingResults = BookingService.bulkBookRecommendations(recommendations);
             StringBuilder bookingResultText = new StringBuilder();
-            bookingResults.forEach((event, success) -> {
-                if (success) {
-                    bookingResultText.append("Booked '").append(event.getEventName()).append("'.\n");
-                } else {
-                    bookingResultText.append("Failed to book '").append(event.getEventName()).append("'.\n");
+            for (BookingService.BulkBookingResult result : bookingResults) {
+                String eventName = result.event().getEventName();
+                switch (result.outcome()) {
+                    case BOOKED -> bookingResultText.append("Booked '").append(eventName).append("' at ")
+                            .append(result.venue().getName()).append(".\n");
+                    case CONFLICT -> bookingResultText.append("Could not book '").append(eventName)
+                            .append("': the event or venue time slot is already booked.\n");
+                    case FAILED -> bookingResultText.append("Failed to book '").append(eventName).append("'.\n");
                 }
-            });
+            }
 
             AlertUtils.showWideAlert("Bulk Booking Results", "Results of Bulk Booking", bookingResultText.toString(), Alert.AlertType.INFORMATION );
+        }
+    }
 
-            // Refresh events if needed.
-            loadEventData();
+    /**
+     * Tells the user which waiting events a cancelled booking has freed a venue for.
+     *
+     * @param matches the new matches from the {@link MatchWaitlist}
+     */
+    private void showWaitlistMatches(List<VenueMatchingService.AutoMatchResult> matches) {
+        StringBuilder matchText = new StringBuilder();
+        for (VenueMatchingService.AutoMatchResult result : matches) {
+            matchText.append("Event: ").append(result.event.getEventName()).append("\n")
+                    .append("  Now Available: ").append(result.candidate.venue.getName()).append("\n")
+                    .append("  Compatibility Score: ").append(result.candidate.score).append("\n");
+            if (!result.unmetCriteria.isEmpty()) {
+                matchText.append("  Unmet Criteria: ").append(String.join(", ", result.unmetCriteria)).append("\n");
+            }
+            matchText.append("\n");
         }
+        AlertUtils.showWideAlert("Waitlist Matches", "A cancellation freed a venue for waiting events",
+                matchText.toString(), Alert.AlertType.INFORMATION);
     }
 
     /**
      * Displays detailed venue comparison information.
      * <p>
      * This method opens a new window that compares the selected venue and event. It loads the comparison
-     * view, sets the appropriate data, and displays the window.
+     * view, passes it the venue's score breakdown for the event, and displays the window.
      * </p>
      */
     @FXML
@@ -464,9 +560,11 @@ public class DashboardController {
 
             // Pass selected venue and event data to the comparison controller.
             ComparisonVenueEventController controller = loader.getController();
-            controller.setVenueAndEvent(selectedVenue, selectedEvent, BookingDAO.checkAvailability(
-                    selectedVenue.getVenueId(), selectedEvent.getEventDate(), selectedEvent.getEventTime(), selectedEvent.getDuration()
-            ));
+            VenueMatchingService.ScoreBreakdown breakdown = venueBreakdowns.get(selectedVenue.getVenueId());
+            if (breakdown == null) {
+                breakdown = VenueMatchingService.scoreBreakdown(selectedVenue, selectedEvent);
+            }
+            controller.setVenueAndEvent(selectedVenue, selectedEvent, breakdown);
 
             // Set the stage for the venue and event comparison
             Stage stage = new Stage();
@@ -485,7 +583,8 @@ public class DashboardController {
      * <p>
      * This method verifies that both an event and a venue have been selected. It then performs
      * additional compatibility checks (capacity, category, and type) and, if necessary, warns the user
-     * about unmet criteria. If the user proceeds, the venue is booked and the event list is refreshed.
+     * about unmet criteria. If the user proceeds, the venue is booked and the change bus removes the event from
+     * the event list. If the venue is already booked at that time, the venue's next free times are listed.
      * </p>
      */
     @FXML
@@ -508,7 +607,9 @@ public class DashboardController {
             );
 
             if (!isAvailable) {
-                AlertUtils.showAlert("Booking Error", "The selected venue is already booked for the chosen time slot.", Alert.AlertType.WARNING);
+                AlertUtils.showAlert("Booking Error", "The selected venue is already booked for the chosen time slot."
+                        + SlotFinder.getInstance().describeNextSlots(selectedVenue, selectedEvent.getEventDate(), selectedEvent.getDuration()),
+                        Alert.AlertType.WARNING);
                 return;
             }
 
@@ -531,10 +632,7 @@ public class DashboardController {
                         .append(", Venue: ").append(selectedVenue.getCategory()).append(")\n");
             }
 
-            boolean eventTypeMatch = selectedVenue.getVenueTypes().stream()
-                    .map(type -> type.toString().trim().toLowerCase())
-                    .collect(Collectors.toSet())
-                    .contains(selectedEvent.getEventType().toLowerCase().trim());
+            boolean eventTypeMatch = VenueTypeDAO.isVenueSuitable(selectedVenue.getVenueId(), selectedEvent.getEventType());
             if (!eventTypeMatch) {
                 unmetCriteria.append("- Venue Type Mismatch (Event Type: ").append(selectedEvent.getEventType()).append(")\n");
             }
@@ -553,9 +651,11 @@ public class DashboardController {
             boolean success = bookingService.bookVenue(selectedEvent, selectedVenue);
             if (success) {
                 AlertUtils.showAlert("Success", "Venue successfully booked!", Alert.AlertType.INFORMATION);
-                loadEventData();  // Refresh event list to exclude the booked event.
             } else {
-                AlertUtils.showAlert("Booking Error", "Failed to book the venue.", Alert.AlertType.ERROR);
+                // Another user booked the slot or the event after the availability check above. That booking may
+                // have been made from another process, so no change event was published for it here.
+                AlertUtils.showAlert("Booking Error", "The selected venue or event has just been booked by another user.", Alert.AlertType.WARNING);
+                loadEventData();
             }
 
         } catch (SQLException e) {
@@ -564,6 +664,47 @@ public class DashboardController {
         }
     }
 
+    /**
+     * Holds the selected venue for the selected event while the user decides whether to book it.
+     * <p>
+     * The hold keeps other users from booking the slot for up to {@link HoldService#DEFAULT_TTL}. The user then
+     * confirms the booking, or the hold is released; a hold that has lapsed before it is confirmed is reported.
+     * </p>
+     */
+    @FXML
+    private void holdVenue() {
+        if (selectedEvent == null || selectedVenue == null) {
+            AlertUtils.showAlert("Hold Error", "Please select both an event and a venue before holding.", Alert.AlertType.WARNING);
+            return;
+        }
+
+        try {
+            Optional<BookingHold> hold = BookingService.holdVenue(selectedEvent, selectedVenue);
+            if (hold.isEmpty()) {
+                AlertUtils.showAlert("Hold Error", "The selected venue or event is already booked or held."
+                        + SlotFinder.getInstance().describeNextSlots(selectedVenue, selectedEvent.getEventDate(), selectedEvent.getDuration()),
+                        Alert.AlertType.WARNING);
+                return;
+            }
+
+            int bookingId = hold.get().bookingId();
+            String expires = LocalTime.ofInstant(hold.get().expiresAt(), ZoneId.systemDefault()).format(HOLD_TIME_FORMAT);
+            boolean confirm = AlertUtils.showConfirmation("Venue Held",
+                    selectedVenue.getName() + " is held for " + selectedEvent.getEventName() + " until " + expires + ".",
+                    "Press OK to confirm the booking, or Cancel to release the hold.");
+            if (!confirm) {
+                BookingService.releaseHold(bookingId);
+            } else if (BookingService.confirmHold(bookingId)) {
+                AlertUtils.showAlert("Success", "Venue successfully booked!", Alert.AlertType.INFORMATION);
+            } else {
+                AlertUtils.showAlert("Booking Error", "The hold expired before the booking was confirmed.", Alert.AlertType.WARNING);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            AlertUtils.showAlert("Database Error", "Error holding venue: " + e.getMessage(), Alert.AlertType.ERROR);
+        }
+    }
+
     /**
      * Navigates to the settings view based on the current user's role.
      * <p>
@@ -1,11 +1,13 @@
 package controller;
 
 import dao.BookingDAO;
-import dao.ClientDAO;
-import model.Booking;
-import model.BookingStatus;
-import model.Client;
+import dao.ReportingDAO;
+import model.BookingRow;
+import model.ClientSummary;
 import service.SceneManager;
+import util.NumberUtils;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -16,7 +18,6 @@ import javafx.scene.chart.PieChart;
 import javafx.scene.chart.XYChart;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
-import javafx.scene.control.cell.PropertyValueFactory;
 import java.util.List;
 import java.util.Map;
 
@@ -45,34 +46,38 @@ public class ManagementSummaryController {
     @FXML private NumberAxis xAxis;
 
     /* BOOKING TABLE COMPONENTS */
-    @FXML private TableView<Booking> managementEventCommissionTable;
-    @FXML private TableColumn<Booking, Integer> bookingNoColumn;
-    @FXML private TableColumn<Booking, String> eventNameColumn;
-    @FXML private TableColumn<Booking, String> venueNameColumn;
-    @FXML private TableColumn<Booking, String> bookingCommissionColumn;
-    @FXML private TableColumn<Booking, String> bookedByUserColumn;
+    @FXML private TableView<BookingRow> managementEventCommissionTable;
+    @FXML private TableColumn<BookingRow, Integer> bookingNoColumn;
+    @FXML private TableColumn<BookingRow, String> eventNameColumn;
+    @FXML private TableColumn<BookingRow, String> venueNameColumn;
+    @FXML private TableColumn<BookingRow, String> bookingCommissionColumn;
+    @FXML private TableColumn<BookingRow, String> bookedByUserColumn;
 
     /* CLIENT TABLE COMPONENT */
-    @FXML private TableView<Client> clientCommissionTable;
-    @FXML private TableColumn<Client, Integer> clientIdColumn;
-    @FXML private TableColumn<Client, String> clientNameColumn;
-    @FXML private TableColumn<Client, Integer> noOfJobsColumn;
-    @FXML private TableColumn<Client, String> totalCommissionColumn;
-    @FXML private TableColumn<Client, String> totalClientCostColumn;
+    @FXML private TableView<ClientSummary> clientCommissionTable;
+    @FXML private TableColumn<ClientSummary, Integer> clientIdColumn;
+    @FXML private TableColumn<ClientSummary, String> clientNameColumn;
+    @FXML private TableColumn<ClientSummary, Integer> noOfJobsColumn;
+    @FXML private TableColumn<ClientSummary, String> totalCommissionColumn;
+    @FXML private TableColumn<ClientSummary, String> totalClientCostColumn;
 
 
     /**
      * Initialises the management summary view.
      * <p>
      * This method is automatically called after the FXML file is loaded. It initialises the pie chart,
-     * bar chart, and tables by calling dedicated setup methods.
+     * bar chart, and tables by calling dedicated setup methods. The confirmed bookings are loaded once and
+     * shared between the bar chart and the booking table.
      * </p>
      */
     @FXML
     private void initialize() {
+        // Load the confirmed bookings as flat rows.
+        List<BookingRow> confirmedBookings = BookingDAO.getConfirmedBookingRows();
+
         setupPieChart();
-        setupBarChart();
-        setupTables();
+        setupBarChart(confirmedBookings);
+        setupTables(confirmedBookings);
     }
 
     /**
@@ -101,10 +106,12 @@ public class ManagementSummaryController {
      * Sets up the bar chart for income and commission.
      * <p>
      * This method configures the chart axes, creates two data series (one for income and one for commission),
-     * retrieves confirmed bookings from all clients, and adds data points to the series.
+     * and adds a data point to each series for every confirmed booking.
      * </p>
+     *
+     * @param bookings the confirmed bookings to chart
      */
-    private void setupBarChart() {
+    private void setupBarChart(List<BookingRow> bookings) {
 
         // Configure the X-Axis and Y-Axis labels.
         xAxis.setLabel("Amount ($)");
@@ -117,19 +124,10 @@ public class ManagementSummaryController {
         XYChart.Series<Number, String> commissionSeries = new XYChart.Series<>();
         commissionSeries.setName("Commission $");
 
-        // Retrieve all client summaries.
-        List<Client> allClientSummaries = ClientDAO.getAllClientSummaries();
-
-        // Extract all confirmed bookings from all clients.
-        List<Booking> bookings = allClientSummaries.stream()
-                .flatMap(client -> client.getBookings().stream())
-                .filter(booking -> booking.getStatus() == BookingStatus.CONFIRMED)  // Only confirmed bookings.
-                .toList();
-
         // Process each booking to extract chart data.
-        for (Booking booking : bookings) {
+        for (BookingRow booking : bookings) {
             // Get event name and format it to ensure it doesn't exceed a certain length.
-            String eventName = booking.getEvent().getEventName();
+            String eventName = booking.eventName();
             if (eventName.length() > 20) {
                 // Break the event name into two lines if it's too long.
                 int splitIndex = eventName.lastIndexOf(" ", 20);
@@ -138,8 +136,8 @@ public class ManagementSummaryController {
                 }
             }
             // Add data points for income and commission.
-            incomeSeries.getData().add(new XYChart.Data<>(booking.getBookingHirePrice(), eventName));
-            commissionSeries.getData().add(new XYChart.Data<>(booking.getBookingEventCommission(), eventName));
+            incomeSeries.getData().add(new XYChart.Data<>(booking.hirePrice(), eventName));
+            commissionSeries.getData().add(new XYChart.Data<>(booking.commission(), eventName));
         }
         // Hide the legend for the bar chart.
         incomeCommissionChart.setLegendVisible(false);
@@ -151,40 +149,33 @@ public class ManagementSummaryController {
     /**
      * Sets up the tables for displaying booking and client commission details.
      * <p>
-     * This method configures the columns of the booking and client tables and populates them with data
-     * retrieved from the DAO classes.
+     * This method configures the columns of the booking and client tables and populates them. The client
+     * totals are read from the materialised summary maintained by {@link ReportingDAO}.
      * </p>
+     *
+     * @param confirmedBookings the confirmed bookings to list in the booking table
      */
-    private void setupTables() {
-        // Retrieve client summaries from the database.
-        List<Client> clientList = ClientDAO.getAllClientSummaries();
-
-        // Extract confirmed bookings from the client list using flatMap.
-        List<Booking> confirmedBookings = clientList.stream()
-                .flatMap(client -> client.getBookings().stream())
-                .filter(booking -> booking.getStatus() == BookingStatus.CONFIRMED)
-                .toList();
-
+    private void setupTables(List<BookingRow> confirmedBookings) {
         // Configure the booking table columns.
-        bookingNoColumn.setCellValueFactory(new PropertyValueFactory<>("bookingId"));
-        eventNameColumn.setCellValueFactory(cellData -> cellData.getValue().getEvent().eventNameProperty());
-        venueNameColumn.setCellValueFactory(cellData -> cellData.getValue().getVenue().venueNameProperty());
-        bookingCommissionColumn.setCellValueFactory(cellData -> cellData.getValue().getBookingEventCommissionProperty());
-        bookedByUserColumn.setCellValueFactory(cellData -> cellData.getValue().getBookedByProperty());
+        bookingNoColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().bookingId()).asObject());
+        eventNameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().eventName()));
+        venueNameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().venueName()));
+        bookingCommissionColumn.setCellValueFactory(cellData -> new SimpleStringProperty(NumberUtils.formatCurrency(cellData.getValue().commission())));
+        bookedByUserColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().bookedBy() != null ? cellData.getValue().bookedBy() : "N/A"));
 
         // Populate the booking table with confirmed bookings.
-        ObservableList<Booking> bookingObservableList = FXCollections.observableArrayList(confirmedBookings);
+        ObservableList<BookingRow> bookingObservableList = FXCollections.observableArrayList(confirmedBookings);
         managementEventCommissionTable.setItems(bookingObservableList);
 
         // Configure the client table columns.
-        clientIdColumn.setCellValueFactory(new PropertyValueFactory<>("clientId"));
-        clientNameColumn.setCellValueFactory(new PropertyValueFactory<>("clientName"));
-        noOfJobsColumn.setCellValueFactory(cellData -> cellData.getValue().confirmedJobCountProperty().asObject());
-        totalCommissionColumn.setCellValueFactory(cellData -> cellData.getValue().getTotalCommissionProperty());
-        totalClientCostColumn.setCellValueFactory(cellData -> cellData.getValue().getClientBookingTotalProperty());
+        clientIdColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().clientId()).asObject());
+        clientNameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().clientName()));
+        noOfJobsColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().confirmedJobCount()).asObject());
+        totalCommissionColumn.setCellValueFactory(cellData -> new SimpleStringProperty(NumberUtils.formatCurrency(cellData.getValue().totalCommission())));
+        totalClientCostColumn.setCellValueFactory(cellData -> new SimpleStringProperty(NumberUtils.formatCurrency(cellData.getValue().bookingTotal())));
 
         // Populate the client table with client summaries.
-        ObservableList<Client> observableClientList = FXCollections.observableArrayList(clientList);
+        ObservableList<ClientSummary> observableClientList = FXCollections.observableArrayList(ReportingDAO.getClientSummaries());
         clientCommissionTable.setItems(observableClientList);
     }
 
@@ -8,9 +8,7 @@ import service.SceneManager;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import util.AlertUtils;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 
 /**
@@ -93,10 +91,9 @@ public class ManagerController {
     /**
      * Backs up transactional data.
      * <p>
-     * This method retrieves backup data for bookings, events, and venues from the corresponding DAO methods.
-     * It then associates each venue with its types using mapping data retrieved from {@code VenueTypeDAO},
-     * and finally calls {@link BackupHandler#backupTransactionData(List, List, List)} to perform the backup.
-     * A summary popup is displayed upon success.
+     * This method retrieves backup data for bookings, events, and venues (with their venue types) from the
+     * corresponding DAO methods, and then calls {@link BackupHandler#backupTransactionData(List, List, List)} to
+     * perform the backup. A summary popup is displayed upon success.
      * </p>
      */
     @FXML
@@ -105,23 +102,7 @@ public class ManagerController {
             // Retrieve transactional data for backup.
             List<Booking> bookings = BookingDAO.getAllBookingsBU();
             List<Event> events = EventDAO.getAllEventsBU();
-            List<Venue> venues = VenueDAO.getAllVenuesBU();                                           // Venues without types.
-            List<VenueType> venueTypes = VenueTypeDAO.getAllVenueTypesBU();                           // Fetch all venue types.
-            Map<Integer, List<Integer>> venueTypeVenueMap = VenueTypeDAO.getAllVenueTypesVenuesBU();  // Mapping between venues and their type IDs.
-
-            // Associate each venue with its corresponding types.
-            for (Venue venue : venues) {
-                // Get the list of type IDs for this venue or an empty list if none are found.
-                List<Integer> typeIds = venueTypeVenueMap.getOrDefault(venue.getVenueId(), new ArrayList<>());
-
-                // Map the type IDs to actual VenueType objects.
-                List<VenueType> typesForVenue = typeIds.stream()
-                        .map(id -> venueTypes.stream().filter(type -> type.getVenueTypeId() == id).findFirst().orElse(null))
-                        .filter(type -> type != null)
-                        .toList();
-
-                venue.setVenueTypes(typesForVenue);
-            }
+            List<Venue> venues = VenueDAO.getAllVenuesWithTypesBU();
 
             // Perform the backup using the BackupHandler.
             BackupHandler.backupTransactionData(bookings, events, venues);
@@ -1,13 +1,15 @@
 package controller;
 
+import javafx.animation.PauseTransition;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import model.User;
+import javafx.util.Duration;
 import model.UserRole;
+import model.UserRow;
 import service.SceneManager;
 import service.UserService;
 import util.AlertUtils;
@@ -27,67 +29,76 @@ import util.AlertUtils;
 public class StaffManagementController {
 
     /* STAFF TABLE FIELDS */
-    @FXML private TableView<User> staffTable;
-    @FXML private TableColumn<User, Integer> staffIdColumn;
-    @FXML private TableColumn<User, String> firstNameColumn;
-    @FXML private TableColumn<User, String> lastNameColumn;
-    @FXML private TableColumn<User, String> usernameColumn;
-    @FXML private TableColumn<User, String> roleColumn;
+    @FXML private TableView<UserRow> staffTable;
+    @FXML private TableColumn<UserRow, Integer> staffIdColumn;
+    @FXML private TableColumn<UserRow, String> firstNameColumn;
+    @FXML private TableColumn<UserRow, String> lastNameColumn;
+    @FXML private TableColumn<UserRow, String> usernameColumn;
+    @FXML private TableColumn<UserRow, String> roleColumn;
     @FXML private TextField searchStaffField;
 
     /** Observable list holding staff data. */
-    private ObservableList<User> staffList = FXCollections.observableArrayList();
+    private ObservableList<UserRow> staffList = FXCollections.observableArrayList();
+
+    /** Delay after the last keystroke before the search runs. */
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(150);
+    private final PauseTransition searchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
 
     /**
      * Initialises the staff management view.
      * <p>
-     * This method is automatically called after the FXML file is loaded. It sets up the table columns and loads
-     * staff data from the database.
+     * This method is automatically called after the FXML file is loaded. It sets up the table columns, loads
+     * staff data, and searches as the user types once typing pauses for {@link #SEARCH_DEBOUNCE}.
      * </p>
      */
     @FXML
     public void initialize() {
         setupTableColumns();
         loadStaffData();
+
+        // Debounce search-as-you-type so fast typing triggers a single search.
+        searchDebounce.setOnFinished(event -> searchStaff());
+        searchStaffField.textProperty().addListener((obs, oldText, newText) -> searchDebounce.playFromStart());
     }
 
     /**
-     * Configures the table columns to match the properties of the {@code User} object.
+     * Configures the table columns to match the properties of the {@code UserRow} projection.
      * <p>
      * This method maps the staff ID, first name, last name, username, and role properties to the corresponding table columns.
      * </p>
      */
     private void setupTableColumns() {
 
-        staffIdColumn.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().getUserId()));
-        firstNameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getFirstName()));
-        lastNameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getLastName()));
-        usernameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getUsername()));
-        roleColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getRole().toString()));
+        staffIdColumn.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().userId()));
+        firstNameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().firstName()));
+        lastNameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().lastName()));
+        usernameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().username()));
+        roleColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().role().toString()));
     }
 
     /**
-     * Loads staff data from the database.
+     * Loads staff data.
      * <p>
-     * This method retrieves all users via the {@link UserService} and updates the staff table.
+     * This method retrieves all users via the {@link UserService} search index and updates the staff table.
      * </p>
      */
     private void loadStaffData() {
-        staffList.setAll(UserService.getAllUsers());
+        staffList.setAll(UserService.searchUsers(""));
         staffTable.setItems(staffList);
     }
 
     /**
      * Searches staff by name or username.
      * <p>
-     * This method is invoked when the user types in the search field. It updates the staff list based on the query.
-     * If the query is empty, all users are displayed; otherwise, a filtered list is shown.
+     * This method is invoked when the user pauses typing in the search field or presses the search button. It updates
+     * the staff list from the in-memory index without a database round-trip. If the query is empty, all users are
+     * displayed; otherwise, a filtered list is shown.
      * </p>
      */
     @FXML
     private void searchStaff() {
-        String query = searchStaffField.getText().trim();
-        staffList.setAll(query.isEmpty() ? UserService.getAllUsers() : UserService.searchUsers(query));
+        searchDebounce.stop();
+        staffList.setAll(UserService.searchUsers(searchStaffField.getText().trim()));
     }
 
     /**
@@ -111,13 +122,13 @@ public class StaffManagementController {
      */
     @FXML
     private void updateStaff() {
-        User selectedUser = staffTable.getSelectionModel().getSelectedItem();
+        UserRow selectedUser = staffTable.getSelectionModel().getSelectedItem();
         if (selectedUser == null) {
             AlertUtils.showAlert("Update Error", "Please select a staff member to update.", Alert.AlertType.WARNING);
             return;
         }
         // Switch scene and pass the selected user to the update view.
-        SceneManager.switchScene("user-profile-edit-view.fxml", selectedUser);
+        SceneManager.switchScene("user-profile-edit-view.fxml", selectedUser.toUser());
         loadStaffData(); // Refresh after updating.
     }
 
@@ -130,15 +141,15 @@ public class StaffManagementController {
      */
     @FXML
     private void deleteStaff() {
-        User selectedUser = staffTable.getSelectionModel().getSelectedItem();
+        UserRow selectedUser = staffTable.getSelectionModel().getSelectedItem();
         if (selectedUser == null) {
             AlertUtils.showAlert("Delete Error", "Please select a staff member to delete.", Alert.AlertType.WARNING);
             return;
         }
 
         // Confirm deletion with the user.
-        if (AlertUtils.showConfirmation("Delete User", "Are you sure you want to delete " + selectedUser.getUsername() + "?")) {
-            if (UserService.deleteUser(selectedUser)) {
+        if (AlertUtils.showConfirmation("Delete User", "Are you sure you want to delete " + selectedUser.username() + "?")) {
+            if (UserService.deleteUser(selectedUser.toUser())) {
                 staffList.remove(selectedUser);
                 AlertUtils.showAlert("Success", "User deleted successfully.", Alert.AlertType.INFORMATION);
             } else {
@@ -157,22 +168,22 @@ public class StaffManagementController {
      */
     @FXML
     private void promoteToManager() {
-        User selectedUser = staffTable.getSelectionModel().getSelectedItem();
+        UserRow selectedUser = staffTable.getSelectionModel().getSelectedItem();
         if (selectedUser == null) {
             AlertUtils.showAlert("Promotion Error", "Please select a staff member to promote.", Alert.AlertType.WARNING);
             return;
         }
 
-        if (selectedUser.getRole() == UserRole.MANAGER) {
-            AlertUtils.showAlert("Already Manager", selectedUser.getUsername() + " is already a manager.", Alert.AlertType.INFORMATION);
+        if (selectedUser.role() == UserRole.MANAGER) {
+            AlertUtils.showAlert("Already Manager", selectedUser.username() + " is already a manager.", Alert.AlertType.INFORMATION);
             return;
         }
 
         // Confirm promotion with the user.
-        if (AlertUtils.showConfirmation("Promote to Manager", "Are you sure you want to promote " + selectedUser.getUsername() + " to Manager?")) {
-            if (UserService.promoteToManager(selectedUser)) {
+        if (AlertUtils.showConfirmation("Promote to Manager", "Are you sure you want to promote " + selectedUser.username() + " to Manager?")) {
+            if (UserService.promoteToManager(selectedUser.toUser())) {
                 staffTable.refresh();
-                AlertUtils.showAlert("Success", selectedUser.getUsername() + " has been promoted to Manager.", Alert.AlertType.INFORMATION);
+                AlertUtils.showAlert("Success", selectedUser.username() + " has been promoted to Manager.", Alert.AlertType.INFORMATION);
             } else {
                 AlertUtils.showAlert("Promotion Error", "Failed to promote user.", Alert.AlertType.ERROR);
             }
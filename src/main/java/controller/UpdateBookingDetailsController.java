@@ -1,9 +1,8 @@
 package controller;
 
 import dao.BookingDAO;
-import dao.VenueDAO;
 import dao.ClientDAO;
-import dao.EventDAO;
+import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ComboBox;
@@ -15,8 +14,11 @@ import model.Client;
 import model.Event;
 import service.SceneManager;
 import service.SessionManager;
+import service.SlotFinder;
+import service.VenueCatalog;
 import model.Venue;
 import util.AlertUtils;
+import java.time.LocalDate;
 import java.time.LocalTime;
 
 
@@ -72,7 +74,7 @@ public class UpdateBookingDetailsController {
 
         // Populate client and venue combo boxes with data from the database.
         clientComboBox.setItems(ClientDAO.getAllClients());
-        venueComboBox.setItems(VenueDAO.getAllVenues());
+        venueComboBox.setItems(FXCollections.observableArrayList(VenueCatalog.getInstance().getVenues()));
 
         // Set the current client and venue values.
         clientComboBox.setValue(booking.getClient());
@@ -84,7 +86,8 @@ public class UpdateBookingDetailsController {
      * <p>
      * This method retrieves the selected venue, event date, and event time, and checks availability using
      * {@link BookingDAO#checkAvailability(int, java.time.LocalDate, java.time.LocalTime, int)}. It then displays
-     * an alert indicating whether the venue is available or not.
+     * an alert indicating whether the venue is available or not, listing the venue's next free times from
+     * {@link SlotFinder} if it is not.
      * </p>
      */
     @FXML
@@ -100,7 +103,9 @@ public class UpdateBookingDetailsController {
             if (isAvailable) {
                 AlertUtils.showAlert("Available", "The selected venue is available for the chosen date and time.", Alert.AlertType.INFORMATION);
             } else {
-                AlertUtils.showAlert("Unavailable", "The selected venue is not available for the chosen date and time.", Alert.AlertType.WARNING);
+                AlertUtils.showAlert("Unavailable", "The selected venue is not available for the chosen date and time."
+                        + SlotFinder.getInstance().describeNextSlots(venueComboBox.getValue(), eventDatePicker.getValue(),
+                                booking.getEvent().getDuration()), Alert.AlertType.WARNING);
             }
         } catch (Exception e) {
             // Display an error alert if input is invalid or availability check fails.
@@ -125,9 +130,11 @@ public class UpdateBookingDetailsController {
     /**
      * Saves changes made to the booking and event details.
      * <p>
-     * This method updates the event object with the new date, time, and artist information and updates the booking
-     * object with the selected client and venue. It then saves the changes to the database using the respective DAO methods.
-     * Upon successful update, an information alert is shown and the window is closed; otherwise, an error alert is displayed.
+     * The new date, time and artist of the event, and the selected client and venue, are saved together with
+     * {@link BookingDAO#updateBookingAndEvent}, which refuses the whole change if the venue is not free at the new
+     * time. The event and booking objects are only updated once the change is saved, so a refused change leaves
+     * them, and the client's totals, as they were. Upon successful update, an information alert is shown and the
+     * window is closed; otherwise, an error alert is displayed.
      * </p>
      */
     @FXML
@@ -135,25 +142,29 @@ public class UpdateBookingDetailsController {
 
         try {
             Event event = booking.getEvent();
-
-            // Update the event object with new details.
-            event.setEventDate(eventDatePicker.getValue());
-            event.setEventTime(LocalTime.parse(eventTimeField.getText()));
-            event.setArtist(eventArtistField.getText());
-
-            // Update the booking object with selected client and venue.
-            booking.setClient(clientComboBox.getValue());
-            booking.setVenue(venueComboBox.getValue());
-
-            // Update the event and booking in the database.
-            boolean eventUpdated = EventDAO.updateEvent(event);
-            boolean bookingUpdated = BookingDAO.updateBooking(booking);
-
-            if (eventUpdated && bookingUpdated) {
+            LocalDate date = eventDatePicker.getValue();
+            LocalTime time = LocalTime.parse(eventTimeField.getText());
+            String artist = eventArtistField.getText();
+            Client client = clientComboBox.getValue();
+            Venue venue = venueComboBox.getValue();
+
+            // Save the event's new details and the booking's new client and venue in one transaction.
+            Event rescheduled = new Event(event.getEventId(), event.getEventName(), date, time, event.getDuration(), artist);
+            boolean updated = BookingDAO.updateBookingAndEvent(booking.getBookingId(), rescheduled,
+                    venue.getVenueId(), client.getClientId());
+
+            if (updated) {
+                event.setEventDate(date);
+                event.setEventTime(time);
+                event.setArtist(artist);
+                booking.setClient(client);
+                booking.setVenue(venue);
                 AlertUtils.showAlert("Success", "Booking and event details updated successfully!", Alert.AlertType.INFORMATION);
                 closeWindow();
             } else {
-                AlertUtils.showAlert("Error", "Failed to update booking and event details.", Alert.AlertType.ERROR);
+                AlertUtils.showAlert("Error", "Nothing was changed: the venue is not free at that time."
+                        + SlotFinder.getInstance().describeNextSlots(venue, date, event.getDuration()),
+                        Alert.AlertType.ERROR);
             }
         } catch (Exception e) {
             AlertUtils.showAlert("Error", "Failed to save changes: " + e.getMessage(), Alert.AlertType.ERROR);
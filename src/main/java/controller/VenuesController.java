@@ -1,8 +1,6 @@
 package controller;
 
 import java.util.*;
-import java.sql.SQLException;
-import java.util.stream.Collectors;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
@@ -10,8 +8,7 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import model.Venue;
-import model.VenueType;
+import model.VenueRow;
 import service.SceneManager;
 import service.SessionManager;
 import service.VenueService;
@@ -44,21 +41,22 @@ public class VenuesController {
     @FXML private TextField searchVenueNameField;
 
     /* SEARCH VENUES RESULTS FIELDS */
-    @FXML private TableView<Venue> searchVenueTable;
-    @FXML private TableColumn<Venue, Integer> venueIdColumn;
-    @FXML private TableColumn<Venue, String> venueNameColumn;
-    @FXML private TableColumn<Venue, String> venueCapacityColumn;
-    @FXML private TableColumn<Venue, String> venueTypesColumn;
-    @FXML private TableColumn<Venue, String> venueCategoryColumn;
-    @FXML private TableColumn<Venue, String> pricePerHourColumn;
-    private ObservableList<Venue> venueList = FXCollections.observableArrayList();
+    @FXML private TableView<VenueRow> searchVenueTable;
+    @FXML private TableColumn<VenueRow, Integer> venueIdColumn;
+    @FXML private TableColumn<VenueRow, String> venueNameColumn;
+    @FXML private TableColumn<VenueRow, String> venueCapacityColumn;
+    @FXML private TableColumn<VenueRow, String> venueTypesColumn;
+    @FXML private TableColumn<VenueRow, String> venueCategoryColumn;
+    @FXML private TableColumn<VenueRow, String> pricePerHourColumn;
+    private ObservableList<VenueRow> venueList = FXCollections.observableArrayList();
 
 
     /**
      * Initialises the VenuesController after the FXML elements have been loaded.
      * <p>
      * This method sets up the table columns, loads the venue data, creates the toggle group for
-     * category filtering, and sets up the action for the search button.
+     * category filtering, and sets up the action for the search button. The search also re-runs as the
+     * user types or changes the category, since it is answered by the in-memory venue search index.
      * </p>
      */
     @FXML
@@ -81,40 +79,30 @@ public class VenuesController {
                     ((RadioButton) oldVal).setSelected(false);
                 }
             }
+            searchVenues();
         });
 
+        // Search as the user types.
+        searchVenueNameField.textProperty().addListener((obs, oldText, newText) -> searchVenues());
+
         // Set up the search venues button to call the searchVenues() method.
-        searchVenuesButton.setOnAction(event -> {
-            try {
-                searchVenues();
-            } catch (SQLException e) {
-                AlertUtils.showAlert("Error", "Failed to search venues.", Alert.AlertType.ERROR);
-            }
-        });
+        searchVenuesButton.setOnAction(event -> searchVenues());
     }
 
     /**
      * Configures the TableView columns to display venue properties.
      * <p>
      * This method maps the venue ID, name, capacity, category, price per hour, and venue types to their corresponding table columns.
-     * The venue types are formatted to remove brackets and display as a comma-separated list.
+     * The venue types are already joined into a comma-separated list by the query.
      * </p>
      */
     private void setupTableColumns() {
-        venueIdColumn.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().getVenueId()));
-        venueNameColumn.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().getName()));
-        venueCapacityColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getFormattedCapacity()));
-        venueCategoryColumn.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().getCategory()).asString());
-        pricePerHourColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getFormattedPrice()));
-
-        // Format venue types by joining their names with a comma.
-        venueTypesColumn.setCellValueFactory(cellData -> {
-            List<VenueType> venueTypes = cellData.getValue().getVenueTypes();
-            String formattedTypes = venueTypes.stream()
-                    .map(venueType -> venueType.getVenueType().trim())
-                    .collect(Collectors.joining(", "));
-            return new SimpleStringProperty(formattedTypes);
-        });
+        venueIdColumn.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().venueId()));
+        venueNameColumn.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().name()));
+        venueCapacityColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().formattedCapacity()));
+        venueCategoryColumn.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().category()).asString());
+        pricePerHourColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().formattedPrice()));
+        venueTypesColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().venueTypes()));
     }
 
     /**
@@ -133,11 +121,9 @@ public class VenuesController {
      * This method retrieves the search text from the search field and the selected category (if any) from the toggle group.
      * It then uses {@link VenueService#searchVenues(String, String)} to retrieve matching venues and updates the table view.
      * </p>
-     *
-     * @throws SQLException if an error occurs during the search operation
      */
     @FXML
-    private void searchVenues() throws SQLException {
+    private void searchVenues() {
         String searchText = searchVenueNameField.getText().trim();
         String selectedCategory = categoryGroup.getSelectedToggle() != null
                 ? ((RadioButton) categoryGroup.getSelectedToggle()).getText().toUpperCase() : null;
@@ -153,7 +139,7 @@ public class VenuesController {
      */
     @FXML
     private void deleteVenue() {
-        Venue selectedVenue = searchVenueTable.getSelectionModel().getSelectedItem();
+        VenueRow selectedVenue = searchVenueTable.getSelectionModel().getSelectedItem();
 
         if (selectedVenue == null) {
             AlertUtils.showAlert("No Selection", "Select a venue to delete", Alert.AlertType.WARNING);
@@ -161,8 +147,8 @@ public class VenuesController {
         }
 
         // Confirm deletion with the user.
-        if (AlertUtils.showConfirmation("Confirm Deletion", "Are you sure you want to delete this venue?\nVenue: " + selectedVenue.getName())) {
-            if (VenueService.deleteVenue(selectedVenue.getVenueId())) {
+        if (AlertUtils.showConfirmation("Confirm Deletion", "Are you sure you want to delete this venue?\nVenue: " + selectedVenue.name())) {
+            if (VenueService.deleteVenue(selectedVenue.venueId())) {
                 AlertUtils.showAlert("Success", "Venue deleted successfully", Alert.AlertType.INFORMATION);
 
                 // Refresh the table data.
@@ -1,14 +1,30 @@
 package dao;
 
 
+import model.BookedSlot;
+import model.BookingHold;
 import model.Booking;
+import model.BookingOutcome;
+import model.BookingRequest;
+import model.BookingRow;
+import model.BookingStatus;
+import model.ChangeEvent;
+import model.Client;
+import model.Event;
+import util.ChangeBus;
+import util.IntHashSet;
+import util.IntObjectHashMap;
+import util.TimeSlots;
 import java.sql.*;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 
 /**
@@ -27,6 +43,21 @@ import java.util.Map;
  */
 public class BookingDAO {
 
+    /**
+     * Maximum number of IDs bound in a single {@code IN (...)} clause.
+     */
+    private static final int IN_CLAUSE_CHUNK = 500;
+
+    /**
+     * SQL condition matching the bookings that occupy their time slot: confirmed bookings, and PENDING holds that
+     * have not expired. An expired hold stops counting at once, before {@link service.HoldService} cancels it.
+     */
+    private static final String OCCUPIES_SLOT = """
+            (bookings.booking_status = 'CONFIRMED'
+                OR (bookings.booking_status = 'PENDING'
+                    AND bookings.booking_id IN (SELECT booking_id FROM booking_holds
+                                                WHERE expires_at > (julianday('now') - 2440587.5) * 86400)))""";
+
     /**
      * Private constructor to prevent instantiation.
      */
@@ -35,21 +66,59 @@ public class BookingDAO {
     /**
      * Checks for conflicting bookings for a given venue at a specific date and time.
      * <p>
-     * This method determines whether a venue is available by checking for any confirmed bookings
-     * that conflict with the specified event time and duration.
+     * This method determines whether a venue is available by checking for any confirmed bookings or unexpired
+     * holds that conflict with the specified event time and duration. The result is only a snapshot: another user
+     * may book the slot afterwards, so {@link #bookVenue} repeats the check when it inserts the booking.
      * </p>
      *
      * @param venueId   the ID of the venue to check
      * @param eventDate the date of the event
      * @param eventTime the start time of the event
      * @param duration  the duration of the event in hours
-     * @return {@code true} if the venue is available (i.e., no conflicting confirmed bookings exist), {@code false} otherwise
+     * @return {@code true} if the venue is available (i.e., no conflicting confirmed bookings or holds exist), {@code false} otherwise
      * @throws SQLException if a database access error occurs
      */
     public static boolean checkAvailability(int venueId, LocalDate eventDate, LocalTime eventTime, int duration) throws SQLException {
-        // Convert event start and end time to String.
-        String startTimeStr = eventTime.toString();
-        String endTimeStr = eventTime.plusHours(duration).toString();
+        try (Connection connection = DatabaseHandler.getConnection()) {
+            return !hasConflict(connection, venueId, eventDate, eventTime, duration);
+        }
+    }
+
+    /**
+     * Checks for confirmed bookings or unexpired holds at a venue that overlap the given time slot, using the
+     * caller's connection.
+     *
+     * @param connection the connection to query on
+     * @param venueId    the ID of the venue to check
+     * @param eventDate  the date of the event
+     * @param eventTime  the start time of the event
+     * @param duration   the duration of the event in hours
+     * @return {@code true} if a conflicting confirmed booking or hold exists
+     * @throws SQLException if a database access error occurs
+     */
+    private static boolean hasConflict(Connection connection, int venueId, LocalDate eventDate, LocalTime eventTime, int duration) throws SQLException {
+        return hasConflict(connection, venueId, eventDate, eventTime, duration, 0);
+    }
+
+    /**
+     * Checks for confirmed bookings or unexpired holds at a venue that overlap the given time slot, other than
+     * the given booking, using the caller's connection.
+     *
+     * @param connection       the connection to query on
+     * @param venueId          the ID of the venue to check
+     * @param eventDate        the date of the event
+     * @param eventTime        the start time of the event
+     * @param duration         the duration of the event in hours
+     * @param excludeBookingId the ID of a booking to ignore, or 0 to consider every booking
+     * @return {@code true} if a conflicting confirmed booking or hold exists
+     * @throws SQLException if a database access error occurs
+     */
+    private static boolean hasConflict(Connection connection, int venueId, LocalDate eventDate, LocalTime eventTime,
+                                       int duration, int excludeBookingId) throws SQLException {
+        // The slot is compared in minutes since the epoch, so bookings running past midnight are caught on
+        // either side of it.
+        long start = TimeSlots.startMinute(eventDate, eventTime);
+        long end = TimeSlots.endMinute(eventDate, eventTime, duration);
 
         // SQL query to count conflicting confirmed bookings.
         String sql = """
@@ -57,35 +126,30 @@ public class BookingDAO {
             FROM bookings
             JOIN events ON bookings.event_id = events.event_id
             WHERE bookings.venue_id = ?
-            AND events.event_date = ?
-            AND bookings.booking_status = 'CONFIRMED'
-            AND (
-                (? >= events.event_time AND ? < events.event_end_time) OR
-                (events.event_time >= ? AND events.event_time < ?)
-            )
-        """;
-
-        try (Connection connection = DatabaseHandler.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            AND bookings.booking_id <> ?
+            AND\s""" + OCCUPIES_SLOT + """
+            AND\s""" + TimeSlots.overlapsSql("events");
 
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, venueId);
-            pstmt.setString(2, String.valueOf(eventDate.toEpochDay()));
-            pstmt.setString(3, startTimeStr);
-            pstmt.setString(4, endTimeStr);
-            pstmt.setString(5, startTimeStr);
-            pstmt.setString(6, endTimeStr);
+            pstmt.setInt(2, excludeBookingId);
+            pstmt.setLong(3, start);
+            pstmt.setLong(4, end);
 
-            ResultSet rs = pstmt.executeQuery();
-
-            // Return true if count is zero (i.e., no conflicting bookings)
-            return rs.next() && rs.getInt("count") == 0;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() && rs.getInt("count") > 0;
+            }
         }
     }
 
     /**
      * Books an event venue by inserting a new booking record into the database.
      * <p>
-     * This method inserts a new booking into the bookings table using the provided details.
+     * A confirmed booking is only inserted if the event has no other confirmed booking or hold and the venue has
+     * no confirmed booking or unexpired hold overlapping the event's time slot. The check and the insert run in
+     * one write transaction (see {@link DatabaseHandler#inWriteTransaction}), so two users booking the same slot
+     * at the same time cannot both succeed. A {@link ChangeEvent.BookingCreated} event is published once the
+     * booking is committed.
      * </p>
      *
      * @param bookingDate  the date the booking is made
@@ -94,130 +158,1106 @@ public class BookingDAO {
      * @param venueId      the ID of the venue
      * @param clientId     the ID of the client
      * @param bookedBy     the username of the person who made the booking
-     * @return {@code true} if the booking was inserted successfully, {@code false} otherwise
-     * @throws SQLException if a database access error occurs
+     * @return {@code true} if the booking was inserted successfully, {@code false} if the event or venue slot is
+     *         already booked
+     * @throws SQLException if a database access error occurs, or the database stays locked after every retry
      */
     public static boolean bookVenue(LocalDate bookingDate, String bookingStatus, int eventId, int venueId, int clientId, String bookedBy) throws SQLException {
+        return createBooking(bookingDate, bookingStatus, eventId, venueId, clientId, bookedBy) > 0;
+    }
+
+    /**
+     * Books an event venue as {@link #bookVenue} does, returning the ID of the new booking.
+     *
+     * @param bookingDate   the date the booking is made
+     * @param bookingStatus the status of the booking (e.g., "CONFIRMED")
+     * @param eventId       the ID of the event
+     * @param venueId       the ID of the venue
+     * @param clientId      the ID of the client
+     * @param bookedBy      the username of the person who made the booking
+     * @return the ID of the new booking, or 0 if the event or venue slot is already booked
+     * @throws SQLException if a database access error occurs, or the database stays locked after every retry
+     */
+    public static int createBooking(LocalDate bookingDate, String bookingStatus, int eventId, int venueId, int clientId, String bookedBy) throws SQLException {
         String sql = """
                 INSERT INTO bookings (booking_date, booking_status, event_id, venue_id, client_id, booked_by)
                         VALUES (?, ?, ?, ?, ?, ?)
-                        """;
+                """;
 
-        try (Connection connection = DatabaseHandler.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        int bookingId = DatabaseHandler.inWriteTransaction(connection -> {
+            boolean confirmed = "CONFIRMED".equalsIgnoreCase(bookingStatus);
+            if (confirmed && !isSlotFree(connection, eventId, venueId)) {
+                return 0;
+            }
+
+            try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setString(1, String.valueOf(bookingDate.toEpochDay()));
+                pstmt.setString(2, bookingStatus);
+                pstmt.setInt(3, eventId);
+                pstmt.setInt(4, venueId);
+                pstmt.setInt(5, clientId);
+                pstmt.setString(6, bookedBy);
+                if (pstmt.executeUpdate() == 0) {
+                    return 0;
+                }
+                int newBookingId;
+                try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                    newBookingId = keys.next() ? keys.getInt(1) : 0;
+                }
+
+                // Keep the reporting summaries in step with the new booking.
+                if (confirmed) {
+                    ReportingDAO.recordConfirmedBooking(connection, eventId, venueId, clientId);
+                }
+                return newBookingId;
+            }
+        });
 
-            pstmt.setString(1, String.valueOf(bookingDate.toEpochDay()));
-            pstmt.setString(2, bookingStatus);
-            pstmt.setInt(3, eventId);
-            pstmt.setInt(4, venueId);
-            pstmt.setInt(5, clientId);
-            pstmt.setString(6, bookedBy);
-            return pstmt.executeUpdate() > 0;
+        if (bookingId <= 0) {
+            return 0;
         }
+        ChangeBus.getInstance().publish(new ChangeEvent.BookingCreated(bookingId, eventId, venueId, clientId,
+                BookingStatus.valueOf(bookingStatus.toUpperCase())));
+        return bookingId;
+    }
+
+    /**
+     * Books several venues in a single write transaction.
+     * <p>
+     * The events and the venues' existing confirmed bookings are loaded with a few batched queries, and every
+     * request is then checked against the database and against the requests accepted before it, using the same
+     * rules as {@link #bookVenue}: slots are compared with {@link TimeSlots#overlaps}, the rule the single booking
+     * check applies in SQL, so a request gets the same answer from either method. Requests are handled in order,
+     * so when two requests compete for the same event or for overlapping slots at the same venue, the first one
+     * wins. The accepted bookings are inserted as one batch and committed once, and a
+     * {@link ChangeEvent.BookingCreated} event is then published for each.
+     * </p>
+     *
+     * @param bookingDate the date the bookings are made
+     * @param bookedBy    the username of the person making the bookings
+     * @param requests    the bookings to make, all as confirmed bookings
+     * @return the outcome of each request, in the same order as {@code requests}
+     * @throws SQLException if a database access error occurs; no bookings are made in that case
+     */
+    public static List<BookingOutcome> bookVenues(LocalDate bookingDate, String bookedBy, List<BookingRequest> requests) throws SQLException {
+        return bookVenues(bookingDate, bookedBy, requests, List.of());
+    }
+
+    /**
+     * Books several venues in a single write transaction, as {@link #bookVenues(LocalDate, String, List)} does,
+     * for events some of which move to a new start time.
+     * <p>
+     * The requests for the {@code retimed} events are checked at the events' new start times, and each retimed
+     * event that is booked is saved at its new time in the same transaction, so an event either is booked at its
+     * new time or keeps its old time and stays unbooked. An {@link ChangeEvent.EventUpdated} event is published
+     * for each event that moved.
+     * </p>
+     *
+     * @param bookingDate the date the bookings are made
+     * @param bookedBy    the username of the person making the bookings
+     * @param requests    the bookings to make, all as confirmed bookings
+     * @param retimed     the requested events whose start time changes, holding their new start times
+     * @return the outcome of each request, in the same order as {@code requests}
+     * @throws SQLException if a database access error occurs; no bookings are made and no events move in that case
+     */
+    public static List<BookingOutcome> bookVenues(LocalDate bookingDate, String bookedBy, List<BookingRequest> requests,
+                                                  List<Event> retimed) throws SQLException {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        String sql = """
+                INSERT INTO bookings (booking_date, booking_status, event_id, venue_id, client_id, booked_by)
+                        VALUES (?, 'CONFIRMED', ?, ?, ?, ?)
+                """;
+
+        List<ChangeEvent> changes = new ArrayList<>();
+        List<BookingOutcome> results = DatabaseHandler.inWriteTransaction(connection -> {
+            changes.clear();  // The work is repeated if the transaction is retried.
+            IntHashSet bookedEvents = new IntHashSet(requests.size());
+            IntObjectHashMap<EventSlot> events = findEventSlots(connection, requests, bookedEvents);
+            IntObjectHashMap<Event> moves = new IntObjectHashMap<>(retimed.size());
+            for (Event event : retimed) {
+                if (events.containsKey(event.getEventId())) {
+                    moves.put(event.getEventId(), event);
+                    events.put(event.getEventId(), new EventSlot(
+                            TimeSlots.startMinute(event.getEventDate(), event.getEventTime()),
+                            TimeSlots.endMinute(event.getEventDate(), event.getEventTime(), event.getDuration())));
+                }
+            }
+            IntObjectHashMap<List<EventSlot>> venueSlots = findOccupiedSlots(connection, requests, events);
+
+            List<BookingOutcome> outcomes = new ArrayList<>(requests.size());
+            List<BookingRequest> accepted = new ArrayList<>();
+            for (BookingRequest request : requests) {
+                EventSlot event = events.get(request.eventId());
+                if (event == null) {
+                    outcomes.add(BookingOutcome.FAILED);
+                    continue;
+                }
+                List<EventSlot> taken = venueSlots.computeIfAbsent(request.venueId(), key -> new ArrayList<>());
+                if (bookedEvents.contains(request.eventId()) || taken.stream().anyMatch(event::conflictsWith)) {
+                    outcomes.add(BookingOutcome.CONFLICT);
+                    continue;
+                }
+                bookedEvents.add(request.eventId());
+                taken.add(event);
+                accepted.add(request);
+                outcomes.add(BookingOutcome.BOOKED);
+            }
+
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                for (BookingRequest request : accepted) {
+                    pstmt.setString(1, String.valueOf(bookingDate.toEpochDay()));
+                    pstmt.setInt(2, request.eventId());
+                    pstmt.setInt(3, request.venueId());
+                    pstmt.setInt(4, request.clientId());
+                    pstmt.setString(5, bookedBy);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+
+            // The batch is inserted under the write lock, so its booking IDs run up to the last inserted row ID.
+            // This is read before the summaries are updated, as their inserts move the last row ID.
+            int bookingId = lastInsertRowId(connection) - accepted.size() + 1;
+            for (BookingRequest request : accepted) {
+                ReportingDAO.recordConfirmedBooking(connection, request.eventId(), request.venueId(), request.clientId());
+                changes.add(new ChangeEvent.BookingCreated(bookingId++, request.eventId(), request.venueId(),
+                        request.clientId(), BookingStatus.CONFIRMED));
+            }
+
+            // A retimed event is only booked once, and it moves with its booking.
+            for (BookingRequest request : accepted) {
+                Event moved = moves.get(request.eventId());
+                if (moved != null) {
+                    EventDAO.updateEventRow(connection, moved);
+                    changes.add(new ChangeEvent.EventUpdated(moved.getEventId()));
+                }
+            }
+            return outcomes;
+        });
+
+        ChangeBus.getInstance().publishAll(changes);
+        return results;
+    }
+
+    /**
+     * Returns the row ID of the last row inserted on a connection.
+     *
+     * @param connection the connection that made the insert
+     * @return the last inserted row ID
+     * @throws SQLException if a database access error occurs
+     */
+    private static int lastInsertRowId(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Loads the time slots of the requested events and notes which already have a confirmed booking.
+     *
+     * @param connection   the connection holding the write transaction
+     * @param requests     the booking requests
+     * @param bookedEvents receives the IDs of events that already have a confirmed booking
+     * @return the time slots of the events that exist, keyed by event ID
+     * @throws SQLException if a database access error occurs
+     */
+    private static IntObjectHashMap<EventSlot> findEventSlots(Connection connection, List<BookingRequest> requests,
+                                                              IntHashSet bookedEvents) throws SQLException {
+        List<Integer> eventIds = requests.stream().map(BookingRequest::eventId).distinct().toList();
+        IntObjectHashMap<EventSlot> events = new IntObjectHashMap<>(eventIds.size());
+        for (int from = 0; from < eventIds.size(); from += IN_CLAUSE_CHUNK) {
+            List<Integer> chunk = eventIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK, eventIds.size()));
+            String eventSQL = """
+                    SELECT event_id, event_date, event_time, event_duration
+                    FROM events
+                    WHERE event_id IN (%s)
+                    """.formatted(placeholders(chunk.size()));
+            // A single pass over the bookings, rather than one lookup per event.
+            String bookedSQL = """
+                    SELECT DISTINCT event_id
+                    FROM bookings
+                    WHERE\s""" + OCCUPIES_SLOT + """
+                    AND event_id IN (%s)
+                    """.formatted(placeholders(chunk.size()));
+
+            try (PreparedStatement eventStmt = connection.prepareStatement(eventSQL);
+                 PreparedStatement bookedStmt = connection.prepareStatement(bookedSQL)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    eventStmt.setInt(i + 1, chunk.get(i));
+                    bookedStmt.setInt(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = eventStmt.executeQuery()) {
+                    while (rs.next()) {
+                        events.put(rs.getInt("event_id"), readEventSlot(rs));
+                    }
+                }
+                try (ResultSet rs = bookedStmt.executeQuery()) {
+                    while (rs.next()) {
+                        bookedEvents.add(rs.getInt("event_id"));
+                    }
+                }
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Loads the confirmed bookings and unexpired holds at the requested venues that overlap the period spanned by
+     * the requested events.
+     *
+     * @param connection the connection holding the write transaction
+     * @param requests   the booking requests
+     * @param events     the time slots of the requested events
+     * @return the occupied time slots, keyed by venue ID
+     * @throws SQLException if a database access error occurs
+     */
+    private static IntObjectHashMap<List<EventSlot>> findOccupiedSlots(Connection connection, List<BookingRequest> requests,
+                                                                       IntObjectHashMap<EventSlot> events) throws SQLException {
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (BookingRequest request : requests) {
+            EventSlot event = events.get(request.eventId());
+            if (event != null) {
+                first = Math.min(first, event.start());
+                last = Math.max(last, event.end());
+            }
+        }
+
+        IntObjectHashMap<List<EventSlot>> slots = new IntObjectHashMap<>();
+        if (first > last) {
+            return slots;
+        }
+        List<Integer> venueIds = requests.stream().map(BookingRequest::venueId).distinct().toList();
+        for (int from = 0; from < venueIds.size(); from += IN_CLAUSE_CHUNK) {
+            List<Integer> chunk = venueIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK, venueIds.size()));
+            String sql = """
+                    SELECT bookings.venue_id, events.event_date, events.event_time, events.event_duration
+                    FROM bookings
+                    JOIN events ON bookings.event_id = events.event_id
+                    WHERE\s""" + OCCUPIES_SLOT + """
+                    AND\s""" + TimeSlots.overlapsSql("events") + """
+                    AND bookings.venue_id IN (%s)
+                    """.formatted(placeholders(chunk.size()));
+
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                pstmt.setLong(1, first);
+                pstmt.setLong(2, last);
+                for (int i = 0; i < chunk.size(); i++) {
+                    pstmt.setInt(i + 3, chunk.get(i));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        slots.computeIfAbsent(rs.getInt("venue_id"), id -> new ArrayList<>()).add(readEventSlot(rs));
+                    }
+                }
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Reads the time slot of the event on the current row of a result set of event columns.
+     *
+     * @param rs the result set to read
+     * @return the event's time slot
+     * @throws SQLException if a database access error occurs
+     */
+    private static EventSlot readEventSlot(ResultSet rs) throws SQLException {
+        LocalDate date = LocalDate.ofEpochDay(rs.getLong("event_date"));
+        LocalTime start = LocalTime.parse(rs.getString("event_time"));
+        int duration = rs.getInt("event_duration");
+        return new EventSlot(TimeSlots.startMinute(date, start), TimeSlots.endMinute(date, start, duration));
+    }
+
+    /**
+     * Returns a comma-separated list of {@code count} parameter placeholders.
+     */
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Checks that an event has no confirmed booking or unexpired hold and that a venue is free for the event's
+     * time slot.
+     *
+     * @param connection the connection holding the write transaction
+     * @param eventId    the ID of the event to book
+     * @param venueId    the ID of the venue to book
+     * @return {@code true} if the event can be booked at the venue
+     * @throws SQLException if a database access error occurs
+     */
+    private static boolean isSlotFree(Connection connection, int eventId, int venueId) throws SQLException {
+        return isSlotFree(connection, eventId, venueId, 0);
+    }
+
+    /**
+     * Checks, as {@link #isSlotFree(Connection, int, int)} does, that an event can be booked at a venue, ignoring
+     * one existing booking. Used when a booking is moved, so it does not clash with itself.
+     *
+     * @param connection       the connection holding the write transaction
+     * @param eventId          the ID of the event to book
+     * @param venueId          the ID of the venue to book
+     * @param excludeBookingId the ID of the booking to ignore, or 0 to consider every booking
+     * @return {@code true} if the event can be booked at the venue
+     * @throws SQLException if a database access error occurs
+     */
+    private static boolean isSlotFree(Connection connection, int eventId, int venueId, int excludeBookingId)
+            throws SQLException {
+        return isSlotFree(connection, eventId, venueId, excludeBookingId, null, null);
+    }
+
+    /**
+     * Checks, as {@link #isSlotFree(Connection, int, int, int)} does, that an event can be booked at a venue,
+     * with the event moved to a new date and start time. Used when an event is re-timed and its booking moved in
+     * one transaction, before the new time is written.
+     *
+     * @param connection       the connection holding the write transaction
+     * @param eventId          the ID of the event to book
+     * @param venueId          the ID of the venue to book
+     * @param excludeBookingId the ID of the booking to ignore, or 0 to consider every booking
+     * @param date             the event's new date, or {@code null} to use its stored date and time
+     * @param time             the event's new start time, or {@code null} to use its stored date and time
+     * @return {@code true} if the event can be booked at the venue
+     * @throws SQLException if a database access error occurs
+     */
+    private static boolean isSlotFree(Connection connection, int eventId, int venueId, int excludeBookingId,
+                                      LocalDate date, LocalTime time) throws SQLException {
+        String sql = """
+                SELECT event_date, event_time, event_duration,
+                       EXISTS (SELECT 1 FROM bookings
+                               WHERE bookings.event_id = events.event_id
+                               AND bookings.booking_id <> ?
+                               AND\s""" + OCCUPIES_SLOT + """
+                       ) AS event_booked
+                FROM events
+                WHERE event_id = ?
+                """;
+
+        LocalDate eventDate;
+        LocalTime eventTime;
+        int duration;
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, excludeBookingId);
+            pstmt.setInt(2, eventId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next() || rs.getBoolean("event_booked")) {
+                    return false;
+                }
+                eventDate = date != null && time != null ? date : LocalDate.ofEpochDay(rs.getLong("event_date"));
+                eventTime = date != null && time != null ? time : LocalTime.parse(rs.getString("event_time"));
+                duration = rs.getInt("event_duration");
+            }
+        }
+        return !hasConflict(connection, venueId, eventDate, eventTime, duration, excludeBookingId);
+    }
+
+    /**
+     * Checks that every venue where an event is booked or held is still free for the event at a new date and
+     * start time, using the caller's transaction.
+     * <p>
+     * Each of the event's confirmed bookings and unexpired holds is checked against the other bookings at its
+     * venue, so an event cannot be re-timed onto a slot that is already taken there.
+     * </p>
+     *
+     * @param connection       the connection holding the write transaction
+     * @param eventId          the ID of the event
+     * @param date             the event's new date
+     * @param time             the event's new start time
+     * @param excludeBookingId the ID of one of the event's bookings to leave out, because the caller moves it
+     *                         itself, or 0 to check every booking
+     * @return {@code true} if the event can be re-timed without a clash
+     * @throws SQLException if a database access error occurs
+     */
+    static boolean isRescheduleFree(Connection connection, int eventId, LocalDate date, LocalTime time,
+                                    int excludeBookingId) throws SQLException {
+        String sql = """
+                SELECT bookings.booking_id, bookings.venue_id, events.event_duration
+                FROM bookings
+                JOIN events ON bookings.event_id = events.event_id
+                WHERE bookings.event_id = ?
+                AND bookings.booking_id <> ?
+                AND\s""" + OCCUPIES_SLOT;
+
+        List<int[]> occupying = new ArrayList<>();
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, eventId);
+            pstmt.setInt(2, excludeBookingId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    occupying.add(new int[] {rs.getInt("booking_id"), rs.getInt("venue_id"), rs.getInt("event_duration")});
+                }
+            }
+        }
+        for (int[] booking : occupying) {
+            if (hasConflict(connection, booking[1], date, time, booking[2], booking[0])) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
      * Retrieves venue utilisation data.
      * <p>
      * This method returns a map where the key is the venue name and the value is the number of times
-     * the venue has been booked (i.e., utilisation count) for confirmed bookings.
+     * the venue has been booked (i.e., utilisation count) for confirmed bookings. The counts are read from
+     * the materialised summary maintained by {@link ReportingDAO}.
      * </p>
      *
      * @return a {@code Map<String, Integer>} mapping venue names to their utilisation counts
      */
     public static Map<String, Integer> getVenueUtilisation() {
+        return ReportingDAO.getVenueUtilisation();
+    }
+
+    /**
+     * Retrieves all confirmed bookings as lightweight {@link BookingRow} projections.
+     * <p>
+     * The event, venue and client names are read with a single join and each client's confirmed booking count is
+     * computed with a window function, so the commission rate is known without loading the client's bookings.
+     * </p>
+     *
+     * @return a {@code List<BookingRow>} containing all confirmed bookings, ordered by booking ID
+     */
+    public static List<BookingRow> getConfirmedBookingRows() {
         String sql = """
-                        SELECT v.venue_name,
-                        COUNT(b.booking_id) AS utilisation_count
-                        FROM bookings b
-                        JOIN venues v ON b.venue_id = v.venue_id
-                        WHERE b.booking_status = 'CONFIRMED'
-                        GROUP BY v.venue_name
-                        """;
-        Map<String, Integer> utilisationData = new HashMap<>();
+                SELECT b.booking_id, b.booked_by, e.event_name, v.venue_name, c.client_name,
+                       v.hire_price * e.event_duration AS hire,
+                       COUNT(*) OVER (PARTITION BY b.client_id) AS confirmed_jobs
+                FROM bookings b
+                JOIN events e ON b.event_id = e.event_id
+                JOIN venues v ON b.venue_id = v.venue_id
+                JOIN clients c ON b.client_id = c.client_id
+                WHERE b.booking_status = 'CONFIRMED'
+                ORDER BY b.booking_id
+                """;
+        List<BookingRow> rows = new ArrayList<>();
 
-        try (Connection conn = DatabaseHandler.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
+        try (Connection connection = DatabaseHandler.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                String venueName = rs.getString("venue_name");
-                int count = rs.getInt("utilisation_count");
-                utilisationData.put(venueName, count);
+                rows.add(new BookingRow(rs.getInt("booking_id"), rs.getString("event_name"), rs.getString("venue_name"),
+                        rs.getString("client_name"), rs.getString("booked_by"), rs.getDouble("hire"),
+                        Client.commissionRateFor(rs.getLong("confirmed_jobs"))));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            System.err.println("Error fetching confirmed bookings: " + e.getMessage());
+        }
+        return rows;
+    }
+
+    /**
+     * Retrieves the time slots occupied by confirmed bookings at every venue.
+     * <p>
+     * Only the venue, event and timing columns are read, in one pass over the confirmed bookings. Pending bookings
+     * under a hold are left out; see {@link #getOccupiedSlots()} for every booking that takes a venue.
+     * </p>
+     *
+     * @return a {@code List<BookedSlot>} containing one slot per confirmed booking
+     */
+    public static List<BookedSlot> getConfirmedSlots() {
+        String sql = """
+                SELECT b.booking_id, b.venue_id, b.event_id, e.event_date, e.event_time, e.event_duration
+                FROM bookings b
+                JOIN events e ON b.event_id = e.event_id
+                WHERE b.booking_status = 'CONFIRMED'
+                """;
+        List<BookedSlot> slots = new ArrayList<>();
+
+        try (Connection connection = DatabaseHandler.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            readBookedSlots(rs, slots);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            System.err.println("Error fetching booked slots: " + e.getMessage());
+        }
+        return slots;
+    }
+
+    /**
+     * Retrieves the time slots occupied at every venue, by confirmed bookings and by pending bookings under an
+     * unexpired hold.
+     * <p>
+     * These are the bookings {@link #checkAvailability} treats as taking a venue, so a period free of these slots
+     * can be booked.
+     * </p>
+     *
+     * @return a {@code List<BookedSlot>} containing one slot per occupying booking
+     */
+    public static List<BookedSlot> getOccupiedSlots() {
+        String sql = """
+                SELECT bookings.booking_id, bookings.venue_id, bookings.event_id,
+                       e.event_date, e.event_time, e.event_duration
+                FROM bookings
+                JOIN events e ON bookings.event_id = e.event_id
+                WHERE\s""" + OCCUPIES_SLOT + """
+                """;
+        List<BookedSlot> slots = new ArrayList<>();
+
+        try (Connection connection = DatabaseHandler.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            readBookedSlots(rs, slots);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            System.err.println("Error fetching booked slots: " + e.getMessage());
+        }
+        return slots;
+    }
+
+    /**
+     * Retrieves the time slots occupied by confirmed bookings, and by pending bookings under an unexpired hold,
+     * for events between two dates.
+     * <p>
+     * The range is read in one query over the bookings. Event dates are stored as text, so they are compared as
+     * numbers.
+     * </p>
+     *
+     * @param firstDate the first event date to include
+     * @param lastDate  the last event date to include
+     * @return a {@code List<BookedSlot>} containing one slot per occupying booking in the range
+     */
+    public static List<BookedSlot> getOccupiedSlots(LocalDate firstDate, LocalDate lastDate) {
+        String sql = """
+                SELECT bookings.booking_id, bookings.venue_id, bookings.event_id,
+                       e.event_date, e.event_time, e.event_duration
+                FROM bookings
+                JOIN events e ON bookings.event_id = e.event_id
+                WHERE\s""" + OCCUPIES_SLOT + """
+                AND CAST(e.event_date AS INTEGER) BETWEEN ? AND ?
+                """;
+        List<BookedSlot> slots = new ArrayList<>();
+
+        try (Connection connection = DatabaseHandler.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+
+            stmt.setLong(1, firstDate.toEpochDay());
+            stmt.setLong(2, lastDate.toEpochDay());
+            try (ResultSet rs = stmt.executeQuery()) {
+                readBookedSlots(rs, slots);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            System.err.println("Error fetching booked slots: " + e.getMessage());
+        }
+        return slots;
+    }
+
+    /**
+     * Retrieves the time slots occupied by confirmed bookings at the given venues.
+     * <p>
+     * The venue IDs are looked up in chunks so the number of bound parameters in one statement stays small.
+     * </p>
+     *
+     * @param venueIds the IDs of the venues
+     * @return a {@code List<BookedSlot>} containing one slot per confirmed booking at the venues
+     */
+    public static List<BookedSlot> getConfirmedSlotsAtVenues(List<Integer> venueIds) {
+        List<BookedSlot> slots = new ArrayList<>();
+
+        try (Connection connection = DatabaseHandler.getConnection()) {
+            for (int from = 0; from < venueIds.size(); from += IN_CLAUSE_CHUNK) {
+                List<Integer> chunk = venueIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK, venueIds.size()));
+                String sql = """
+                        SELECT b.booking_id, b.venue_id, b.event_id, e.event_date, e.event_time, e.event_duration
+                        FROM bookings b
+                        JOIN events e ON b.event_id = e.event_id
+                        WHERE b.booking_status = 'CONFIRMED'
+                        AND b.venue_id IN (%s)
+                        """.formatted(placeholders(chunk.size()));
+
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setInt(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        readBookedSlots(rs, slots);
+                    }
+                }
             }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            System.err.println("Error fetching booked slots: " + e.getMessage());
+        }
+        return slots;
+    }
 
+    /**
+     * Retrieves the venues at which any of the given events has a confirmed booking.
+     *
+     * @param eventIds the IDs of the events
+     * @return the IDs of the venues, without duplicates
+     */
+    public static Set<Integer> getVenuesBookedForEvents(List<Integer> eventIds) {
+        Set<Integer> venueIds = new HashSet<>();
+
+        try (Connection connection = DatabaseHandler.getConnection()) {
+            for (int from = 0; from < eventIds.size(); from += IN_CLAUSE_CHUNK) {
+                List<Integer> chunk = eventIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK, eventIds.size()));
+                String sql = """
+                        SELECT DISTINCT venue_id
+                        FROM bookings
+                        WHERE booking_status = 'CONFIRMED'
+                        AND event_id IN (%s)
+                        """.formatted(placeholders(chunk.size()));
+
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setInt(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            venueIds.add(rs.getInt("venue_id"));
+                        }
+                    }
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
+            System.err.println("Error fetching booked venues: " + e.getMessage());
         }
+        return venueIds;
+    }
 
-        return utilisationData;
+    /**
+     * Adds a booked slot to a list for each row of a result set of booking and event columns.
+     *
+     * @param rs    the result set to read
+     * @param slots the list to add the slots to
+     * @throws SQLException if a database access error occurs
+     */
+    private static void readBookedSlots(ResultSet rs, List<BookedSlot> slots) throws SQLException {
+        while (rs.next()) {
+            slots.add(new BookedSlot(rs.getInt("booking_id"), rs.getInt("venue_id"), rs.getInt("event_id"),
+                    LocalDate.ofEpochDay(rs.getLong("event_date")), LocalTime.parse(rs.getString("event_time")),
+                    rs.getInt("event_duration")));
+        }
     }
 
     /**
      * Cancels a booking by updating its status to "CANCELLED".
      * <p>
-     * This method updates the booking status in the database to indicate that the booking has been cancelled.
+     * This method updates the booking status in the database to indicate that the booking has been cancelled,
+     * and publishes a {@link ChangeEvent.BookingCancelled} event once the change is committed. The update runs
+     * on the shared write connection (see {@link DatabaseHandler#inWriteTransaction}), so it waits its turn
+     * behind concurrent bookings instead of failing with {@code SQLITE_BUSY}. A held booking's hold is removed in
+     * the same transaction, as {@link #releaseHold} does. A booking that is already cancelled is left as it is, and
+     * no event is published for it.
      * </p>
      *
      * @param bookingId the ID of the booking to cancel
-     * @return {@code true} if the booking was successfully cancelled, {@code false} otherwise
+     * @return {@code true} if the booking is now cancelled, {@code false} if there is no such booking
      * @throws SQLException if a database access error occurs
      */
     public static boolean cancelBooking(int bookingId) throws SQLException {
         String sql = """
-                        UPDATE bookings
-                        SET booking_status = 'CANCELLED'
-                        WHERE booking_id = ?
-                    """;
+                UPDATE bookings
+                SET booking_status = 'CANCELLED'
+                WHERE booking_id = ?
+                """;
+        String deleteHoldSQL = "DELETE FROM booking_holds WHERE booking_id = ?";
 
-        try (Connection connection = DatabaseHandler.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        BookingRef previous;
+        try {
+            previous = DatabaseHandler.inWriteTransaction(connection -> {
+                BookingRef booking = findBookingRef(bookingId, connection);
+                if (booking == null || booking.status() == BookingStatus.CANCELLED) {
+                    return booking;
+                }
+                try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                    pstmt.setInt(1, bookingId);
+                    pstmt.executeUpdate();
+                }
+                try (PreparedStatement pstmt = connection.prepareStatement(deleteHoldSQL)) {
+                    pstmt.setInt(1, bookingId);
+                    pstmt.executeUpdate();
+                }
+
+                // Remove the booking from the reporting summaries if it was confirmed.
+                if (booking.confirmed()) {
+                    ReportingDAO.releaseConfirmedBooking(connection, booking.eventId(), booking.venueId(), booking.clientId());
+                }
+                return booking;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new SQLException("Error canceling booking with Booking ID: " + bookingId, e);
+        }
+
+        if (previous == null) {
+            return false;
+        }
+        if (previous.status() != BookingStatus.CANCELLED) {
+            ChangeBus.getInstance().publish(new ChangeEvent.BookingCancelled(bookingId, previous.eventId(),
+                    previous.venueId(), previous.clientId(), previous.confirmed()));
+        }
+        return true;
+    }
+
+    /**
+     * Places a hold on a venue time slot for an event, as a PENDING booking that lapses at a set time.
+     * <p>
+     * Until it expires, a hold occupies its slot in every availability check, exactly as a confirmed booking
+     * does, and stops another booking or hold of the same event. The hold is only placed if the event and the
+     * slot are free, checked in the same write transaction as the insert, as in {@link #bookVenue}. A
+     * {@link ChangeEvent.BookingCreated} event with status PENDING is published once the hold is committed.
+     * </p>
+     *
+     * @param bookingDate the date the hold is placed
+     * @param eventId     the ID of the event
+     * @param venueId     the ID of the venue
+     * @param clientId    the ID of the client
+     * @param bookedBy    the username of the person placing the hold
+     * @param expiresAt   when the hold lapses; stored to the second
+     * @return the ID of the PENDING booking, or 0 if the event or venue slot is already booked or held
+     * @throws SQLException if a database access error occurs, or the database stays locked after every retry
+     */
+    public static int placeHold(LocalDate bookingDate, int eventId, int venueId, int clientId, String bookedBy,
+                                Instant expiresAt) throws SQLException {
+        String bookingSQL = """
+                INSERT INTO bookings (booking_date, booking_status, event_id, venue_id, client_id, booked_by)
+                        VALUES (?, 'PENDING', ?, ?, ?, ?)
+                """;
+        String holdSQL = "INSERT INTO booking_holds (booking_id, expires_at) VALUES (?, ?)";
+
+        int bookingId = DatabaseHandler.inWriteTransaction(connection -> {
+            if (!isSlotFree(connection, eventId, venueId)) {
+                return 0;
+            }
+            int newBookingId;
+            try (PreparedStatement pstmt = connection.prepareStatement(bookingSQL, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setString(1, String.valueOf(bookingDate.toEpochDay()));
+                pstmt.setInt(2, eventId);
+                pstmt.setInt(3, venueId);
+                pstmt.setInt(4, clientId);
+                pstmt.setString(5, bookedBy);
+                pstmt.executeUpdate();
+                try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                    newBookingId = keys.next() ? keys.getInt(1) : 0;
+                }
+            }
+            try (PreparedStatement pstmt = connection.prepareStatement(holdSQL)) {
+                pstmt.setInt(1, newBookingId);
+                pstmt.setLong(2, expiresAt.getEpochSecond());
+                pstmt.executeUpdate();
+            }
+            return newBookingId;
+        });
+
+        if (bookingId > 0) {
+            ChangeBus.getInstance().publish(new ChangeEvent.BookingCreated(bookingId, eventId, venueId, clientId,
+                    BookingStatus.PENDING));
+        }
+        return bookingId;
+    }
+
+    /**
+     * Confirms a held booking, if its hold has not expired.
+     * <p>
+     * The hold kept the slot free of other bookings, so the booking is confirmed without checking the slot again.
+     * The hold is removed, the reporting summaries count the booking, and a {@link ChangeEvent.BookingCreated}
+     * event with status CONFIRMED is published once the change is committed.
+     * </p>
+     *
+     * @param bookingId the ID of the PENDING booking
+     * @return {@code true} if the booking was confirmed, {@code false} if it is not held or its hold has expired
+     * @throws SQLException if a database access error occurs, or the database stays locked after every retry
+     */
+    public static boolean confirmHold(int bookingId) throws SQLException {
+        String heldSQL = """
+                SELECT 1 FROM booking_holds
+                WHERE booking_id = ?
+                AND expires_at > (julianday('now') - 2440587.5) * 86400
+                """;
+
+        BookingRef held = DatabaseHandler.inWriteTransaction(connection -> {
+            BookingRef booking = findBookingRef(bookingId, connection);
+            if (booking == null || booking.confirmed()) {
+                return null;
+            }
+            try (PreparedStatement pstmt = connection.prepareStatement(heldSQL)) {
                 pstmt.setInt(1, bookingId);
-                int rowsAffected = pstmt.executeUpdate();
-                return rowsAffected > 0;
-            } catch (SQLException e) {
-                e.printStackTrace();
-                throw new SQLException("Error canceling booking with Booking ID: " + bookingId, e);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                }
+            }
+            if (!setHoldStatus(connection, bookingId, "CONFIRMED")) {
+                return null;
+            }
+            ReportingDAO.recordConfirmedBooking(connection, booking.eventId(), booking.venueId(), booking.clientId());
+            return booking;
+        });
+
+        if (held == null) {
+            return false;
         }
+        ChangeBus.getInstance().publish(new ChangeEvent.BookingCreated(bookingId, held.eventId(), held.venueId(),
+                held.clientId(), BookingStatus.CONFIRMED));
+        return true;
+    }
+
+    /**
+     * Cancels a held booking whose hold has expired, and removes the hold.
+     * <p>
+     * A hold that has not yet expired is left in place. A booking that has since been confirmed or cancelled is
+     * left as it is, though any hold record it still has is removed. A {@link ChangeEvent.BookingCancelled} event
+     * is published if the booking was cancelled.
+     * </p>
+     *
+     * @param bookingId the ID of the PENDING booking
+     * @return {@code true} if the booking was cancelled
+     * @throws SQLException if a database access error occurs, or the database stays locked after every retry
+     */
+    public static boolean expireHold(int bookingId) throws SQLException {
+        return cancelHold(bookingId, true);
+    }
+
+    /**
+     * Cancels a held booking before its hold expires, and removes the hold.
+     * <p>
+     * A {@link ChangeEvent.BookingCancelled} event is published if the booking was cancelled.
+     * </p>
+     *
+     * @param bookingId the ID of the PENDING booking
+     * @return {@code true} if the booking was cancelled, {@code false} if it is not a PENDING booking
+     * @throws SQLException if a database access error occurs, or the database stays locked after every retry
+     */
+    public static boolean releaseHold(int bookingId) throws SQLException {
+        return cancelHold(bookingId, false);
+    }
+
+    private static boolean cancelHold(int bookingId, boolean onlyIfExpired) throws SQLException {
+        String expiredSQL = """
+                SELECT 1 FROM booking_holds
+                WHERE booking_id = ?
+                AND expires_at <= (julianday('now') - 2440587.5) * 86400
+                """;
+
+        BookingRef cancelled = DatabaseHandler.inWriteTransaction(connection -> {
+            BookingRef booking = findBookingRef(bookingId, connection);
+            if (booking != null && !booking.confirmed() && onlyIfExpired) {
+                try (PreparedStatement pstmt = connection.prepareStatement(expiredSQL)) {
+                    pstmt.setInt(1, bookingId);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        if (!rs.next()) {
+                            return null;
+                        }
+                    }
+                }
+            }
+            boolean updated = booking != null && !booking.confirmed() && setHoldStatus(connection, bookingId, "CANCELLED");
+            return updated ? booking : null;
+        });
+
+        if (cancelled == null) {
+            return false;
+        }
+        ChangeBus.getInstance().publish(new ChangeEvent.BookingCancelled(bookingId, cancelled.eventId(),
+                cancelled.venueId(), cancelled.clientId(), false));
+        return true;
+    }
+
+    /**
+     * Retrieves every hold, including any that expired while the application was not running.
+     * <p>
+     * Only the holds table is read, which holds one row per PENDING booking that has not yet been expired.
+     * </p>
+     *
+     * @return the holds
+     */
+    public static List<BookingHold> getHolds() {
+        String sql = "SELECT booking_id, expires_at FROM booking_holds";
+        List<BookingHold> holds = new ArrayList<>();
+
+        try (Connection connection = DatabaseHandler.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                holds.add(new BookingHold(rs.getInt("booking_id"), Instant.ofEpochSecond(rs.getLong("expires_at"))));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            System.err.println("Error fetching booking holds: " + e.getMessage());
+        }
+        return holds;
+    }
+
+    /**
+     * Moves a PENDING booking to a new status and removes its hold, using the caller's transaction.
+     *
+     * @param connection the connection holding the write transaction
+     * @param bookingId  the ID of the booking
+     * @param status     the new status
+     * @return {@code true} if the booking was PENDING and has been updated
+     * @throws SQLException if a database access error occurs
+     */
+    private static boolean setHoldStatus(Connection connection, int bookingId, String status) throws SQLException {
+        String updateSQL = "UPDATE bookings SET booking_status = ? WHERE booking_id = ? AND booking_status = 'PENDING'";
+        String deleteSQL = "DELETE FROM booking_holds WHERE booking_id = ?";
+        int updated;
+        try (PreparedStatement pstmt = connection.prepareStatement(updateSQL)) {
+            pstmt.setString(1, status);
+            pstmt.setInt(2, bookingId);
+            updated = pstmt.executeUpdate();
+        }
+        try (PreparedStatement pstmt = connection.prepareStatement(deleteSQL)) {
+            pstmt.setInt(1, bookingId);
+            pstmt.executeUpdate();
+        }
+        return updated > 0;
     }
 
     /**
      * Updates a booking record in the database.
      * <p>
      * This method updates the booking's date, event ID, venue ID, and client ID for the specified booking.
-     * The booking date is updated to the current date.
+     * The booking date is updated to the current date. A confirmed or held booking is only moved if its new event
+     * has no other confirmed booking or hold and its new venue is free for the event's time slot, ignoring the
+     * booking itself. The check and the update run in one write transaction, so a slot that was free when the
+     * change was checked cannot be booked by another user before it is saved. A {@link ChangeEvent.BookingUpdated}
+     * event is published once the change is committed.
      * </p>
      *
      * @param booking the {@code Booking} object containing updated information
-     * @return {@code true} if the update was successful, {@code false} otherwise
+     * @return {@code true} if the update was successful, {@code false} if the booking does not exist or its new
+     *         slot is already booked
      * @throws SQLException if a database access error occurs
      */
     public static boolean updateBooking(Booking booking) throws SQLException {
-            String sql = """
-                            UPDATE bookings
-                            SET booking_date = ?,
-                                event_id = ?,
-                                venue_id = ?,
-                                client_id = ?
-                            WHERE booking_id = ?
-                        """;
+        int eventId = booking.getEvent().getEventId();
+        int venueId = booking.getVenue().getVenueId();
+        int clientId = booking.getClient().getClientId();
+        BookingRef previous;
+        try {
+            previous = DatabaseHandler.inWriteTransaction(connection -> {
+                BookingRef current = findBookingRef(booking.getBookingId(), connection);
+                if (current == null) {
+                    return null;
+                }
+                if (current.status() != BookingStatus.CANCELLED
+                        && !isSlotFree(connection, eventId, venueId, booking.getBookingId())) {
+                    return null;
+                }
+                moveBooking(connection, current, eventId, venueId, clientId);
+                return current;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new SQLException("Error updating booking with ID " + booking.getBookingId(), e);
+        }
 
-        try (Connection connection = DatabaseHandler.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        if (previous == null) {
+            return false;
+        }
+        ChangeBus.getInstance().publish(new ChangeEvent.BookingUpdated(booking.getBookingId(), eventId, venueId,
+                clientId, previous.eventId(), previous.clientId(), previous.confirmed()));
+        return true;
+    }
+
+    /**
+     * Re-times a booking's event and moves the booking to a new venue and client in one write transaction.
+     * <p>
+     * The event's date, start time and artist are taken from {@code event}, which is not changed. The new venue
+     * must be free for the event at its new time, ignoring the booking itself, and every other venue where the
+     * event is booked or held must be free at the new time as well. If any check fails nothing is written, so
+     * the event never keeps a new time that its booking could not follow. An {@link ChangeEvent.EventUpdated} and
+     * a {@link ChangeEvent.BookingUpdated} event are published once the change is committed.
+     * </p>
+     *
+     * @param bookingId the ID of the booking to move
+     * @param event     the booking's event, carrying its new date, start time and artist
+     * @param venueId   the ID of the booking's new venue
+     * @param clientId  the ID of the booking's new client
+     * @return {@code true} if the event and booking were updated, {@code false} if the booking or event does not
+     *         exist or the new slot is already booked
+     * @throws SQLException if a database access error occurs
+     */
+    public static boolean updateBookingAndEvent(int bookingId, Event event, int venueId, int clientId)
+            throws SQLException {
+        int eventId = event.getEventId();
+        BookingRef previous;
+        try {
+            previous = DatabaseHandler.inWriteTransaction(connection -> {
+                BookingRef current = findBookingRef(bookingId, connection);
+                if (current == null) {
+                    return null;
+                }
+                if (!isRescheduleFree(connection, eventId, event.getEventDate(), event.getEventTime(), bookingId)) {
+                    return null;
+                }
+                if (current.status() != BookingStatus.CANCELLED && !isSlotFree(connection, eventId, venueId,
+                        bookingId, event.getEventDate(), event.getEventTime())) {
+                    return null;
+                }
+                if (!EventDAO.updateEventRow(connection, event)) {
+                    return null;
+                }
+                moveBooking(connection, current, eventId, venueId, clientId);
+                return current;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new SQLException("Error updating booking with ID " + bookingId, e);
+        }
 
+        if (previous == null) {
+            return false;
+        }
+        ChangeBus.getInstance().publish(new ChangeEvent.EventUpdated(eventId));
+        ChangeBus.getInstance().publish(new ChangeEvent.BookingUpdated(bookingId, eventId, venueId, clientId,
+                previous.eventId(), previous.clientId(), previous.confirmed()));
+        return true;
+    }
+
+    /**
+     * Points a booking at a new event, venue and client, and moves a confirmed booking's contribution in the
+     * summary tables, using the caller's transaction.
+     *
+     * @param connection the connection holding the write transaction
+     * @param current    the booking as it is stored
+     * @param eventId    the ID of the new event
+     * @param venueId    the ID of the new venue
+     * @param clientId   the ID of the new client
+     * @throws SQLException if a database access error occurs
+     */
+    private static void moveBooking(Connection connection, BookingRef current, int eventId, int venueId, int clientId)
+            throws SQLException {
+        String sql = """
+                UPDATE bookings
+                SET booking_date = ?,
+                    event_id = ?,
+                    venue_id = ?,
+                    client_id = ?
+                WHERE booking_id = ?
+                """;
+
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             // Set the booking_date to the current date
             LocalDate currentDate = LocalDate.now();
             pstmt.setString(1, String.valueOf(currentDate.toEpochDay()));
-            pstmt.setInt(2, booking.getEvent().getEventId());
-            pstmt.setInt(3, booking.getVenue().getVenueId());
-            pstmt.setInt(4, booking.getClient().getClientId());
-            pstmt.setInt(5, booking.getBookingId());
+            pstmt.setInt(2, eventId);
+            pstmt.setInt(3, venueId);
+            pstmt.setInt(4, clientId);
+            pstmt.setInt(5, current.bookingId());
+            pstmt.executeUpdate();
+        }
 
-            int rowsUpdated = pstmt.executeUpdate();
-            return rowsUpdated > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            throw new SQLException("Error updating booking with ID " + booking.getBookingId(), e);
+        // Move a confirmed booking's contribution to its new event, venue and client.
+        if (current.confirmed()) {
+            ReportingDAO.releaseConfirmedBooking(connection, current.eventId(), current.venueId(), current.clientId());
+            ReportingDAO.recordConfirmedBooking(connection, eventId, venueId, clientId);
         }
     }
 
@@ -266,20 +1306,88 @@ public class BookingDAO {
      */
     public static void insertBooking(Booking booking) {
         String sql = "INSERT INTO bookings (booking_id, booking_date, booking_status, event_id, venue_id, client_id, booked_by) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (Connection connection = DatabaseHandler.getConnection();
-             PreparedStatement stmt = connection.prepareStatement(sql)) {
-
-            stmt.setInt(1, booking.getBookingId());
-            stmt.setString(2, String.valueOf(booking.getBookingDate().toEpochDay()));
-            stmt.setString(3, booking.getStatus().toString());
-            stmt.setInt(4, booking.getEvent().getEventId());
-            stmt.setInt(5, booking.getVenue().getVenueId());
-            stmt.setInt(6, booking.getClient().getClientId());
-            stmt.setString(7, booking.getBookedBy());
-
-            stmt.executeUpdate();
+        try {
+            DatabaseHandler.inWriteTransaction(connection -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    stmt.setInt(1, booking.getBookingId());
+                    stmt.setString(2, String.valueOf(booking.getBookingDate().toEpochDay()));
+                    stmt.setString(3, booking.getStatus().toString());
+                    stmt.setInt(4, booking.getEvent().getEventId());
+                    stmt.setInt(5, booking.getVenue().getVenueId());
+                    stmt.setInt(6, booking.getClient().getClientId());
+                    stmt.setString(7, booking.getBookedBy());
+                    stmt.executeUpdate();
+                }
+                if (booking.getStatus() == BookingStatus.CONFIRMED) {
+                    ReportingDAO.recordConfirmedBooking(connection, booking.getEvent().getEventId(),
+                            booking.getVenue().getVenueId(), booking.getClient().getClientId());
+                }
+                return null;
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Identifies the event, venue and client a booking currently refers to, and its status.
+     *
+     * @param bookingId the ID of the booking
+     * @param status    the booking status
+     * @param eventId   the ID of the booked event
+     * @param venueId   the ID of the booked venue
+     * @param clientId  the ID of the client
+     */
+    private record BookingRef(int bookingId, BookingStatus status, int eventId, int venueId, int clientId) {
+
+        /**
+         * Returns whether the booking is confirmed.
+         *
+         * @return {@code true} if the booking status is CONFIRMED
+         */
+        boolean confirmed() {
+            return status == BookingStatus.CONFIRMED;
+        }
+    }
+
+    /**
+     * Reads the current state of a booking using the caller's connection.
+     *
+     * @param bookingId  the ID of the booking
+     * @param connection the connection (and transaction) to read with
+     * @return the booking's current references, or {@code null} if the booking does not exist
+     * @throws SQLException if a database access error occurs
+     */
+    private static BookingRef findBookingRef(int bookingId, Connection connection) throws SQLException {
+        String sql = "SELECT booking_status, event_id, venue_id, client_id FROM bookings WHERE booking_id = ?";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, bookingId);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return new BookingRef(bookingId, BookingStatus.valueOf(rs.getString("booking_status")),
+                        rs.getInt("event_id"), rs.getInt("venue_id"), rs.getInt("client_id"));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The time slot of an event, in minutes since the epoch.
+     *
+     * @param start the minute the event starts
+     * @param end   the minute the event ends
+     */
+    private record EventSlot(long start, long end) {
+
+        /**
+         * Checks whether booking this event would conflict with an existing booking, using the same rule
+         * ({@link TimeSlots#overlaps}) as {@link #hasConflict} applies in SQL.
+         *
+         * @param booked the slot of an event already booked or held at the venue
+         * @return {@code true} if the slots overlap
+         */
+        boolean conflictsWith(EventSlot booked) {
+            return TimeSlots.overlaps(start, end, booked.start, booked.end);
+        }
+    }
+}
@@ -5,15 +5,16 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import model.Booking;
 import model.Client;
 import model.Event;
 import model.Venue;
+import util.IntObjectHashMap;
 
 
 /**
@@ -24,7 +25,11 @@ import model.Venue;
  * for backup and other purposes.
  * </p>
  * <p>
- * This class uses a static collection to cache client objects, which is used by the {@code findOrCreateClient} method.
+ * Clients are resolved by name through a concurrent index keyed by the trimmed, lower-cased client name. The index
+ * is primed from the <em>clients</em> table on first use, so loading events resolves each event's client with a
+ * map lookup instead of a query. Writes resolve clients from the database instead, as another process may
+ * have changed the clients table since the index was primed. A unique, case-insensitive index on
+ * {@code clients.client_name} makes find-or-create atomic across threads and processes.
  * </p>
  *
  * @author  Bodene Downie
@@ -38,34 +43,53 @@ public class ClientDAO {
     private ClientDAO() {}
 
     /**
-     * A static list to cache Client objects.
+     * Clients keyed by normalised name; see {@link #normaliseName(String)}.
      */
-    private static List<Client> clients = new ArrayList<>();
+    private static final ConcurrentHashMap<String, Client> clientsByName = new ConcurrentHashMap<>();
 
+    /**
+     * The database URL the index was primed from, or {@code null} if it has not been primed.
+     */
+    private static volatile String primedUrl;
+
+    private static final Object PRIME_LOCK = new Object();
 
     /**
-     * Finds a client by name (case-insensitive) from the cached list, or creates a new client if not found.
+     * Selects each client with its bookings and the booked events and venues.
+     */
+    private static final String SELECT_CLIENT_SUMMARIES = """
+                        SELECT c.client_id, c.client_name, c.contact_info,
+                                b.booking_id, b.booking_date, b.booking_status, b.booked_by,
+                                        e.event_id, e.event_name, e.event_date, e.event_time, e.event_duration, e.event_artist,
+                                        v.venue_id, v.venue_name, v.hire_price
+                                FROM clients c
+                                LEFT JOIN bookings b ON c.client_id = b.client_id
+                                LEFT JOIN events e ON b.event_id = e.event_id
+                                LEFT JOIN venues v ON b.venue_id = v.venue_id""";
+
+
+    /**
+     * Finds a client by name (case-insensitive) from the client index, or creates a new client if not found.
      * <p>
-     * If the client is not found in the cache, the method attempts to create the client in the database.
+     * If the client is not in the index, the method finds or creates the client in the database and adds it to the
+     * index. Concurrent calls for the same name return the same {@code Client}.
      * </p>
      *
      * @param clientName the name of the client
      * @return the existing or newly created {@code Client} object; {@code null} if a database error occurs
      */
     public static Client findOrCreateClient(String clientName) {
-        // Search for the client in the cached list.
-        for (Client client : clients) {
-            if (client.getClientName().equalsIgnoreCase(clientName)) {
-                return client;
-            }
+        ensurePrimed();
+        String key = normaliseName(clientName);
+        Client client = clientsByName.get(key);
+        if (client != null) {
+            return client;
         }
 
-        // If not found, attempt to create a new client in the database.
+        // If not found, find or create the client in the database.
         try (Connection connection = DatabaseHandler.getConnection()) {
-            int newClientId = findOrCreateClientId(clientName, connection);
-            Client newClient = new Client(newClientId, clientName, "unknown@contact.com");
-            clients.add(newClient);
-            return newClient;
+            int clientId = findOrCreateClientId(clientName, connection);
+            return clientsByName.computeIfAbsent(key, k -> new Client(clientId, clientName.trim(), "unknown@contact.com"));
         } catch (SQLException e) {
             e.printStackTrace();
             return null;
@@ -75,8 +99,12 @@ public class ClientDAO {
     /**
      * Finds an existing client ID by client name or creates a new client record and returns its generated ID.
      * <p>
-     * This method first searches the database for a client with the specified name. If found, it returns the existing client ID.
-     * Otherwise, it inserts a new client record and returns the generated client ID.
+     * Names are matched case-insensitively. The client is always looked up in the database, since the ID is
+     * written with the caller's rows and an ID from the index may be stale, and is inserted with
+     * {@code INSERT OR IGNORE} if missing; if another connection inserted the same name first, the unique index
+     * turns the insert into a no-op and the existing ID is read back. New clients are not added to the index here,
+     * because the caller's transaction may still be rolled back, but an index entry whose ID no longer matches the
+     * database is dropped.
      * </p>
      *
      * @param clientName the name of the client
@@ -85,29 +113,105 @@ public class ClientDAO {
      * @throws SQLException if an error occurs during the database operation
      */
     public static int findOrCreateClientId(String clientName, Connection connection) throws SQLException {
-        String findSQL = "SELECT client_id FROM clients WHERE client_name = ?";
-        String insertSQL = "INSERT INTO clients (client_name) VALUES (?)";
+        String name = clientName.trim();
+        String key = normaliseName(name);
 
         // Try to find the client first.
-        try (PreparedStatement findStmt = connection.prepareStatement(findSQL)) {
-            findStmt.setString(1, clientName);
-            ResultSet rs = findStmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt("client_id"); // Return existing client ID
+        int clientId = findClientId(name, connection);
+        if (clientId > 0) {
+            Client cached = clientsByName.get(key);
+            if (cached != null && cached.getClientId() != clientId) {
+                clientsByName.remove(key, cached);
             }
+            return clientId; // Return existing client ID
         }
+        Client cached = clientsByName.get(key);
+        if (cached != null) {
+            clientsByName.remove(key, cached);
+        }
+
         // If not found, insert a new client.
+        String insertSQL = "INSERT OR IGNORE INTO clients (client_name) VALUES (?)";
         try (PreparedStatement insertStmt = connection.prepareStatement(insertSQL, Statement.RETURN_GENERATED_KEYS)) {
-            insertStmt.setString(1, clientName);
-            insertStmt.executeUpdate();
-            ResultSet rs = insertStmt.getGeneratedKeys();
-            if (rs.next()) {
-                return rs.getInt(1);
+            insertStmt.setString(1, name);
+            if (insertStmt.executeUpdate() > 0) {
+                ResultSet rs = insertStmt.getGeneratedKeys();
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
             }
         }
+
+        // Another connection created the client between the lookup and the insert.
+        clientId = findClientId(name, connection);
+        if (clientId > 0) {
+            return clientId;
+        }
         throw new SQLException("Could not insert or find client: " + clientName);
     }
 
+    /**
+     * Looks up a client ID by name, ignoring case.
+     *
+     * @param clientName the trimmed client name
+     * @param connection the database connection to use
+     * @return the client ID, or {@code 0} if there is no such client
+     * @throws SQLException if a database access error occurs
+     */
+    private static int findClientId(String clientName, Connection connection) throws SQLException {
+        String findSQL = "SELECT client_id FROM clients WHERE client_name = ? COLLATE NOCASE ORDER BY client_id LIMIT 1";
+        try (PreparedStatement findStmt = connection.prepareStatement(findSQL)) {
+            findStmt.setString(1, clientName);
+            ResultSet rs = findStmt.executeQuery();
+            return rs.next() ? rs.getInt("client_id") : 0;
+        }
+    }
+
+    /**
+     * Loads every client into the index, once per database.
+     * <p>
+     * If the database URL has changed since the index was primed, the index is cleared and primed again. If the
+     * clients cannot be loaded, the index stays unprimed and clients are resolved from the database instead.
+     * </p>
+     */
+    private static void ensurePrimed() {
+        String url = DatabaseHandler.databaseUrl();
+        if (url.equals(primedUrl)) {
+            return;
+        }
+        synchronized (PRIME_LOCK) {
+            if (url.equals(primedUrl)) {
+                return;
+            }
+            clientsByName.clear();
+            String sql = "SELECT client_id, client_name, contact_info FROM clients ORDER BY client_id";
+            try (Connection conn = DatabaseHandler.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String clientName = rs.getString("client_name");
+                    clientsByName.putIfAbsent(normaliseName(clientName),
+                            new Client(rs.getInt("client_id"), clientName, rs.getString("contact_info")));
+                }
+                primedUrl = url;
+            } catch (SQLException e) {
+                e.printStackTrace();
+                System.err.println("Error loading the client index: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the index key for a client name: trimmed and lower-cased, so names differing only in case or
+     * surrounding spaces resolve to the same client.
+     *
+     * @param clientName the client name
+     * @return the normalised name
+     */
+    private static String normaliseName(String clientName) {
+        return clientName.trim().toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Retrieves a {@code Client} object from the database by its ID.
      *
@@ -147,59 +251,79 @@ public class ClientDAO {
      * @return a {@code List<Client>} containing client summaries with their bookings
      */
     public static List<Client> getAllClientSummaries() {
-        String sql = """
-                        SELECT c.client_id, c.client_name, c.contact_info,
-                                b.booking_id, b.booking_date, b.booking_status, b.booked_by,
-                                        e.event_id, e.event_name, e.event_date, e.event_time, e.event_duration, e.event_artist,
-                                        v.venue_id, v.venue_name, v.hire_price
-                                FROM clients c
-                                LEFT JOIN bookings b ON c.client_id = b.client_id
-                                LEFT JOIN events e ON b.event_id = e.event_id
-                                LEFT JOIN venues v ON b.venue_id = v.venue_id
-                    """;
+        return findClientSummaries(SELECT_CLIENT_SUMMARIES);
+    }
+
+    /**
+     * Retrieves the summary of a single client, including its bookings, events, and venues.
+     * <p>
+     * Used to refresh one client's row after one of its bookings changes, instead of reloading every client.
+     * </p>
+     *
+     * @param clientId the ID of the client
+     * @return the {@code Client} with its bookings, or {@code null} if no client has that ID
+     */
+    public static Client getClientSummary(int clientId) {
+        List<Client> clients = findClientSummaries(SELECT_CLIENT_SUMMARIES + " WHERE c.client_id = ?", clientId);
+        return clients.isEmpty() ? null : clients.get(0);
+    }
+
+    /**
+     * Runs a client summary query built on {@link #SELECT_CLIENT_SUMMARIES}.
+     * <p>
+     * Each client is constructed only once and listed in the order it is first returned, and if there is an
+     * associated booking, an {@code Booking} object is created and added to the client.
+     * </p>
+     *
+     * @param sql        the query to run
+     * @param parameters the integer parameters to bind, in order
+     * @return a {@code List<Client>} containing client summaries with their bookings
+     */
+    private static List<Client> findClientSummaries(String sql, int... parameters) {
         List<Client> clientList = new ArrayList<>();
 
         try (Connection conn = DatabaseHandler.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            Map<Integer, Client> clientMap = new HashMap<>();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                stmt.setInt(i + 1, parameters[i]);
+            }
 
-            while (rs.next()) {
-                int clientId = rs.getInt("client_id");
-                Client client = clientMap.get(clientId);
+            IntObjectHashMap<Client> clientMap = new IntObjectHashMap<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int clientId = rs.getInt("client_id");
+                    Client client = clientMap.get(clientId);
 
-                if (client == null) {
-                    client = new Client(clientId, rs.getString("client_name"), rs.getString("contact_info"));
-                    clientMap.put(clientId, client);
-                }
+                    if (client == null) {
+                        client = new Client(clientId, rs.getString("client_name"), rs.getString("contact_info"));
+                        clientMap.put(clientId, client);
+                        clientList.add(client);
+                    }
 
-                // Process booking details if a booking exists.
-                int bookingId = rs.getInt("booking_id");
-                if (bookingId > 0) {
+                    // Process booking details if a booking exists.
+                    int bookingId = rs.getInt("booking_id");
+                    if (bookingId > 0) {
 
-                    // Convert booking date from epoch days to LocalDate.
-                    LocalDate bookingDate = LocalDate.ofEpochDay(rs.getLong("booking_date"));
+                        // Convert booking date from epoch days to LocalDate.
+                        LocalDate bookingDate = LocalDate.ofEpochDay(rs.getLong("booking_date"));
 
-                    // Create an Event object using the event details.
-                    Event event = new Event(rs.getInt("event_id"), rs.getString("event_name"),
-                            LocalDate.ofEpochDay(rs.getLong("event_date")),
-                            LocalTime.parse(rs.getString("event_time"), DateTimeFormatter.ofPattern("HH:mm")),
-                            rs.getInt("event_duration"), rs.getString("event_artist"));
+                        // Create an Event object using the event details.
+                        Event event = new Event(rs.getInt("event_id"), rs.getString("event_name"),
+                                LocalDate.ofEpochDay(rs.getLong("event_date")),
+                                LocalTime.parse(rs.getString("event_time"), DateTimeFormatter.ofPattern("HH:mm")),
+                                rs.getInt("event_duration"), rs.getString("event_artist"));
 
-                    // Create a Venue object using the venue details.
-                    Venue venue = new Venue(rs.getInt("venue_id"), rs.getString("venue_name"), rs.getDouble("hire_price"));
+                        // Create a Venue object using the venue details.
+                        Venue venue = new Venue(rs.getInt("venue_id"), rs.getString("venue_name"), rs.getDouble("hire_price"));
 
-                    // Create a Booking object with the retrieved details.
-                    Booking booking = new Booking(bookingId, rs.getString("booking_status"), event, venue, client, bookingDate, rs.getString("booked_by"));
+                        // Create a Booking object with the retrieved details.
+                        Booking booking = new Booking(bookingId, rs.getString("booking_status"), event, venue, client, bookingDate, rs.getString("booked_by"));
 
-                    // Add the booking to the client's list of bookings.
-                    client.addBooking(booking);
+                        // Add the booking to the client's list of bookings.
+                        client.addBooking(booking);
+                    }
                 }
             }
-            // Add all unique clients to the list.
-            clientList.addAll(clientMap.values());
-
         } catch (SQLException e) {
             e.printStackTrace();
         }
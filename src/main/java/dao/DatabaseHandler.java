@@ -1,11 +1,15 @@
 package dao;
 
+import org.sqlite.SQLiteConfig;
+
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
 import java.sql.*;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
 
 
 /**
@@ -13,7 +17,8 @@ import java.sql.SQLException;
  * <p>
  * This class provides methods to obtain and close database connections, as well as to initialise
  * the database schema if it is not already set up. The database used is an SQLite database located
- * at the path specified by {@code DB_URL}.
+ * at the path specified by {@code DB_URL}. The URL can be overridden with the {@code lmvm.db.url} system
+ * property, which the benchmarks and tools use to work on a separate database.
  * </p>
  * <p>
  * All methods in this class are static, and the class cannot be instantiated.
@@ -29,10 +34,54 @@ public class DatabaseHandler {
 	 */
 	private static final String DB_URL = "jdbc:sqlite:db/music_venue.db";
 
+	/**
+	 * System property that overrides {@link #DB_URL}.
+	 */
+	public static final String DB_URL_PROPERTY = "lmvm.db.url";
+
+	/**
+	 * How long the write connection waits for another process's lock before reporting {@code SQLITE_BUSY}.
+	 */
+	private static final int WRITE_BUSY_TIMEOUT_MS = 250;
+
+	/**
+	 * SQLite primary result code for a database locked by another connection.
+	 */
+	private static final int SQLITE_BUSY = 5;
+
+	/**
+	 * Maximum number of attempts made to start a write transaction while another process holds the lock.
+	 */
+	private static final int MAX_WRITE_ATTEMPTS = 6;
+
+	/**
+	 * Delay before the first retry of a write transaction; each further retry doubles it.
+	 */
+	private static final long WRITE_RETRY_DELAY_MS = 5;
+
+	/**
+	 * Serialises write transactions within this process.
+	 */
+	private static final ReentrantLock WRITE_LOCK = new ReentrantLock();
+
+	private static Connection writeConnection;
+	private static String writeConnectionUrl;
+
+	/**
+	 * A unit of work run inside a write transaction.
+	 *
+	 * @param <T> the type of result
+	 */
+	@FunctionalInterface
+	public interface WriteWork<T> {
+		T apply(Connection connection) throws SQLException;
+	}
+
 	/**
 	 * Returns a new connection to the database.
 	 * <p>
-	 * This method creates and returns a fresh {@code Connection} object using the {@code DB_URL}.
+	 * This method creates and returns a fresh {@code Connection} object using the {@code DB_URL}, or the
+	 * {@code lmvm.db.url} system property if it is set.
 	 * It is the caller's responsibility to close the connection when finished.
 	 * </p>
 	 *
@@ -40,7 +89,105 @@ public class DatabaseHandler {
 	 * @throws SQLException if a database access error occurs
 	 */
 	public static Connection getConnection() throws SQLException {
-		return DriverManager.getConnection(DB_URL);
+		return DriverManager.getConnection(databaseUrl());
+	}
+
+	/**
+	 * Runs a unit of work in a {@code BEGIN IMMEDIATE} transaction on the shared write connection.
+	 * <p>
+	 * Write transactions in this process take turns on a single long-lived connection, so they never compete
+	 * with each other for the database lock. {@code BEGIN IMMEDIATE} takes the lock before the work runs, so
+	 * anything the work reads cannot be changed by another writer before it commits, which makes
+	 * check-then-write sequences atomic. If another process holds the lock, the transaction is retried with
+	 * exponential backoff before the {@code SQLITE_BUSY} error is passed on.
+	 * </p>
+	 * <p>
+	 * The work is committed if it returns normally and rolled back if it throws. It must not commit, roll back
+	 * or close the connection itself.
+	 * </p>
+	 *
+	 * @param work the work to run
+	 * @param <T>  the type of result
+	 * @return the result of the work
+	 * @throws SQLException if the work fails, or the database stays locked after every retry
+	 */
+	public static <T> T inWriteTransaction(WriteWork<T> work) throws SQLException {
+		for (int attempt = 1; ; attempt++) {
+			WRITE_LOCK.lock();
+			try {
+				Connection connection = writeConnection();
+				try (Statement stmt = connection.createStatement()) {
+					stmt.execute("BEGIN IMMEDIATE");
+					try {
+						T result = work.apply(connection);
+						stmt.execute("COMMIT");
+						return result;
+					} catch (Throwable e) {
+						// Any failure, including an Error, must not leave the shared connection inside a transaction.
+						try {
+							stmt.execute("ROLLBACK");
+						} catch (SQLException rollbackError) {
+							e.addSuppressed(rollbackError);
+						}
+						throw e;
+					}
+				}
+			} catch (SQLException e) {
+				if (!isBusy(e) || attempt == MAX_WRITE_ATTEMPTS) {
+					throw e;
+				}
+			} finally {
+				WRITE_LOCK.unlock();
+			}
+
+			// Back off for a random part of a doubling window so that competing processes spread out.
+			long window = WRITE_RETRY_DELAY_MS << (attempt - 1);
+			try {
+				Thread.sleep(window / 2 + ThreadLocalRandom.current().nextLong(window / 2 + 1));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SQLException("Interrupted while waiting for the database write lock", e);
+			}
+		}
+	}
+
+	/**
+	 * Returns the shared write connection, opening it on first use or when the database URL has changed.
+	 * <p>
+	 * Keeping the connection open also stops SQLite from checkpointing the write-ahead log every time the
+	 * last short-lived connection closes. Commits on this connection sync the log at checkpoints rather than
+	 * on every commit, which removes most of the disk flushes from short transactions.
+	 * </p>
+	 *
+	 * @return the open write connection
+	 * @throws SQLException if the connection cannot be opened
+	 */
+	private static Connection writeConnection() throws SQLException {
+		String url = databaseUrl();
+		if (writeConnection == null || writeConnection.isClosed() || !url.equals(writeConnectionUrl)) {
+			closeConnection(writeConnection);
+			SQLiteConfig config = new SQLiteConfig();
+			config.setBusyTimeout(WRITE_BUSY_TIMEOUT_MS);
+			config.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);  // Durable in WAL mode except on power loss
+			writeConnection = DriverManager.getConnection(url, config.toProperties());
+			writeConnectionUrl = url;
+		}
+		return writeConnection;
+	}
+
+	/**
+	 * Checks whether an exception was caused by the database being locked by another connection.
+	 *
+	 * @param e the exception to check
+	 * @return {@code true} if the exception, or one of its causes, is an {@code SQLITE_BUSY} error
+	 */
+	private static boolean isBusy(SQLException e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SQLException sqlException && (sqlException.getErrorCode() & 0xFF) == SQLITE_BUSY) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -65,13 +212,20 @@ public class DatabaseHandler {
 	/**
 	 * Initialises the database schema by executing the SQL statements in {@code schema.sql}.
 	 * <p>
-	 * This method first checks whether the required tables already exist in the database by querying the
-	 * SQLite system table. If all required tables are present, no further action is taken.
-	 * Otherwise, the method reads and executes the SQL statements from the file located at
-	 * {@code src/main/resources/db/schema.sql} to create the tables.
+	 * Every statement in {@code src/main/resources/db/schema.sql} uses {@code IF NOT EXISTS}, so the file is
+	 * applied on every start. This creates the tables in a new database and adds any tables or indexes introduced
+	 * since an existing database was created. A statement that fails stops the initialisation, so the
+	 * application never runs against a database without the tables and indexes it relies on. The reporting summaries are rebuilt when any of the required tables was
+	 * missing.
 	 * </p>
+	 * <p>
+	 * Before the unique client name index is first created, clients whose names differ only in case are merged
+	 * (see {@link #mergeDuplicateClients}), as the index could not be created over them.
+	 * </p>
+	 *
+	 * @throws SQLException if the schema file cannot be read or one of its statements fails
 	 */
-	public static void initialiseDatabase() {
+	public static void initialiseDatabase() throws SQLException {
 
 		// Path to the SQL schema file.
 		String filePath = "src/main/resources/db/schema.sql";
@@ -80,34 +234,121 @@ public class DatabaseHandler {
 		String checkTablesSQL = """
             SELECT COUNT(*) AS count FROM sqlite_master
             WHERE type='table'
-            AND name IN ('clients', 'events', 'venues', 'venue_types', 'venue_types_venues', 'bookings', 'users');
+            AND name IN ('clients', 'events', 'venues', 'venue_types', 'venue_types_venues', 'bookings', 'users',
+                         'venue_utilisation_summary', 'client_booking_summary');
         """;
 
 		try (Connection conn = getConnection();
 			 Statement stmt = conn.createStatement()) {
 
+			// Write-ahead logging lets readers run alongside a writer and commits no longer wait for readers to
+			// finish, which keeps concurrent bookings from failing with SQLITE_BUSY. The mode is stored in the file.
+			stmt.execute("PRAGMA journal_mode=WAL");
+
 			// Check if the required tables already exist.
 			ResultSet rs = stmt.executeQuery(checkTablesSQL);
-			if (rs.next() && rs.getInt("count") == 7) {
-				return;
+			boolean tablesExist = rs.next() && rs.getInt("count") == 9;
+
+			int mergedClients = mergeDuplicateClients(stmt);
+			if (mergedClients > 0) {
+				System.out.println("Merged " + mergedClients + " duplicate clients before indexing client names.");
 			}
 
-			// Read and execute the SQL schema file to create tables.
+			// Read and execute the SQL schema file.
 			try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
 				StringBuilder sql = new StringBuilder();
 				String line;
 				while ((line = br.readLine()) != null) {
 					sql.append(line).append("\n");
 					if (line.trim().endsWith(";")) { 	// Execute when full statement is formed
-						stmt.execute(sql.toString());
+						try {
+							stmt.execute(sql.toString());
+						} catch (SQLException e) {
+							throw new SQLException("Error applying schema statement: " + e.getMessage() + "\n" + sql, e);
+						}
 
 						// Clear the StringBuilder for the next statement.
 						sql.setLength(0);
 					}
 				}
 			}
-		} catch (IOException | SQLException e) {
-			System.err.println("Error initialising database: " + e.getMessage());
+
+			// Populate the reporting summaries from any existing bookings.
+			if (!tablesExist || mergedClients > 0) {
+				ReportingDAO.rebuildSummaries();
+			}
+		} catch (IOException e) {
+			throw new SQLException("Error reading the schema file " + filePath, e);
+		}
+	}
+
+	/**
+	 * Merges clients whose names are equal ignoring case into the client with the lowest ID, if the clients table
+	 * exists but the unique client name index does not yet.
+	 * <p>
+	 * Databases created before the index may hold such duplicates, and the index cannot be created over them.
+	 * The duplicates' events and bookings are moved to the kept client and the duplicates are deleted, in one
+	 * write transaction. The caller rebuilds the reporting summaries if any clients were merged.
+	 * </p>
+	 *
+	 * @param stmt a statement on a connection to the database
+	 * @return the number of clients merged away
+	 * @throws SQLException if a database access error occurs; nothing is merged in that case
+	 */
+	private static int mergeDuplicateClients(Statement stmt) throws SQLException {
+		String checkSQL = """
+            SELECT
+                (SELECT COUNT(*) FROM sqlite_master WHERE type = 'table' AND name = 'clients') AS has_clients,
+                (SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = 'idx_clients_name') AS has_index
+            """;
+		try (ResultSet rs = stmt.executeQuery(checkSQL)) {
+			if (!rs.next() || rs.getInt("has_clients") == 0 || rs.getInt("has_index") > 0) {
+				return 0;
+			}
 		}
+
+		// Each duplicate maps to the lowest ID with the same name, compared as the unique index compares them.
+		String[] mergeSQL = {
+				"""
+				CREATE TEMP TABLE client_merge AS
+				SELECT c.client_id AS old_id,
+				       (SELECT MIN(k.client_id) FROM clients k WHERE k.client_name = c.client_name COLLATE NOCASE) AS new_id
+				FROM clients c
+				""",
+				"DELETE FROM client_merge WHERE old_id = new_id",
+				"""
+				UPDATE events SET client_id = (SELECT new_id FROM client_merge WHERE old_id = events.client_id)
+				WHERE client_id IN (SELECT old_id FROM client_merge)
+				""",
+				"""
+				UPDATE bookings SET client_id = (SELECT new_id FROM client_merge WHERE old_id = bookings.client_id)
+				WHERE client_id IN (SELECT old_id FROM client_merge)
+				""",
+				"DELETE FROM clients WHERE client_id IN (SELECT old_id FROM client_merge)"
+		};
+		return inWriteTransaction(connection -> {
+			try (Statement merge = connection.createStatement()) {
+				merge.execute("DROP TABLE IF EXISTS temp.client_merge");
+				for (String sql : mergeSQL) {
+					merge.execute(sql);
+				}
+				int merged = merge.getUpdateCount();
+				merge.execute("DROP TABLE temp.client_merge");
+				return merged;
+			}
+		});
+	}
+
+	/**
+	 * Returns the URL of the database in use: the {@code lmvm.db.url} system property if it is set, otherwise
+	 * {@code DB_URL}.
+	 * <p>
+	 * Caches keyed to the database contents compare this value to notice when the database has been switched.
+	 * </p>
+	 *
+	 * @return the database URL
+	 */
+	public static String databaseUrl() {
+		return System.getProperty(DB_URL_PROPERTY, DB_URL);
 	}
-}
\ No newline at end of file
+}
@@ -3,11 +3,13 @@ package dao;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import model.*;
+import util.ChangeBus;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -28,19 +30,36 @@ public class EventDAO {
      */
     private EventDAO() {}
 
+    /**
+     * Maximum number of IDs bound in a single {@code IN (...)} clause.
+     */
+    private static final int IN_CLAUSE_CHUNK = 500;
+
+    /**
+     * Selects the event columns and client name used to construct an {@code Event}.
+     */
+    private static final String SELECT_EVENTS = """
+        SELECT e.event_id, e.event_name, e.event_artist, e.event_date, e.event_time,
+               e.event_duration, e.required_capacity, e.event_type, e.event_category,
+               c.client_name
+        FROM events e
+        JOIN clients c ON e.client_id = c.client_id""";
+
 
     /**
      * Saves a list of events to the database.
      * <p>
      * For each event in the provided list, a unique event ID is generated and the associated
      * client is ensured to exist in the database. The event end time is calculated from the start time
-     * and duration. The events are inserted using a prepared statement within a transaction.
+     * and duration. The events are inserted using a prepared statement within a transaction, and an
+     * {@link ChangeEvent.EventsAdded} event listing the saved events is published once they are committed.
      * </p>
      *
      * @param events the list of {@code Event} objects to save
+     * @return the number of events saved; events that could not be inserted are reported and skipped
      * @throws SQLException if a database access error occurs
      */
-    public static void saveEvents(List<Event> events) throws SQLException {
+    public static int saveEvents(List<Event> events) throws SQLException {
         String insertEventSQL = """
             INSERT INTO events (event_id, event_name, event_artist, event_date, event_time, event_duration,
                                 event_end_time, required_capacity, event_type, event_category, client_id)
@@ -53,6 +72,7 @@ public class EventDAO {
             // Disable auto-commit to execute batch inserts within a transaction.
             connection.setAutoCommit(false); // Disable auto-commit to batch inserts
 
+            List<Integer> savedEventIds = new ArrayList<>();
             for (Event event : events) {
                 try {
                     // Generate a unique event ID for each event.
@@ -83,6 +103,7 @@ public class EventDAO {
 
                     // Execute the insertion.
                     eventStmt.executeUpdate();
+                    savedEventIds.add(eventId);
 
                 } catch (SQLException e) {
                     // Log error for the specific event and continue with the next.
@@ -94,6 +115,11 @@ public class EventDAO {
             // Commit all insertions.
             connection.commit();
 
+            if (!savedEventIds.isEmpty()) {
+                ChangeBus.getInstance().publish(new ChangeEvent.EventsAdded(List.copyOf(savedEventIds)));
+            }
+            return savedEventIds.size();
+
         } catch (SQLException e) {
             System.err.println("Database Error: " + e.getMessage());
             throw new RuntimeException("Error inserting events", e);
@@ -128,14 +154,64 @@ public class EventDAO {
      * @return an {@code ObservableList<Event>} containing all events
      */
     public static ObservableList<Event> getAllEvents() {
-        ObservableList<Event> eventList = FXCollections.observableArrayList();
+        return findEvents(SELECT_EVENTS);
+    }
 
-        String sql = """
-        SELECT e.event_id, e.event_name, e.event_artist, e.event_date, e.event_time,
-               e.event_duration, e.required_capacity, e.event_type, e.event_category,
-               c.client_name
-        FROM events e
-        JOIN clients c ON e.client_id = c.client_id""";
+    /**
+     * Retrieves the events that do not have a confirmed booking.
+     * <p>
+     * The confirmed bookings are excluded in the query, so callers do not need to load every booking to work out
+     * which events are still available.
+     * </p>
+     *
+     * @return an {@code ObservableList<Event>} containing the events that can still be booked
+     */
+    public static ObservableList<Event> getAvailableEvents() {
+        return findEvents(SELECT_EVENTS + """
+
+        WHERE e.event_id NOT IN (SELECT event_id FROM bookings WHERE booking_status = 'CONFIRMED')""");
+    }
+
+    /**
+     * Retrieves a single event by its ID.
+     *
+     * @param eventId the ID of the event
+     * @return the {@code Event}, or {@code null} if no event has that ID
+     */
+    public static Event getEventById(int eventId) {
+        List<Event> events = findEvents(SELECT_EVENTS + " WHERE e.event_id = ?", eventId);
+        return events.isEmpty() ? null : events.get(0);
+    }
+
+    /**
+     * Retrieves the events with the given IDs.
+     * <p>
+     * The IDs are looked up in chunks so the number of bound parameters in one statement stays small.
+     * </p>
+     *
+     * @param eventIds the IDs of the events
+     * @return the events that exist, in no particular order
+     */
+    public static List<Event> getEventsByIds(List<Integer> eventIds) {
+        List<Event> events = new ArrayList<>();
+        for (int from = 0; from < eventIds.size(); from += IN_CLAUSE_CHUNK) {
+            List<Integer> chunk = eventIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK, eventIds.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            events.addAll(findEvents(SELECT_EVENTS + " WHERE e.event_id IN (" + placeholders + ")",
+                    chunk.stream().mapToInt(Integer::intValue).toArray()));
+        }
+        return events;
+    }
+
+    /**
+     * Runs an event query built on {@link #SELECT_EVENTS} and constructs an {@code Event} for each row.
+     *
+     * @param sql        the query to run
+     * @param parameters the integer parameters to bind, in order
+     * @return an {@code ObservableList<Event>} containing the matching events
+     */
+    private static ObservableList<Event> findEvents(String sql, int... parameters) {
+        ObservableList<Event> eventList = FXCollections.observableArrayList();
 
         Connection connection = null;
         PreparedStatement pstmt = null;
@@ -144,6 +220,9 @@ public class EventDAO {
         try {
             connection = DatabaseHandler.getConnection();
             pstmt = connection.prepareStatement(sql);
+            for (int i = 0; i < parameters.length; i++) {
+                pstmt.setInt(i + 1, parameters[i]);
+            }
             rs = pstmt.executeQuery();
 
             while (rs.next()) {
@@ -192,26 +271,54 @@ public class EventDAO {
     /**
      * Updates the details of an event in the database.
      * <p>
-     * Only the event date, event time, and event artist are updated. The update is based on the event ID.
+     * Only the event date, event time, and event artist are updated. The update is based on the event ID. The
+     * stored end time is recomputed from the new start time and the event's duration in the same statement. An
+     * event that is booked or held at a venue is only re-timed if that venue is free at the new time, so a change
+     * of time can never double-book a venue; use {@link BookingDAO#updateBookingAndEvent} to move the booking as
+     * well. The check and the update run in one write transaction, and an {@link ChangeEvent.EventUpdated} event
+     * is published once the change is committed.
      * </p>
      *
      * @param event the {@code Event} object containing updated details
-     * @return {@code true} if the update was successful, {@code false} otherwise
+     * @return {@code true} if the update was successful, {@code false} if the event does not exist or its new
+     *         time clashes with another booking at a venue where it is booked
      * @throws SQLException if a database access error occurs
      */
     public static boolean updateEvent(Event event) throws SQLException {
+        boolean updated = DatabaseHandler.inWriteTransaction(connection ->
+                BookingDAO.isRescheduleFree(connection, event.getEventId(), event.getEventDate(), event.getEventTime(), 0)
+                        && updateEventRow(connection, event));
+
+        if (updated) {
+            ChangeBus.getInstance().publish(new ChangeEvent.EventUpdated(event.getEventId()));
+        }
+        return updated;
+    }
+
+    /**
+     * Writes an event's date, start time and artist, using the caller's transaction. The venues the event is
+     * booked at are not checked.
+     *
+     * @param connection the connection holding the write transaction
+     * @param event      the {@code Event} object containing updated details
+     * @return {@code true} if the event exists and was updated
+     * @throws SQLException if a database access error occurs
+     */
+    static boolean updateEventRow(Connection connection, Event event) throws SQLException {
         String sql = """
         UPDATE events
-        SET event_date = ?, event_time = ?, event_artist = ?
+        SET event_date = ?, event_time = ?, event_end_time = time(?, '+' || event_duration || ' hours'),
+            event_artist = ?
         WHERE event_id = ?
     """;
 
-        try (Connection connection = DatabaseHandler.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        String time = event.getEventTime().toString();
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, String.valueOf(event.getEventDate().toEpochDay()));
-            pstmt.setString(2, event.getEventTime().toString());
-            pstmt.setString(3, event.getArtist());
-            pstmt.setInt(4, event.getEventId());
+            pstmt.setString(2, time);
+            pstmt.setString(3, time);
+            pstmt.setString(4, event.getArtist());
+            pstmt.setInt(5, event.getEventId());
             return pstmt.executeUpdate() > 0;
         }
     }
@@ -256,7 +363,8 @@ public class EventDAO {
     /**
      * Clears all events from the database.
      * <p>
-     * This method executes a DELETE statement to remove all records from the events table.
+     * This method executes a DELETE statement to remove all records from the events table,
+     * then publishes a {@link ChangeEvent.EventsReset} event.
      * </p>
      */
     public static void clearAllEvents() {
@@ -267,6 +375,8 @@ public class EventDAO {
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        ReportingDAO.rebuildSummaries();
+        ChangeBus.getInstance().publish(new ChangeEvent.EventsReset());
     }
 
     /**
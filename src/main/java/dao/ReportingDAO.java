@@ -0,0 +1,310 @@
+package dao;
+
+import model.ClientSummary;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Data Access Object (DAO) class for the materialised reporting tables.
+ * <p>
+ * The management summary figures (venue utilisation, and client hire and commission totals) are kept in the
+ * <em>venue_utilisation_summary</em> and <em>client_booking_summary</em> tables. These tables are updated
+ * incrementally by the booking and venue write paths, using the same connection (and therefore the same
+ * transaction) as the write itself, so reading a summary costs one row per venue or client regardless of how
+ * many bookings exist.
+ * </p>
+ * <p>
+ * Only confirmed bookings whose event and venue still exist are counted. {@link #verifySummaries()} compares
+ * the materialised rows against a fresh aggregation of the bookings table and {@link #rebuildSummaries()}
+ * recomputes them from scratch.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class ReportingDAO {
+
+    /**
+     * Tolerance used when comparing materialised and recomputed hire totals.
+     */
+    private static final double HIRE_TOLERANCE = 0.005;
+
+    /**
+     * The FROM/WHERE clause selecting the confirmed bookings that contribute to the summaries.
+     */
+    private static final String CONFIRMED_BOOKINGS_SQL = """
+            FROM bookings b
+            JOIN events e ON b.event_id = e.event_id
+            JOIN venues v ON b.venue_id = v.venue_id
+            WHERE b.booking_status = 'CONFIRMED'
+            """;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ReportingDAO() {}
+
+    /**
+     * Adds a newly confirmed booking to the summary tables.
+     *
+     * @param connection the connection (and transaction) used for the booking write
+     * @param eventId    the ID of the booked event
+     * @param venueId    the ID of the booked venue
+     * @param clientId   the ID of the client
+     * @throws SQLException if a database access error occurs
+     */
+    static void recordConfirmedBooking(Connection connection, int eventId, int venueId, int clientId) throws SQLException {
+        applyBookingDelta(connection, eventId, venueId, clientId, 1);
+    }
+
+    /**
+     * Removes a previously confirmed booking from the summary tables.
+     * <p>
+     * This is used when a confirmed booking is cancelled, or before it is moved to another venue or client.
+     * </p>
+     *
+     * @param connection the connection (and transaction) used for the booking write
+     * @param eventId    the ID of the booked event
+     * @param venueId    the ID of the booked venue
+     * @param clientId   the ID of the client
+     * @throws SQLException if a database access error occurs
+     */
+    static void releaseConfirmedBooking(Connection connection, int eventId, int venueId, int clientId) throws SQLException {
+        applyBookingDelta(connection, eventId, venueId, clientId, -1);
+    }
+
+    /**
+     * Applies a single booking's contribution to every summary table.
+     * <p>
+     * The hire amount is looked up from the <em>events</em> and <em>venues</em> tables.
+     * If either row is missing, the booking is not counted, matching the behaviour of {@link #rebuildSummaries()}.
+     * </p>
+     *
+     * @param connection the connection (and transaction) used for the booking write
+     * @param eventId    the ID of the booked event
+     * @param venueId    the ID of the booked venue
+     * @param clientId   the ID of the client
+     * @param sign       {@code 1} to add the booking, {@code -1} to remove it
+     * @throws SQLException if a database access error occurs
+     */
+    private static void applyBookingDelta(Connection connection, int eventId, int venueId, int clientId, int sign) throws SQLException {
+        String lookupSQL = """
+                SELECT v.hire_price * e.event_duration AS hire
+                FROM events e, venues v
+                WHERE e.event_id = ? AND v.venue_id = ?
+                """;
+
+        double hire;
+        try (PreparedStatement stmt = connection.prepareStatement(lookupSQL)) {
+            stmt.setInt(1, eventId);
+            stmt.setInt(2, venueId);
+            ResultSet rs = stmt.executeQuery();
+            if (!rs.next()) {
+                return;
+            }
+            hire = rs.getDouble("hire");
+        }
+
+        addToVenue(connection, venueId, sign);
+        addToClient(connection, clientId, sign, sign * hire);
+    }
+
+    /**
+     * Removes every confirmed booking at a venue from the summary tables.
+     * <p>
+     * This must be called before the venue row is deleted, while its hire price can still be read.
+     * </p>
+     *
+     * @param connection the connection (and transaction) used for the venue deletion
+     * @param venueId    the ID of the venue being deleted
+     * @throws SQLException if a database access error occurs
+     */
+    static void releaseVenue(Connection connection, int venueId) throws SQLException {
+        String sql = """
+                SELECT b.client_id, v.hire_price * e.event_duration AS hire
+                FROM bookings b
+                JOIN events e ON b.event_id = e.event_id
+                JOIN venues v ON b.venue_id = v.venue_id
+                WHERE b.venue_id = ? AND b.booking_status = 'CONFIRMED'
+                """;
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, venueId);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                double hire = rs.getDouble("hire");
+                addToClient(connection, rs.getInt("client_id"), -1, -hire);
+            }
+        }
+
+        try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM venue_utilisation_summary WHERE venue_id = ?")) {
+            stmt.setInt(1, venueId);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Adds to the confirmed booking count of a venue.
+     */
+    private static void addToVenue(Connection connection, int venueId, int count) throws SQLException {
+        String sql = """
+                INSERT INTO venue_utilisation_summary (venue_id, confirmed_count) VALUES (?, ?)
+                ON CONFLICT(venue_id) DO UPDATE SET confirmed_count = confirmed_count + excluded.confirmed_count
+                """;
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, venueId);
+            stmt.setInt(2, count);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Adds to the confirmed booking count and hire total of a client.
+     */
+    private static void addToClient(Connection connection, int clientId, int count, double hire) throws SQLException {
+        String sql = """
+                INSERT INTO client_booking_summary (client_id, confirmed_count, total_hire) VALUES (?, ?, ?)
+                ON CONFLICT(client_id) DO UPDATE SET confirmed_count = confirmed_count + excluded.confirmed_count,
+                                                     total_hire = total_hire + excluded.total_hire
+                """;
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, clientId);
+            stmt.setInt(2, count);
+            stmt.setDouble(3, hire);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Retrieves venue utilisation data from the materialised summary.
+     * <p>
+     * This method returns a map where the key is the venue name and the value is the number of confirmed bookings
+     * at that venue. Venues sharing a name are combined, as in the original aggregate query.
+     * </p>
+     *
+     * @return a {@code Map<String, Integer>} mapping venue names to their utilisation counts
+     */
+    public static Map<String, Integer> getVenueUtilisation() {
+        String sql = """
+                SELECT v.venue_name, s.confirmed_count
+                FROM venue_utilisation_summary s
+                JOIN venues v ON s.venue_id = v.venue_id
+                WHERE s.confirmed_count > 0
+                """;
+        Map<String, Integer> utilisationData = new HashMap<>();
+
+        try (Connection conn = DatabaseHandler.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                utilisationData.merge(rs.getString("venue_name"), rs.getInt("confirmed_count"), Integer::sum);
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return utilisationData;
+    }
+
+    /**
+     * Retrieves the booking totals of every client from the materialised summary.
+     * <p>
+     * Clients without confirmed bookings are included with zero totals.
+     * </p>
+     *
+     * @return a {@code List<ClientSummary>} with one entry per client
+     */
+    public static List<ClientSummary> getClientSummaries() {
+        String sql = """
+                SELECT c.client_id, c.client_name,
+                       COALESCE(s.confirmed_count, 0) AS confirmed_count,
+                       COALESCE(s.total_hire, 0) AS total_hire
+                FROM clients c
+                LEFT JOIN client_booking_summary s ON c.client_id = s.client_id
+                ORDER BY c.client_id
+                """;
+        List<ClientSummary> summaries = new ArrayList<>();
+
+        try (Connection conn = DatabaseHandler.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                summaries.add(new ClientSummary(rs.getInt("client_id"), rs.getString("client_name"),
+                        rs.getInt("confirmed_count"), rs.getDouble("total_hire")));
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return summaries;
+    }
+
+    /**
+     * Rebuilds all summary tables from the bookings table.
+     * <p>
+     * The existing summary rows are deleted and recomputed with aggregate queries in a single write transaction,
+     * so no booking written meanwhile is left out or counted twice. This is used when the summary tables are first
+     * created, after bulk deletes, and to repair any inconsistency found by {@link #verifySummaries()}.
+     * </p>
+     */
+    public static void rebuildSummaries() {
+        try {
+            DatabaseHandler.inWriteTransaction(connection -> {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.executeUpdate("DELETE FROM venue_utilisation_summary");
+                    stmt.executeUpdate("DELETE FROM client_booking_summary");
+
+                    stmt.executeUpdate("INSERT INTO venue_utilisation_summary (venue_id, confirmed_count) "
+                            + "SELECT b.venue_id, COUNT(*) " + CONFIRMED_BOOKINGS_SQL + " GROUP BY b.venue_id");
+                    stmt.executeUpdate("INSERT INTO client_booking_summary (client_id, confirmed_count, total_hire) "
+                            + "SELECT b.client_id, COUNT(*), SUM(v.hire_price * e.event_duration) " + CONFIRMED_BOOKINGS_SQL + " GROUP BY b.client_id");
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            System.err.println("Error rebuilding reporting summaries: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks the summary tables against a fresh aggregation of the bookings table.
+     * <p>
+     * Each venue or client whose materialised count or hire total differs from the recomputed value is
+     * counted as one inconsistency. Rows with a zero count on one side and no row on the other are treated as equal.
+     * </p>
+     *
+     * @return the number of inconsistent summary rows; {@code 0} if the summaries are up to date
+     * @throws SQLException if a database access error occurs
+     */
+    public static int verifySummaries() throws SQLException {
+        String venueCheck = "WITH fresh AS (SELECT b.venue_id AS id, COUNT(*) AS n " + CONFIRMED_BOOKINGS_SQL + " GROUP BY b.venue_id) "
+                + "SELECT COUNT(*) FROM fresh f FULL OUTER JOIN venue_utilisation_summary s ON f.id = s.venue_id "
+                + "WHERE COALESCE(f.n, 0) <> COALESCE(s.confirmed_count, 0)";
+        String clientCheck = "WITH fresh AS (SELECT b.client_id AS id, COUNT(*) AS n, SUM(v.hire_price * e.event_duration) AS hire "
+                + CONFIRMED_BOOKINGS_SQL + " GROUP BY b.client_id) "
+                + "SELECT COUNT(*) FROM fresh f FULL OUTER JOIN client_booking_summary s ON f.id = s.client_id "
+                + "WHERE COALESCE(f.n, 0) <> COALESCE(s.confirmed_count, 0) "
+                + "OR ABS(COALESCE(f.hire, 0) - COALESCE(s.total_hire, 0)) > " + HIRE_TOLERANCE;
+
+        int inconsistencies = 0;
+        try (Connection connection = DatabaseHandler.getConnection();
+             Statement stmt = connection.createStatement()) {
+            for (String check : List.of(venueCheck, clientCheck)) {
+                ResultSet rs = stmt.executeQuery(check);
+                if (rs.next()) {
+                    inconsistencies += rs.getInt(1);
+                }
+            }
+        }
+        return inconsistencies;
+    }
+}
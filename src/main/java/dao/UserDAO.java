@@ -4,6 +4,7 @@ import model.Staff;
 import model.Manager;
 import model.User;
 import model.UserRole;
+import model.UserRow;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -282,55 +283,31 @@ public class UserDAO {
     }
 
     /**
-     * Searches for users by first name, last name, or username.
+     * Retrieves all users as password-free {@link UserRow} projections.
      * <p>
-     * This method performs a case-insensitive search using the SQL LIKE operator on the {@code user_first_name},
-     * {@code user_last_name}, and {@code user_name} columns.
+     * Only the ID, name, username and role columns are selected, so passwords are never read. This is used to
+     * build the in-memory user search index.
      * </p>
      *
-     * @param query the search query string
-     * @return a {@code List<User>} containing the users that match the search query
+     * @return a {@code List<UserRow>} containing all users
      */
-    public static List<User> searchUsers(String query) {
-        List<User> userList = new ArrayList<>();
-        String sql = "SELECT * FROM users WHERE user_first_name LIKE ? OR user_last_name LIKE ? OR user_name LIKE ?";
+    public static List<UserRow> getAllUserRows() {
+        List<UserRow> userRows = new ArrayList<>();
+        String sql = "SELECT user_id, user_first_name, user_last_name, user_name, user_role FROM users";
 
         try (Connection connection = DatabaseHandler.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
-
-            // Use wildcards to match any part of the name.
-            String searchPattern = "%" + query + "%";
-            pstmt.setString(1, searchPattern);
-            pstmt.setString(2, searchPattern);
-            pstmt.setString(3, searchPattern);
-
-            ResultSet rs = pstmt.executeQuery();
+             PreparedStatement pstmt = connection.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
 
             while (rs.next()) {
-                // Retrieve user details from the result set.
-                int userId = rs.getInt("user_id");
-                String firstName = rs.getString("user_first_name");
-                String lastName = rs.getString("user_last_name");
-                String username = rs.getString("user_name");
-                String password = rs.getString("user_password");
-                String userRoleStr = rs.getString("user_role");
-
-                UserRole role = UserRole.valueOf(userRoleStr.toUpperCase());
-
-                // Map to the correct user type.
-                User user;
-                if (role == UserRole.MANAGER) {
-                    user = new Manager(userId, firstName, lastName, username, password);
-                } else {
-                    user = new Staff(userId, firstName, lastName, username, password);
-                }
-
-                userList.add(user);
+                userRows.add(new UserRow(rs.getInt("user_id"), rs.getString("user_first_name"),
+                        rs.getString("user_last_name"), rs.getString("user_name"),
+                        UserRole.valueOf(rs.getString("user_role").toUpperCase())));
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
-        return userList;
+        return userRows;
     }
-}
\ No newline at end of file
+}
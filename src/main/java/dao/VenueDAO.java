@@ -6,8 +6,13 @@ import java.util.List;
 import java.util.stream.Collectors;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import model.ChangeEvent;
 import model.Venue;
+import model.VenueCategory;
+import model.VenueRow;
 import model.VenueType;
+import util.ChangeBus;
+import util.IntObjectHashMap;
 
 /**
  * Data Access Object (DAO) class for managing venue-related database operations.
@@ -27,9 +32,10 @@ public class VenueDAO {
     /**
      * Adds a venue and its associated venue types to the database.
      * <p>
-     * This method inserts a new venue into the <em>venues</em> table, retrieves the generated venue ID,
-     * and then calls {@code VenueTypeDAO.saveVenueTypes(...)} to save the associated venue types using the same connection.
-     * A transaction is used to ensure that both operations succeed together.
+     * This method inserts a new venue into the <em>venues</em> table, retrieves the generated venue ID
+     * (which is also set on the given {@code Venue}), and then calls {@code VenueTypeDAO.saveVenueTypes(...)} to save the associated venue types using the same connection.
+     * A transaction is used to ensure that both operations succeed together. Once the venue is committed, its venue
+     * types are added to the {@link VenueTypeDAO} dictionary and a {@link ChangeEvent.VenueAdded} event is published.
      * </p>
      *
      * @param venue      the {@code Venue} object containing the venue details
@@ -42,6 +48,8 @@ public class VenueDAO {
             VALUES (?, ?, ?, ?)
         """;
 
+        List<Integer> typeIds = null;
+
         // Start a transaction.
         try (Connection connection = DatabaseHandler.getConnection()) {
             connection.setAutoCommit(false);
@@ -58,13 +66,22 @@ public class VenueDAO {
                 ResultSet rs = venueStmt.getGeneratedKeys();
                 if (rs.next()) {
                     int venueId = rs.getInt(1);
+                    venue.setVenueId(venueId);
 
                     // Save associated venue types using the generated venueId.
-                    VenueTypeDAO.saveVenueTypes(venueId, venueTypes, connection);
+                    typeIds = VenueTypeDAO.saveVenueTypes(venueId, venueTypes, connection);
                 }
             }
             // Commit the transaction.
             connection.commit();
+
+            if (typeIds != null) {
+                VenueTypeDAO.cacheVenueTypes(venue.getVenueId(), venueTypes, typeIds);
+            }
+
+            ChangeBus.getInstance().publish(new ChangeEvent.VenueAdded(new VenueRow(venue.getVenueId(), venue.getName(),
+                    venue.getCategory(), venue.getCapacity(), venue.getHirePricePerHour(),
+                    venueTypes != null ? String.join(", ", venueTypes) : "")));
             return true;
 
         } catch (SQLException e) {
@@ -121,19 +138,20 @@ public class VenueDAO {
      * Searches for venues by name and category.
      * <p>
      * This method builds a dynamic SQL query based on the provided search text and list of categories.
-     * It returns an {@code ObservableList<Venue>} matching the criteria.
+     * It returns lightweight {@link VenueRow} projections matching the criteria; an empty search text and
+     * no categories return every venue.
      * </p>
      *
      * @param searchText the search text for the venue name
      * @param categories a {@code List<String>} of venue categories to filter by
-     * @return an {@code ObservableList<Venue>} containing the search results
+     * @return an {@code ObservableList<VenueRow>} containing the search results
      * @throws SQLException if a database access error occurs
      */
-    public static ObservableList<Venue> searchVenuesByNameAndCategory(String searchText, List<String> categories) throws SQLException {
-        ObservableList<Venue> venueList = FXCollections.observableArrayList();
+    public static ObservableList<VenueRow> searchVenuesByNameAndCategory(String searchText, List<String> categories) throws SQLException {
+        ObservableList<VenueRow> venueList = FXCollections.observableArrayList();
         StringBuilder sql = new StringBuilder("""
             SELECT v.venue_id, v.venue_name, v.venue_category, v.venue_capacity, v.hire_price,
-                   GROUP_CONCAT(vt.venue_type) AS venue_types
+                   GROUP_CONCAT(vt.venue_type, ', ') AS venue_types
             FROM venues v
             LEFT JOIN venue_types_venues vtv ON v.venue_id = vtv.venue_id
             LEFT JOIN venue_types vt ON vtv.venue_type_id = vt.venue_type_id
@@ -169,15 +187,11 @@ public class VenueDAO {
 
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
-                int venueId = rs.getInt("venue_id");
-                String venueName = rs.getString("venue_name");
-                String venueCategory = rs.getString("venue_category");
-                int venueCapacity = rs.getInt("venue_capacity");
-                String hirePricePerHour = rs.getString("hire_price");
                 String venueTypes = rs.getString("venue_types");
-
-                Venue venue = new Venue(venueId, venueName, venueCategory, venueCapacity, hirePricePerHour, venueTypes);
-                venueList.add(venue);
+                venueList.add(new VenueRow(rs.getInt("venue_id"), rs.getString("venue_name"),
+                        VenueCategory.valueOf(rs.getString("venue_category").toUpperCase()),
+                        rs.getInt("venue_capacity"), rs.getDouble("hire_price"),
+                        venueTypes != null ? venueTypes : ""));
             }
         }
         return venueList;
@@ -188,7 +202,8 @@ public class VenueDAO {
      * <p>
      * This method first deletes related records from the <em>venue_types_venues</em> table,
      * then deletes the venue record from the <em>venues</em> table.
-     * A transaction is used to ensure that both deletions succeed together.
+     * A transaction is used to ensure that both deletions succeed together. A {@link ChangeEvent.VenueDeleted}
+     * event is published once the deletion is committed.
      * </p>
      *
      * @param venueId the ID of the venue to delete
@@ -201,6 +216,9 @@ public class VenueDAO {
         try (Connection connection = DatabaseHandler.getConnection()) {
             connection.setAutoCommit(false);
 
+            // Remove the venue's confirmed bookings from the reporting summaries.
+            ReportingDAO.releaseVenue(connection, venueId);
+
             // Delete venue-type associations.
             try (PreparedStatement venueTypeStmt = connection.prepareStatement(deleteVenueTypesSQL)) {
                 venueTypeStmt.setInt(1, venueId);
@@ -214,6 +232,8 @@ public class VenueDAO {
 
                 if (rowsAffected > 0) {
                     connection.commit();
+                    VenueTypeDAO.forgetVenue(venueId);
+                    ChangeBus.getInstance().publish(new ChangeEvent.VenueDeleted(venueId));
                     return true;
                 } else {
                     connection.rollback();
@@ -260,10 +280,49 @@ public class VenueDAO {
         return venueList;
     }
 
+    /**
+     * Retrieves all venues from the database for backup purposes, each with its venue types.
+     * <p>
+     * The venues, the venue types and the associations between them are each read once, and the venue types are
+     * indexed by ID so each venue's types are found without scanning the list.
+     * </p>
+     *
+     * @return a {@code List<Venue>} containing all venues and their {@code VenueType} objects
+     */
+    public static List<Venue> getAllVenuesWithTypesBU() {
+        List<Venue> venues = getAllVenuesBU();                                                   // Venues without types.
+        List<VenueType> venueTypes = VenueTypeDAO.getAllVenueTypesBU();                           // Fetch all venue types.
+        IntObjectHashMap<int[]> venueTypeVenueMap = VenueTypeDAO.getAllVenueTypesVenuesBU();      // Mapping between venues and their type IDs.
+
+        IntObjectHashMap<VenueType> venueTypesById = new IntObjectHashMap<>(venueTypes.size());
+        for (VenueType type : venueTypes) {
+            venueTypesById.put(type.getVenueTypeId(), type);
+        }
+
+        // Associate each venue with its corresponding types.
+        for (Venue venue : venues) {
+            // Get the type IDs for this venue or an empty array if none are found.
+            int[] typeIds = venueTypeVenueMap.getOrDefault(venue.getVenueId(), new int[0]);
+
+            // Map the type IDs to actual VenueType objects.
+            List<VenueType> typesForVenue = new ArrayList<>(typeIds.length);
+            for (int typeId : typeIds) {
+                VenueType type = venueTypesById.get(typeId);
+                if (type != null) {
+                    typesForVenue.add(type);
+                }
+            }
+
+            venue.setVenueTypes(typesForVenue);
+        }
+        return venues;
+    }
+
     /**
      * Clears all venue records from the database.
      * <p>
-     * This method executes a DELETE statement to remove all records from the <em>venues</em> table.
+     * This method executes a DELETE statement to remove all records from the <em>venues</em> table,
+     * then publishes a {@link ChangeEvent.VenuesReset} event.
      * </p>
      */
     public static void clearAllVenues() {
@@ -274,6 +333,9 @@ public class VenueDAO {
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        ReportingDAO.rebuildSummaries();
+        VenueTypeDAO.invalidate();
+        ChangeBus.getInstance().publish(new ChangeEvent.VenuesReset());
     }
 
     /**
@@ -304,7 +366,16 @@ public class VenueDAO {
             }
         } catch (SQLException e) {
             e.printStackTrace();
+            return;
         }
+
+        VenueTypeDAO.cacheVenueTypes(venue.getVenueId(),
+                venue.getVenueTypes().stream().map(VenueType::getVenueType).toList(),
+                venue.getVenueTypes().stream().map(VenueType::getVenueTypeId).toList());
+
+        String venueTypes = venue.getVenueTypes().stream().map(VenueType::getVenueType).collect(Collectors.joining(", "));
+        ChangeBus.getInstance().publish(new ChangeEvent.VenueAdded(new VenueRow(venue.getVenueId(), venue.getName(),
+                venue.getCategory(), venue.getCapacity(), venue.getHirePricePerHour(), venueTypes)));
     }
 
     /**
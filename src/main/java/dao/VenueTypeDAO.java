@@ -1,11 +1,18 @@
 package dao;
 
 import model.VenueType;
+import util.IntObjectHashMap;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Data Access Object (DAO) class for managing venue type-related database operations.
@@ -14,7 +21,10 @@ import java.util.Map;
  * checking if a venue is suitable for a given event type, and fetching venue type information for backup purposes.
  * </p>
  * <p>
- * All methods in this class use JDBC to interact with the database.
+ * Venue types and venue-type associations are also held in an in-memory dictionary: venue type ID to name,
+ * normalised name to ID, and each venue's set of venue type IDs (with the reverse, each type's set of venues).
+ * It is loaded from the database once and updated by {@link VenueDAO} after each committed venue change, so type
+ * lookups and suitability checks do not query the database.
  * </p>
  *
  * @author  Bodene Downie
@@ -24,6 +34,25 @@ public class VenueTypeDAO {
 
     private VenueTypeDAO() {}
 
+    /** Venue type ID by normalised name; see {@link #normaliseType(String)}. */
+    private static final ConcurrentHashMap<String, Integer> typeIdsByName = new ConcurrentHashMap<>();
+
+    /** Venue type name by venue type ID. */
+    private static final ConcurrentHashMap<Integer, String> typeNamesById = new ConcurrentHashMap<>();
+
+    /** The venue type IDs of each venue. The sets are immutable and replaced as a whole. */
+    private static final ConcurrentHashMap<Integer, Set<Integer>> typesByVenue = new ConcurrentHashMap<>();
+
+    /** The IDs of the venues having each venue type. */
+    private static final ConcurrentHashMap<Integer, Set<Integer>> venuesByType = new ConcurrentHashMap<>();
+
+    /**
+     * The database URL the dictionary was loaded from, or {@code null} if it has not been loaded.
+     */
+    private static volatile String primedUrl;
+
+    private static final Object PRIME_LOCK = new Object();
+
     /**
      * Saves venue types for a given venue.
      * <p>
@@ -31,58 +60,50 @@ public class VenueTypeDAO {
      * for each description, and then saves the association between the venue and the venue type in the
      * <em>venue_types_venues</em> table using batch processing.
      * </p>
+     * <p>
+     * The dictionary is not updated, because the caller's transaction may still be rolled back. Once it commits,
+     * the caller passes the returned IDs to {@link #cacheVenueTypes(int, List, List)}.
+     * </p>
      *
      * @param venueId    the ID of the venue
      * @param venueTypes a {@code List<String>} containing venue type descriptions
      * @param conn       an active {@code Connection} to the database
+     * @return the venue type IDs, in the same order as {@code venueTypes}
      * @throws SQLException if a database access error occurs
      */
-    public static void saveVenueTypes(int venueId, List<String> venueTypes, Connection conn) throws SQLException {
+    public static List<Integer> saveVenueTypes(int venueId, List<String> venueTypes, Connection conn) throws SQLException {
         String sql = "INSERT INTO venue_types_venues (venue_id, venue_type_id) VALUES (?, ?)";
+        List<Integer> typeIds = new ArrayList<>(venueTypes.size());
 
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             for (String type : venueTypes) {
 
                 // Retrieve the venue type ID, creating the venue type if it doesn't exist.
                 int typeId = findOrCreateVenueTypeId(type, conn);
+                typeIds.add(typeId);
                 stmt.setInt(1, venueId);
                 stmt.setInt(2, typeId);
                 stmt.addBatch();
             }
             stmt.executeBatch();
         }
+        return typeIds;
     }
 
     /**
      * Retrieves all venue types for a specific venue.
      * <p>
-     * This method fetches the venue type details for the specified venue ID by joining the
-     * <em>venue_types_venues</em> and <em>venue_types</em> tables.
+     * The venue types are read from the in-memory dictionary.
      * </p>
      *
      * @param venueId the ID of the venue
      * @return a {@code List<VenueType>} containing the venue types associated with the venue
-     * @throws RuntimeException if a database access error occurs
      */
     public static List<VenueType> getAllVenueTypes(int venueId) {
+        ensurePrimed();
         List<VenueType> venueTypes = new ArrayList<>();
-        String sql = """
-            SELECT vt.venue_type_id, vt.venue_type
-            FROM venue_types_venues vtv
-            JOIN venue_types vt ON vtv.venue_type_id = vt.venue_type_id
-            WHERE vtv.venue_id = ?
-        """;
-
-        try (Connection connection = DatabaseHandler.getConnection();
-             PreparedStatement stmt = connection.prepareStatement(sql)) {
-
-            stmt.setInt(1, venueId);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                venueTypes.add(new VenueType(rs.getInt("venue_type_id"), rs.getString("venue_type")));
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Error retrieving venue types for venue " + venueId, e);
+        for (int typeId : typesByVenue.getOrDefault(venueId, Set.of())) {
+            venueTypes.add(new VenueType(typeId, typeNamesById.get(typeId)));
         }
         return venueTypes;
     }
@@ -90,35 +111,196 @@ public class VenueTypeDAO {
     /**
      * Checks if a venue is suitable for a given venue type.
      * <p>
-     * This method checks whether there is an association between the specified venue and venue type in the
-     * <em>venue_types_venues</em> table.
+     * This method checks the in-memory dictionary for an association between the specified venue and venue type.
      * </p>
      *
      * @param venueId    the ID of the venue
      * @param venueTypeId the ID of the venue type
      * @return {@code true} if the association exists, {@code false} otherwise
-     * @throws RuntimeException if a database access error occurs
      */
     public static boolean isVenueSuitable(int venueId, int venueTypeId) {
-        String sql = "SELECT EXISTS (SELECT 1 FROM venue_types_venues WHERE venue_id = ? AND venue_type_id = ?)";
+        ensurePrimed();
+        return typesByVenue.getOrDefault(venueId, Set.of()).contains(venueTypeId);
+    }
 
-        try (Connection connection = DatabaseHandler.getConnection();
-             PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setInt(1, venueId);
-            stmt.setInt(2, venueTypeId);
-            ResultSet rs = stmt.executeQuery();
-            return rs.next() && rs.getInt(1) == 1;
-        } catch (SQLException e) {
-            throw new RuntimeException("Error checking suitability for venue " + venueId, e);
+    /**
+     * Checks if a venue is suitable for a venue type given by name, ignoring case and surrounding spaces.
+     *
+     * @param venueId   the ID of the venue
+     * @param venueType the venue type name, such as an event's type
+     * @return {@code true} if the venue has the venue type, {@code false} otherwise (including unknown types)
+     */
+    public static boolean isVenueSuitable(int venueId, String venueType) {
+        int venueTypeId = getVenueTypeId(venueType);
+        return venueTypeId != -1 && isVenueSuitable(venueId, venueTypeId);
+    }
+
+    /**
+     * Returns which of the given venues have a venue type.
+     * <p>
+     * The smaller of the two sets, the given venues or the venues having the type, is scanned.
+     * </p>
+     *
+     * @param venueIds    the IDs of the venues to check
+     * @param venueTypeId the ID of the venue type
+     * @return the IDs of the suitable venues
+     */
+    public static Set<Integer> findSuitableVenues(Collection<Integer> venueIds, int venueTypeId) {
+        ensurePrimed();
+        Set<Integer> withType = venuesByType.getOrDefault(venueTypeId, Set.of());
+        Set<Integer> suitable = new HashSet<>();
+        if (withType.size() < venueIds.size()) {
+            Set<Integer> requested = venueIds instanceof Set<Integer> set ? set : new HashSet<>(venueIds);
+            for (int venueId : withType) {
+                if (requested.contains(venueId)) suitable.add(venueId);
+            }
+        } else {
+            for (int venueId : venueIds) {
+                if (withType.contains(venueId)) suitable.add(venueId);
+            }
         }
+        return suitable;
     }
 
+    /**
+     * Returns which of the given venues have a venue type given by name.
+     *
+     * @param venueIds  the IDs of the venues to check
+     * @param venueType the venue type name, such as an event's type
+     * @return the IDs of the suitable venues; empty if the venue type is unknown
+     */
+    public static Set<Integer> findSuitableVenues(Collection<Integer> venueIds, String venueType) {
+        int venueTypeId = getVenueTypeId(venueType);
+        return venueTypeId == -1 ? new HashSet<>() : findSuitableVenues(venueIds, venueTypeId);
+    }
+
+    /**
+     * Returns the ID of a venue type from the dictionary.
+     *
+     * @param venueType the venue type name, matched ignoring case and surrounding spaces
+     * @return the venue type ID, or -1 if there is no such venue type
+     */
+    public static int getVenueTypeId(String venueType) {
+        if (venueType == null) {
+            return -1;
+        }
+        ensurePrimed();
+        return typeIdsByName.getOrDefault(normaliseType(venueType), -1);
+    }
+
+    /**
+     * Adds a committed venue's venue types to the dictionary, replacing any it had before.
+     *
+     * @param venueId     the ID of the venue
+     * @param typeNames   the venue type names
+     * @param typeIds     the venue type IDs, in the same order as {@code typeNames}
+     */
+    static void cacheVenueTypes(int venueId, List<String> typeNames, List<Integer> typeIds) {
+        if (primedUrl == null) {
+            return;  // Picked up when the dictionary is loaded.
+        }
+        for (int i = 0; i < typeIds.size(); i++) {
+            typeNamesById.putIfAbsent(typeIds.get(i), typeNames.get(i).trim());
+            typeIdsByName.putIfAbsent(normaliseType(typeNames.get(i)), typeIds.get(i));
+        }
+        forgetVenue(venueId);
+        typesByVenue.put(venueId, Set.copyOf(typeIds));
+        for (int typeId : typeIds) {
+            venuesByType.computeIfAbsent(typeId, id -> ConcurrentHashMap.newKeySet()).add(venueId);
+        }
+    }
+
+    /**
+     * Removes a deleted venue's associations from the dictionary.
+     *
+     * @param venueId the ID of the deleted venue
+     */
+    static void forgetVenue(int venueId) {
+        Set<Integer> typeIds = typesByVenue.remove(venueId);
+        if (typeIds != null) {
+            for (int typeId : typeIds) {
+                Set<Integer> venues = venuesByType.get(typeId);
+                if (venues != null) venues.remove(venueId);
+            }
+        }
+    }
+
+    /**
+     * Discards the dictionary so it is loaded again on next use.
+     * <p>
+     * Used after bulk changes, such as clearing the venue table.
+     * </p>
+     */
+    static void invalidate() {
+        primedUrl = null;
+    }
+
+    /**
+     * Loads the venue types and venue-type associations into the dictionary, once per database.
+     * <p>
+     * If the database URL has changed since the dictionary was loaded, it is cleared and loaded again. If loading
+     * fails, the error is logged and the dictionary stays empty until the next call tries again.
+     * </p>
+     */
+    private static void ensurePrimed() {
+        String url = DatabaseHandler.databaseUrl();
+        if (url.equals(primedUrl)) {
+            return;
+        }
+        synchronized (PRIME_LOCK) {
+            if (url.equals(primedUrl)) {
+                return;
+            }
+            typeIdsByName.clear();
+            typeNamesById.clear();
+            typesByVenue.clear();
+            venuesByType.clear();
+
+            try (Connection conn = DatabaseHandler.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                try (ResultSet rs = stmt.executeQuery("SELECT venue_type_id, venue_type FROM venue_types ORDER BY venue_type_id")) {
+                    while (rs.next()) {
+                        int typeId = rs.getInt("venue_type_id");
+                        String typeName = rs.getString("venue_type");
+                        typeNamesById.put(typeId, typeName);
+                        typeIdsByName.putIfAbsent(normaliseType(typeName), typeId);
+                    }
+                }
+
+                Map<Integer, Set<Integer>> loaded = new HashMap<>();
+                try (ResultSet rs = stmt.executeQuery("SELECT venue_id, venue_type_id FROM venue_types_venues")) {
+                    while (rs.next()) {
+                        int venueId = rs.getInt("venue_id");
+                        int typeId = rs.getInt("venue_type_id");
+                        loaded.computeIfAbsent(venueId, id -> new HashSet<>()).add(typeId);
+                        venuesByType.computeIfAbsent(typeId, id -> ConcurrentHashMap.newKeySet()).add(venueId);
+                    }
+                }
+                loaded.forEach((venueId, typeIds) -> typesByVenue.put(venueId, Set.copyOf(typeIds)));
+                primedUrl = url;
+            } catch (SQLException e) {
+                e.printStackTrace();
+                System.err.println("Error loading the venue type dictionary: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the dictionary key for a venue type name: trimmed and lower-cased.
+     *
+     * @param venueType the venue type name
+     * @return the normalised name
+     */
+    private static String normaliseType(String venueType) {
+        return venueType.trim().toLowerCase(Locale.ROOT);
+    }
 
     /**
      * Finds or creates a venue type ID for a given description.
      * <p>
-     * This method attempts to find the ID of a venue type by its description (case-insensitive). If not found,
-     * it creates a new venue type and returns the generated ID.
+     * This method looks the description up in the dictionary first, then in the database (case-insensitive), and
+     * creates a new venue type if it is not found. Venue types created here are added to the dictionary by
+     * {@link #cacheVenueTypes(int, List, List)} once the caller's transaction commits.
      * </p>
      *
      * @param description the description of the venue type
@@ -127,7 +309,11 @@ public class VenueTypeDAO {
      * @throws SQLException if a database access error occurs
      */
     public static int findOrCreateVenueTypeId(String description, Connection conn) throws SQLException {
-        int venueTypeId = findVenueTypeId(description, conn);
+        int venueTypeId = getVenueTypeId(description);
+        if (venueTypeId != -1) {
+            return venueTypeId;
+        }
+        venueTypeId = findVenueTypeId(description, conn);
         if (venueTypeId == -1) {
             venueTypeId = createVenueType(description, conn);
         }
@@ -214,13 +400,13 @@ public class VenueTypeDAO {
      * Retrieves all venue-type associations from the database for backup purposes.
      * <p>
      * This method fetches all records from the <em>venue_types_venues</em> table and constructs a mapping
-     * between venue IDs and lists of associated venue type IDs.
+     * between venue IDs and arrays of associated venue type IDs.
      * </p>
      *
-     * @return a {@code Map<Integer, List<Integer>>} where each key is a venue ID and each value is a list of venue type IDs
+     * @return an {@code IntObjectHashMap<int[]>} where each key is a venue ID and each value holds its venue type IDs
      */
-    public static Map<Integer, List<Integer>> getAllVenueTypesVenuesBU() {
-        Map<Integer, List<Integer>> venueTypeMap = new HashMap<>();
+    public static IntObjectHashMap<int[]> getAllVenueTypesVenuesBU() {
+        IntObjectHashMap<int[]> venueTypeMap = new IntObjectHashMap<>();
         String sql = "SELECT venue_id, venue_type_id FROM venue_types_venues";
 
         try (Connection conn = DatabaseHandler.getConnection();
@@ -231,7 +417,15 @@ public class VenueTypeDAO {
                 int venueId = rs.getInt("venue_id");
                 int typeId = rs.getInt("venue_type_id");
 
-                venueTypeMap.computeIfAbsent(venueId, k -> new ArrayList<>()).add(typeId);
+                // Venues have only a few types, so each array is grown by one.
+                int[] typeIds = venueTypeMap.get(venueId);
+                if (typeIds == null) {
+                    venueTypeMap.put(venueId, new int[] {typeId});
+                } else {
+                    typeIds = Arrays.copyOf(typeIds, typeIds.length + 1);
+                    typeIds[typeIds.length - 1] = typeId;
+                    venueTypeMap.put(venueId, typeIds);
+                }
             }
         } catch (SQLException e) {
             e.printStackTrace();
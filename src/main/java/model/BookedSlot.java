@@ -0,0 +1,20 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Represents the time slot a venue is occupied by one booking: a confirmed booking, or a pending
+ * booking under an unexpired hold.
+ *
+ * @param bookingId the ID of the booking
+ * @param venueId  the ID of the booked venue
+ * @param eventId  the ID of the booked event
+ * @param date     the date of the event
+ * @param start    the start time of the event
+ * @param duration the duration of the event in hours
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public record BookedSlot(int bookingId, int venueId, int eventId, LocalDate date, LocalTime start, int duration) {}
@@ -2,12 +2,11 @@ package model;
 
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
+import util.NumberUtils;
 
 import java.io.Serializable;
-import java.text.NumberFormat;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.Locale;
 
 /**
  * Represents a booking for an event at a venue.
@@ -35,7 +34,6 @@ public class Booking implements Serializable {
 	private LocalDate bookingDate;
 	private BookingStatus status;
 	private String bookedBy;
-	private final NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
 
 	/**
 	 * Constructs a {@code Booking} with the specified details.
@@ -222,16 +220,38 @@ public class Booking implements Serializable {
 	}
 
 	// SETTERS
+	/**
+	 * Updates the booking status, keeping the client's running totals in step.
+	 *
+	 * @param status the new booking status
+	 */
 	public void setStatus(BookingStatus status) {
+		if (client != null) client.releaseBooking(this);
 		this.status = status;
+		if (client != null) client.recordBooking(this);
 	}
 
+	/**
+	 * Updates the booking's client, moving the booking's contribution from the old client's running totals to the
+	 * new client's.
+	 *
+	 * @param client the new client
+	 */
 	public void setClient(Client client) {
+		if (this.client != null) this.client.releaseBooking(this);
 		this.client = client;
+		if (client != null) client.recordBooking(this);
 	}
 
+	/**
+	 * Updates the booked venue, keeping the client's running totals in step with the new hire price.
+	 *
+	 * @param venue the new venue
+	 */
 	public void setVenue(Venue venue) {
+		if (client != null) client.releaseBooking(this);
 		this.venue = venue;
+		if (client != null) client.recordBooking(this);
 	}
 
 	/**
@@ -275,7 +295,7 @@ public class Booking implements Serializable {
 	 * @return the booking hire price formatted as currency
 	 */
 	public StringProperty getBookingHirePriceProperty() {
-		return new SimpleStringProperty(currencyFormatter.format(getBookingHirePrice()));
+		return new SimpleStringProperty(NumberUtils.formatCurrency(getBookingHirePrice()));
 	}
 
 	/**
@@ -284,7 +304,7 @@ public class Booking implements Serializable {
 	 * @return the booking event commission formatted as currency
 	 */
 	public StringProperty getBookingEventCommissionProperty() {
-		return new SimpleStringProperty(currencyFormatter.format(getBookingEventCommission()));
+		return new SimpleStringProperty(NumberUtils.formatCurrency(getBookingEventCommission()));
 	}
 
 	/**
@@ -293,7 +313,7 @@ public class Booking implements Serializable {
 	 * @return the total booking cost formatted as currency
 	 */
 	public StringProperty getBookingTotalProperty() {
-		return new SimpleStringProperty(currencyFormatter.format(getBookingTotal()));
+		return new SimpleStringProperty(NumberUtils.formatCurrency(getBookingTotal()));
 	}
 
 	/**
@@ -0,0 +1,23 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Represents a group of confirmed bookings that double-book one venue.
+ * <p>
+ * The bookings form a chain of overlaps: each overlaps at least one other in the group, so together they
+ * occupy the venue without a break from the start of the first to the end of the last.
+ * </p>
+ *
+ * @param venueId    the ID of the double-booked venue
+ * @param start      when the first booking in the group starts
+ * @param end        when the last booking in the group ends
+ * @param bookingIds the IDs of the bookings, in start order
+ * @param eventIds   the IDs of the booked events, in the same order
+ *
+ * @author	Bodene Downie
+ * @version 1.0
+ */
+public record BookingConflict(int venueId, LocalDateTime start, LocalDateTime end,
+							  List<Integer> bookingIds, List<Integer> eventIds) {}
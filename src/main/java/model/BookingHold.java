@@ -0,0 +1,14 @@
+package model;
+
+import java.time.Instant;
+
+/**
+ * Represents a PENDING booking's hold on its venue time slot, which lapses at a set time.
+ *
+ * @param bookingId the ID of the PENDING booking
+ * @param expiresAt when the hold lapses and the booking is cancelled
+ *
+ * @author	Bodene Downie
+ * @version 1.0
+ */
+public record BookingHold(int bookingId, Instant expiresAt) {}
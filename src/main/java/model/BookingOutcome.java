@@ -0,0 +1,16 @@
+package model;
+
+/**
+ * The result of a single booking attempt in a bulk booking.
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public enum BookingOutcome {
+	/** The booking was inserted. */
+	BOOKED,
+	/** The event is already booked, or the venue is booked for an overlapping time slot. */
+	CONFLICT,
+	/** The booking could not be made, e.g. because the event no longer exists or a database error occurred. */
+	FAILED
+}
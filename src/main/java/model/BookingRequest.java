@@ -0,0 +1,13 @@
+package model;
+
+/**
+ * Represents a request to book a venue for an event, as passed to a bulk booking.
+ *
+ * @param eventId  the ID of the event to book
+ * @param venueId  the ID of the venue to book
+ * @param clientId the ID of the client who owns the event
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public record BookingRequest(int eventId, int venueId, int clientId) {}
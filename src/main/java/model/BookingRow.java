@@ -0,0 +1,42 @@
+package model;
+
+/**
+ * Represents a read-only projection of a confirmed booking for reporting.
+ * <p>
+ * A {@code BookingRow} carries the flattened event, venue and client details of a booking along with the
+ * client's commission rate, which is worked out by the query. No {@link Event}, {@link Venue} or {@link Client}
+ * objects are created to build one.
+ * </p>
+ *
+ * @param bookingId      the unique identifier for the booking
+ * @param eventName      the name of the booked event
+ * @param venueName      the name of the booked venue
+ * @param clientName     the name of the client
+ * @param bookedBy       the username of the person who made the booking
+ * @param hirePrice      the total hire price (hourly price multiplied by event duration)
+ * @param commissionRate the commission rate that applies to the client
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public record BookingRow(int bookingId, String eventName, String venueName, String clientName, String bookedBy,
+                         double hirePrice, double commissionRate) {
+
+	/**
+	 * Returns the commission for the booking.
+	 *
+	 * @return the commission amount
+	 */
+	public double commission() {
+		return hirePrice * commissionRate;
+	}
+
+	/**
+	 * Returns the total booking cost (hire price + commission).
+	 *
+	 * @return the total booking cost
+	 */
+	public double total() {
+		return hirePrice + commission();
+	}
+}
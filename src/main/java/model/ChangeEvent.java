@@ -0,0 +1,96 @@
+package model;
+
+import java.util.List;
+
+/**
+ * A change made to the database by one of the DAO write methods.
+ * <p>
+ * Change events are published on the {@link util.ChangeBus} after the change has been committed, so subscribers
+ * can update the rows they display instead of reloading every table. Each event carries only the IDs needed to
+ * find the affected rows; subscribers that need more detail load it themselves.
+ * </p>
+ * <p>
+ * The {@code Reset} events are published after bulk changes, such as clearing a table, where subscribers should
+ * reload everything they hold for that table.
+ * </p>
+ *
+ * @author	Bodene Downie
+ * @version 1.0
+ */
+public sealed interface ChangeEvent {
+
+	/**
+	 * A booking was inserted, or a held booking was confirmed.
+	 *
+	 * @param bookingId the ID of the booking
+	 * @param eventId   the ID of the booked event
+	 * @param venueId   the ID of the booked venue
+	 * @param clientId  the ID of the client
+	 * @param status    the status the booking was inserted with: PENDING for a new hold; CONFIRMED when a hold
+	 *                  is confirmed
+	 */
+	record BookingCreated(int bookingId, int eventId, int venueId, int clientId, BookingStatus status) implements ChangeEvent {}
+
+	/**
+	 * A booking was cancelled.
+	 *
+	 * @param bookingId the ID of the cancelled booking
+	 * @param eventId   the ID of the event, which may now be booked again
+	 * @param venueId   the ID of the venue
+	 * @param clientId  the ID of the client
+	 * @param wasConfirmed {@code true} if the booking was confirmed before it was cancelled
+	 */
+	record BookingCancelled(int bookingId, int eventId, int venueId, int clientId, boolean wasConfirmed) implements ChangeEvent {}
+
+	/**
+	 * A booking was moved to a different event, venue or client.
+	 *
+	 * @param bookingId        the ID of the booking
+	 * @param eventId          the ID of the event now booked
+	 * @param venueId          the ID of the venue now booked
+	 * @param clientId         the ID of the client now holding the booking
+	 * @param previousEventId  the ID of the event booked before the update
+	 * @param previousClientId the ID of the client holding the booking before the update
+	 * @param confirmed        {@code true} if the booking is confirmed
+	 */
+	record BookingUpdated(int bookingId, int eventId, int venueId, int clientId,
+						  int previousEventId, int previousClientId, boolean confirmed) implements ChangeEvent {}
+
+	/**
+	 * New events were saved, for example from a CSV import.
+	 *
+	 * @param eventIds the IDs of the saved events
+	 */
+	record EventsAdded(List<Integer> eventIds) implements ChangeEvent {}
+
+	/**
+	 * An event's date, time or artist was changed.
+	 *
+	 * @param eventId the ID of the event
+	 */
+	record EventUpdated(int eventId) implements ChangeEvent {}
+
+	/**
+	 * Every event was removed.
+	 */
+	record EventsReset() implements ChangeEvent {}
+
+	/**
+	 * A venue was added.
+	 *
+	 * @param venue the new venue and its venue types
+	 */
+	record VenueAdded(VenueRow venue) implements ChangeEvent {}
+
+	/**
+	 * A venue was deleted.
+	 *
+	 * @param venueId the ID of the deleted venue
+	 */
+	record VenueDeleted(int venueId) implements ChangeEvent {}
+
+	/**
+	 * Every venue was removed.
+	 */
+	record VenuesReset() implements ChangeEvent {}
+}
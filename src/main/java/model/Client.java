@@ -4,12 +4,12 @@ import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
+import util.NumberUtils;
 
 import java.io.Serializable;
-import java.text.NumberFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 
 
 /**
@@ -20,6 +20,11 @@ import java.util.Locale;
  * calculating commission rates, total hire amounts, commissions, and overall booking totals.
  * </p>
  * <p>
+ * The confirmed job count and total hire are kept as running aggregates. They are updated when bookings are
+ * added and when a booking's status, venue or client changes, so the getters run in constant time instead of
+ * streaming over every booking. The aggregates are transient and are recomputed on first use after deserialization.
+ * </p>
+ * <p>
  * This class implements {@code Serializable} to support object serialization.
  * </p>
  *
@@ -27,11 +32,16 @@ import java.util.Locale;
  * @version 1.0
  */
 public class Client implements Serializable {
+
+	private static final long serialVersionUID = -1852936191589916489L;  // Keep existing backups readable
+
 	private int clientId;
 	private String clientName;
 	private String contactInfo;
 	private List<Booking> bookings;
-	private final NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
+	private transient long confirmedJobCount;
+	private transient double confirmedTotalHire;
+	private transient boolean aggregatesCurrent;
 
 	// CONSTRUCTORS
 
@@ -83,8 +93,17 @@ public class Client implements Serializable {
 		return contactInfo;
 	}
 
+	/**
+	 * Returns a read-only view of the client's bookings.
+	 * <p>
+	 * Bookings are added through {@link #addBooking(Booking)} or {@link #setBookings(List)} so that the
+	 * running aggregates stay in step with the list.
+	 * </p>
+	 *
+	 * @return an unmodifiable {@code List<Booking>}, or {@code null} if the bookings have not been loaded
+	 */
 	public List<Booking> getBookings() {
-		return bookings;
+		return bookings != null ? Collections.unmodifiableList(bookings) : null;
 	}
 
 	/**
@@ -96,10 +115,19 @@ public class Client implements Serializable {
 	 * @return the commission rate as a double
 	 */
 	public double getCommissionRate() {
-		long confirmedJobs = bookings.stream()
-				.filter(booking -> booking.getStatus() == BookingStatus.CONFIRMED)
-				.count();
+		return commissionRateFor(getConfirmedJobCount());
+	}
 
+	/**
+	 * Returns the commission rate that applies to a client with the given number of confirmed bookings.
+	 * <p>
+	 * If the client has more than one confirmed booking, a commission rate of 9% is applied; otherwise, 10%.
+	 * </p>
+	 *
+	 * @param confirmedJobs the number of confirmed bookings
+	 * @return the commission rate as a double
+	 */
+	public static double commissionRateFor(long confirmedJobs) {
 		return (confirmedJobs > 1) ? 0.09 : 0.10;
 	}
 
@@ -109,22 +137,20 @@ public class Client implements Serializable {
 	 * @return the total hire amount as a double
 	 */
 	public double getClientTotalHire() {
-		return bookings.stream()
-				.filter(booking -> booking.getStatus() == BookingStatus.CONFIRMED)
-				.mapToDouble(Booking::getBookingHirePrice)
-				.sum();
+		ensureAggregates();
+		return confirmedTotalHire;
 	}
 
 	/**
 	 * Calculates the total commission earned for the client across all confirmed bookings.
+	 * <p>
+	 * Every confirmed booking uses the same client commission rate, so the total is the rate applied to the total hire.
+	 * </p>
 	 *
 	 * @return the total commission as a double
 	 */
 	public double getTotalCommission() {
-		return bookings.stream()
-				.filter(booking -> booking.getStatus() == BookingStatus.CONFIRMED)
-				.mapToDouble(Booking::getBookingEventCommission)
-				.sum();
+		return getClientTotalHire() * getCommissionRate();
 	}
 
 	/**
@@ -133,10 +159,7 @@ public class Client implements Serializable {
 	 * @return the total booking cost as a double
 	 */
 	public double getClientBookingTotal() {
-		return bookings.stream()
-				.filter(booking -> booking.getStatus() == BookingStatus.CONFIRMED)
-				.mapToDouble(Booking::getBookingTotal)
-				.sum();
+		return getClientTotalHire() + getTotalCommission();
 	}
 
 	/**
@@ -145,9 +168,8 @@ public class Client implements Serializable {
 	 * @return the count of confirmed bookings as a long
 	 */
 	public long getConfirmedJobCount() {
-		return bookings.stream()
-				.filter(booking -> booking.getStatus() == BookingStatus.CONFIRMED)
-				.count();
+		ensureAggregates();
+		return confirmedJobCount;
 	}
 
 	/**
@@ -165,7 +187,7 @@ public class Client implements Serializable {
 	 * @return the formatted total hire amount as a {@code StringProperty}
 	 */
 	public StringProperty getClientTotalHireProperty() {
-		return new SimpleStringProperty(currencyFormatter.format(getClientTotalHire()));
+		return new SimpleStringProperty(NumberUtils.formatCurrency(getClientTotalHire()));
 	}
 
 	/**
@@ -174,7 +196,7 @@ public class Client implements Serializable {
 	 * @return the formatted total commission as a {@code StringProperty}
 	 */
 	public StringProperty getTotalCommissionProperty() {
-		return new SimpleStringProperty(currencyFormatter.format(getTotalCommission()));
+		return new SimpleStringProperty(NumberUtils.formatCurrency(getTotalCommission()));
 	}
 
 	/**
@@ -183,7 +205,7 @@ public class Client implements Serializable {
 	 * @return the formatted total booking cost as a {@code StringProperty}
 	 */
 	public StringProperty getClientBookingTotalProperty() {
-		return new SimpleStringProperty(currencyFormatter.format(getClientBookingTotal()));
+		return new SimpleStringProperty(NumberUtils.formatCurrency(getClientBookingTotal()));
 	}
 
 	// SETTERS
@@ -193,6 +215,7 @@ public class Client implements Serializable {
 
 	public void setBookings(List<Booking> bookings) {
 		this.bookings = bookings;
+		this.aggregatesCurrent = false;
 	}
 
 	/**
@@ -205,6 +228,61 @@ public class Client implements Serializable {
 			this.bookings = new ArrayList<>();
 		}
 		this.bookings.add(booking);
+		recordBooking(booking);
+	}
+
+	/**
+	 * Adds a booking's contribution to the running aggregates.
+	 * <p>
+	 * Called by {@link Booking} after its status or venue changes, and on its new client after its client changes.
+	 * Bookings that are not confirmed contribute nothing.
+	 * </p>
+	 *
+	 * @param booking the booking to add
+	 */
+	void recordBooking(Booking booking) {
+		if (aggregatesCurrent && booking.getStatus() == BookingStatus.CONFIRMED) {
+			confirmedJobCount++;
+			confirmedTotalHire += booking.getBookingHirePrice();
+		}
+	}
+
+	/**
+	 * Removes a booking's contribution from the running aggregates.
+	 * <p>
+	 * Called by {@link Booking} before its status or venue changes, and on its old client before its client changes.
+	 * </p>
+	 *
+	 * @param booking the booking to remove
+	 */
+	void releaseBooking(Booking booking) {
+		if (aggregatesCurrent && booking.getStatus() == BookingStatus.CONFIRMED) {
+			confirmedJobCount--;
+			confirmedTotalHire -= booking.getBookingHirePrice();
+		}
+	}
+
+	/**
+	 * Recomputes the running aggregates from the booking list if they are not current.
+	 * <p>
+	 * This happens once after construction, after {@link #setBookings(List)}, and after deserialization.
+	 * </p>
+	 */
+	private void ensureAggregates() {
+		if (aggregatesCurrent) {
+			return;
+		}
+		confirmedJobCount = 0;
+		confirmedTotalHire = 0;
+		if (bookings != null) {
+			for (Booking booking : bookings) {
+				if (booking.getStatus() == BookingStatus.CONFIRMED) {
+					confirmedJobCount++;
+					confirmedTotalHire += booking.getBookingHirePrice();
+				}
+			}
+		}
+		aggregatesCurrent = true;
 	}
 
 	/**
@@ -218,9 +296,9 @@ public class Client implements Serializable {
 				", Client Name: " + clientName +
 				", Contact Info: " + (contactInfo != null ? contactInfo : "N/A") +
 				", Confirmed Jobs: " + getConfirmedJobCount() +
-				", Client Total Hire: " + currencyFormatter.format(getClientTotalHire()) +
-				", Total Commission: " + currencyFormatter.format(getTotalCommission()) +
-				", Client Booking Total: " + currencyFormatter.format(getClientBookingTotal()) +
+				", Client Total Hire: " + NumberUtils.formatCurrency(getClientTotalHire()) +
+				", Total Commission: " + NumberUtils.formatCurrency(getTotalCommission()) +
+				", Client Booking Total: " + NumberUtils.formatCurrency(getClientBookingTotal()) +
 				", Bookings: " + (bookings != null ? bookings.size() + " bookings" : "No bookings");
 	}
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package model;
+
+/**
+ * Represents the pre-aggregated booking totals for a single client.
+ * <p>
+ * A {@code ClientSummary} is read from the materialised <em>client_booking_summary</em> table, so building one
+ * does not require loading the client's bookings. The commission figures are derived from the confirmed job
+ * count and total hire using the same rule as {@link Client#getCommissionRate()}.
+ * </p>
+ *
+ * @param clientId          the unique client identifier
+ * @param clientName        the name of the client
+ * @param confirmedJobCount the number of confirmed bookings for the client
+ * @param totalHire         the total hire amount across the client's confirmed bookings
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public record ClientSummary(int clientId, String clientName, int confirmedJobCount, double totalHire) {
+
+	/**
+	 * Returns the commission rate that applies to this client.
+	 *
+	 * @return the commission rate as a double
+	 */
+	public double commissionRate() {
+		return Client.commissionRateFor(confirmedJobCount);
+	}
+
+	/**
+	 * Returns the total commission earned across the client's confirmed bookings.
+	 *
+	 * @return the total commission as a double
+	 */
+	public double totalCommission() {
+		return totalHire * commissionRate();
+	}
+
+	/**
+	 * Returns the total booking cost (hire price + commission) across the client's confirmed bookings.
+	 *
+	 * @return the total booking cost as a double
+	 */
+	public double bookingTotal() {
+		return totalHire + totalCommission();
+	}
+}
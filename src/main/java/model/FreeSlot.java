@@ -0,0 +1,42 @@
+package model;
+
+import util.DateUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Represents a period in which a venue has no confirmed booking.
+ * <p>
+ * Depending on the search, a {@code FreeSlot} is either a whole free gap or a slot of exactly the requested
+ * duration that could be booked.
+ * </p>
+ *
+ * @param start the start of the free period
+ * @param end   the end of the free period, which is midnight of the next day for a period running to the end of a day
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public record FreeSlot(LocalDateTime start, LocalDateTime end) {
+
+	/**
+	 * Returns the length of the free period in minutes.
+	 *
+	 * @return the number of minutes
+	 */
+	public long minutes() {
+		return Duration.between(start, end).toMinutes();
+	}
+
+	/**
+	 * Returns the free period in the form shown to staff, such as "12 May 2025 07:00 PM - 10:00 PM".
+	 *
+	 * @return the formatted period
+	 */
+	@Override
+	public String toString() {
+		return DateUtils.formatDate(start.toLocalDate()) + " " + DateUtils.formatTime(start.toLocalTime())
+				+ " - " + DateUtils.formatTime(end.toLocalTime());
+	}
+}
@@ -0,0 +1,45 @@
+package model;
+
+/**
+ * Represents a read-only projection of a user for listing and searching.
+ * <p>
+ * A {@code UserRow} carries the identifying details of a user but never the password, so it is safe to keep in
+ * memory for search-as-you-type and to show in tables.
+ * </p>
+ *
+ * @param userId    the unique identifier for the user
+ * @param firstName the user's first name
+ * @param lastName  the user's last name
+ * @param username  the username for login
+ * @param role      the role of the user
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public record UserRow(int userId, String firstName, String lastName, String username, UserRole role) {
+
+	/**
+	 * Creates a row from a {@link User}, leaving out the password.
+	 *
+	 * @param user the user to project
+	 * @return the matching {@code UserRow}
+	 */
+	public static UserRow of(User user) {
+		return new UserRow(user.getUserId(), user.getFirstName(), user.getLastName(), user.getUsername(), user.getRole());
+	}
+
+	/**
+	 * Creates a {@link Manager} or {@link Staff} object for this row with no password set.
+	 * <p>
+	 * This is used to hand the user to screens and services that work with {@code User} objects, such as the
+	 * profile editor, without reading the password from the database.
+	 * </p>
+	 *
+	 * @return a password-less {@code User} for this row
+	 */
+	public User toUser() {
+		return role == UserRole.MANAGER
+				? new Manager(userId, firstName, lastName, username, null)
+				: new Staff(userId, firstName, lastName, username, null);
+	}
+}
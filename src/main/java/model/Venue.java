@@ -9,15 +9,14 @@ import service.VenueService;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Represents a venue where events are hosted.
  * <p>
  * The {@code Venue} class encapsulates details about a venue including its unique identifier,
- * name, capacity, hire price per hour, associated venue types, category, compatibility score,
- * and related bookings. It also provides methods for retrieving formatted strings for price and capacity,
- * which are useful for display in the user interface.
+ * name, capacity, hire price per hour, associated venue types, category and compatibility score.
+ * Display formatting of price and capacity is done by {@link VenueRow} and
+ * {@link util.NumberUtils} rather than stored on each venue.
  * </p>
  * <p>
  * This class implements {@code Serializable} to allow venue objects to be serialized.
@@ -28,6 +27,8 @@ import java.util.Set;
  */
 public class Venue implements Serializable {
 
+	private static final long serialVersionUID = 4582308587126612438L;  // Keep existing backups readable
+
 	private int venueId;
 	private String name;
 	private int capacity;
@@ -35,10 +36,6 @@ public class Venue implements Serializable {
 	private List<VenueType> venueTypes;
 	private VenueCategory category;
 	private double compatibilityScore;
-	private Set<Booking> bookings;
-
-	private String formattedPrice;
-	private String formattedCapacity;
 
 	// CONSTRUCTORS
 
@@ -150,6 +147,25 @@ public class Venue implements Serializable {
 		this.hirePricePerHour = Double.parseDouble(hirePricePerHour);
 	}
 
+	/**
+	 * Constructs a copy of a venue.
+	 * <p>
+	 * Used to annotate venues from the read-only {@link service.VenueCatalog} snapshot, such as with a
+	 * compatibility score. The copy has its own venue type list, so it can be changed freely.
+	 * </p>
+	 *
+	 * @param venue the venue to copy
+	 */
+	public Venue(Venue venue) {
+		this.venueId = venue.venueId;
+		this.name = venue.name;
+		this.capacity = venue.capacity;
+		this.hirePricePerHour = venue.hirePricePerHour;
+		this.venueTypes = venue.venueTypes == null ? null : new ArrayList<>(venue.venueTypes);
+		this.category = venue.category;
+		this.compatibilityScore = venue.compatibilityScore;
+	}
+
 	// GETTERS
 
 	public int getVenueId() { return this.venueId; }
@@ -176,48 +192,8 @@ public class Venue implements Serializable {
 
 	public void setHirePricePerHour(double price) { this.hirePricePerHour = price; }
 
-	public Set<Booking> getBookings() { return this.bookings; }
-
 	public void setCompatibilityScore(double compatibilityScore) { this.compatibilityScore = compatibilityScore; }
 
-	// SETTERS & GETTERS FOR FORMATING PRICE & CAPACITY
-
-	/**
-	 * Returns the formatted price string.
-	 *
-	 * @return the formatted price as a String
-	 */
-	public String getFormattedPrice() {
-		return formattedPrice;
-	}
-
-	/**
-	 * Sets the formatted price string.
-	 *
-	 * @param formattedPrice the formatted price to set
-	 */
-	public void setFormattedPrice(String formattedPrice) {
-		this.formattedPrice = formattedPrice;
-	}
-
-	/**
-	 * Returns the formatted capacity string.
-	 *
-	 * @return the formatted capacity as a String
-	 */
-	public String getFormattedCapacity() {
-		return formattedCapacity;
-	}
-
-	/**
-	 * Sets the formatted capacity string.
-	 *
-	 * @param formattedCapacity the formatted capacity to set
-	 */
-	public void setFormattedCapacity(String formattedCapacity) {
-		this.formattedCapacity = formattedCapacity;
-	}
-
 	// VENUE TYPE MANAGEMENT
 
 	/**
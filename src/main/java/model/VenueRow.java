@@ -0,0 +1,42 @@
+package model;
+
+import util.NumberUtils;
+
+/**
+ * Represents a read-only, display-ready projection of a venue.
+ * <p>
+ * A {@code VenueRow} holds just the columns shown in the venue search table, with the venue types already
+ * joined into a single string by the query. It is used for bulk reads where the full {@link Venue} object
+ * graph (venue type objects, mutable state) is not needed.
+ * </p>
+ *
+ * @param venueId          the unique venue ID
+ * @param name             the name of the venue
+ * @param category         the venue category
+ * @param capacity         the capacity of the venue
+ * @param hirePricePerHour the hire price per hour
+ * @param venueTypes       the venue types as a comma-separated string, or an empty string if there are none
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public record VenueRow(int venueId, String name, VenueCategory category, int capacity, double hirePricePerHour, String venueTypes) {
+
+	/**
+	 * Returns the capacity formatted for display, e.g. "1,200".
+	 *
+	 * @return the formatted capacity
+	 */
+	public String formattedCapacity() {
+		return NumberUtils.formatNumber(capacity);
+	}
+
+	/**
+	 * Returns the hire price per hour formatted as currency, e.g. "$1,500.00".
+	 *
+	 * @return the formatted hire price
+	 */
+	public String formattedPrice() {
+		return NumberUtils.formatCurrency(hirePricePerHour);
+	}
+}
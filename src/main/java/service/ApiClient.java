@@ -0,0 +1,332 @@
+package service;
+
+import model.BookingHold;
+import model.ChangeEvent;
+import util.ChangeBus;
+import util.ChangeFeed;
+import util.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client for the front-desk HTTP API of {@link app.ApiServer}, used by a terminal that shares its database through
+ * the server.
+ * <p>
+ * When the {@link #API_URL_PROPERTY} system property is set, {@link BookingService} books, bulk books, cancels and
+ * holds venues through the server instead of writing to the database file, so the server is the only process
+ * writing those changes. Everything else, including every read, still uses the database file. The client also follows the server's change feed once a second and republishes each change on the
+ * local {@link ChangeBus}, so the terminal's screens and caches see the bookings made at other terminals; after
+ * each of its own writes it reads the feed at once. If the feed has moved on too far, or the server has
+ * restarted, {@link ChangeEvent.EventsReset} and {@link ChangeEvent.VenuesReset} are published so everything is
+ * reloaded.
+ * </p>
+ * <p>
+ * If the server requires a token, the {@link #API_TOKEN_FILE_PROPERTY} system property names the file holding it,
+ * and the token is sent with every request.
+ * </p>
+ * <p>
+ * The client stands in for the DAO write methods, so a server that cannot be reached or reports an error is
+ * reported as an {@link SQLException}, as a database error would be.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class ApiClient {
+
+    private static ApiClient instance;
+
+    /** System property holding the API's base URL, e.g. {@code http://127.0.0.1:8080/api}. */
+    public static final String API_URL_PROPERTY = "lmvm.api.url";
+
+    /** System property naming the file that holds the API token, for a server started with {@code --token-file}. */
+    public static final String API_TOKEN_FILE_PROPERTY = "lmvm.api.token.file";
+
+    private static final long POLL_MILLIS = 1000;
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final String baseUrl;
+    /** The token sent with every request, or {@code null} if the server has no authentication. */
+    private final String token;
+    private final HttpClient http;
+    private final ScheduledExecutorService poller;
+
+    /** The last revision of the change feed republished, or -1 before the feed is first read. */
+    private long revision = -1;
+
+    /** Whether the last read of the change feed succeeded, so an outage is reported once. */
+    private boolean reachable = true;
+
+    /**
+     * Private constructor to enforce the Singleton pattern.
+     */
+    private ApiClient(String baseUrl, String token) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.token = token;
+        http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(TIMEOUT).build();
+
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "api-changes");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::readChanges, 0, POLL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Checks whether the terminal is set up to use the API, i.e. {@link #API_URL_PROPERTY} is set.
+     *
+     * @return {@code true} if bookings should go through the API
+     */
+    public static boolean isConfigured() {
+        String url = System.getProperty(API_URL_PROPERTY);
+        return url != null && !url.isBlank();
+    }
+
+    /**
+     * Returns the singleton instance of the API client, starting to follow the change feed.
+     *
+     * @return the single {@code ApiClient} instance
+     * @throws IllegalStateException if {@link #API_URL_PROPERTY} is not set, or the token file cannot be read
+     */
+    public static synchronized ApiClient getInstance() {
+        if (instance == null) {
+            if (!isConfigured()) {
+                throw new IllegalStateException(API_URL_PROPERTY + " is not set");
+            }
+            String token = null;
+            String tokenFile = System.getProperty(API_TOKEN_FILE_PROPERTY);
+            if (tokenFile != null && !tokenFile.isBlank()) {
+                try {
+                    token = Files.readString(Path.of(tokenFile.strip())).strip();
+                } catch (IOException e) {
+                    throw new IllegalStateException("Cannot read the API token file " + tokenFile, e);
+                }
+            }
+            instance = new ApiClient(System.getProperty(API_URL_PROPERTY).strip(), token);
+        }
+        return instance;
+    }
+
+    /**
+     * Books a venue for an event through the server.
+     *
+     * @param eventId  the ID of the event
+     * @param venueId  the ID of the venue
+     * @param bookedBy the username of the person making the booking
+     * @return the ID of the new booking, or 0 if the event or venue slot is already booked or held
+     * @throws SQLException if the server cannot be reached or reports an error
+     */
+    public int book(int eventId, int venueId, String bookedBy) throws SQLException {
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("eventId", eventId);
+        request.put("venueId", venueId);
+        request.put("bookedBy", bookedBy);
+        Response response = send("POST", "/bookings", request);
+        if (response.status() == 409) {
+            return 0;
+        }
+        response.require(201);
+        readChanges();
+        return response.intField("bookingId");
+    }
+
+    /**
+     * Cancels a booking through the server.
+     *
+     * @param bookingId the ID of the booking
+     * @return {@code true} if the booking was cancelled, {@code false} if it does not exist
+     * @throws SQLException if the server cannot be reached or reports an error
+     */
+    public boolean cancelBooking(int bookingId) throws SQLException {
+        Response response = send("DELETE", "/bookings/" + bookingId, null);
+        if (response.status() == 404) {
+            return false;
+        }
+        response.require(200);
+        readChanges();
+        return true;
+    }
+
+    /**
+     * Holds a venue for an event through the server, for the server's default time.
+     *
+     * @param eventId  the ID of the event
+     * @param venueId  the ID of the venue
+     * @param bookedBy the username of the person placing the hold
+     * @return the hold, or an empty {@code Optional} if the event or venue slot is already booked or held
+     * @throws SQLException if the server cannot be reached or reports an error
+     */
+    public Optional<BookingHold> placeHold(int eventId, int venueId, String bookedBy) throws SQLException {
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("eventId", eventId);
+        request.put("venueId", venueId);
+        request.put("bookedBy", bookedBy);
+        Response response = send("POST", "/holds", request);
+        if (response.status() == 409) {
+            return Optional.empty();
+        }
+        response.require(201);
+        readChanges();
+        return Optional.of(new BookingHold(response.intField("bookingId"),
+                Instant.parse(String.valueOf(response.body().get("expiresAt")))));
+    }
+
+    /**
+     * Confirms a held booking through the server.
+     *
+     * @param bookingId the ID of the held booking
+     * @return {@code true} if the booking was confirmed, {@code false} if it is not held or its hold has expired
+     * @throws SQLException if the server cannot be reached or reports an error
+     */
+    public boolean confirmHold(int bookingId) throws SQLException {
+        Response response = send("POST", "/holds/" + bookingId + "/confirm", null);
+        if (response.status() == 404) {
+            return false;
+        }
+        response.require(201);
+        readChanges();
+        return true;
+    }
+
+    /**
+     * Releases a hold through the server, cancelling the held booking.
+     *
+     * @param bookingId the ID of the held booking
+     * @return {@code true} if the booking was cancelled
+     * @throws SQLException if the server cannot be reached or reports an error
+     */
+    public boolean releaseHold(int bookingId) throws SQLException {
+        Response response = send("DELETE", "/holds/" + bookingId, null);
+        if (response.status() == 404) {
+            return false;
+        }
+        response.require(200);
+        readChanges();
+        return true;
+    }
+
+    /**
+     * Reads the changes made through the server since the last read, and republishes them on the local bus.
+     * <p>
+     * Runs on the feed thread once a second, and on the calling thread after each write, so a terminal sees its
+     * own changes as soon as the write returns.
+     * </p>
+     */
+    private synchronized void readChanges() {
+        try {
+            Response response = send("GET", "/changes" + (revision < 0 ? "" : "?since=" + revision), null);
+            response.require(200);
+            long latest = response.longField("revision");
+            // The first read only finds the current revision; the terminal loaded its data when it started.
+            if (revision >= 0) {
+                republish(response.body());
+            }
+            revision = latest;
+            if (!reachable) {
+                System.err.println("Reading changes from " + baseUrl + " again");
+                reachable = true;
+            }
+        } catch (SQLException | RuntimeException e) {
+            // Thrown out of the poller, an exception would stop every later read.
+            if (reachable) {
+                System.err.println("Error reading changes from " + baseUrl + ": " + e.getMessage());
+                reachable = false;
+            }
+        }
+    }
+
+    private static void republish(Map<?, ?> body) {
+        ChangeBus bus = ChangeBus.getInstance();
+        if (Boolean.TRUE.equals(body.get("reset"))) {
+            bus.publish(new ChangeEvent.EventsReset());
+            bus.publish(new ChangeEvent.VenuesReset());
+        } else if (body.get("changes") instanceof List<?> changes) {
+            for (Object change : changes) {
+                bus.publish(ChangeFeed.fromJson((Map<?, ?>) change));
+            }
+        }
+    }
+
+    /**
+     * Sends a request and parses its JSON response.
+     *
+     * @param method the HTTP method
+     * @param path   the path after the base URL
+     * @param body   the request body, or {@code null} for none
+     * @return the response
+     * @throws SQLException if the server cannot be reached or its response is not a JSON object
+     */
+    private Response send(String method, String path, Map<String, Object> body) throws SQLException {
+        HttpRequest.BodyPublisher publisher = body == null ? HttpRequest.BodyPublishers.noBody()
+                                                           : HttpRequest.BodyPublishers.ofString(Json.write(body));
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, publisher);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (!(Json.parse(response.body()) instanceof Map<?, ?> json)) {
+                throw new SQLException("Unexpected response from " + baseUrl + path);
+            }
+            return new Response(response.statusCode(), json);
+        } catch (IOException | Json.ParseException e) {
+            // A refused connection has no message, only its type.
+            String reason = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            throw new SQLException("Cannot reach the booking server at " + baseUrl + ": " + reason, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while calling the booking server", e);
+        }
+    }
+
+    /**
+     * A response from the server.
+     *
+     * @param status the HTTP status code
+     * @param body   the JSON body
+     */
+    private record Response(int status, Map<?, ?> body) {
+
+        /**
+         * Fails unless the server answered with the expected status, reporting the server's error message.
+         */
+        void require(int expected) throws SQLException {
+            if (status != expected) {
+                throw new SQLException("The booking server answered " + status + ": " + body.get("error"));
+            }
+        }
+
+        int intField(String name) throws SQLException {
+            return (int) longField(name);
+        }
+
+        long longField(String name) throws SQLException {
+            if (!(body.get(name) instanceof Long value)) {
+                throw new SQLException("The booking server's response has no " + name);
+            }
+            return value;
+        }
+    }
+}
@@ -18,6 +18,10 @@ import java.util.List;
  * backup files. It uses Java object streams to write and read lists of objects.
  * </p>
  * <p>
+ * Backup files are written to the working directory unless the {@code lmvm.backup.dir} system property names
+ * another directory.
+ * </p>
+ * <p>
  * This class is designed as a utility class with only static methods and cannot be instantiated.
  * </p>
  *
@@ -32,6 +36,9 @@ public class BackupHandler {
 	/* The file path for backing up master data */
 	private static final String MASTER_BACKUP_FILE_PATH = "masterBackupData.lmvm";
 
+	/* System property naming the directory that holds the backup files */
+	public static final String BACKUP_DIR_PROPERTY = "lmvm.backup.dir";
+
 	/**
 	 * Private constructor to prevent instantiation.
 	 */
@@ -51,7 +58,7 @@ public class BackupHandler {
 	 * @param venues   the list of {@code Venue} objects to back up
 	 */
 	public static void backupTransactionData(List<Booking> bookings, List<Event> events, List<Venue> venues) {
-		try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(TRANSACTION_FILE_PATH))) {
+		try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(backupFile(TRANSACTION_FILE_PATH)))) {
 			oos.writeObject(bookings);
 			oos.writeObject(events);
 			oos.writeObject(venues);  // Venues with VenueType objects
@@ -68,7 +75,7 @@ public class BackupHandler {
 	 * @throws ClassNotFoundException if the class of a serialized object cannot be found
 	 */
 	public static List<Booking> restoreBookings() throws IOException, ClassNotFoundException {
-		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(TRANSACTION_FILE_PATH))) {
+		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(backupFile(TRANSACTION_FILE_PATH)))) {
 			return (List<Booking>) ois.readObject();
 		}
 	}
@@ -85,7 +92,7 @@ public class BackupHandler {
 	 * @throws ClassNotFoundException if the class of a serialized object cannot be found
 	 */
 	public static List<Event> restoreEvents() throws IOException, ClassNotFoundException {
-		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(TRANSACTION_FILE_PATH))) {
+		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(backupFile(TRANSACTION_FILE_PATH)))) {
 			ois.readObject();  // Skip bookings
 			return (List<Event>) ois.readObject();
 		}
@@ -102,7 +109,7 @@ public class BackupHandler {
 	 * @throws ClassNotFoundException if the class of a serialized object cannot be found
 	 */
 	public static List<Venue> restoreVenues() throws IOException, ClassNotFoundException {
-		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(TRANSACTION_FILE_PATH))) {
+		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(backupFile(TRANSACTION_FILE_PATH)))) {
 			ois.readObject();  // Skip bookings
 			ois.readObject();  // Skip events
 			return (List<Venue>) ois.readObject();
@@ -120,7 +127,7 @@ public class BackupHandler {
 	 * @param clients the list of {@code Client} objects to back up
 	 */
 	public static void backupMasterData(List<User> users, List<Client> clients) {
-		try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(MASTER_BACKUP_FILE_PATH))) {
+		try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(backupFile(MASTER_BACKUP_FILE_PATH)))) {
 			oos.writeObject(users);
 			oos.writeObject(clients);
 		} catch (IOException e) {
@@ -136,7 +143,7 @@ public class BackupHandler {
 	 * @throws ClassNotFoundException if the class of a serialized object cannot be found
 	 */
 	public static List<User> restoreUsers() throws IOException, ClassNotFoundException {
-		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(MASTER_BACKUP_FILE_PATH))) {
+		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(backupFile(MASTER_BACKUP_FILE_PATH)))) {
 			return (List<User>) ois.readObject();
 		}
 	}
@@ -152,9 +159,19 @@ public class BackupHandler {
 	 * @throws ClassNotFoundException if the class of a serialized object cannot be found
 	 */
 	public static List<Client> restoreClients() throws IOException, ClassNotFoundException {
-		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(MASTER_BACKUP_FILE_PATH))) {
+		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(backupFile(MASTER_BACKUP_FILE_PATH)))) {
 			ois.readObject();  // Skip users
 			return (List<Client>) ois.readObject();
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Resolves a backup file name against the configured backup directory.
+	 *
+	 * @param fileName the backup file name
+	 * @return the backup {@code File}
+	 */
+	private static File backupFile(String fileName) {
+		return new File(System.getProperty(BACKUP_DIR_PROPERTY, "."), fileName);
+	}
+}
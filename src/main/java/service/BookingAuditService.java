@@ -0,0 +1,273 @@
+package service;
+
+import dao.BookingDAO;
+import model.BookedSlot;
+import model.BookingConflict;
+import model.BookingStatus;
+import model.ChangeEvent;
+import util.ChangeBus;
+import util.IntHashSet;
+import util.IntIntHashMap;
+import util.IntObjectHashMap;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Audits the confirmed bookings for double-booked venues.
+ * <p>
+ * Bookings made or moved without an atomic availability check can leave two confirmed bookings overlapping at
+ * one venue. The audit finds every such conflict group with a sweep line: the bookings of each venue are sorted
+ * by start and walked once, growing a group while the next booking starts before the group ends. This costs
+ * O(n log n) for n bookings and reads each booking once, with no query per venue or day. Bookings are compared as
+ * real periods, so one running past midnight conflicts with bookings early the next day.
+ * </p>
+ * <p>
+ * The first audit reads every confirmed booking. Later audits re-read only the venues touched since the last
+ * run, as reported on the {@link ChangeBus}, and keep the conflicts found earlier at every other venue.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class BookingAuditService {
+
+    private static BookingAuditService instance;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final IntObjectHashMap<List<BookingConflict>> conflictsByVenue = new IntObjectHashMap<>();
+
+    /** The venue of every booking in a known conflict, so a booking moved away marks its old venue. */
+    private final IntIntHashMap conflictedBookings = new IntIntHashMap(-1);
+
+    private final IntHashSet dirtyVenues = new IntHashSet();
+    private final IntHashSet dirtyEvents = new IntHashSet();
+    private boolean audited;
+
+    /** Held so the bus keeps delivering booking changes for the lifetime of the service. */
+    private final List<ChangeBus.Subscription> subscriptions;
+
+    /**
+     * Private constructor to enforce the Singleton pattern.
+     */
+    private BookingAuditService() {
+        ChangeBus bus = ChangeBus.getInstance();
+        subscriptions = List.of(
+                bus.subscribe(ChangeEvent.BookingCreated.class, change -> {
+                    if (change.status() == BookingStatus.CONFIRMED) markVenue(change.venueId());
+                }),
+                bus.subscribe(ChangeEvent.BookingCancelled.class, change -> {
+                    if (change.wasConfirmed()) markVenue(change.venueId());
+                }),
+                bus.subscribe(ChangeEvent.BookingUpdated.class, change -> markBooking(change.bookingId(), change.venueId())),
+                bus.subscribe(ChangeEvent.EventUpdated.class, change -> markEvent(change.eventId())),
+                bus.subscribe(ChangeEvent.EventsReset.class, change -> reset()),
+                bus.subscribe(ChangeEvent.VenueDeleted.class, change -> markVenue(change.venueId())),
+                bus.subscribe(ChangeEvent.VenuesReset.class, change -> reset()));
+    }
+
+    /**
+     * Returns the singleton instance of the booking audit service.
+     *
+     * @return the single {@code BookingAuditService} instance
+     */
+    public static synchronized BookingAuditService getInstance() {
+        if (instance == null) {
+            instance = new BookingAuditService();
+        }
+        return instance;
+    }
+
+    /**
+     * The outcome of one audit run.
+     *
+     * @param conflicts       every known conflict group, by venue and then start
+     * @param full            {@code true} if every booking was read, {@code false} if only the touched venues were
+     * @param venuesAudited   the number of venues re-read, or -1 for a full audit
+     * @param bookingsScanned the number of confirmed bookings read and swept
+     * @param elapsed         the time the run took, including reading the bookings
+     */
+    public record AuditReport(List<BookingConflict> conflicts, boolean full, int venuesAudited, int bookingsScanned,
+                              Duration elapsed) {}
+
+    /**
+     * Audits every confirmed booking, replacing all conflicts found earlier.
+     *
+     * @return the audit report
+     */
+    public synchronized AuditReport auditAll() {
+        long start = System.nanoTime();
+        dirtyVenues.clear();
+        dirtyEvents.clear();
+        List<BookedSlot> slots = BookingDAO.getConfirmedSlots();
+        conflictsByVenue.clear();
+        conflictedBookings.clear();
+        findConflicts(slots).forEach(this::record);
+        audited = true;
+        return new AuditReport(getConflicts(), true, -1, slots.size(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Audits the venues touched since the last audit, or every booking if there has been no audit yet.
+     *
+     * @return the audit report, listing the conflicts at every venue
+     */
+    public synchronized AuditReport audit() {
+        if (!audited) {
+            return auditAll();
+        }
+        long start = System.nanoTime();
+        Set<Integer> venueIds = new TreeSet<>();
+        dirtyVenues.forEach(venueIds::add);
+        if (!dirtyEvents.isEmpty()) {
+            venueIds.addAll(BookingDAO.getVenuesBookedForEvents(Arrays.stream(dirtyEvents.toArray()).boxed().toList()));
+        }
+        dirtyVenues.clear();
+        dirtyEvents.clear();
+
+        List<BookedSlot> slots = venueIds.isEmpty() ? List.of() : BookingDAO.getConfirmedSlotsAtVenues(List.copyOf(venueIds));
+        for (int venueId : venueIds) {
+            List<BookingConflict> stale = conflictsByVenue.remove(venueId);
+            if (stale != null) {
+                stale.forEach(conflict -> conflict.bookingIds().forEach(conflictedBookings::remove));
+            }
+        }
+        findConflicts(slots).forEach(this::record);
+        return new AuditReport(getConflicts(), false, venueIds.size(), slots.size(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Returns the conflicts found by the audits so far, without reading the database.
+     *
+     * @return every known conflict group, by venue and then start
+     */
+    public synchronized List<BookingConflict> getConflicts() {
+        List<BookingConflict> conflicts = new ArrayList<>();
+        conflictsByVenue.forEach((venueId, venueConflicts) -> conflicts.addAll(venueConflicts));
+        conflicts.sort(Comparator.comparingInt(BookingConflict::venueId).thenComparing(BookingConflict::start));
+        return conflicts;
+    }
+
+    /**
+     * Finds every group of overlapping bookings at each venue with a sweep line.
+     *
+     * @param slots the confirmed bookings to check, in any order
+     * @return the conflict groups, by venue and then start
+     */
+    public static List<BookingConflict> findConflicts(List<BookedSlot> slots) {
+        int n = slots.size();
+        List<BookingConflict> conflicts = new ArrayList<>();
+        if (n < 2) {
+            return conflicts;
+        }
+        long baseDay = Long.MAX_VALUE;
+        for (BookedSlot slot : slots) {
+            baseDay = Math.min(baseDay, slot.date().toEpochDay());
+        }
+
+        // Bucket the bookings by venue, counting each venue's bookings to lay the buckets out in one array.
+        IntIntHashMap venueIndex = new IntIntHashMap(-1);
+        int[] venueOf = new int[n];
+        int[] bucketFrom = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            int venueId = slots.get(i).venueId();
+            int v = venueIndex.get(venueId);
+            if (v < 0) {
+                v = venueIndex.size();
+                venueIndex.put(venueId, v);
+            }
+            venueOf[i] = v;
+            bucketFrom[v + 1]++;
+        }
+        int venues = venueIndex.size();
+        for (int v = 0; v < venues; v++) {
+            bucketFrom[v + 1] += bucketFrom[v];
+        }
+
+        // Each key is a booking's start minute, counted from the earliest day, above its index in the list, so
+        // sorting a bucket's keys sorts its bookings by start.
+        long[] keys = new long[n];
+        int[] ends = new int[n];
+        int[] next = Arrays.copyOf(bucketFrom, venues);
+        for (int i = 0; i < n; i++) {
+            BookedSlot slot = slots.get(i);
+            int startMinute = (int) (slot.date().toEpochDay() - baseDay) * MINUTES_PER_DAY + slot.start().toSecondOfDay() / 60;
+            ends[i] = startMinute + slot.duration() * 60;
+            keys[next[venueOf[i]]++] = (long) startMinute << 32 | i;
+        }
+
+        LocalDateTime base = LocalDate.ofEpochDay(baseDay).atStartOfDay();
+        for (int v = 0; v < venues; v++) {
+            int from = bucketFrom[v];
+            int to = bucketFrom[v + 1];
+            Arrays.sort(keys, from, to);
+            int groupFrom = from;
+            int groupEnd = ends[(int) keys[from]];
+            for (int k = from + 1; k <= to; k++) {
+                if (k < to && (int) (keys[k] >>> 32) < groupEnd) {
+                    groupEnd = Math.max(groupEnd, ends[(int) keys[k]]);
+                    continue;
+                }
+                if (k - groupFrom > 1) {
+                    conflicts.add(toConflict(slots, keys, groupFrom, k, groupEnd, base));
+                }
+                if (k < to) {
+                    groupFrom = k;
+                    groupEnd = ends[(int) keys[k]];
+                }
+            }
+        }
+        conflicts.sort(Comparator.comparingInt(BookingConflict::venueId).thenComparing(BookingConflict::start));
+        return conflicts;
+    }
+
+    private static BookingConflict toConflict(List<BookedSlot> slots, long[] keys, int from, int to, int endMinute,
+                                              LocalDateTime base) {
+        List<Integer> bookingIds = new ArrayList<>(to - from);
+        List<Integer> eventIds = new ArrayList<>(to - from);
+        for (int k = from; k < to; k++) {
+            BookedSlot slot = slots.get((int) keys[k]);
+            bookingIds.add(slot.bookingId());
+            eventIds.add(slot.eventId());
+        }
+        BookedSlot first = slots.get((int) keys[from]);
+        return new BookingConflict(first.venueId(), base.plusMinutes(keys[from] >>> 32), base.plusMinutes(endMinute),
+                List.copyOf(bookingIds), List.copyOf(eventIds));
+    }
+
+    private void record(BookingConflict conflict) {
+        conflictsByVenue.computeIfAbsent(conflict.venueId(), id -> new ArrayList<>()).add(conflict);
+        conflict.bookingIds().forEach(bookingId -> conflictedBookings.put(bookingId, conflict.venueId()));
+    }
+
+    private synchronized void markVenue(int venueId) {
+        dirtyVenues.add(venueId);
+    }
+
+    /**
+     * Marks a booking's venue, and the venue it was at if it was in a conflict there, for the next audit.
+     */
+    private synchronized void markBooking(int bookingId, int venueId) {
+        dirtyVenues.add(venueId);
+        int previousVenueId = conflictedBookings.get(bookingId);
+        if (previousVenueId >= 0) {
+            dirtyVenues.add(previousVenueId);
+        }
+    }
+
+    private synchronized void markEvent(int eventId) {
+        dirtyEvents.add(eventId);
+    }
+
+    private synchronized void reset() {
+        audited = false;
+    }
+}
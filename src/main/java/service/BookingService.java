@@ -1,14 +1,19 @@
 package service;
 
 import dao.BookingDAO;
+import model.BookingHold;
+import model.BookingOutcome;
+import model.BookingRequest;
 import model.Event;
 import model.Venue;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * The {@code BookingService} class provides methods for handling booking operations
@@ -20,11 +25,17 @@ import java.util.Map;
  * while session details (such as the current user) are obtained via the {@link service.SessionManager}.
  * </p>
  * <p>
+ * On a terminal that shares its database through the front-desk API (see {@link ApiClient#isConfigured()}),
+ * single bookings, cancellations and holds are sent to the server instead.
+ * </p>
+ * <p>
  * <strong>Key Methods:</strong>
  * <ul>
  *   <li>{@link #bookVenue(Event, Venue)} - Books a single venue for a given event.</li>
- *   <li>{@link #bulkBookRecommendations(List)} - Performs bulk booking for a list of recommended matches,
- *       returning a mapping of each event to the success status of its booking.</li>
+ *   <li>{@link #cancelBooking(int)} - Cancels a booking.</li>
+ *   <li>{@link #holdVenue(Event, Venue)} - Holds a venue for a given event while the booking is decided.</li>
+ *   <li>{@link #bulkBookRecommendations(List)} - Performs bulk booking for a list of recommended matches in one
+ *       transaction, returning the outcome for each event.</li>
  * </ul>
  * </p>
  *
@@ -35,16 +46,23 @@ public class BookingService {
 
     /**
      * Books a single venue for an event.
+     * <p>
+     * Availability is checked again when the booking is inserted, so the booking fails if another user has
+     * booked the venue slot or the event since it was last checked.
+     * </p>
      *
      * @param event the event for which to book the venue
      * @param venue the venue to book
-     * @return true if booking is successful; false otherwise
+     * @return true if booking is successful; false if the venue slot or event is already booked
      * @throws SQLException if there is a database error during booking
      */
     public static boolean bookVenue(Event event, Venue venue) throws SQLException {
         LocalDate bookingDate = LocalDate.now();
         String bookingStatus = "CONFIRMED";
-        String bookedBy = SessionManager.getInstance().getCurrentUser().getUsername();
+        String bookedBy = SessionManager.getCurrentUser().getUsername();
+        if (ApiClient.isConfigured()) {
+            return ApiClient.getInstance().book(event.getEventId(), venue.getVenueId(), bookedBy) > 0;
+        }
 
         // Delegate booking to the DAO.
         return BookingDAO.bookVenue(
@@ -57,27 +75,127 @@ public class BookingService {
         );
     }
 
+    /**
+     * Cancels a booking.
+     *
+     * @param bookingId the ID of the booking
+     * @return true if the booking is cancelled; false if it does not exist
+     * @throws SQLException if there is a database error during the cancellation
+     */
+    public static boolean cancelBooking(int bookingId) throws SQLException {
+        if (ApiClient.isConfigured()) {
+            return ApiClient.getInstance().cancelBooking(bookingId);
+        }
+        return BookingDAO.cancelBooking(bookingId);
+    }
+
+    /**
+     * Holds a venue for an event for {@link HoldService#DEFAULT_TTL}, so no other user can book the slot while the
+     * booking is decided. The hold is then confirmed with {@link #confirmHold(int)} or given up with
+     * {@link #releaseHold(int)}.
+     *
+     * @param event the event for which to hold the venue
+     * @param venue the venue to hold
+     * @return the hold, or an empty {@code Optional} if the venue slot or event is already booked or held
+     * @throws SQLException if there is a database error while placing the hold
+     */
+    public static Optional<BookingHold> holdVenue(Event event, Venue venue) throws SQLException {
+        String bookedBy = SessionManager.getCurrentUser().getUsername();
+        if (ApiClient.isConfigured()) {
+            return ApiClient.getInstance().placeHold(event.getEventId(), venue.getVenueId(), bookedBy);
+        }
+        return HoldService.getInstance().placeHold(event.getEventId(), venue.getVenueId(), event.getClientId(), bookedBy);
+    }
+
+    /**
+     * Confirms a held booking.
+     *
+     * @param bookingId the ID of the held booking
+     * @return true if the booking is confirmed; false if it is not held or its hold has expired
+     * @throws SQLException if there is a database error while confirming the booking
+     */
+    public static boolean confirmHold(int bookingId) throws SQLException {
+        if (ApiClient.isConfigured()) {
+            return ApiClient.getInstance().confirmHold(bookingId);
+        }
+        return HoldService.getInstance().confirm(bookingId);
+    }
+
+    /**
+     * Gives up a hold before it expires, cancelling the held booking.
+     *
+     * @param bookingId the ID of the held booking
+     * @return true if the booking is cancelled
+     * @throws SQLException if there is a database error while releasing the hold
+     */
+    public static boolean releaseHold(int bookingId) throws SQLException {
+        if (ApiClient.isConfigured()) {
+            return ApiClient.getInstance().releaseHold(bookingId);
+        }
+        return HoldService.getInstance().release(bookingId);
+    }
+
     /**
      * Performs bulk booking for a list of recommended matches.
+     * <p>
+     * All recommendations with a candidate venue are booked together in one transaction by
+     * {@link BookingDAO#bookVenues(LocalDate, String, List)}, which checks each slot against the database and
+     * against the other recommendations. When the terminal books through the API, each recommendation is booked
+     * through the server in turn instead, so the bookings reach the other terminals. Events without a candidate
+     * venue are reported as failed.
+     * </p>
      *
      * @param recommendations a list of recommendations (with candidate venues)
-     * @return a map with each event and a boolean indicating if the booking was successful
+     * @return the outcome for each recommendation, in the same order as {@code recommendations}
      */
-    public static Map<Event, Boolean> bulkBookRecommendations(List<VenueMatchingService.AutoMatchResult> recommendations) {
-        Map<Event, Boolean> bookingResults = new HashMap<>();
-        for (VenueMatchingService.AutoMatchResult result : recommendations) {
-            if (result.candidate != null) {
+    public static List<BulkBookingResult> bulkBookRecommendations(List<VenueMatchingService.AutoMatchResult> recommendations) {
+        List<VenueMatchingService.AutoMatchResult> matched = recommendations.stream()
+                .filter(result -> result.candidate != null)
+                .toList();
+        List<BookingRequest> requests = matched.stream()
+                .map(result -> new BookingRequest(result.event.getEventId(), result.candidate.venue.getVenueId(),
+                        result.event.getClientId()))
+                .toList();
+
+        Map<VenueMatchingService.AutoMatchResult, BookingOutcome> outcomes = new IdentityHashMap<>();
+        String bookedBy = SessionManager.getCurrentUser().getUsername();
+        if (ApiClient.isConfigured()) {
+            // Book each recommendation through the server; an error fails only that one.
+            for (VenueMatchingService.AutoMatchResult result : matched) {
                 try {
-                    boolean success = bookVenue(result.event, result.candidate.venue);
-                    bookingResults.put(result.event, success);
+                    boolean booked = ApiClient.getInstance().book(result.event.getEventId(),
+                            result.candidate.venue.getVenueId(), bookedBy) > 0;
+                    outcomes.put(result, booked ? BookingOutcome.BOOKED : BookingOutcome.CONFLICT);
                 } catch (SQLException ex) {
-                    ex.printStackTrace();
-                    bookingResults.put(result.event, false);
+                    System.err.println("Error booking event " + result.event.getEventId() + ": " + ex.getMessage());
                 }
-            } else {
-                bookingResults.put(result.event, false);
             }
+        } else {
+            // Book every matched recommendation at once; a database error fails them all.
+            try {
+                List<BookingOutcome> booked = BookingDAO.bookVenues(LocalDate.now(), bookedBy, requests);
+                for (int i = 0; i < matched.size(); i++) {
+                    outcomes.put(matched.get(i), booked.get(i));
+                }
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+            }
+        }
+
+        List<BulkBookingResult> results = new ArrayList<>(recommendations.size());
+        for (VenueMatchingService.AutoMatchResult result : recommendations) {
+            Venue venue = result.candidate != null ? result.candidate.venue : null;
+            results.add(new BulkBookingResult(result.event, venue, outcomes.getOrDefault(result, BookingOutcome.FAILED)));
         }
-        return bookingResults;
+        return results;
     }
+
+    /**
+     * The outcome of booking one recommendation in a bulk booking.
+     *
+     * @param event   the event
+     * @param venue   the recommended venue, or {@code null} if there was no suitable venue
+     * @param outcome whether the event was booked, conflicted with another booking, or failed
+     */
+    public record BulkBookingResult(Event event, Venue venue, BookingOutcome outcome) {}
 }
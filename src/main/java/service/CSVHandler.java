@@ -37,10 +37,9 @@ public class CSVHandler {
 	 *
 	 * @param filePath the path to the CSV file containing venue data
 	 * @return a {@code List<Venue>} representing the venues imported from the CSV file
-	 * @throws FileNotFoundException if the CSV file cannot be found
-	 * @throws SQLException          if a database access error occurs during processing
+	 * @throws SQLException if a database access error occurs during processing
 	 */// Imports a list of venues from the CSV file
-	public static List<Venue> importVenueDataCSV(String filePath) throws FileNotFoundException, SQLException {
+	public static List<Venue> importVenueDataCSV(String filePath) throws SQLException {
 		List<Venue> venues = new ArrayList<>();
 		try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
 			String line;
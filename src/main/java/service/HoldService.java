@@ -0,0 +1,225 @@
+package service;
+
+import dao.BookingDAO;
+import model.BookingHold;
+import model.ChangeEvent;
+import util.ChangeBus;
+import util.IntObjectHashMap;
+import util.TimingWheel;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Places short-lived holds on venue time slots, and cancels each hold when its time runs out.
+ * <p>
+ * A hold is a PENDING booking with an expiry time. Until then it occupies its slot in every availability check,
+ * so a client can be offered a slot without another user booking it in the meantime, and it is confirmed with
+ * {@link #confirm(int)} or given up with {@link #release(int)}. Holds are stored in the <em>booking_holds</em>
+ * table, and the availability checks compare their expiry with the current time, so a hold stops counting the
+ * moment it expires.
+ * </p>
+ * <p>
+ * Expired holds are then cancelled by a {@link TimingWheel}, ticked once a second on a background thread: each
+ * tick visits only the holds due in that second, with no scan of the holds or bookings tables. When the service
+ * starts, holds left from an earlier run that have already expired are cancelled, and the rest are loaded into the
+ * wheel. A hold whose cancellation fails, for example because the database stays locked, is tried again on the next
+ * tick.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class HoldService {
+
+    private static HoldService instance;
+
+    /** How long a hold lasts unless a different time is given. */
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(15);
+
+    private static final long TICK_MILLIS = 1000;
+
+    /** Covers about eight and a half minutes per turn of the wheel at one tick a second. */
+    private static final int WHEEL_SIZE = 512;
+
+    private final TimingWheel<Integer> wheel = new TimingWheel<>(TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+
+    /** The wheel entry of each active hold, by booking ID. */
+    private final IntObjectHashMap<TimingWheel.Timeout<Integer>> timeouts = new IntObjectHashMap<>();
+
+    private final ScheduledExecutorService ticker;
+
+    /** Held so the bus keeps delivering booking changes for the lifetime of the service. */
+    private final List<ChangeBus.Subscription> subscriptions;
+
+    /**
+     * Private constructor to enforce the Singleton pattern.
+     */
+    private HoldService() {
+        subscriptions = List.of(
+                ChangeBus.getInstance().subscribe(ChangeEvent.BookingCancelled.class, change -> forget(change.bookingId())));
+
+        expireOverdue();
+
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::expireDue, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the singleton instance of the hold service.
+     *
+     * @return the single {@code HoldService} instance
+     */
+    public static synchronized HoldService getInstance() {
+        if (instance == null) {
+            instance = new HoldService();
+        }
+        return instance;
+    }
+
+    /**
+     * Places a hold on a venue for an event, lasting {@link #DEFAULT_TTL}.
+     *
+     * @param eventId  the ID of the event
+     * @param venueId  the ID of the venue
+     * @param clientId the ID of the client
+     * @param bookedBy the username of the person placing the hold
+     * @return the hold, or an empty {@code Optional} if the event or venue slot is already booked or held
+     * @throws SQLException if a database access error occurs
+     */
+    public Optional<BookingHold> placeHold(int eventId, int venueId, int clientId, String bookedBy) throws SQLException {
+        return placeHold(eventId, venueId, clientId, bookedBy, DEFAULT_TTL);
+    }
+
+    /**
+     * Places a hold on a venue for an event.
+     *
+     * @param eventId  the ID of the event
+     * @param venueId  the ID of the venue
+     * @param clientId the ID of the client
+     * @param bookedBy the username of the person placing the hold
+     * @param ttl      how long the hold lasts; whole seconds are kept
+     * @return the hold, or an empty {@code Optional} if the event or venue slot is already booked or held
+     * @throws SQLException if a database access error occurs
+     */
+    public Optional<BookingHold> placeHold(int eventId, int venueId, int clientId, String bookedBy, Duration ttl)
+            throws SQLException {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("A hold must last for a positive time");
+        }
+        Instant expiresAt = Instant.ofEpochSecond(Instant.now().plus(ttl).getEpochSecond());
+        int bookingId = BookingDAO.placeHold(LocalDate.now(), eventId, venueId, clientId, bookedBy, expiresAt);
+        if (bookingId <= 0) {
+            return Optional.empty();
+        }
+        track(bookingId, expiresAt);
+        return Optional.of(new BookingHold(bookingId, expiresAt));
+    }
+
+    /**
+     * Confirms a held booking.
+     *
+     * @param bookingId the ID of the held booking
+     * @return {@code true} if the booking was confirmed, {@code false} if it is not held or its hold has expired
+     * @throws SQLException if a database access error occurs
+     */
+    public boolean confirm(int bookingId) throws SQLException {
+        boolean confirmed = BookingDAO.confirmHold(bookingId);
+        if (confirmed) {
+            forget(bookingId);
+        }
+        return confirmed;
+    }
+
+    /**
+     * Gives up a hold before it expires, cancelling the held booking.
+     *
+     * @param bookingId the ID of the held booking
+     * @return {@code true} if the booking was cancelled
+     * @throws SQLException if a database access error occurs
+     */
+    public boolean release(int bookingId) throws SQLException {
+        return BookingDAO.releaseHold(bookingId);
+    }
+
+    /**
+     * Returns the number of holds waiting to expire.
+     *
+     * @return the number of active holds
+     */
+    public int getActiveHoldCount() {
+        return wheel.size();
+    }
+
+    /**
+     * Cancels the holds that expired while the service was not running, and tracks the rest.
+     */
+    private void expireOverdue() {
+        Instant now = Instant.now();
+        for (BookingHold hold : BookingDAO.getHolds()) {
+            if (hold.expiresAt().isAfter(now) || !expire(hold.bookingId())) {
+                track(hold.bookingId(), hold.expiresAt());
+            }
+        }
+    }
+
+    /**
+     * Cancels the holds that have expired since the last tick. A hold that cannot be cancelled stays tracked and
+     * is tried again on the next tick.
+     */
+    void expireDue() {
+        long now = System.currentTimeMillis();
+        for (int bookingId : wheel.advance(now)) {
+            if (expire(bookingId)) {
+                synchronized (this) {
+                    timeouts.remove(bookingId);
+                }
+            } else {
+                track(bookingId, Instant.ofEpochMilli(now + TICK_MILLIS));
+            }
+        }
+    }
+
+    /**
+     * Cancels an expired hold.
+     *
+     * @param bookingId the ID of the held booking
+     * @return {@code true} if the hold is gone, whether cancelled now or already confirmed or cancelled;
+     *         {@code false} if the cancellation failed
+     */
+    private boolean expire(int bookingId) {
+        try {
+            BookingDAO.expireHold(bookingId);
+            return true;
+        } catch (SQLException | RuntimeException e) {
+            // Thrown out of the ticker, an exception would stop every later tick.
+            System.err.println("Error expiring hold on booking " + bookingId + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private synchronized void track(int bookingId, Instant expiresAt) {
+        TimingWheel.Timeout<Integer> previous = timeouts.put(bookingId, wheel.schedule(bookingId, expiresAt.toEpochMilli()));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private synchronized void forget(int bookingId) {
+        TimingWheel.Timeout<Integer> timeout = timeouts.remove(bookingId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+}
@@ -10,8 +10,8 @@ import model.VenueType;
 import util.AlertUtils;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,7 +21,8 @@ import java.util.stream.Collectors;
  * The {@code ManagementService} class implements the Singleton pattern and provides methods to import
  * venues and events from CSV files. It uses helper classes like {@link CSVHandler} to parse CSV files,
  * and DAO classes to save data to the database. The service also uses a {@code FileChooser} to let users
- * select CSV files for import.
+ * select CSV files for import; {@link #importVenues(String)} and {@link #importEvents(String)} import a given
+ * file without any user interface, for {@link app.BatchMain}.
  * </p>
  *
  * @author  Bodene Downie
@@ -51,13 +52,21 @@ public class ManagementService {
         return instance;
     }
 
+    /**
+     * The outcome of importing one CSV file.
+     *
+     * @param rows     the number of records read from the file; malformed rows are skipped and not counted
+     * @param imported the number of records saved to the database
+     * @param failed   the names of the records that could not be saved
+     */
+    public record ImportResult(int rows, int imported, List<String> failed) {}
+
     /**
      * Imports venues from a CSV file.
      * <p>
-     * This method opens a file chooser for the user to select a CSV file containing venue data.
-     * It then uses the {@link CSVHandler#importVenueDataCSV(String)} method to parse the file into a list of
-     * {@code Venue} objects. Each venue is then saved into the database via {@link dao.VenueDAO#addVenue(Venue, List)}.
-     * Appropriate alerts are displayed to inform the user of success, warnings, or errors.
+     * This method opens a file chooser for the user to select a CSV file containing venue data, and imports it
+     * with {@link #importVenues(String)}. Appropriate alerts are displayed to inform the user of success,
+     * warnings, or errors.
      * </p>
      */
     public void importVenuesCSV() {
@@ -65,26 +74,18 @@ public class ManagementService {
         File selectedFile = selectCSVFile("Choose Venues CSV File to Import");
         if (selectedFile != null) {
             try {
-                // Parse CSV file into a list of Venue objects.
-                List<Venue> venues = CSVHandler.importVenueDataCSV(selectedFile.getAbsolutePath());
-
-                if (!venues.isEmpty()) {
-                    // For each venue, attempt to add it to the database.
-                    for (Venue venue : venues) {
-                        boolean success = VenueDAO.addVenue(venue,
-                                venue.getVenueTypes().stream()
-                                    .map(VenueType::getVenueType)
-                                    .collect(Collectors.toList()));
-                        if (!success) {
-                            AlertUtils.showAlert("Error", "Failed to add venue: " + venue.getName(), Alert.AlertType.ERROR);
-                        }
+                ImportResult result = importVenues(selectedFile.getAbsolutePath());
+
+                if (result.rows() > 0) {
+                    for (String venueName : result.failed()) {
+                        AlertUtils.showAlert("Error", "Failed to add venue: " + venueName, Alert.AlertType.ERROR);
                     }
                     AlertUtils.showAlert("Success", "Venues imported successfully!", Alert.AlertType.INFORMATION);
                 } else {
                     AlertUtils.showAlert("Warning", "No venues found in the CSV file.", Alert.AlertType.WARNING);
                 }
 
-            } catch (SQLException | FileNotFoundException e) {
+            } catch (SQLException e) {
                 e.printStackTrace();
                 AlertUtils.showAlert("Error", "Failed to import venues: " + e.getMessage(), Alert.AlertType.ERROR);
             }
@@ -96,10 +97,8 @@ public class ManagementService {
     /**
      * Imports events from a CSV file.
      * <p>
-     * This method opens a file chooser for the user to select a CSV file containing event data.
-     * It then uses the {@link CSVHandler#importEventDataCSV(String)} method to parse the file into a list of
-     * {@code Event} objects. The events are saved to the database via {@link dao.EventDAO#saveEvents(List)}.
-     * Appropriate alerts are displayed to notify the user of the outcome.
+     * This method opens a file chooser for the user to select a CSV file containing event data, and imports it
+     * with {@link #importEvents(String)}. Appropriate alerts are displayed to notify the user of the outcome.
      * </p>
      */
     public void importEventsCSV() {
@@ -107,12 +106,9 @@ public class ManagementService {
         File selectedFile = selectCSVFile("Choose Events CSV File to Import");
         if (selectedFile != null) {
             try {
-                // Parse CSV file into a list of Event objects.
-                List<Event> events = CSVHandler.importEventDataCSV(selectedFile.getAbsolutePath());
+                ImportResult result = importEvents(selectedFile.getAbsolutePath());
 
-                if (!events.isEmpty()) {
-                    // Save the list of events to the database.
-                    EventDAO.saveEvents(events);
+                if (result.rows() > 0) {
                     AlertUtils.showAlert("Success", "Events imported successfully!", Alert.AlertType.INFORMATION);
                 } else {
                     AlertUtils.showAlert("Warning", "No events found in the CSV file.", Alert.AlertType.WARNING);
@@ -127,6 +123,56 @@ public class ManagementService {
         }
     }
 
+    /**
+     * Imports venues from a CSV file without any user interface.
+     * <p>
+     * The file is parsed with {@link CSVHandler#importVenueDataCSV(String)}, and each venue is then saved into
+     * the database via {@link dao.VenueDAO#addVenue(Venue, List)}.
+     * </p>
+     *
+     * @param filePath the path of the CSV file
+     * @return the number of venues read and saved, and the names of those that could not be saved
+     * @throws SQLException if a database access error occurs
+     */
+    public ImportResult importVenues(String filePath) throws SQLException {
+        // Parse CSV file into a list of Venue objects.
+        List<Venue> venues = CSVHandler.importVenueDataCSV(filePath);
+
+        // For each venue, attempt to add it to the database.
+        List<String> failed = new ArrayList<>();
+        for (Venue venue : venues) {
+            boolean success = VenueDAO.addVenue(venue,
+                    venue.getVenueTypes().stream()
+                        .map(VenueType::getVenueType)
+                        .collect(Collectors.toList()));
+            if (!success) {
+                failed.add(venue.getName());
+            }
+        }
+        return new ImportResult(venues.size(), venues.size() - failed.size(), List.copyOf(failed));
+    }
+
+    /**
+     * Imports events from a CSV file without any user interface.
+     * <p>
+     * The file is parsed with {@link CSVHandler#importEventDataCSV(String)}, and the events are saved to the
+     * database via {@link dao.EventDAO#saveEvents(List)}. Events that cannot be saved are reported on the error
+     * stream and skipped, so only their number is known.
+     * </p>
+     *
+     * @param filePath the path of the CSV file
+     * @return the number of events read and saved
+     * @throws SQLException if a database access error occurs
+     */
+    public ImportResult importEvents(String filePath) throws SQLException {
+        // Parse CSV file into a list of Event objects.
+        List<Event> events = CSVHandler.importEventDataCSV(filePath);
+
+        // Save the list of events to the database.
+        int saved = events.isEmpty() ? 0 : EventDAO.saveEvents(events);
+        return new ImportResult(events.size(), saved, List.of());
+    }
+
     /**
      * Opens a file chooser dialog to allow the user to select a CSV file.
      * <p>
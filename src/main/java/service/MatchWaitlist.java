@@ -0,0 +1,326 @@
+package service;
+
+import dao.EventDAO;
+import model.BookingStatus;
+import model.ChangeEvent;
+import model.Event;
+import model.Venue;
+import util.ChangeBus;
+import util.IntObjectHashMap;
+import util.TimeSlots;
+
+import java.lang.ref.WeakReference;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Holds the events an auto-match found no venue for, and re-matches them when a cancellation frees a venue.
+ * <p>
+ * Waiting events are indexed by date, and within a date sorted by required capacity. When a confirmed booking
+ * is cancelled, only the waiting events that overlap the freed period and fit in the freed venue are re-scored,
+ * against that venue alone: nothing else changed for any other event or venue, so there is no need to rerun a
+ * full auto-match. Several waiting events may fit the freed venue but overlap each other, and only one
+ * of those can be booked there, so the matches are chosen greedily, best score first, skipping any event that
+ * would clash with a match already chosen. Overlaps follow {@link TimeSlots}, as in the availability check, so
+ * back-to-back events do not clash. The matches are passed to the listeners.
+ * </p>
+ * <p>
+ * The re-match queries the database, so it runs on a background thread rather than the thread that cancelled
+ * the booking, and the waitlist is only locked while its events are read.
+ * </p>
+ * <p>
+ * A match is only a suggestion, so its event stays on the waitlist. Events leave the waitlist when they are
+ * booked, and are re-indexed when their date or time changes.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class MatchWaitlist {
+
+    private static MatchWaitlist instance;
+
+    private static final Comparator<Event> BY_CAPACITY = Comparator.comparingInt(Event::getRequiredCapacity);
+
+    /** The order matches are chosen in: highest score, then least spare capacity, then earliest start. */
+    private static final Comparator<VenueMatchingService.AutoMatchResult> BEST_FIRST = Comparator
+            .comparingInt((VenueMatchingService.AutoMatchResult match) -> -match.candidate.score)
+            .thenComparingInt(match -> match.candidate.capacityDiff)
+            .thenComparingLong(match -> startMinute(match.event));
+
+    /** Runs the re-matches, one at a time, off the thread that publishes the cancellations. */
+    private final ExecutorService rematcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "waitlist-rematch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** The waiting events of each day, by epoch day, sorted by required capacity. */
+    private final IntObjectHashMap<List<Event>> eventsByDay = new IntObjectHashMap<>();
+    private final IntObjectHashMap<Event> eventsById = new IntObjectHashMap<>();
+
+    private final List<WeakReference<Consumer<List<VenueMatchingService.AutoMatchResult>>>> listeners =
+            new CopyOnWriteArrayList<>();
+
+    /** Held so the bus keeps delivering booking changes for the lifetime of the waitlist. */
+    private final List<ChangeBus.Subscription> subscriptions;
+
+    /**
+     * Private constructor to enforce the Singleton pattern.
+     */
+    private MatchWaitlist() {
+        ChangeBus bus = ChangeBus.getInstance();
+        subscriptions = List.of(
+                bus.subscribe(ChangeEvent.BookingCancelled.class, change -> {
+                    if (change.wasConfirmed()) rematcher.execute(() -> rematchFreedSlot(change.eventId(), change.venueId()));
+                }),
+                bus.subscribe(ChangeEvent.BookingCreated.class, change -> {
+                    if (change.status() == BookingStatus.CONFIRMED) remove(change.eventId());
+                }),
+                bus.subscribe(ChangeEvent.BookingUpdated.class, change -> {
+                    if (change.confirmed()) remove(change.eventId());
+                }),
+                bus.subscribe(ChangeEvent.EventUpdated.class, change -> reindex(change.eventId())),
+                bus.subscribe(ChangeEvent.EventsReset.class, change -> clear()));
+    }
+
+    /**
+     * Returns the singleton instance of the match waitlist.
+     *
+     * @return the single {@code MatchWaitlist} instance
+     */
+    public static synchronized MatchWaitlist getInstance() {
+        if (instance == null) {
+            instance = new MatchWaitlist();
+        }
+        return instance;
+    }
+
+    /**
+     * Adds the events of an auto-match that found no venue to the waitlist.
+     *
+     * @param results the auto-match results; those with a candidate are ignored
+     */
+    public synchronized void addUnmatched(List<VenueMatchingService.AutoMatchResult> results) {
+        for (VenueMatchingService.AutoMatchResult result : results) {
+            if (result.candidate == null) {
+                add(result.event);
+            }
+        }
+    }
+
+    /**
+     * Adds an event to the waitlist, replacing any earlier entry for it.
+     *
+     * @param event the event to wait for a venue
+     */
+    public synchronized void add(Event event) {
+        remove(event.getEventId());
+        List<Event> day = eventsByDay.computeIfAbsent((int) event.getEventDate().toEpochDay(), key -> new ArrayList<>());
+        // After any events needing the same capacity, so a day keeps the order events were added in.
+        day.add(firstAbove(day, event.getRequiredCapacity()), event);
+        eventsById.put(event.getEventId(), event);
+    }
+
+    /**
+     * Removes an event from the waitlist.
+     *
+     * @param eventId the ID of the event
+     * @return {@code true} if the event was waiting
+     */
+    public synchronized boolean remove(int eventId) {
+        Event event = eventsById.remove(eventId);
+        if (event == null) {
+            return false;
+        }
+        int epochDay = (int) event.getEventDate().toEpochDay();
+        List<Event> day = eventsByDay.get(epochDay);
+        day.remove(event);
+        if (day.isEmpty()) {
+            eventsByDay.remove(epochDay);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the waiting events.
+     *
+     * @return the waiting events, by date and then required capacity
+     */
+    public synchronized List<Event> getWaitingEvents() {
+        List<Event> waiting = new ArrayList<>(eventsById.values());
+        waiting.sort(Comparator.comparing(Event::getEventDate).thenComparing(BY_CAPACITY));
+        return waiting;
+    }
+
+    /**
+     * Returns the number of waiting events.
+     *
+     * @return the size of the waitlist
+     */
+    public synchronized int size() {
+        return eventsById.size();
+    }
+
+    /**
+     * Registers a listener for the matches found when a cancellation frees a venue.
+     * <p>
+     * Listeners are called on the waitlist's background thread, and are held weakly, like
+     * {@link ChangeBus} subscriptions: the caller keeps the listener in a field for as long as it wants matches.
+     * </p>
+     *
+     * @param listener the listener, given the new matches of one cancellation
+     */
+    public void addListener(Consumer<List<VenueMatchingService.AutoMatchResult>> listener) {
+        listeners.add(new WeakReference<>(listener));
+    }
+
+    /**
+     * Re-scores the waiting events that overlap a freed booking against the freed venue, and chooses the matches
+     * that can all be booked there.
+     *
+     * @param freedEventId the ID of the event whose booking was cancelled
+     * @param venueId      the ID of the venue the booking held
+     * @return the new matches, best first, no two of which overlap; their events stay on the waitlist
+     */
+    List<VenueMatchingService.AutoMatchResult> rematchFreedSlot(int freedEventId, int venueId) {
+        List<VenueMatchingService.AutoMatchResult> matches = new ArrayList<>();
+        if (size() == 0) {
+            return matches;
+        }
+        Event freed = EventDAO.getEventById(freedEventId);
+        Venue venue = findVenue(venueId);
+        if (freed == null || venue == null) {
+            return matches;
+        }
+        long freedStart = startMinute(freed);
+        long freedEnd = TimeSlots.endMinute(freed.getEventDate(), freed.getEventTime(), freed.getDuration());
+
+        // Waiting events from the day before may run into the freed period, which may itself run past midnight.
+        List<Event> candidates = new ArrayList<>();
+        synchronized (this) {
+            long firstDay = freed.getEventDate().toEpochDay() - 1;
+            long lastDay = Math.floorDiv(freedEnd - 1, TimeSlots.MINUTES_PER_DAY);
+            for (long epochDay = firstDay; epochDay <= lastDay; epochDay++) {
+                List<Event> day = eventsByDay.get((int) epochDay);
+                if (day == null) {
+                    continue;
+                }
+                for (Event event : day.subList(0, firstAbove(day, venue.getCapacity()))) {
+                    if (TimeSlots.overlaps(freedStart, freedEnd, startMinute(event), endMinute(event))) {
+                        candidates.add(event);
+                    }
+                }
+            }
+        }
+
+        List<VenueMatchingService.AutoMatchResult> eligible = new ArrayList<>();
+        for (Event event : candidates) {
+            try {
+                VenueMatchingService.ScoreBreakdown breakdown = VenueMatchingService.scoreBreakdown(venue, event);
+                if (breakdown.available() && breakdown.capacityMet()) {
+                    eligible.add(VenueMatchingService.recommendation(event,
+                            new VenueMatchingService.VenueCandidate(venue, breakdown)));
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+                System.err.println("Error re-matching waiting event " + event.getEventId() + ": " + e.getMessage());
+            }
+        }
+
+        // Each event is free on its own, but only events that do not clash with each other can all be booked.
+        eligible.sort(BEST_FIRST);
+        for (VenueMatchingService.AutoMatchResult match : eligible) {
+            if (matches.stream().noneMatch(chosen -> clash(chosen.event, match.event))) {
+                matches.add(match);
+            }
+        }
+        if (!matches.isEmpty()) {
+            notifyListeners(matches);
+        }
+        return matches;
+    }
+
+    private void reindex(int eventId) {
+        synchronized (this) {
+            if (!eventsById.containsKey(eventId)) {
+                return;
+            }
+        }
+        Event event = EventDAO.getEventById(eventId);
+        synchronized (this) {
+            if (remove(eventId) && event != null) {
+                add(event);
+            }
+        }
+    }
+
+    private synchronized void clear() {
+        eventsByDay.clear();
+        eventsById.clear();
+    }
+
+    private void notifyListeners(List<VenueMatchingService.AutoMatchResult> matches) {
+        List<VenueMatchingService.AutoMatchResult> delivered = List.copyOf(matches);
+        for (WeakReference<Consumer<List<VenueMatchingService.AutoMatchResult>>> reference : listeners) {
+            Consumer<List<VenueMatchingService.AutoMatchResult>> listener = reference.get();
+            if (listener == null) {
+                listeners.remove(reference);
+                continue;
+            }
+            try {
+                listener.accept(delivered);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                System.err.println("Error delivering waitlist matches: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the first event in a day that needs more than a capacity.
+     */
+    private static int firstAbove(List<Event> day, int capacity) {
+        int low = 0;
+        int high = day.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (day.get(mid).getRequiredCapacity() <= capacity) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Checks whether two events clash at one venue, using the availability check's overlap rule.
+     */
+    private static boolean clash(Event first, Event second) {
+        return TimeSlots.overlaps(startMinute(first), endMinute(first), startMinute(second), endMinute(second));
+    }
+
+    private static long startMinute(Event event) {
+        return TimeSlots.startMinute(event.getEventDate(), event.getEventTime());
+    }
+
+    private static long endMinute(Event event) {
+        return TimeSlots.endMinute(event.getEventDate(), event.getEventTime(), event.getDuration());
+    }
+
+    private static Venue findVenue(int venueId) {
+        for (Venue venue : VenueCatalog.getInstance().getVenues()) {
+            if (venue.getVenueId() == venueId) {
+                return venue;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,255 @@
+package service;
+
+import model.BookedSlot;
+import util.IntObjectHashMap;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The occupancy of every venue over a run of days, as bitmaps of quarter-hour slots.
+ * <p>
+ * Each venue with a confirmed booking or unexpired hold in the range has one bitmap, with the
+ * {@link #SLOTS_PER_DAY} slots of each day packed one after the other into {@code long} words. A set bit means
+ * the venue is booked for that quarter hour. A booking covers every quarter hour it overlaps, so one starting or
+ * ending between quarter hours occupies the whole quarter hour. Venues with no bitmap are free for the whole range.
+ * </p>
+ * <p>
+ * Grids are built by {@link OccupancyService} and are immutable, so they may be read from any thread.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public final class OccupancyGrid {
+
+    /** The length of one slot in minutes. */
+    public static final int SLOT_MINUTES = 15;
+
+    /** The number of slots in a day. */
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private final LocalDate firstDate;
+    private final int days;
+    private final int slots;
+    private final IntObjectHashMap<long[]> bitsByVenue = new IntObjectHashMap<>();
+
+    /**
+     * Builds a grid from the bookings that occupy a venue during its days.
+     *
+     * @param firstDate the first day of the grid
+     * @param days      the number of days in the grid
+     * @param bookings  the confirmed bookings and holds; those outside the grid are ignored
+     */
+    OccupancyGrid(LocalDate firstDate, int days, Collection<BookedSlot> bookings) {
+        this.firstDate = firstDate;
+        this.days = days;
+        this.slots = days * SLOTS_PER_DAY;
+
+        for (BookedSlot booking : bookings) {
+            int startMinute = dayIndex(booking.date()) * 24 * 60 + booking.start().toSecondOfDay() / 60;
+            int from = Math.max(Math.floorDiv(startMinute, SLOT_MINUTES), 0);
+            int to = Math.min(ceilDiv(startMinute + booking.duration() * 60, SLOT_MINUTES), slots);
+            if (from < to) {
+                setRange(bitsByVenue.computeIfAbsent(booking.venueId(), id -> new long[(slots + 63) >>> 6]), from, to);
+            }
+        }
+    }
+
+    /**
+     * Returns the first day of the grid.
+     *
+     * @return the first date
+     */
+    public LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    /**
+     * Returns the last day of the grid.
+     *
+     * @return the last date, inclusive
+     */
+    public LocalDate getLastDate() {
+        return firstDate.plusDays(days - 1L);
+    }
+
+    /**
+     * Checks whether a period lies entirely within the grid's days.
+     *
+     * @param date          the date the period starts
+     * @param start         the start time
+     * @param durationHours the length of the period in hours
+     * @return {@code true} if the grid can answer for the whole period
+     */
+    public boolean covers(LocalDate date, LocalTime start, int durationHours) {
+        long startMinute = (date.toEpochDay() - firstDate.toEpochDay()) * 24 * 60 + start.toSecondOfDay() / 60;
+        return startMinute >= 0 && startMinute + durationHours * 60L <= (long) slots * SLOT_MINUTES;
+    }
+
+    /**
+     * Checks whether a venue has no confirmed booking or hold overlapping a period.
+     *
+     * @param venueId       the ID of the venue
+     * @param date          the date the period starts
+     * @param start         the start time
+     * @param durationHours the length of the period in hours
+     * @return {@code true} if every quarter hour the period touches is free
+     * @throws IllegalArgumentException if the period is not within the grid (see {@link #covers})
+     */
+    public boolean isFree(int venueId, LocalDate date, LocalTime start, int durationHours) {
+        int[] range = slotRange(date, start, durationHours);
+        long[] bits = bitsByVenue.get(venueId);
+        return bits == null || range[0] == range[1] || !anySet(bits, range[0], range[1]);
+    }
+
+    /**
+     * Returns the venues that have no confirmed booking overlapping a period.
+     *
+     * @param venueIds      the IDs of the venues to check
+     * @param date          the date the period starts
+     * @param start         the start time
+     * @param durationHours the length of the period in hours
+     * @return the IDs of the free venues, in the order given
+     * @throws IllegalArgumentException if the period is not within the grid (see {@link #covers})
+     */
+    public List<Integer> findFreeVenues(Collection<Integer> venueIds, LocalDate date, LocalTime start, int durationHours) {
+        int[] range = slotRange(date, start, durationHours);
+        List<Integer> free = new ArrayList<>();
+        for (int venueId : venueIds) {
+            long[] bits = bitsByVenue.get(venueId);
+            if (bits == null || range[0] == range[1] || !anySet(bits, range[0], range[1])) {
+                free.add(venueId);
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Returns the booked quarter hours of a venue on one day, for drawing a day in a calendar.
+     *
+     * @param venueId the ID of the venue
+     * @param date    the day, which must be within the grid
+     * @return a bit set with bit {@code i} set if the quarter hour starting {@code i * 15} minutes after midnight is booked
+     * @throws IllegalArgumentException if the day is not within the grid
+     */
+    public BitSet getDaySlots(int venueId, LocalDate date) {
+        int offset = checkedDayIndex(date) * SLOTS_PER_DAY;
+        BitSet daySlots = new BitSet(SLOTS_PER_DAY);
+        long[] bits = bitsByVenue.get(venueId);
+        if (bits != null) {
+            for (int i = 0; i < SLOTS_PER_DAY; i++) {
+                int slot = offset + i;
+                if ((bits[slot >>> 6] & (1L << slot)) != 0) {
+                    daySlots.set(i);
+                }
+            }
+        }
+        return daySlots;
+    }
+
+    /**
+     * Returns how many minutes of one day a venue is booked, for shading a day in a calendar.
+     *
+     * @param venueId the ID of the venue
+     * @param date    the day, which must be within the grid
+     * @return the booked minutes, rounded out to whole quarter hours
+     * @throws IllegalArgumentException if the day is not within the grid
+     */
+    public int getOccupiedMinutes(int venueId, LocalDate date) {
+        int from = checkedDayIndex(date) * SLOTS_PER_DAY;
+        long[] bits = bitsByVenue.get(venueId);
+        return bits == null ? 0 : countSet(bits, from, from + SLOTS_PER_DAY) * SLOT_MINUTES;
+    }
+
+    /**
+     * Returns how many minutes of the whole grid a venue is booked, for measuring its utilisation.
+     *
+     * @param venueId the ID of the venue
+     * @return the booked minutes, rounded out to whole quarter hours
+     */
+    public int getOccupiedMinutes(int venueId) {
+        long[] bits = bitsByVenue.get(venueId);
+        return bits == null ? 0 : countSet(bits, 0, slots) * SLOT_MINUTES;
+    }
+
+    /**
+     * Converts a period to the slots it touches.
+     *
+     * @return the first slot and the slot after the last, as a two-element array
+     */
+    private int[] slotRange(LocalDate date, LocalTime start, int durationHours) {
+        if (!covers(date, start, durationHours)) {
+            throw new IllegalArgumentException("The period is outside the occupancy grid from " + firstDate + " to " + getLastDate());
+        }
+        int startMinute = dayIndex(date) * 24 * 60 + start.toSecondOfDay() / 60;
+        return new int[] {startMinute / SLOT_MINUTES, ceilDiv(startMinute + durationHours * 60, SLOT_MINUTES)};
+    }
+
+    private int dayIndex(LocalDate date) {
+        return (int) (date.toEpochDay() - firstDate.toEpochDay());
+    }
+
+    private int checkedDayIndex(LocalDate date) {
+        int day = dayIndex(date);
+        if (day < 0 || day >= days) {
+            throw new IllegalArgumentException(date + " is outside the occupancy grid from " + firstDate + " to " + getLastDate());
+        }
+        return day;
+    }
+
+    private static int ceilDiv(int dividend, int divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    // The bit helpers take a non-empty range [from, to). Java masks shift distances to six bits, so
+    // -1L << from keeps the bits from 'from' up within its word, and -1L >>> -to keeps those below 'to'.
+
+    private static void setRange(long[] bits, int from, int to) {
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        if (first == last) {
+            bits[first] |= (-1L << from) & (-1L >>> -to);
+            return;
+        }
+        bits[first] |= -1L << from;
+        for (int i = first + 1; i < last; i++) {
+            bits[i] = -1L;
+        }
+        bits[last] |= -1L >>> -to;
+    }
+
+    private static boolean anySet(long[] bits, int from, int to) {
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        if (first == last) {
+            return (bits[first] & (-1L << from) & (-1L >>> -to)) != 0;
+        }
+        if ((bits[first] & (-1L << from)) != 0) {
+            return true;
+        }
+        for (int i = first + 1; i < last; i++) {
+            if (bits[i] != 0) {
+                return true;
+            }
+        }
+        return (bits[last] & (-1L >>> -to)) != 0;
+    }
+
+    private static int countSet(long[] bits, int from, int to) {
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        if (first == last) {
+            return Long.bitCount(bits[first] & (-1L << from) & (-1L >>> -to));
+        }
+        int count = Long.bitCount(bits[first] & (-1L << from));
+        for (int i = first + 1; i < last; i++) {
+            count += Long.bitCount(bits[i]);
+        }
+        return count + Long.bitCount(bits[last] & (-1L >>> -to));
+    }
+}
@@ -0,0 +1,130 @@
+package service;
+
+import dao.BookingDAO;
+import model.ChangeEvent;
+import model.Venue;
+import util.ChangeBus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Provides venue occupancy grids for calendar views and bulk availability checks.
+ * <p>
+ * A grid answers for every venue and day in its range from bitmaps built by one range query over the confirmed
+ * bookings and unexpired holds (see {@link OccupancyGrid}), instead of one {@link BookingDAO#checkAvailability}
+ * query per venue, day and time. The grid of the next {@link #HORIZON_DAYS} days is kept until a booking, hold,
+ * event or venue change on the {@link ChangeBus} or the change of day makes it stale; grids for other ranges are
+ * built on request. A hold stays in the kept grid until {@link HoldService} expires it.
+ * </p>
+ * <p>
+ * Grids treat a booking as occupying its venue from the event's start for its duration, and a period as free
+ * only if no booking overlaps it.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class OccupancyService {
+
+    private static OccupancyService instance;
+
+    /** The number of days, starting today, covered by the kept grid. */
+    public static final int HORIZON_DAYS = 90;
+
+    private OccupancyGrid upcoming;
+
+    /** Held so the bus keeps delivering booking changes for the lifetime of the service. */
+    private final List<ChangeBus.Subscription> subscriptions;
+
+    /**
+     * Private constructor to enforce the Singleton pattern.
+     */
+    private OccupancyService() {
+        ChangeBus bus = ChangeBus.getInstance();
+        subscriptions = List.of(
+                bus.subscribe(ChangeEvent.BookingCreated.class, change -> invalidate()),
+                bus.subscribe(ChangeEvent.BookingCancelled.class, change -> invalidate()),
+                bus.subscribe(ChangeEvent.BookingUpdated.class, change -> invalidate()),
+                bus.subscribe(ChangeEvent.EventUpdated.class, change -> invalidate()),
+                bus.subscribe(ChangeEvent.EventsReset.class, change -> invalidate()),
+                bus.subscribe(ChangeEvent.VenueDeleted.class, change -> invalidate()),
+                bus.subscribe(ChangeEvent.VenuesReset.class, change -> invalidate()));
+    }
+
+    /**
+     * Returns the singleton instance of the occupancy service.
+     *
+     * @return the single {@code OccupancyService} instance
+     */
+    public static synchronized OccupancyService getInstance() {
+        if (instance == null) {
+            instance = new OccupancyService();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the occupancy grid of the next {@link #HORIZON_DAYS} days, starting today.
+     *
+     * @return the current grid, built from the database if it is stale
+     */
+    public synchronized OccupancyGrid getUpcomingGrid() {
+        LocalDate today = LocalDate.now();
+        if (upcoming == null || !upcoming.getFirstDate().equals(today)) {
+            upcoming = buildGrid(today, HORIZON_DAYS);
+        }
+        return upcoming;
+    }
+
+    /**
+     * Builds the occupancy grid of a run of days from the database.
+     * <p>
+     * Bookings from the day before are included, since they may run past midnight into the first day.
+     * </p>
+     *
+     * @param firstDate the first day of the grid
+     * @param days      the number of days in the grid
+     * @return the new grid
+     * @throws IllegalArgumentException if {@code days} is not positive
+     */
+    public OccupancyGrid buildGrid(LocalDate firstDate, int days) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("An occupancy grid must cover at least one day");
+        }
+        LocalDate lastDate = firstDate.plusDays(days - 1L);
+        return new OccupancyGrid(firstDate, days, BookingDAO.getOccupiedSlots(firstDate.minusDays(1), lastDate));
+    }
+
+    /**
+     * Returns the venues that have no confirmed booking or hold overlapping a period.
+     * <p>
+     * Periods within the upcoming grid are answered from it; any other period costs one query for its days.
+     * </p>
+     *
+     * @param venues        the venues to check
+     * @param date          the date the period starts
+     * @param start         the start time
+     * @param durationHours the length of the period in hours
+     * @return the free venues, in the order given
+     */
+    public List<Venue> findFreeVenues(List<Venue> venues, LocalDate date, LocalTime start, int durationHours) {
+        OccupancyGrid grid = getUpcomingGrid();
+        if (!grid.covers(date, start, durationHours)) {
+            long endDay = date.atTime(start).plusHours(durationHours).toLocalDate().toEpochDay();
+            grid = buildGrid(date, (int) (endDay - date.toEpochDay()) + 1);
+        }
+        OccupancyGrid answering = grid;
+        return venues.stream()
+                .filter(venue -> answering.isFree(venue.getVenueId(), date, start, durationHours))
+                .toList();
+    }
+
+    /**
+     * Discards the upcoming grid so it is rebuilt from the database when next requested.
+     */
+    public synchronized void invalidate() {
+        upcoming = null;
+    }
+}
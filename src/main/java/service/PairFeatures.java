@@ -0,0 +1,273 @@
+package service;
+
+import dao.BookingDAO;
+import dao.VenueTypeDAO;
+import model.BookedSlot;
+import model.Event;
+import model.Venue;
+import util.IntObjectHashMap;
+import util.TimeSlots;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The {@link ScoringFeature}s of every pair of a list of events and a list of venues, stored as one primitive
+ * column per feature.
+ * <p>
+ * Pairs are numbered event by event: the pair of event {@code e} and venue {@code v} is
+ * {@code e * venueCount + v}. Extraction reads the database twice, whatever the number of pairs: one range query
+ * over the bookings on the events' dates answers availability, and one {@link OccupancyGrid} over the last
+ * {@link #RECENT_DAYS} days gives each venue's recent utilisation. A venue is available if no confirmed booking
+ * or unexpired hold overlaps the event by {@link TimeSlots#overlaps}, the rule
+ * {@link BookingDAO#checkAvailability} and the booking methods apply, so the availability feature agrees with
+ * whether the venue can be booked.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public final class PairFeatures {
+
+    /** The number of days, up to yesterday, over which recent venue utilisation is measured. */
+    public static final int RECENT_DAYS = 30;
+
+    private final List<Event> events;
+    private final List<Venue> venues;
+    private final double[][] columns;
+    private final int[] capacitySlack;
+
+    private PairFeatures(List<Event> events, List<Venue> venues) {
+        this.events = events;
+        this.venues = venues;
+        int pairs = events.size() * venues.size();
+        this.columns = new double[ScoringFeature.values().length][pairs];
+        this.capacitySlack = new int[pairs];
+    }
+
+    /**
+     * Extracts the features of every pair of the given events and venues.
+     *
+     * @param events the events
+     * @param venues the venues
+     * @return the extracted features
+     */
+    public static PairFeatures extract(List<Event> events, List<Venue> venues) {
+        PairFeatures features = new PairFeatures(List.copyOf(events), List.copyOf(venues));
+        if (features.size() == 0) {
+            return features;
+        }
+        OccupancyService occupancy = OccupancyService.getInstance();
+
+        // Per-venue recent utilisation, from one grid over the last RECENT_DAYS days.
+        LocalDate today = LocalDate.now();
+        OccupancyGrid recent = occupancy.buildGrid(today.minusDays(RECENT_DAYS), RECENT_DAYS);
+        double[] recentUtilisation = new double[venues.size()];
+        for (int v = 0; v < venues.size(); v++) {
+            recentUtilisation[v] = recent.getOccupiedMinutes(venues.get(v).getVenueId()) / (RECENT_DAYS * 24.0 * 60);
+        }
+
+        // Availability, from the bookings on every day an event touches and the day before, as bookings may run
+        // past midnight.
+        LocalDate first = events.get(0).getEventDate();
+        LocalDate last = first;
+        for (Event event : events) {
+            LocalDate end = event.getEventDate().atTime(event.getEventTime()).plusHours(event.getDuration()).toLocalDate();
+            first = event.getEventDate().isBefore(first) ? event.getEventDate() : first;
+            last = end.isAfter(last) ? end : last;
+        }
+        IntObjectHashMap<List<BookedSlot>> slotsByVenue = new IntObjectHashMap<>();
+        for (BookedSlot slot : BookingDAO.getOccupiedSlots(first.minusDays(1), last)) {
+            slotsByVenue.computeIfAbsent(slot.venueId(), id -> new ArrayList<>()).add(slot);
+        }
+        BusyTimes[] busy = new BusyTimes[venues.size()];
+        for (int v = 0; v < venues.size(); v++) {
+            busy[v] = new BusyTimes(slotsByVenue.getOrDefault(venues.get(v).getVenueId(), List.of()));
+        }
+
+        int pair = 0;
+        for (Event event : events) {
+            int required = event.getRequiredCapacity();
+            long start = TimeSlots.startMinute(event.getEventDate(), event.getEventTime());
+            long end = TimeSlots.endMinute(event.getEventDate(), event.getEventTime(), event.getDuration());
+            for (int v = 0; v < venues.size(); v++, pair++) {
+                Venue venue = venues.get(v);
+                int capacity = venue.getCapacity();
+                features.capacitySlack[pair] = capacity - required;
+                features.set(ScoringFeature.AVAILABILITY, pair, !busy[v].overlaps(start, end));
+                features.set(ScoringFeature.CAPACITY, pair, capacity >= required);
+                features.set(ScoringFeature.CATEGORY, pair,
+                        VenueMatchingService.categoryMatches(event.getCategory(), venue.getCategory()));
+                features.set(ScoringFeature.TYPE, pair, VenueTypeDAO.isVenueSuitable(venue.getVenueId(), event.getEventType()));
+                features.columns[ScoringFeature.CAPACITY_UTILISATION.ordinal()][pair] =
+                        capacity <= 0 ? 0 : Math.min((double) required / capacity, 1);
+                features.columns[ScoringFeature.PRICE_PER_ATTENDEE.ordinal()][pair] =
+                        venue.getHirePricePerHour() * event.getDuration() / Math.max(required, 1);
+                features.columns[ScoringFeature.RECENT_UTILISATION.ordinal()][pair] = recentUtilisation[v];
+            }
+        }
+        return features;
+    }
+
+    /**
+     * Returns the number of pairs.
+     *
+     * @return the number of events times the number of venues
+     */
+    public int size() {
+        return capacitySlack.length;
+    }
+
+    /**
+     * Returns the events, in pair order.
+     *
+     * @return the events
+     */
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    /**
+     * Returns the venues, in pair order.
+     *
+     * @return the venues
+     */
+    public List<Venue> getVenues() {
+        return venues;
+    }
+
+    /**
+     * Returns the index of the pair of an event and a venue.
+     *
+     * @param eventIndex the event's index in {@link #getEvents()}
+     * @param venueIndex the venue's index in {@link #getVenues()}
+     * @return the pair index
+     */
+    public int pair(int eventIndex, int venueIndex) {
+        return eventIndex * venues.size() + venueIndex;
+    }
+
+    /**
+     * Returns the value of one feature for one pair.
+     *
+     * @param feature the feature
+     * @param pair    the index of the pair
+     * @return the feature value
+     */
+    public double value(ScoringFeature feature, int pair) {
+        return columns[feature.ordinal()][pair];
+    }
+
+    /**
+     * Returns the standard criteria a pair meets, as a score breakdown.
+     *
+     * @param pair the index of the pair
+     * @return the breakdown of the pair's standard compatibility score
+     */
+    public VenueMatchingService.ScoreBreakdown breakdown(int pair) {
+        return new VenueMatchingService.ScoreBreakdown(
+                columns[ScoringFeature.AVAILABILITY.ordinal()][pair] != 0,
+                columns[ScoringFeature.CAPACITY.ordinal()][pair] != 0,
+                columns[ScoringFeature.CATEGORY.ordinal()][pair] != 0,
+                columns[ScoringFeature.TYPE.ordinal()][pair] != 0,
+                capacitySlack[pair]);
+    }
+
+    /**
+     * Returns the venues with the highest scores for one event.
+     *
+     * @param scores     the score of every pair, as returned by {@link CompiledScoringModel#scoreAll}
+     * @param eventIndex the event's index in {@link #getEvents()}
+     * @param limit      the maximum number of venues to return
+     * @return the indexes in {@link #getVenues()} of up to {@code limit} venues, highest score first; equal scores
+     *         keep venue order
+     */
+    public int[] topVenues(double[] scores, int eventIndex, int limit) {
+        int kept = 0;
+        int[] top = new int[Math.max(Math.min(limit, venues.size()), 0)];
+        int offset = pair(eventIndex, 0);
+        for (int v = 0; v < venues.size() && top.length > 0; v++) {
+            double score = scores[offset + v];
+            if (kept == top.length && score <= scores[offset + top[kept - 1]]) {
+                continue;
+            }
+            // Insert into the kept venues, which are sorted best first.
+            int i = kept == top.length ? kept - 1 : kept++;
+            while (i > 0 && scores[offset + top[i - 1]] < score) {
+                top[i] = top[i - 1];
+                i--;
+            }
+            top[i] = v;
+        }
+        return top;
+    }
+
+    /**
+     * Returns a feature's column, indexed by pair.
+     *
+     * @param feature the feature's ordinal
+     * @return the column
+     */
+    double[] column(int feature) {
+        return columns[feature];
+    }
+
+    private void set(ScoringFeature feature, int pair, boolean value) {
+        columns[feature.ordinal()][pair] = value ? 1 : 0;
+    }
+
+    /**
+     * The periods one venue is occupied, in minutes since the epoch, with overlapping and touching bookings
+     * merged so the starts and ends are both ascending.
+     */
+    private static final class BusyTimes {
+
+        private final long[] starts;
+        private final long[] ends;
+
+        BusyTimes(List<BookedSlot> slots) {
+            List<BookedSlot> sorted = new ArrayList<>(slots);
+            sorted.sort(Comparator.comparingLong(slot -> TimeSlots.startMinute(slot.date(), slot.start())));
+            long[] mergedStarts = new long[sorted.size()];
+            long[] mergedEnds = new long[sorted.size()];
+            int merged = 0;
+            for (BookedSlot slot : sorted) {
+                long start = TimeSlots.startMinute(slot.date(), slot.start());
+                long end = TimeSlots.endMinute(slot.date(), slot.start(), slot.duration());
+                if (merged > 0 && start <= mergedEnds[merged - 1]) {
+                    mergedEnds[merged - 1] = Math.max(mergedEnds[merged - 1], end);
+                } else {
+                    mergedStarts[merged] = start;
+                    mergedEnds[merged] = end;
+                    merged++;
+                }
+            }
+            starts = Arrays.copyOf(mergedStarts, merged);
+            ends = Arrays.copyOf(mergedEnds, merged);
+        }
+
+        /**
+         * Checks whether a period overlaps any booking, testing the first busy period that ends after it starts.
+         *
+         * @param start the first minute of the period
+         * @param end   the minute the period ends
+         * @return {@code true} if the venue is occupied during the period
+         */
+        boolean overlaps(long start, long end) {
+            int low = 0;
+            int high = ends.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ends[mid] <= start) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low < ends.length && TimeSlots.overlaps(start, end, starts[low], ends[low]);
+        }
+    }
+}
@@ -0,0 +1,490 @@
+package service;
+
+import dao.BookingDAO;
+import dao.EventDAO;
+import dao.VenueTypeDAO;
+import model.BookedSlot;
+import model.Event;
+import model.Venue;
+import util.IntIntHashMap;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Plans a venue, and optionally a shifted start time, for every unbooked event so as to maximise total hire income.
+ * <p>
+ * Each event earns its venue's hire price per hour times its duration. An event may only be placed at a venue
+ * that can hold it, whose category suits it and which supports its type, and never over a confirmed booking, a
+ * hold or another placed event. An event keeps its date, and may start up to {@link Options#maxShiftMinutes()}
+ * earlier or later in {@link SlotFinder#SLOT_STEP_MINUTES}-minute steps, within {@link SlotFinder}'s default
+ * opening hours.
+ * </p>
+ * <p>
+ * The optimiser lists every event's options, richest first, and places each event greedily at its richest free
+ * option. Only the category rule is shared with {@link VenueMatchingService}; the compatibility score is not used,
+ * since every option that passes the checks above is acceptable and only income decides between them. It then
+ * improves the plan by local search until its time budget runs out: an event is moved to another option, any
+ * placed events in the way are removed and re-placed at their richest free options, and the move is kept only if
+ * total income does not fall. Moves are evaluated incrementally from the affected venue alone. Times are handled
+ * as {@link OccupancyGrid#SLOT_MINUTES}-minute slots, rounded out as in {@link OccupancyGrid}.
+ * </p>
+ * <p>
+ * The optimiser only plans; it does not book. The batch tool's {@code book-plan} stage books a plan.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class ScheduleOptimiser {
+
+    private static final int SLOT_MINUTES = OccupancyGrid.SLOT_MINUTES;
+    private static final int SLOTS_PER_DAY = OccupancyGrid.SLOTS_PER_DAY;
+
+    /** How often, in search moves, the clock is checked. */
+    private static final int CLOCK_CHECK_INTERVAL = 64;
+
+    private final Options options;
+
+    /**
+     * Constructs an optimiser with the default options.
+     */
+    public ScheduleOptimiser() {
+        this(Options.defaults());
+    }
+
+    /**
+     * Constructs an optimiser with the given options.
+     *
+     * @param options the time budget, start-time shift and random seed
+     */
+    public ScheduleOptimiser(Options options) {
+        this.options = options;
+    }
+
+    /**
+     * Plans every event that has no confirmed booking.
+     *
+     * @return the plan
+     */
+    public Schedule optimiseUnbookedEvents() {
+        return optimise(EventDAO.getAvailableEvents());
+    }
+
+    /**
+     * Plans the given events around the existing confirmed bookings.
+     *
+     * @param events the events to plan, which should have no confirmed booking
+     * @return the plan
+     */
+    public Schedule optimise(List<Event> events) {
+        long start = System.nanoTime();
+        Search search = new Search(List.copyOf(events), VenueCatalog.getInstance().getVenues(), options);
+        search.placeGreedily();
+        double greedyIncome = search.income;
+        long iterations = search.improve(start + options.timeBudget().toNanos());
+        return search.toSchedule(greedyIncome, iterations, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * The optimiser's settings.
+     *
+     * @param timeBudget      how long to spend improving the greedy plan
+     * @param maxShiftMinutes how far an event's start may move earlier or later; 0 keeps every start time
+     * @param seed            the seed of the local search's random choices, so runs can be repeated
+     */
+    public record Options(Duration timeBudget, int maxShiftMinutes, long seed) {
+
+        /**
+         * Validates the options.
+         *
+         * @throws IllegalArgumentException if the time budget or shift is negative
+         */
+        public Options {
+            if (timeBudget.isNegative() || maxShiftMinutes < 0) {
+                throw new IllegalArgumentException("The time budget and start-time shift must not be negative");
+            }
+        }
+
+        /**
+         * Returns the default options: two seconds of search and starts moved by up to an hour.
+         *
+         * @return the default options
+         */
+        public static Options defaults() {
+            return new Options(Duration.ofSeconds(2), 60, 42);
+        }
+    }
+
+    /**
+     * One planned event.
+     *
+     * @param event        the event
+     * @param venue        the venue chosen for it
+     * @param start        the planned start time, on the event's date
+     * @param shiftMinutes how far the start moved from the event's requested time; negative if earlier
+     * @param income       the hire income of the booking
+     */
+    public record Placement(Event event, Venue venue, LocalTime start, int shiftMinutes, double income) {}
+
+    /**
+     * The optimiser's plan.
+     *
+     * @param placements   the planned events, in the order given
+     * @param unplaced     the events that could not be placed
+     * @param totalIncome  the objective: the total hire income of the placements
+     * @param greedyIncome the total income of the greedy plan the search started from
+     * @param iterations   the number of local search moves tried
+     * @param solveTime    the time taken, including loading bookings and building options
+     */
+    public record Schedule(List<Placement> placements, List<Event> unplaced, double totalIncome, double greedyIncome,
+                           long iterations, Duration solveTime) {}
+
+    /**
+     * The state of one optimisation: every event's options, the venues' timelines and the current plan.
+     * <p>
+     * An event's options are its suitable venues, richest first, each at each of its allowed starts, smallest
+     * shift first. Option {@code o} of event {@code e} is venue {@code eventVenues[venueFrom[e] + o / starts[e].length]}
+     * at start slot {@code starts[e][o % starts[e].length]}, so options are never materialised.
+     * </p>
+     */
+    private static final class Search {
+
+        private final List<Event> events;
+        private final Venue[] venues;
+        private final double[] prices;
+        private final Random random;
+
+        private final int[] venueFrom;
+        private final int[] eventVenues;
+        private final int[][] starts;
+        private final int[] length;
+        private final int[] hours;
+
+        // Slots taken by confirmed bookings and holds, and the placed events by start slot, for each venue.
+        private final BitSet[] booked;
+        private final List<TreeMap<Integer, Integer>> placed;
+        private final int[] chosen;
+        private double income;
+
+        // Changes made by the current move, undone if it is rejected: pairs of event and previous option.
+        private int[] undo = new int[64];
+        private int undoSize;
+
+        Search(List<Event> events, List<Venue> venueList, Options options) {
+            this.events = events;
+            this.random = new Random(options.seed());
+            this.venues = venueList.toArray(new Venue[0]);
+            this.prices = new double[venues.length];
+            this.venueFrom = new int[events.size() + 1];
+            this.starts = new int[events.size()][];
+            this.length = new int[events.size()];
+            this.hours = new int[events.size()];
+            this.chosen = new int[events.size()];
+            Arrays.fill(chosen, -1);
+            this.booked = new BitSet[venues.length];
+            this.placed = new ArrayList<>(venues.length);
+            for (int v = 0; v < venues.length; v++) {
+                prices[v] = venues[v].getHirePricePerHour();
+                booked[v] = new BitSet();
+                placed.add(new TreeMap<>());
+            }
+
+            long firstDay = Long.MAX_VALUE;
+            long lastDay = Long.MIN_VALUE;
+            for (Event event : events) {
+                firstDay = Math.min(firstDay, event.getEventDate().toEpochDay());
+                lastDay = Math.max(lastDay, event.getEventDate().toEpochDay() + 1);
+            }
+            if (!events.isEmpty()) {
+                markOccupiedSlots(firstDay, lastDay);
+            }
+
+            // Every venue, richest first; a stable sort, so equal prices keep catalog order.
+            Integer[] byPrice = new Integer[venues.length];
+            for (int v = 0; v < byPrice.length; v++) {
+                byPrice[v] = v;
+            }
+            Arrays.sort(byPrice, Comparator.comparingDouble(v -> -prices[v]));
+
+            int shiftSteps = options.maxShiftMinutes() / SlotFinder.SLOT_STEP_MINUTES;
+            int opens = SlotFinder.DEFAULT_OPENS.toSecondOfDay() / 60;
+            int closes = SlotFinder.DEFAULT_CLOSES.toSecondOfDay() / 60;
+            int[] suitable = new int[venues.length];
+            int[] buffer = new int[1024];
+            int total = 0;
+            for (int e = 0; e < events.size(); e++) {
+                Event event = events.get(e);
+                int requested = event.getEventTime().toSecondOfDay() / 60;
+                int minutes = event.getDuration() * 60;
+                int dayStart = (int) (event.getEventDate().toEpochDay() - firstDay) * SLOTS_PER_DAY;
+                hours[e] = event.getDuration();
+                length[e] = Math.max(-Math.floorDiv(-(requested % SLOT_MINUTES + minutes), SLOT_MINUTES), 1);
+
+                // The unshifted start first, then earlier and later starts alternately, within opening hours.
+                int[] eventStarts = new int[2 * shiftSteps + 1];
+                int count = 0;
+                for (int step = 0; step <= shiftSteps; step++) {
+                    for (int sign = step == 0 ? 1 : -1; sign <= 1; sign += 2) {
+                        int minute = requested + sign * step * SlotFinder.SLOT_STEP_MINUTES;
+                        if (step == 0 || minute >= opens && minute + minutes <= closes) {
+                            eventStarts[count++] = dayStart + minute / SLOT_MINUTES;
+                        }
+                    }
+                }
+                starts[e] = Arrays.copyOf(eventStarts, count);
+
+                int typeId = VenueTypeDAO.getVenueTypeId(event.getEventType());
+                int found = 0;
+                for (int v : byPrice) {
+                    Venue venue = venues[v];
+                    if (venue.getCapacity() >= event.getRequiredCapacity()
+                            && VenueMatchingService.categoryMatches(event.getCategory(), venue.getCategory())
+                            && typeId != -1 && VenueTypeDAO.isVenueSuitable(venue.getVenueId(), typeId)) {
+                        suitable[found++] = v;
+                    }
+                }
+                if (total + found > buffer.length) {
+                    buffer = Arrays.copyOf(buffer, Math.max(2 * buffer.length, total + found));
+                }
+                System.arraycopy(suitable, 0, buffer, total, found);
+                venueFrom[e] = total;
+                total += found;
+            }
+            venueFrom[events.size()] = total;
+            eventVenues = Arrays.copyOf(buffer, total);
+        }
+
+        /**
+         * Marks the confirmed bookings and unexpired holds, including those from the day before that run past midnight.
+         */
+        private void markOccupiedSlots(long firstDay, long lastDay) {
+            IntIntHashMap positionById = new IntIntHashMap(venues.length, -1);
+            for (int v = 0; v < venues.length; v++) {
+                positionById.put(venues[v].getVenueId(), v);
+            }
+            for (BookedSlot slot : BookingDAO.getOccupiedSlots(LocalDate.ofEpochDay(firstDay - 1), LocalDate.ofEpochDay(lastDay))) {
+                int v = positionById.get(slot.venueId());
+                if (v < 0) {
+                    continue;
+                }
+                int startMinute = (int) ((slot.date().toEpochDay() - firstDay) * 24 * 60) + slot.start().toSecondOfDay() / 60;
+                int from = Math.max(Math.floorDiv(startMinute, SLOT_MINUTES), 0);
+                int to = -Math.floorDiv(-(startMinute + slot.duration() * 60), SLOT_MINUTES);
+                if (from < to) {
+                    booked[v].set(from, to);
+                }
+            }
+        }
+
+        private int optionCount(int e) {
+            return (venueFrom[e + 1] - venueFrom[e]) * starts[e].length;
+        }
+
+        private int venueOf(int e, int option) {
+            return eventVenues[venueFrom[e] + option / starts[e].length];
+        }
+
+        private int startOf(int e, int option) {
+            return starts[e][option % starts[e].length];
+        }
+
+        private double incomeOf(int e, int option) {
+            return prices[venueOf(e, option)] * hours[e];
+        }
+
+        private double bestIncome(int e) {
+            return optionCount(e) == 0 ? 0 : incomeOf(e, 0);
+        }
+
+        /**
+         * Places each event at its richest free option, richest events first.
+         */
+        void placeGreedily() {
+            Integer[] order = new Integer[events.size()];
+            for (int e = 0; e < order.length; e++) {
+                order[e] = e;
+            }
+            // Among equally rich events, those with fewer options go first.
+            Arrays.sort(order, Comparator.comparingDouble((Integer e) -> -bestIncome(e)).thenComparingInt(this::optionCount));
+            for (int e : order) {
+                placeAtRichestFree(e);
+            }
+            undoSize = 0;
+        }
+
+        /**
+         * Improves the plan by local search until the deadline.
+         *
+         * @param deadline the {@link System#nanoTime()} to stop at
+         * @return the number of moves tried
+         */
+        long improve(long deadline) {
+            if (eventVenues.length == 0) {
+                return 0;
+            }
+            long iterations = 0;
+            while (iterations % CLOCK_CHECK_INTERVAL != 0 || System.nanoTime() < deadline) {
+                iterations++;
+                int e = random.nextInt(events.size());
+                int count = optionCount(e);
+                if (count == 0) {
+                    continue;
+                }
+                // Favour the richer options, which come first.
+                double r = random.nextDouble();
+                int option = (int) (r * r * count);
+                if (option == chosen[e]) {
+                    continue;
+                }
+                int v = venueOf(e, option);
+                int start = startOf(e, option);
+                int end = start + length[e];
+                int next = booked[v].nextSetBit(start);
+                if (next >= 0 && next < end) {
+                    continue;  // Confirmed bookings and holds cannot move.
+                }
+
+                double before = income;
+                List<Integer> displaced = overlapping(v, start, end, e);
+                unplace(e);
+                for (int other : displaced) {
+                    unplace(other);
+                }
+                place(e, option);
+                displaced.sort(Comparator.comparingDouble((Integer other) -> -bestIncome(other)));
+                for (int other : displaced) {
+                    placeAtRichestFree(other);
+                }
+
+                if (income < before - 1e-9) {
+                    rollback();
+                }
+                undoSize = 0;
+            }
+            // Give any event still unplaced a last chance at a free option.
+            for (int e = 0; e < events.size(); e++) {
+                if (chosen[e] < 0) {
+                    placeAtRichestFree(e);
+                }
+            }
+            undoSize = 0;
+            return iterations;
+        }
+
+        Schedule toSchedule(double greedyIncome, long iterations, Duration solveTime) {
+            List<Placement> placements = new ArrayList<>();
+            List<Event> unplaced = new ArrayList<>();
+            double total = 0;
+            for (int e = 0; e < events.size(); e++) {
+                Event event = events.get(e);
+                int option = chosen[e];
+                if (option < 0) {
+                    unplaced.add(event);
+                    continue;
+                }
+                int requested = event.getEventTime().toSecondOfDay() / 60;
+                int minuteOfDay = Math.floorMod(startOf(e, option), SLOTS_PER_DAY) * SLOT_MINUTES + requested % SLOT_MINUTES;
+                placements.add(new Placement(event, venues[venueOf(e, option)], LocalTime.ofSecondOfDay(minuteOfDay * 60L),
+                        minuteOfDay - requested, incomeOf(e, option)));
+                total += incomeOf(e, option);
+            }
+            // Summed afresh, since the running income has been added to and taken from many times.
+            return new Schedule(placements, unplaced, total, greedyIncome, iterations, solveTime);
+        }
+
+        /**
+         * Places an event at the richest of its options that is free, if any.
+         */
+        private void placeAtRichestFree(int e) {
+            int count = optionCount(e);
+            for (int option = 0; option < count; option++) {
+                int start = startOf(e, option);
+                if (isFree(venueOf(e, option), start, start + length[e])) {
+                    place(e, option);
+                    return;
+                }
+            }
+        }
+
+        private boolean isFree(int v, int start, int end) {
+            int next = booked[v].nextSetBit(start);
+            if (next >= 0 && next < end) {
+                return false;
+            }
+            Map.Entry<Integer, Integer> before = placed.get(v).lowerEntry(end);
+            return before == null || before.getKey() + length[before.getValue()] <= start;
+        }
+
+        /**
+         * Returns the placed events, other than one, that overlap a period at a venue.
+         */
+        private List<Integer> overlapping(int v, int start, int end, int except) {
+            List<Integer> found = new ArrayList<>();
+            Map.Entry<Integer, Integer> entry = placed.get(v).lowerEntry(end);
+            // Placed events never overlap each other, so the walk stops at the first one ending by the start.
+            while (entry != null && entry.getKey() + length[entry.getValue()] > start) {
+                if (entry.getValue() != except) {
+                    found.add(entry.getValue());
+                }
+                entry = placed.get(v).lowerEntry(entry.getKey());
+            }
+            return found;
+        }
+
+        private void place(int e, int option) {
+            log(e, chosen[e]);
+            chosen[e] = option;
+            placed.get(venueOf(e, option)).put(startOf(e, option), e);
+            income += incomeOf(e, option);
+        }
+
+        private void unplace(int e) {
+            int option = chosen[e];
+            if (option < 0) {
+                return;
+            }
+            log(e, option);
+            placed.get(venueOf(e, option)).remove(startOf(e, option));
+            chosen[e] = -1;
+            income -= incomeOf(e, option);
+        }
+
+        private void log(int e, int previous) {
+            if (undoSize + 2 > undo.length) {
+                undo = Arrays.copyOf(undo, undo.length * 2);
+            }
+            undo[undoSize++] = e;
+            undo[undoSize++] = previous;
+        }
+
+        /**
+         * Undoes the current move, restoring every event it touched to its previous option.
+         */
+        private void rollback() {
+            while (undoSize > 0) {
+                int previous = undo[--undoSize];
+                int e = undo[--undoSize];
+                int current = chosen[e];
+                if (current >= 0) {
+                    placed.get(venueOf(e, current)).remove(startOf(e, current));
+                    income -= incomeOf(e, current);
+                }
+                chosen[e] = previous;
+                if (previous >= 0) {
+                    placed.get(venueOf(e, previous)).put(startOf(e, previous), e);
+                    income += incomeOf(e, previous);
+                }
+            }
+        }
+    }
+}
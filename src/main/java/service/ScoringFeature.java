@@ -0,0 +1,36 @@
+package service;
+
+/**
+ * The features of a venue and event pair that a {@link ScoringModel} can weigh.
+ * <p>
+ * The first four are the criteria of the standard compatibility score and are 1 when met and 0 otherwise. The
+ * others are measurements: raise their weight to prefer pairs with more of the feature, or make it negative to
+ * penalise them. Values are extracted by {@link PairFeatures}.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public enum ScoringFeature {
+
+    /** 1 if the venue is free for the event's time slot, otherwise 0. */
+    AVAILABILITY,
+
+    /** 1 if the venue can hold the event's required capacity, otherwise 0. */
+    CAPACITY,
+
+    /** 1 if the venue's category suits the event's category, otherwise 0. */
+    CATEGORY,
+
+    /** 1 if the venue supports the event's type, otherwise 0. */
+    TYPE,
+
+    /** The share of the venue's capacity the event fills, from 0 to 1; oversized venues are near 0. */
+    CAPACITY_UTILISATION,
+
+    /** The venue's hire price for the event's duration divided by the event's required capacity, in dollars. */
+    PRICE_PER_ATTENDEE,
+
+    /** The share of the last {@value PairFeatures#RECENT_DAYS} days the venue was booked, from 0 to 1. */
+    RECENT_UTILISATION
+}
@@ -0,0 +1,75 @@
+package service;
+
+/**
+ * A linear model that scores venue and event pairs as the weighted sum of their {@link ScoringFeature}s.
+ * <p>
+ * Models are compiled with {@link #compile()} into a {@link CompiledScoringModel}, which scores many pairs at
+ * once from the primitive feature columns of a {@link PairFeatures}. Extracting the features is the only part that
+ * reads the database, so a pair set can be re-weighted and re-ranked without it.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public interface ScoringModel {
+
+    /**
+     * System property holding the weights of the configured model, as accepted by
+     * {@link WeightedScoringModel#parse}.
+     */
+    String WEIGHTS_PROPERTY = "lmvm.scoring.weights";
+
+    /**
+     * Returns the weight of a feature.
+     *
+     * @param feature the feature
+     * @return the points awarded per unit of the feature; negative weights penalise it
+     */
+    double weight(ScoringFeature feature);
+
+    /**
+     * Compiles the model into an evaluator over feature columns.
+     *
+     * @return the compiled model
+     */
+    default CompiledScoringModel compile() {
+        ScoringFeature[] features = ScoringFeature.values();
+        double[] weights = new double[features.length];
+        for (ScoringFeature feature : features) {
+            weights[feature.ordinal()] = weight(feature);
+        }
+        return new CompiledScoringModel(weights);
+    }
+
+    /**
+     * Returns the standard compatibility model: 25 points each for availability, capacity, category and type.
+     *
+     * @return the standard model, which scores exactly as {@link VenueMatchingService#calculateCompatibility}
+     */
+    static ScoringModel standard() {
+        return WeightedScoringModel.STANDARD;
+    }
+
+    /**
+     * Returns the model set by the {@value #WEIGHTS_PROPERTY} system property, which the dashboard and the batch
+     * tool match venues with.
+     * <p>
+     * If the property is not set or is blank, or its weights cannot be parsed, the standard model is returned;
+     * a weight that cannot be parsed is reported on standard error.
+     * </p>
+     *
+     * @return the configured model
+     */
+    static ScoringModel configured() {
+        String spec = System.getProperty(WEIGHTS_PROPERTY, "");
+        if (spec.isBlank()) {
+            return standard();
+        }
+        try {
+            return WeightedScoringModel.parse(spec);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ignoring " + WEIGHTS_PROPERTY + ": " + e.getMessage());
+            return standard();
+        }
+    }
+}
@@ -0,0 +1,481 @@
+package service;
+
+import dao.BookingDAO;
+import dao.EventDAO;
+import model.BookedSlot;
+import model.ChangeEvent;
+import model.Event;
+import model.FreeSlot;
+import model.Venue;
+import util.ChangeBus;
+import util.IntObjectHashMap;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the free time slots of a venue, so staff can be offered the next available times instead of guessing.
+ * <p>
+ * The confirmed bookings and unexpired holds of every venue are loaded once into a per-venue timeline: the
+ * booked intervals sorted by start, with overlapping intervals merged. A search walks the timeline and the days
+ * of the search window together in a single pass, so it never queries the database and costs microseconds. The
+ * timelines follow the booking and event change events on the {@link ChangeBus}.
+ * </p>
+ * <p>
+ * A booked interval runs from the event's start for its duration, and may run past midnight into the next day.
+ * Free periods found here never overlap a confirmed booking or a hold, so a slot offered by this service passes
+ * {@link BookingDAO#checkAvailability}. A hold stays in its timeline until {@link HoldService} expires it, up to a
+ * second after it lapses.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class SlotFinder {
+
+    private static SlotFinder instance;
+
+    /** The default time venues open for bookings each day. */
+    public static final LocalTime DEFAULT_OPENS = LocalTime.of(9, 0);
+
+    /**
+     * The default time bookings must end by each day, the last slot boundary before midnight. A {@link Window}
+     * closing at {@link LocalTime#MIDNIGHT} searches to the end of each day instead.
+     */
+    public static final LocalTime DEFAULT_CLOSES = LocalTime.of(23, 30);
+
+    /** The interval between the start times offered within one free gap. */
+    public static final int SLOT_STEP_MINUTES = 30;
+
+    /** The number of days searched, and slots listed, when suggesting other times after a booking conflict. */
+    private static final int SUGGESTION_DAYS = 7;
+    private static final int SUGGESTION_COUNT = 5;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final IntObjectHashMap<Timeline> timelines = new IntObjectHashMap<>();
+    private boolean loaded;
+
+    /** Held so the bus keeps delivering booking changes for the lifetime of the finder. */
+    private final List<ChangeBus.Subscription> subscriptions;
+
+    /**
+     * Private constructor to enforce the Singleton pattern.
+     */
+    private SlotFinder() {
+        ChangeBus bus = ChangeBus.getInstance();
+        subscriptions = List.of(
+                bus.subscribe(ChangeEvent.BookingCreated.class, this::addBooking),
+                bus.subscribe(ChangeEvent.BookingCancelled.class, this::removeBooking),
+                bus.subscribe(ChangeEvent.BookingUpdated.class, change -> invalidate()),
+                bus.subscribe(ChangeEvent.EventUpdated.class, change -> invalidate()),
+                bus.subscribe(ChangeEvent.EventsReset.class, change -> invalidate()),
+                bus.subscribe(ChangeEvent.VenueDeleted.class, change -> removeVenue(change.venueId())),
+                bus.subscribe(ChangeEvent.VenuesReset.class, change -> invalidate()));
+    }
+
+    /**
+     * Returns the singleton instance of the slot finder.
+     *
+     * @return the single {@code SlotFinder} instance
+     */
+    public static synchronized SlotFinder getInstance() {
+        if (instance == null) {
+            instance = new SlotFinder();
+        }
+        return instance;
+    }
+
+    /**
+     * Finds the earliest times a venue can be booked for an event of the given duration.
+     * <p>
+     * Each free gap long enough for the event offers its first minute, then a start every
+     * {@link #SLOT_STEP_MINUTES} minutes while the event still fits.
+     * </p>
+     *
+     * @param venueId       the ID of the venue
+     * @param durationHours the duration of the event in hours
+     * @param window        the days and daily opening hours to search
+     * @param limit         the maximum number of slots to return
+     * @return up to {@code limit} bookable slots of exactly the requested duration, earliest first
+     */
+    public synchronized List<FreeSlot> findEarliestSlots(int venueId, int durationHours, Window window, int limit) {
+        List<FreeSlot> slots = new ArrayList<>();
+        if (limit <= 0) {
+            return slots;
+        }
+        long duration = durationHours * 60L;
+        scan(venueId, duration, window, (gapStart, gapEnd) -> {
+            for (long start = gapStart; start + duration <= gapEnd; start += SLOT_STEP_MINUTES) {
+                slots.add(toFreeSlot(start, start + duration));
+                if (slots.size() == limit) {
+                    return false;
+                }
+            }
+            return true;
+        });
+        return slots;
+    }
+
+    /**
+     * Finds every free gap at a venue that is long enough for an event of the given duration.
+     *
+     * @param venueId       the ID of the venue
+     * @param durationHours the duration of the event in hours
+     * @param window        the days and daily opening hours to search
+     * @return the free gaps within the window's opening hours, earliest first
+     */
+    public synchronized List<FreeSlot> findFreeGaps(int venueId, int durationHours, Window window) {
+        List<FreeSlot> gaps = new ArrayList<>();
+        scan(venueId, durationHours * 60L, window, (gapStart, gapEnd) -> {
+            gaps.add(toFreeSlot(gapStart, gapEnd));
+            return true;
+        });
+        return gaps;
+    }
+
+    /**
+     * Describes the next times a venue is free for an event, for adding to a message that the chosen time is taken.
+     *
+     * @param venue         the venue
+     * @param date          the date to search from
+     * @param durationHours the duration of the event in hours
+     * @return the earliest free slots over the following week as message lines, or an empty string if there are none
+     */
+    public String describeNextSlots(Venue venue, LocalDate date, int durationHours) {
+        List<FreeSlot> slots = findEarliestSlots(venue.getVenueId(), durationHours,
+                Window.days(date, SUGGESTION_DAYS), SUGGESTION_COUNT);
+        if (slots.isEmpty()) {
+            return "";
+        }
+        StringBuilder message = new StringBuilder("\n\nNext available times at ").append(venue.getName()).append(":");
+        for (FreeSlot slot : slots) {
+            message.append("\n- ").append(slot);
+        }
+        return message.toString();
+    }
+
+    /**
+     * Discards the timelines so they are loaded from the database on the next search.
+     * <p>
+     * Used after changes whose effect on individual venues is not known, such as moving a booking or changing
+     * an event's time.
+     * </p>
+     */
+    public synchronized void invalidate() {
+        loaded = false;
+        timelines.clear();
+    }
+
+    /**
+     * Walks a venue's busy intervals and the window's opening hours together, passing each free gap of at least
+     * {@code duration} minutes to the visitor in order.
+     *
+     * @param venueId  the ID of the venue
+     * @param duration the minimum gap length in minutes
+     * @param window   the days and daily opening hours to search
+     * @param visitor  receives each gap; returns {@code false} to stop the scan
+     */
+    private void scan(int venueId, long duration, Window window, GapVisitor visitor) {
+        duration = Math.max(duration, 1);  // Never report empty gaps.
+        ensureLoaded();
+        Timeline timeline = timelines.getOrDefault(venueId, Timeline.EMPTY);
+        long[] busyStarts = timeline.busyStarts;
+        long[] busyEnds = timeline.busyEnds;
+
+        int opens = minuteOfDay(window.opens());
+        int closes = window.closes().equals(LocalTime.MIDNIGHT) ? MINUTES_PER_DAY : minuteOfDay(window.closes());
+
+        // Skip the intervals that end before the window opens.
+        long firstOpen = window.firstDate().toEpochDay() * MINUTES_PER_DAY + opens;
+        int next = timeline.firstEndingAfter(firstOpen);
+
+        for (long day = window.firstDate().toEpochDay(); day <= window.lastDate().toEpochDay(); day++) {
+            long open = day * MINUTES_PER_DAY + opens;
+            long close = day * MINUTES_PER_DAY + closes;
+
+            while (next < busyEnds.length && busyEnds[next] <= open) {
+                next++;
+            }
+            long free = open;
+            for (int i = next; i < busyStarts.length && busyStarts[i] < close; i++) {
+                if (busyStarts[i] - free >= duration && !visitor.visit(free, busyStarts[i])) {
+                    return;
+                }
+                free = Math.max(free, busyEnds[i]);
+            }
+            if (close - free >= duration && !visitor.visit(free, close)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Loads every venue's confirmed bookings and unexpired holds into the timelines if they have been discarded.
+     */
+    private void ensureLoaded() {
+        if (loaded) return;
+
+        IntObjectHashMap<List<BookedSlot>> slotsByVenue = new IntObjectHashMap<>();
+        for (BookedSlot slot : BookingDAO.getOccupiedSlots()) {
+            slotsByVenue.computeIfAbsent(slot.venueId(), id -> new ArrayList<>()).add(slot);
+        }
+        timelines.clear();
+        slotsByVenue.forEach((venueId, slots) -> {
+            int[] bookingIds = new int[slots.size()];
+            long[] starts = new long[slots.size()];
+            long[] ends = new long[slots.size()];
+            for (int i = 0; i < slots.size(); i++) {
+                BookedSlot slot = slots.get(i);
+                bookingIds[i] = slot.bookingId();
+                starts[i] = toMinute(slot.date(), slot.start());
+                ends[i] = starts[i] + slot.duration() * 60L;
+            }
+            timelines.put(venueId, new Timeline(bookingIds, starts, ends));
+        });
+        loaded = true;
+    }
+
+    /**
+     * Adds a new hold, or a newly confirmed booking, to its venue's timeline.
+     * <p>
+     * A confirmed hold is already in the timeline, so it is replaced rather than added twice.
+     * </p>
+     *
+     * @param change the new booking
+     */
+    private synchronized void addBooking(ChangeEvent.BookingCreated change) {
+        if (!loaded) {
+            return;
+        }
+        Event event = EventDAO.getEventById(change.eventId());
+        if (event == null) {
+            return;
+        }
+        long start = toMinute(event.getEventDate(), event.getEventTime());
+        Timeline timeline = timelines.getOrDefault(change.venueId(), Timeline.EMPTY).without(change.bookingId());
+        timelines.put(change.venueId(), timeline.with(change.bookingId(), start, start + event.getDuration() * 60L));
+    }
+
+    /**
+     * Removes a cancelled booking, or a released or expired hold, from its venue's timeline.
+     *
+     * @param change the cancellation
+     */
+    private synchronized void removeBooking(ChangeEvent.BookingCancelled change) {
+        Timeline timeline = timelines.get(change.venueId());
+        if (timeline != null) {
+            timelines.put(change.venueId(), timeline.without(change.bookingId()));
+        }
+    }
+
+    /**
+     * Removes a deleted venue's timeline.
+     *
+     * @param venueId the ID of the deleted venue
+     */
+    private synchronized void removeVenue(int venueId) {
+        timelines.remove(venueId);
+    }
+
+    private static long toMinute(LocalDate date, LocalTime time) {
+        return date.toEpochDay() * MINUTES_PER_DAY + minuteOfDay(time);
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+
+    private static FreeSlot toFreeSlot(long start, long end) {
+        return new FreeSlot(toDateTime(start), toDateTime(end));
+    }
+
+    private static LocalDateTime toDateTime(long minute) {
+        return LocalDate.ofEpochDay(Math.floorDiv(minute, MINUTES_PER_DAY))
+                .atTime(LocalTime.ofSecondOfDay(Math.floorMod(minute, MINUTES_PER_DAY) * 60L));
+    }
+
+    /**
+     * The days and daily opening hours to search for free slots.
+     *
+     * @param firstDate the first day to search
+     * @param lastDate  the last day to search, inclusive
+     * @param opens     the time bookings may start from each day
+     * @param closes    the time bookings must end by each day; {@link LocalTime#MIDNIGHT} means the end of the day
+     */
+    public record Window(LocalDate firstDate, LocalDate lastDate, LocalTime opens, LocalTime closes) {
+
+        /**
+         * Validates the window.
+         *
+         * @throws IllegalArgumentException if the last date is before the first or the venue closes before it opens
+         */
+        public Window {
+            if (lastDate.isBefore(firstDate)) {
+                throw new IllegalArgumentException("The last date must not be before the first date");
+            }
+            if (!closes.equals(LocalTime.MIDNIGHT) && !closes.isAfter(opens)) {
+                throw new IllegalArgumentException("The closing time must be after the opening time");
+            }
+        }
+
+        /**
+         * Returns a window of consecutive days with the default opening hours.
+         *
+         * @param firstDate the first day to search
+         * @param days      the number of days to search
+         * @return the search window
+         */
+        public static Window days(LocalDate firstDate, int days) {
+            return new Window(firstDate, firstDate.plusDays(Math.max(days, 1) - 1L), DEFAULT_OPENS, DEFAULT_CLOSES);
+        }
+    }
+
+    /**
+     * Receives the free gaps found by a scan.
+     */
+    @FunctionalInterface
+    private interface GapVisitor {
+
+        /**
+         * Handles one free gap.
+         *
+         * @param start the first free minute
+         * @param end   the minute the gap ends
+         * @return {@code true} to continue the scan
+         */
+        boolean visit(long start, long end);
+    }
+
+    /**
+     * The bookings occupying one venue, as intervals of minutes since the epoch.
+     * <p>
+     * The bookings are kept sorted by start so single bookings can be added and removed, and the busy intervals
+     * are those bookings with overlapping intervals merged, so the busy starts and ends are both ascending.
+     * Timelines are immutable; changes return a new timeline.
+     * </p>
+     */
+    private static final class Timeline {
+
+        static final Timeline EMPTY = new Timeline(new int[0], new long[0], new long[0]);
+
+        private final int[] bookingIds;
+        private final long[] starts;
+        private final long[] ends;
+        final long[] busyStarts;
+        final long[] busyEnds;
+
+        /**
+         * Creates a timeline, sorting the bookings by start.
+         *
+         * @param bookingIds the booking IDs
+         * @param starts   the booking start minutes
+         * @param ends     the booking end minutes
+         */
+        Timeline(int[] bookingIds, long[] starts, long[] ends) {
+            Integer[] order = new Integer[starts.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(starts[a], starts[b]));
+
+            this.bookingIds = new int[order.length];
+            this.starts = new long[order.length];
+            this.ends = new long[order.length];
+            for (int i = 0; i < order.length; i++) {
+                this.bookingIds[i] = bookingIds[order[i]];
+                this.starts[i] = starts[order[i]];
+                this.ends[i] = ends[order[i]];
+            }
+
+            long[] mergedStarts = new long[order.length];
+            long[] mergedEnds = new long[order.length];
+            int merged = 0;
+            for (int i = 0; i < order.length; i++) {
+                if (merged > 0 && this.starts[i] <= mergedEnds[merged - 1]) {
+                    mergedEnds[merged - 1] = Math.max(mergedEnds[merged - 1], this.ends[i]);
+                } else {
+                    mergedStarts[merged] = this.starts[i];
+                    mergedEnds[merged] = this.ends[i];
+                    merged++;
+                }
+            }
+            busyStarts = Arrays.copyOf(mergedStarts, merged);
+            busyEnds = Arrays.copyOf(mergedEnds, merged);
+        }
+
+        /**
+         * Returns the index of the first busy interval that ends after a minute.
+         *
+         * @param minute the minute
+         * @return the index, or the number of busy intervals if none ends after it
+         */
+        int firstEndingAfter(long minute) {
+            int low = 0;
+            int high = busyEnds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (busyEnds[mid] <= minute) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns a timeline with one more booking.
+         *
+         * @param bookingId the booking ID
+         * @param start     the booking start minute
+         * @param end       the booking end minute
+         * @return the new timeline
+         */
+        Timeline with(int bookingId, long start, long end) {
+            int size = bookingIds.length;
+            int[] newBookingIds = Arrays.copyOf(bookingIds, size + 1);
+            long[] newStarts = Arrays.copyOf(starts, size + 1);
+            long[] newEnds = Arrays.copyOf(ends, size + 1);
+            newBookingIds[size] = bookingId;
+            newStarts[size] = start;
+            newEnds[size] = end;
+            return new Timeline(newBookingIds, newStarts, newEnds);
+        }
+
+        /**
+         * Returns a timeline without a booking.
+         *
+         * @param bookingId the ID of the booking to remove
+         * @return the new timeline, or this timeline if the booking is not in it
+         */
+        Timeline without(int bookingId) {
+            int index = -1;
+            for (int i = 0; i < bookingIds.length; i++) {
+                if (bookingIds[i] == bookingId) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return this;
+            }
+            int[] newBookingIds = new int[bookingIds.length - 1];
+            long[] newStarts = new long[starts.length - 1];
+            long[] newEnds = new long[ends.length - 1];
+            for (int i = 0, j = 0; i < bookingIds.length; i++) {
+                if (i != index) {
+                    newBookingIds[j] = bookingIds[i];
+                    newStarts[j] = starts[i];
+                    newEnds[j] = ends[i];
+                    j++;
+                }
+            }
+            return new Timeline(newBookingIds, newStarts, newEnds);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package service;
+
+import dao.UserDAO;
+import model.UserRow;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory prefix index used to search users by first name, last name and username.
+ * <p>
+ * Every suffix of every indexed word is inserted into a character trie, and each trie node records the IDs of the
+ * users whose words pass through it. A lookup walks the query down the trie and reads the IDs at the final node, so
+ * it costs time proportional to the query length rather than the number of users. Indexing suffixes means a query
+ * matches anywhere in a name, just as the previous {@code LIKE '%query%'} search did. A query of several words
+ * returns users matching every word.
+ * </p>
+ * <p>
+ * The index stores {@link UserRow} projections only, so passwords are never held in memory. It is built lazily from
+ * the database on first use and kept in sync by {@link UserService} when users are added, updated, promoted or
+ * deleted.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class UserSearchIndex {
+
+    private static UserSearchIndex instance;
+
+    private final Map<Integer, UserRow> users = new HashMap<>();
+    private Node root = new Node();
+    private boolean built;
+
+    /**
+     * Private constructor to enforce the Singleton pattern.
+     */
+    private UserSearchIndex() {}
+
+    /**
+     * Returns the singleton instance of the user search index.
+     *
+     * @return the single {@code UserSearchIndex} instance
+     */
+    public static synchronized UserSearchIndex getInstance() {
+        if (instance == null) {
+            instance = new UserSearchIndex();
+        }
+        return instance;
+    }
+
+    /**
+     * Searches users whose first name, last name or username contains each word of the query.
+     * <p>
+     * A blank query returns all users. Results are ordered by user ID.
+     * </p>
+     *
+     * @param query the search text; may be {@code null} or blank
+     * @return the matching users
+     */
+    public synchronized List<UserRow> search(String query) {
+        ensureBuilt();
+
+        Set<Integer> matches = null;
+        for (String word : words(query)) {
+            Node node = root;
+            for (int i = 0; i < word.length() && node != null; i++) {
+                node = node.children.get(word.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            if (matches == null) {
+                matches = new HashSet<>(node.userIds);
+            } else {
+                matches.retainAll(node.userIds);
+            }
+        }
+
+        List<UserRow> results = new ArrayList<>();
+        if (matches == null) {
+            results.addAll(users.values());
+        } else {
+            for (int userId : matches) {
+                results.add(users.get(userId));
+            }
+        }
+        results.sort(Comparator.comparingInt(UserRow::userId));
+        return results;
+    }
+
+    /**
+     * Adds a user to the index, or replaces the entry for an existing user ID.
+     *
+     * @param user the user to index
+     */
+    public synchronized void put(UserRow user) {
+        if (!built) return;  // Picked up when the index is first built.
+        remove(user.userId());
+        index(user);
+    }
+
+    /**
+     * Removes a user from the index.
+     *
+     * @param userId the ID of the user to remove
+     */
+    public synchronized void remove(int userId) {
+        UserRow user = users.remove(userId);
+        if (user == null) return;
+
+        for (String word : words(user)) {
+            for (int start = 0; start < word.length(); start++) {
+                Node node = root;
+                for (int i = start; i < word.length() && node != null; i++) {
+                    node = node.children.get(word.charAt(i));
+                    if (node != null) node.userIds.remove(userId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards the index so it is rebuilt from the database on the next search.
+     */
+    public synchronized void invalidate() {
+        built = false;
+    }
+
+    /**
+     * Builds the index from the database if it has not been built since the last invalidation.
+     */
+    private void ensureBuilt() {
+        if (built) return;
+
+        users.clear();
+        root = new Node();
+        for (UserRow user : UserDAO.getAllUserRows()) {
+            index(user);
+        }
+        built = true;
+    }
+
+    /**
+     * Inserts every suffix of the user's words into the trie.
+     *
+     * @param user the user to index
+     */
+    private void index(UserRow user) {
+        users.put(user.userId(), user);
+        for (String word : words(user)) {
+            for (int start = 0; start < word.length(); start++) {
+                Node node = root;
+                for (int i = start; i < word.length(); i++) {
+                    node = node.children.computeIfAbsent(word.charAt(i), c -> new Node());
+                    node.userIds.add(user.userId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the lower-cased words of a user's first name, last name and username.
+     *
+     * @param user the user
+     * @return the searchable words
+     */
+    private static List<String> words(UserRow user) {
+        List<String> words = new ArrayList<>();
+        words.addAll(words(user.firstName()));
+        words.addAll(words(user.lastName()));
+        words.addAll(words(user.username()));
+        return words;
+    }
+
+    /**
+     * Splits text into lower-cased, whitespace-separated words.
+     *
+     * @param text the text to split; may be {@code null}
+     * @return the words
+     */
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text != null) {
+            for (String word : text.toLowerCase(Locale.ROOT).split("\\s+")) {
+                if (!word.isEmpty()) words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * A trie node holding its child nodes and the users whose words pass through it.
+     */
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final Set<Integer> userIds = new HashSet<>();
+    }
+}
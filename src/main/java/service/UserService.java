@@ -9,6 +9,7 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import model.User;
 import model.UserRole;
+import model.UserRow;
 
 /**
  * Provides services related to user management.
@@ -44,8 +45,12 @@ public class UserService {
         if (UserDAO.userExists(username)) {
             return false;
         }
-        // Add user to the database.
-        return UserDAO.addUser(firstName, lastName, username, password, role);
+        // Add user to the database; the search index picks up the new user when it is next rebuilt.
+        boolean added = UserDAO.addUser(firstName, lastName, username, password, role);
+        if (added) {
+            UserSearchIndex.getInstance().invalidate();
+        }
+        return added;
     }
 
     /**
@@ -94,14 +99,16 @@ public class UserService {
     /**
      * Searches for users based on a query string.
      * <p>
-     * The search is performed on first name, last name, and username fields.
+     * The search is performed on first name, last name, and username fields using the in-memory
+     * {@link UserSearchIndex}, so no database round-trip is made and no passwords are loaded. A blank
+     * query returns all users.
      * </p>
      *
      * @param query the search query
-     * @return a {@code List<User>} containing users matching the query
+     * @return a {@code List<UserRow>} containing users matching the query
      */
-    public static List<User> searchUsers(String query) {
-        return UserDAO.searchUsers(query);
+    public static List<UserRow> searchUsers(String query) {
+        return UserSearchIndex.getInstance().search(query);
     }
 
     /**
@@ -116,7 +123,11 @@ public class UserService {
      */
     public static boolean deleteUser(User user) {
         try {
-            return UserDAO.deleteUser(user.getUserId());
+            boolean deleted = UserDAO.deleteUser(user.getUserId());
+            if (deleted) {
+                UserSearchIndex.getInstance().remove(user.getUserId());
+            }
+            return deleted;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -134,7 +145,12 @@ public class UserService {
      */
     public static boolean promoteToManager(User user) {
         try {
-            return UserDAO.updateUserRole(user.getUserId(), UserRole.MANAGER);
+            boolean promoted = UserDAO.updateUserRole(user.getUserId(), UserRole.MANAGER);
+            if (promoted) {
+                UserSearchIndex.getInstance().put(new UserRow(user.getUserId(), user.getFirstName(),
+                        user.getLastName(), user.getUsername(), UserRole.MANAGER));
+            }
+            return promoted;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -152,7 +168,11 @@ public class UserService {
      */
     public static boolean updateUser(User user) {
         try {
-            return UserDAO.updateUser(user);
+            boolean updated = UserDAO.updateUser(user);
+            if (updated) {
+                UserSearchIndex.getInstance().put(UserRow.of(user));
+            }
+            return updated;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -0,0 +1,200 @@
+package service;
+
+import model.Venue;
+import model.VenueCategory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An index of venues by capacity, for finding the venues large enough for an event without testing every venue.
+ * <p>
+ * The venues are kept in one array sorted by capacity, and again split into one capacity-sorted partition per
+ * {@link VenueCategory}. The venues that can hold an event are a binary search for the required capacity
+ * followed by the rest of the array or partition, smallest first. Venues of equal capacity keep their order in
+ * the source list.
+ * </p>
+ * <p>
+ * An index is immutable and describes the venue list it was built from; {@link VenueMatchingService} rebuilds it
+ * when the {@link VenueCatalog} snapshot changes.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public final class VenueCandidateIndex {
+
+    private final List<Venue> source;
+    private final Partition all;
+    private final Partition[] byCategory;
+
+    /**
+     * Builds an index over a list of venues.
+     *
+     * @param venues the venues to index
+     */
+    public VenueCandidateIndex(List<Venue> venues) {
+        this.source = venues;
+        int[] positions = new int[venues.size()];
+        Integer[] order = new Integer[venues.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        // A stable sort, so venues of equal capacity stay in source order.
+        Arrays.sort(order, Comparator.comparingInt(i -> venues.get(i).getCapacity()));
+
+        Venue[] sorted = new Venue[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sorted[i] = venues.get(order[i]);
+            positions[i] = order[i];
+        }
+        all = new Partition(sorted, positions);
+
+        // One partition per category, with a last partition for venues without one.
+        List<List<Integer>> members = new ArrayList<>();
+        for (int c = 0; c <= VenueCategory.values().length; c++) {
+            members.add(new ArrayList<>());
+        }
+        for (int i = 0; i < sorted.length; i++) {
+            members.get(partitionOf(sorted[i].getCategory())).add(i);
+        }
+        byCategory = new Partition[members.size()];
+        for (int c = 0; c < members.size(); c++) {
+            List<Integer> indexes = members.get(c);
+            Venue[] partitionVenues = new Venue[indexes.size()];
+            int[] partitionPositions = new int[indexes.size()];
+            for (int i = 0; i < indexes.size(); i++) {
+                partitionVenues[i] = sorted[indexes.get(i)];
+                partitionPositions[i] = positions[indexes.get(i)];
+            }
+            byCategory[c] = new Partition(partitionVenues, partitionPositions);
+        }
+    }
+
+    /**
+     * Returns the venue list the index was built from.
+     *
+     * @return the source venues
+     */
+    public List<Venue> getSource() {
+        return source;
+    }
+
+    /**
+     * Returns every venue, smallest first.
+     *
+     * @return the partition of all venues
+     */
+    public Partition getAll() {
+        return all;
+    }
+
+    /**
+     * Returns the venues of one category, smallest first.
+     *
+     * @param category the venue category, or {@code null} for venues without one
+     * @return the partition of that category
+     */
+    public Partition getCategory(VenueCategory category) {
+        return byCategory[partitionOf(category)];
+    }
+
+    /**
+     * Returns the venues that can hold at least a number of people, smallest first.
+     *
+     * @param requiredCapacity the required capacity
+     * @return the matching venues, as an unmodifiable view
+     */
+    public List<Venue> withCapacity(int requiredCapacity) {
+        return all.withCapacity(requiredCapacity);
+    }
+
+    private static int partitionOf(VenueCategory category) {
+        return category == null ? VenueCategory.values().length : category.ordinal();
+    }
+
+    /**
+     * A run of venues sorted by capacity, smallest first.
+     * <p>
+     * Each venue is stored with its position in the index's source list, so callers can break ties the way a
+     * stable sort of the source list would.
+     * </p>
+     */
+    public static final class Partition {
+
+        private final Venue[] venues;
+        private final int[] capacities;
+        private final int[] positions;
+
+        private Partition(Venue[] venues, int[] positions) {
+            this.venues = venues;
+            this.positions = positions;
+            this.capacities = new int[venues.length];
+            for (int i = 0; i < venues.length; i++) {
+                capacities[i] = venues[i].getCapacity();
+            }
+        }
+
+        /**
+         * Returns the index of the first venue that can hold at least a number of people.
+         *
+         * @param requiredCapacity the required capacity
+         * @return the index, or {@link #size()} if no venue is large enough
+         */
+        public int firstWithCapacity(int requiredCapacity) {
+            int low = 0;
+            int high = capacities.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (capacities[mid] < requiredCapacity) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the venues that can hold at least a number of people, smallest first.
+         *
+         * @param requiredCapacity the required capacity
+         * @return the matching venues, as an unmodifiable view
+         */
+        public List<Venue> withCapacity(int requiredCapacity) {
+            return Collections.unmodifiableList(Arrays.asList(venues)).subList(firstWithCapacity(requiredCapacity), venues.length);
+        }
+
+        /**
+         * Returns the number of venues in the partition.
+         *
+         * @return the size of the partition
+         */
+        public int size() {
+            return venues.length;
+        }
+
+        /**
+         * Returns a venue by its index in capacity order.
+         *
+         * @param index the index
+         * @return the venue
+         */
+        public Venue get(int index) {
+            return venues[index];
+        }
+
+        /**
+         * Returns a venue's position in the index's source list.
+         *
+         * @param index the venue's index in capacity order
+         * @return the source position
+         */
+        public int sourcePosition(int index) {
+            return positions[index];
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package service;
+
+import dao.DatabaseHandler;
+import dao.VenueDAO;
+import model.ChangeEvent;
+import model.Venue;
+import model.VenueType;
+import util.ChangeBus;
+
+import java.io.Serial;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared read-through cache of every venue with its typed venue type list.
+ * <p>
+ * Loading venues runs a GROUP_CONCAT join and parses each venue's type string, and several views and services need
+ * the full venue list. The catalog loads the venues once and hands every caller the same immutable snapshot
+ * until a venue changes. It subscribes to the venue change events on the {@link ChangeBus}, so adding, deleting,
+ * restoring or clearing venues invalidates the snapshot and the next call reloads it. A snapshot belongs to the
+ * database it was loaded from, so pointing the application at another database also reloads it.
+ * </p>
+ * <p>
+ * The venues in a snapshot are read-only: their setters throw {@link UnsupportedOperationException} and their
+ * venue type lists are unmodifiable, so no caller can change what the others see. Callers that need to annotate
+ * venues, such as with a compatibility score for one event, work on copies made with {@link Venue#Venue(Venue)}.
+ * </p>
+ * <p>
+ * Cache hits, misses and reload times are counted and can be read with {@link #getStats()}.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class VenueCatalog {
+
+    private static VenueCatalog instance;
+
+    private volatile Snapshot snapshot;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long reloads;
+    private long totalReloadNanos;
+    private long lastReloadNanos;
+    private long maxReloadNanos;
+
+    /** Held so the bus keeps delivering venue changes for the lifetime of the catalog. */
+    private final List<ChangeBus.Subscription> subscriptions;
+
+    /**
+     * Private constructor to enforce the Singleton pattern.
+     */
+    private VenueCatalog() {
+        ChangeBus bus = ChangeBus.getInstance();
+        subscriptions = List.of(
+                bus.subscribe(ChangeEvent.VenueAdded.class, change -> invalidate()),
+                bus.subscribe(ChangeEvent.VenueDeleted.class, change -> invalidate()),
+                bus.subscribe(ChangeEvent.VenuesReset.class, change -> invalidate()));
+    }
+
+    /**
+     * Returns the singleton instance of the venue catalog.
+     *
+     * @return the single {@code VenueCatalog} instance
+     */
+    public static synchronized VenueCatalog getInstance() {
+        if (instance == null) {
+            instance = new VenueCatalog();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns every venue, loading them from the database if the catalog has been invalidated.
+     *
+     * @return an immutable snapshot of all venues
+     */
+    public List<Venue> getVenues() {
+        Snapshot current = snapshot;
+        if (current != null && current.url().equals(DatabaseHandler.databaseUrl())) {
+            hits.incrementAndGet();
+            return current.venues();
+        }
+        return reload();
+    }
+
+    /**
+     * Discards the current snapshot so the next call to {@link #getVenues()} reloads it.
+     * <p>
+     * This does not wait for a load in progress, so a venue write is never held up by a reader.
+     * </p>
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    /**
+     * Returns the catalog's hit, miss and reload statistics.
+     *
+     * @return a snapshot of the statistics
+     */
+    public synchronized Stats getStats() {
+        return new Stats(hits.get(), misses.get(), reloads, lastReloadNanos / 1_000_000.0,
+                reloads == 0 ? 0 : totalReloadNanos / 1_000_000.0 / reloads, maxReloadNanos / 1_000_000.0);
+    }
+
+    /**
+     * Loads the venues from the database and stores them as the current snapshot.
+     * <p>
+     * Loads are serialised, so callers that miss together share one load. If the catalog is invalidated while a
+     * load is running, the loaded venues are still returned to the caller but are not kept.
+     * </p>
+     *
+     * @return the loaded venues
+     */
+    private synchronized List<Venue> reload() {
+        String url = DatabaseHandler.databaseUrl();
+        Snapshot current = snapshot;
+        if (current != null && current.url().equals(url)) {
+            hits.incrementAndGet();
+            return current.venues();
+        }
+        misses.incrementAndGet();
+
+        long loadingGeneration = generation.get();
+        long start = System.nanoTime();
+        List<Venue> venues = VenueDAO.getAllVenues().stream().<Venue>map(ReadOnlyVenue::new).toList();
+        long elapsed = System.nanoTime() - start;
+
+        reloads++;
+        totalReloadNanos += elapsed;
+        lastReloadNanos = elapsed;
+        maxReloadNanos = Math.max(maxReloadNanos, elapsed);
+        snapshot = new Snapshot(url, venues);
+        if (generation.get() != loadingGeneration) {
+            snapshot = null;  // A venue changed during the load.
+        }
+        return venues;
+    }
+
+    /**
+     * The loaded venues and the database they were loaded from.
+     *
+     * @param url    the database URL
+     * @param venues the read-only venues
+     */
+    private record Snapshot(String url, List<Venue> venues) {}
+
+    /**
+     * A venue held in a snapshot, whose fields cannot be changed.
+     * <p>
+     * It is written to a backup as a plain {@link Venue}.
+     * </p>
+     */
+    private static final class ReadOnlyVenue extends Venue {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        ReadOnlyVenue(Venue venue) {
+            super(venue);
+            super.setVenueTypes(venue.getVenueTypes() == null ? List.of() : List.copyOf(venue.getVenueTypes()));
+        }
+
+        @Override
+        public void setVenueId(int venueId) { throw readOnly(); }
+
+        @Override
+        public void setName(String name) { throw readOnly(); }
+
+        @Override
+        public void setCapacity(int capacity) { throw readOnly(); }
+
+        @Override
+        public void setHirePricePerHour(double price) { throw readOnly(); }
+
+        @Override
+        public void setCompatibilityScore(double compatibilityScore) { throw readOnly(); }
+
+        @Override
+        public void addVenueType(VenueType venueType) { throw readOnly(); }
+
+        @Override
+        public void setVenueTypes(List<VenueType> venueTypes) { throw readOnly(); }
+
+        @Serial
+        private Object writeReplace() {
+            return new Venue(this);
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Venues from the venue catalog are read-only; change a copy");
+        }
+    }
+
+    /**
+     * Cache statistics for the venue catalog.
+     *
+     * @param hits              the number of calls served from the current snapshot
+     * @param misses            the number of calls that had to load the venues
+     * @param reloads           the number of loads from the database
+     * @param lastReloadMillis  the duration of the most recent load, in milliseconds
+     * @param meanReloadMillis  the mean load duration, in milliseconds
+     * @param maxReloadMillis   the longest load duration, in milliseconds
+     */
+    public record Stats(long hits, long misses, long reloads, double lastReloadMillis,
+                        double meanReloadMillis, double maxReloadMillis) {
+
+        /**
+         * Returns the fraction of calls served without loading from the database.
+         *
+         * @return the hit rate between 0 and 1, or 0 if the catalog has not been used
+         */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+}
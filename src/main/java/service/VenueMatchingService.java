@@ -1,13 +1,12 @@
 package service;
 
 import dao.BookingDAO;
-import dao.VenueDAO;
+import dao.VenueTypeDAO;
 import model.Event;
 import model.Venue;
 import model.VenueCategory;
 import java.sql.SQLException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * The {@code VenueMatchingService} class provides functionality to generate venue recommendations for events.
@@ -21,12 +20,19 @@ import java.util.stream.Collectors;
  * </ul>
  * The total compatibility score is the sum of these criteria and ranges from 0 to 100.
  * </p>
+ * <p>
+ * This is the standard {@link ScoringModel}. A service constructed with another model ranks venues by that model's
+ * weighted features instead, such as price per attendee or capacity utilisation; the score breakdowns and
+ * compatibility scores still report the four standard criteria.
+ * </p>
  *
  * <p>
- * This class contains two helper inner classes:
+ * This class contains these helper inner types:
  * <ul>
- *   <li>{@link VenueCandidate} - Encapsulates a candidate venue along with its computed compatibility score and
- *       the difference between the venue's capacity and the event's required capacity.</li>
+ *   <li>{@link VenueCandidate} - Encapsulates a candidate venue along with its computed compatibility score, its
+ *       score breakdown, and the difference between the venue's capacity and the event's required capacity.</li>
+ *   <li>{@link ScoreBreakdown} - The criteria behind a compatibility score.</li>
+ *   <li>{@link RankingOptions} and {@link TieBreak} - How many venues to rank and how to order equal scores.</li>
  *   <li>{@link AutoMatchResult} - Represents a recommendation for an event, including the best candidate venue (if any)
  *       and a list of any unmet criteria.</li>
  * </ul>
@@ -36,6 +42,8 @@ import java.util.stream.Collectors;
  * Key methods:
  * <ul>
  *   <li>{@link #getRecommendations(List)} - Generates a list of venue recommendations for the given events.</li>
+ *   <li>{@link #getTopCandidates(Event, int)} - Finds the best candidate venues for one event.</li>
+ *   <li>{@link #rankVenues(Event, RankingOptions)} - Ranks venues for one event with their score breakdowns.</li>
  *   <li>{@link #calculateCompatibility(Venue, Event)} - Calculates the compatibility score between a specific venue and event.</li>
  * </ul>
  * </p>
@@ -52,18 +60,124 @@ public class VenueMatchingService {
         public Venue venue;
         public int score;
         public int capacityDiff;
+        public ScoreBreakdown breakdown;
+        public double modelScore;
+
+        /**
+         * Constructs a {@code VenueCandidate} with the specified venue and the breakdown of its compatibility score.
+         *
+         * @param venue     the candidate venue
+         * @param breakdown the criteria the venue meets for the event
+         */
+        public VenueCandidate(Venue venue, ScoreBreakdown breakdown) {
+            this(venue, breakdown, breakdown.score());
+        }
 
         /**
-         * Constructs a {@code VenueCandidate} with the specified venue, compatibility score, and capacity difference.
+         * Constructs a {@code VenueCandidate} ranked by a scoring model other than the standard one.
          *
-         * @param venue the candidate venue
-         * @param score the compatibility score for the venue-event pair
-         * @param capacityDiff the difference between the venue's capacity and the event's required capacity
+         * @param venue      the candidate venue
+         * @param breakdown  the criteria the venue meets for the event
+         * @param modelScore the score the venue was ranked by
          */
-        public VenueCandidate(Venue venue, int score, int capacityDiff) {
+        public VenueCandidate(Venue venue, ScoreBreakdown breakdown, double modelScore) {
             this.venue = venue;
-            this.score = score;
-            this.capacityDiff = capacityDiff;
+            this.score = breakdown.score();
+            this.capacityDiff = breakdown.capacitySlack();
+            this.breakdown = breakdown;
+            this.modelScore = modelScore;
+        }
+    }
+
+    /**
+     * The criteria behind a venue's compatibility score for an event.
+     *
+     * @param available     whether the venue is available for the event's time slot
+     * @param capacityMet   whether the venue's capacity meets the event's requirement
+     * @param categoryMatch whether the venue's category suits the event's category
+     * @param typeMatch     whether the venue supports the event's type
+     * @param capacitySlack the venue's capacity minus the event's required capacity; negative if the venue is too small
+     */
+    public record ScoreBreakdown(boolean available, boolean capacityMet, boolean categoryMatch, boolean typeMatch,
+                                 int capacitySlack) {
+
+        /** The points awarded for each criterion met. */
+        public static final int POINTS_PER_CRITERION = 25;
+
+        /**
+         * Returns the compatibility score: {@value #POINTS_PER_CRITERION} points for each criterion met.
+         *
+         * @return the score, from 0 to 100
+         */
+        public int score() {
+            int met = (available ? 1 : 0) + (capacityMet ? 1 : 0) + (categoryMatch ? 1 : 0) + (typeMatch ? 1 : 0);
+            return met * POINTS_PER_CRITERION;
+        }
+    }
+
+    /**
+     * The orders in which venues with equal compatibility scores can be ranked. Venues that are still tied keep
+     * their order in the {@link VenueCatalog}.
+     */
+    public enum TieBreak {
+
+        /** The venue with the least spare capacity first, then the venues that are too small, least short first. */
+        CLOSEST_CAPACITY(Comparator.comparing((VenueCandidate candidate) -> candidate.capacityDiff < 0)
+                .thenComparingInt(candidate -> Math.abs(candidate.capacityDiff))),
+
+        /** The largest venue first. */
+        LARGEST_CAPACITY(Comparator.comparingInt((VenueCandidate candidate) -> candidate.venue.getCapacity()).reversed()),
+
+        /** The cheapest venue to hire first. */
+        LOWEST_PRICE(Comparator.comparingDouble(candidate -> candidate.venue.getHirePricePerHour())),
+
+        /** The order of the venue catalog. */
+        CATALOG_ORDER((first, second) -> 0);
+
+        private final Comparator<VenueCandidate> order;
+
+        TieBreak(Comparator<VenueCandidate> order) {
+            this.order = order;
+        }
+    }
+
+    /**
+     * How to rank venues for an event.
+     *
+     * @param limit        the maximum number of venues to return
+     * @param tieBreak     the order of venues with equal scores
+     * @param eligibleOnly {@code true} to rank only venues that are available and large enough, as recommendations
+     *                     require; {@code false} to rank every venue
+     */
+    public record RankingOptions(int limit, TieBreak tieBreak, boolean eligibleOnly) {
+
+        /**
+         * Validates the options.
+         *
+         * @throws NullPointerException if {@code tieBreak} is {@code null}
+         */
+        public RankingOptions {
+            Objects.requireNonNull(tieBreak, "tieBreak");
+        }
+
+        /**
+         * Returns the options used for recommendations: the best eligible venues, closest capacity first on ties.
+         *
+         * @param limit the maximum number of venues to return
+         * @return the ranking options
+         */
+        public static RankingOptions top(int limit) {
+            return new RankingOptions(limit, TieBreak.CLOSEST_CAPACITY, true);
+        }
+
+        /**
+         * Returns options that rank every venue, whether or not it is eligible.
+         *
+         * @param tieBreak the order of venues with equal scores
+         * @return the ranking options
+         */
+        public static RankingOptions allVenues(TieBreak tieBreak) {
+            return new RankingOptions(Integer.MAX_VALUE, tieBreak, false);
         }
     }
 
@@ -92,109 +206,361 @@ public class VenueMatchingService {
         }
     }
 
+    /**
+     * A candidate with its venue's position in the catalog, for breaking ties in the ranking.
+     *
+     * @param candidate the candidate
+     * @param position  the venue's position in the catalog
+     */
+    private record RankedCandidate(VenueCandidate candidate, int position) {}
+
+    private static final CompiledScoringModel STANDARD_MODEL = ScoringModel.standard().compile();
+
+    /** The most event-venue pairs whose features {@link #getRecommendations} extracts at once. */
+    static final int MAX_BATCH_PAIRS = 1 << 18;
+
+    private static VenueCandidateIndex candidateIndex;
+
+    /** The model venues are ranked by. */
+    private final CompiledScoringModel scoringModel;
+
+    /**
+     * Constructs a matching service that ranks venues by the standard compatibility score.
+     */
+    public VenueMatchingService() {
+        this(ScoringModel.standard());
+    }
+
+    /**
+     * Constructs a matching service that ranks venues by a scoring model.
+     *
+     * @param scoringModel the model to rank venues by
+     */
+    public VenueMatchingService(ScoringModel scoringModel) {
+        this.scoringModel = scoringModel.compile();
+    }
+
     /**
      * Generates venue recommendations for a list of events.
      * <p>
-     * For each event, this method evaluates all available venues by:
+     * For each event, this method finds the best candidate venue with {@link #getTopCandidates(Event, int)}:
      * <ol>
-     *   <li>Checking if the venue is available for the event's time slot.</li>
-     *   <li>Ensuring the venue's capacity meets the event's requirements.</li>
-     *   <li>Calculating a compatibility score based on availability, capacity, event category, and venue type matching.</li>
-     *   <li>Sorting the candidate venues by their compatibility score (and capacity difference as a secondary criterion).</li>
-     *   <li>Identifying any unmet criteria for the best candidate.</li>
+     *   <li>Only venues whose capacity meets the event's requirements are considered.</li>
+     *   <li>Only venues available for the event's time slot are considered.</li>
+     *   <li>Candidates are ranked by their compatibility score (and capacity difference as a secondary criterion).</li>
      * </ol>
-     * The method returns a list of {@code AutoMatchResult} objects, one for each event.
+     * It then identifies any unmet criteria for the best candidate. The method returns a list of
+     * {@code AutoMatchResult} objects, one for each event.
+     * </p>
+     * <p>
+     * With any other model than the standard one, the {@link PairFeatures} of the events are extracted together,
+     * in batches of up to {@link #MAX_BATCH_PAIRS} event-venue pairs, rather than once per event.
      * </p>
      *
      * @param events a list of events for which to generate venue recommendations
      * @return a list of {@code AutoMatchResult} objects representing the recommendations for each event
      */
     public List<AutoMatchResult> getRecommendations(List<Event> events) {
-        List<Venue> allVenues = VenueDAO.getAllVenues();
         List<AutoMatchResult> recommendationsList = new ArrayList<>();
 
-        for (Event event : events) {
-            List<VenueCandidate> candidates = new ArrayList<>();
-
-            for (Venue venue : allVenues) {
-                try {
-                    // Check availability first.
-                    boolean isAvailable = BookingDAO.checkAvailability(
-                            venue.getVenueId(),
-                            event.getEventDate(),
-                            event.getEventTime(),
-                            event.getDuration()
-                    );
-                    if (!isAvailable) {
-                        continue;
-                    }
-                } catch (SQLException ex) {
-                    ex.printStackTrace();
-                    continue;
+        if (!scoringModel.hasSameWeights(STANDARD_MODEL)) {
+            List<Venue> venues = getCandidateIndex().getSource();
+            int batchSize = Math.max(1, MAX_BATCH_PAIRS / Math.max(venues.size(), 1));
+            for (int from = 0; from < events.size(); from += batchSize) {
+                List<Event> batch = events.subList(from, Math.min(from + batchSize, events.size()));
+                PairFeatures features = PairFeatures.extract(batch, venues);
+                double[] scores = scoringModel.scoreAll(features);
+                for (int e = 0; e < batch.size(); e++) {
+                    List<VenueCandidate> candidates = rankModelCandidates(features, scores, e, RankingOptions.top(1));
+                    recommendationsList.add(recommendation(batch.get(e), candidates.isEmpty() ? null : candidates.get(0)));
                 }
+            }
+            return recommendationsList;
+        }
 
-                // Ensure venue meets capacity.
-                if (venue.getCapacity() < event.getRequiredCapacity()) {
-                    continue;
-                }
+        for (Event event : events) {
+            List<VenueCandidate> candidates = getTopCandidates(event, 1);
+            recommendationsList.add(recommendation(event, candidates.isEmpty() ? null : candidates.get(0)));
+        }
+        return recommendationsList;
+    }
 
-                try {
-                    int score = calculateCompatibility(venue, event);
-                    int capacityDiff = venue.getCapacity() - event.getRequiredCapacity();
-                    candidates.add(new VenueCandidate(venue, score, capacityDiff));
-                } catch (SQLException ex) {
-                    ex.printStackTrace();
-                }
+    /**
+     * Builds the recommendation for an event from its best candidate, listing the criteria the candidate misses.
+     *
+     * @param event         the event
+     * @param bestCandidate the best candidate venue, or {@code null} if no venue is available and large enough
+     * @return the recommendation
+     */
+    static AutoMatchResult recommendation(Event event, VenueCandidate bestCandidate) {
+        if (bestCandidate == null) {
+            return new AutoMatchResult(
+                    event,
+                    null,
+                    Collections.singletonList("No available venue meets the minimum criteria (availability and capacity).")
+            );
+        }
+        List<String> unmetCriteria = new ArrayList<>();
+
+        // Report the criteria the best candidate's score breakdown shows it missed.
+        if (!bestCandidate.breakdown.categoryMatch()) {
+            unmetCriteria.add("Event Category mismatch");
+        }
+        if (!bestCandidate.breakdown.typeMatch()) {
+            unmetCriteria.add("Venue Type mismatch");
+        }
+        return new AutoMatchResult(event, bestCandidate, unmetCriteria);
+    }
+
+    /**
+     * Finds the best candidate venues for an event.
+     * <p>
+     * Candidates are the venues with enough capacity that are available for the event's time slot, ranked by
+     * compatibility score, then by the smallest capacity difference, then by their order in the
+     * {@link VenueCatalog}. This is {@link #rankVenues(Event, RankingOptions)} with {@link RankingOptions#top(int)}.
+     * </p>
+     *
+     * @param event the event to match
+     * @param limit the maximum number of candidates to return
+     * @return up to {@code limit} candidates, best first
+     */
+    public List<VenueCandidate> getTopCandidates(Event event, int limit) {
+        return rankVenues(event, RankingOptions.top(limit));
+    }
+
+    /**
+     * Ranks venues for an event, best first, each with the breakdown of its compatibility score.
+     * <p>
+     * Venues are ranked by the service's scoring model, then by the options' tie-break, then by their order in the
+     * {@link VenueCatalog}. Each venue is scored once, and only the best {@code limit} are kept, in a bounded heap
+     * rather than by sorting every venue.
+     * </p>
+     * <p>
+     * Any other model than the standard one scores every venue from {@link PairFeatures}, whose availability comes
+     * from one range query over the bookings rather than a query per venue, and uses the same overlap rule as
+     * {@link BookingDAO#checkAvailability}.
+     * </p>
+     * <p>
+     * When only eligible venues are ranked, only those large enough for the event are visited, taken from the
+     * capacity-sorted {@link VenueCandidateIndex}. Venues in categories that suit the event are visited first, so
+     * the heap fills with high scores early. The availability query, the only part of a score that needs the
+     * database, is skipped for any venue whose best possible score could not enter the heap.
+     * </p>
+     *
+     * @param event   the event to match
+     * @param options how many venues to rank, how to order equal scores, and whether to rank ineligible venues
+     * @return up to {@code options.limit()} ranked venues, best first
+     */
+    public List<VenueCandidate> rankVenues(Event event, RankingOptions options) {
+        VenueCandidateIndex index = getCandidateIndex();
+        if (!scoringModel.hasSameWeights(STANDARD_MODEL)) {
+            PairFeatures features = PairFeatures.extract(List.of(event), index.getSource());
+            return rankModelCandidates(features, scoringModel.scoreAll(features), 0, options);
+        }
+        int limit = Math.min(options.limit(), index.getAll().size());
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        Comparator<RankedCandidate> ranking = ranking(options);
+
+        // The heap's head is the worst candidate kept, ready to be replaced.
+        PriorityQueue<RankedCandidate> heap = new PriorityQueue<>(limit + 1, ranking.reversed());
+        for (VenueCategory category : VenueCategory.values()) {
+            if (categoryMatches(event.getCategory(), category)) {
+                collectCandidates(index.getCategory(category), event, true, options, ranking, heap, limit);
             }
+        }
+        for (VenueCategory category : VenueCategory.values()) {
+            if (!categoryMatches(event.getCategory(), category)) {
+                collectCandidates(index.getCategory(category), event, false, options, ranking, heap, limit);
+            }
+        }
+        collectCandidates(index.getCategory(null), event, false, options, ranking, heap, limit);
+        return sortCandidates(heap, ranking);
+    }
 
-            if (candidates.isEmpty()) {
-                recommendationsList.add(new AutoMatchResult(
-                        event,
-                        null,
-                        Collections.singletonList("No available venue meets the minimum criteria (availability and capacity).")
-                ));
-            } else {
-                candidates.sort((c1, c2) -> {
-                    int scoreCompare = Integer.compare(c2.score, c1.score);
-                    return (scoreCompare == 0) ? Integer.compare(c1.capacityDiff, c2.capacityDiff) : scoreCompare;
-                });
-                VenueCandidate bestCandidate = candidates.get(0);
-                List<String> unmetCriteria = new ArrayList<>();
-
-                // Check event category matching.
-                boolean eventCategoryMatch;
-                switch (event.getCategory()) {
-                    case INDOOR:
-                        eventCategoryMatch = bestCandidate.venue.getCategory() == VenueCategory.INDOOR ||
-                                bestCandidate.venue.getCategory() == VenueCategory.CONVERTIBLE;
-                        break;
-                    case OUTDOOR:
-                        eventCategoryMatch = bestCandidate.venue.getCategory() == VenueCategory.OUTDOOR ||
-                                bestCandidate.venue.getCategory() == VenueCategory.CONVERTIBLE;
-                        break;
-                    case CONVERTIBLE:
-                        eventCategoryMatch = bestCandidate.venue.getCategory() == VenueCategory.CONVERTIBLE;
-                        break;
-                    default:
-                        eventCategoryMatch = false;
-                }
-                if (!eventCategoryMatch) {
-                    unmetCriteria.add("Event Category mismatch");
-                }
+    /**
+     * Ranks the venues for one event of extracted features by their scores under the service's scoring model,
+     * keeping the best in a bounded heap.
+     *
+     * @param features   the features of the events and the venues, in catalog order
+     * @param scores     the score of every pair, from the service's scoring model
+     * @param eventIndex the event's index in the features
+     * @param options    the ranking options
+     * @return up to {@code options.limit()} ranked venues, best first
+     */
+    private static List<VenueCandidate> rankModelCandidates(PairFeatures features, double[] scores, int eventIndex,
+                                                            RankingOptions options) {
+        List<Venue> venues = features.getVenues();
+        int limit = Math.min(options.limit(), venues.size());
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        Comparator<RankedCandidate> ranking = ranking(options);
+        PriorityQueue<RankedCandidate> heap = new PriorityQueue<>(limit + 1, ranking.reversed());
+
+        for (int v = 0; v < venues.size(); v++) {
+            int pair = features.pair(eventIndex, v);
+            ScoreBreakdown breakdown = features.breakdown(pair);
+            if (options.eligibleOnly() && !(breakdown.available() && breakdown.capacityMet())) {
+                continue;
+            }
+            offer(heap, new RankedCandidate(new VenueCandidate(venues.get(v), breakdown, scores[pair]), v), ranking, limit);
+        }
+        return sortCandidates(heap, ranking);
+    }
+
+    /**
+     * Returns the order of ranked candidates, best first: by model score, then by the options' tie-break, then by
+     * catalog position.
+     *
+     * @param options the ranking options
+     * @return the ranking order
+     */
+    private static Comparator<RankedCandidate> ranking(RankingOptions options) {
+        return Comparator
+                .comparingDouble((RankedCandidate ranked) -> -ranked.candidate().modelScore)
+                .thenComparing(RankedCandidate::candidate, options.tieBreak().order)
+                .thenComparingInt(RankedCandidate::position);
+    }
 
-                // Check event type matching.
-                boolean eventTypeMatch = bestCandidate.venue.getVenueTypes().stream()
-                        .map(type -> type.toString().trim().toLowerCase())
-                        .collect(Collectors.toSet())
-                        .contains(event.getEventType().toLowerCase().trim());
-                if (!eventTypeMatch) {
-                    unmetCriteria.add("Venue Type mismatch");
+    /**
+     * Adds a candidate to a bounded heap if it ranks above the worst candidate kept.
+     *
+     * @param heap      the best candidates so far, worst at the head
+     * @param candidate the candidate
+     * @param ranking   orders candidates best first
+     * @param limit     the number of candidates to keep
+     */
+    private static void offer(PriorityQueue<RankedCandidate> heap, RankedCandidate candidate,
+                              Comparator<RankedCandidate> ranking, int limit) {
+        if (heap.size() == limit && ranking.compare(candidate, heap.peek()) >= 0) {
+            return;
+        }
+        heap.add(candidate);
+        if (heap.size() > limit) {
+            heap.poll();
+        }
+    }
+
+    /**
+     * Empties a heap of candidates into a list, best first.
+     *
+     * @param heap    the candidates
+     * @param ranking orders candidates best first
+     * @return the candidates, best first
+     */
+    private static List<VenueCandidate> sortCandidates(PriorityQueue<RankedCandidate> heap, Comparator<RankedCandidate> ranking) {
+        List<RankedCandidate> ranked = new ArrayList<>(heap);
+        ranked.sort(ranking);
+        List<VenueCandidate> candidates = new ArrayList<>(ranked.size());
+        for (RankedCandidate candidate : ranked) {
+            candidates.add(candidate.candidate());
+        }
+        return candidates;
+    }
+
+    /**
+     * Scores the venues of one partition by the standard model and offers them to a bounded heap of candidates,
+     * smallest first.
+     *
+     * @param partition     the venues of one category
+     * @param event         the event to match
+     * @param categoryMatch whether the partition's category suits the event
+     * @param options       the ranking options
+     * @param ranking       orders candidates best first
+     * @param heap          the best candidates so far, worst at the head
+     * @param limit         the number of candidates to keep
+     */
+    private static void collectCandidates(VenueCandidateIndex.Partition partition, Event event, boolean categoryMatch,
+                                          RankingOptions options, Comparator<RankedCandidate> ranking,
+                                          PriorityQueue<RankedCandidate> heap, int limit) {
+        int requiredCapacity = event.getRequiredCapacity();
+        int first = options.eligibleOnly() ? partition.firstWithCapacity(requiredCapacity) : 0;
+        // Eligible venues always earn the availability and capacity points, so the partition's best possible
+        // score is known, and the closest-capacity tie-break follows the scan order.
+        int bestEligible = new ScoreBreakdown(true, true, categoryMatch, true, 0).score();
+        boolean scanInTieBreakOrder = options.eligibleOnly() && options.tieBreak() == TieBreak.CLOSEST_CAPACITY;
+
+        for (int i = first; i < partition.size(); i++) {
+            Venue venue = partition.get(i);
+            int capacitySlack = venue.getCapacity() - requiredCapacity;
+
+            if (options.eligibleOnly() && heap.size() == limit) {
+                VenueCandidate worst = heap.peek().candidate();
+                // Later venues are larger, so none of them can rank above the worst kept candidate either.
+                if (bestEligible < worst.score
+                        || (scanInTieBreakOrder && bestEligible == worst.score && capacitySlack > worst.capacityDiff)) {
+                    return;
                 }
+            }
+
+            boolean capacityMet = capacitySlack >= 0;
+            boolean typeMatch = VenueTypeDAO.isVenueSuitable(venue.getVenueId(), event.getEventType());
+            RankedCandidate ranked = new RankedCandidate(new VenueCandidate(venue,
+                    new ScoreBreakdown(true, capacityMet, categoryMatch, typeMatch, capacitySlack)), partition.sourcePosition(i));
+            if (heap.size() == limit && ranking.compare(ranked, heap.peek()) >= 0) {
+                continue;  // Not even the venue's best possible score would be kept.
+            }
 
-                recommendationsList.add(new AutoMatchResult(event, bestCandidate, unmetCriteria));
+            if (!isAvailable(venue, event)) {
+                if (options.eligibleOnly()) {
+                    continue;
+                }
+                ranked = new RankedCandidate(new VenueCandidate(venue,
+                        new ScoreBreakdown(false, capacityMet, categoryMatch, typeMatch, capacitySlack)), partition.sourcePosition(i));
             }
+            offer(heap, ranked, ranking, limit);
         }
-        return recommendationsList;
+    }
+
+    /**
+     * Checks whether a venue is available for an event's time slot.
+     *
+     * @param venue the venue
+     * @param event the event
+     * @return {@code true} if the venue is available; {@code false} if it is booked or the check fails
+     */
+    private static boolean isAvailable(Venue venue, Event event) {
+        try {
+            return BookingDAO.checkAvailability(
+                    venue.getVenueId(),
+                    event.getEventDate(),
+                    event.getEventTime(),
+                    event.getDuration()
+            );
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Returns the candidate index of the current venue catalog, rebuilding it if the catalog has changed.
+     *
+     * @return the candidate index
+     */
+    private static synchronized VenueCandidateIndex getCandidateIndex() {
+        List<Venue> venues = VenueCatalog.getInstance().getVenues();
+        if (candidateIndex == null || candidateIndex.getSource() != venues) {
+            candidateIndex = new VenueCandidateIndex(venues);
+        }
+        return candidateIndex;
+    }
+
+    /**
+     * Checks whether a venue category suits an event category. Convertible venues suit indoor and outdoor events.
+     *
+     * @param eventCategory the category of the event
+     * @param venueCategory the category of the venue
+     * @return {@code true} if the venue's category suits the event
+     */
+    static boolean categoryMatches(VenueCategory eventCategory, VenueCategory venueCategory) {
+        return switch (eventCategory) {
+            case INDOOR -> venueCategory == VenueCategory.INDOOR || venueCategory == VenueCategory.CONVERTIBLE;
+            case OUTDOOR -> venueCategory == VenueCategory.OUTDOOR || venueCategory == VenueCategory.CONVERTIBLE;
+            case CONVERTIBLE -> venueCategory == VenueCategory.CONVERTIBLE;
+        };
     }
 
     /**
@@ -216,38 +582,31 @@ public class VenueMatchingService {
      * @throws SQLException if a database access error occurs during availability check
      */
     public static int calculateCompatibility(Venue venue, Event event) throws SQLException {
-        int score = 0;
+        return scoreBreakdown(venue, event).score(); // Score ranges from 0 to 100.
+    }
 
+    /**
+     * Evaluates each compatibility criterion for a venue and an event.
+     *
+     * @param venue the venue to evaluate
+     * @param event the event for which compatibility is evaluated
+     * @return the criteria the venue meets, and its spare capacity
+     * @throws SQLException if a database access error occurs during availability check
+     */
+    public static ScoreBreakdown scoreBreakdown(Venue venue, Event event) throws SQLException {
         // 1. Check venue availability.
         boolean isAvailable = BookingDAO.checkAvailability(venue.getVenueId(),
                 event.getEventDate(), event.getEventTime(), event.getDuration());
-        if (isAvailable) {
-            score += 25;
-        }
 
         // 2. Check if the venue's capacity meets the event's requirement.
-        if (venue.getCapacity() >= event.getRequiredCapacity()) {
-            score += 25;
-        }
+        int capacitySlack = venue.getCapacity() - event.getRequiredCapacity();
 
         // 3. Check if the venue category matches the event category.
-        boolean eventCategoryMatch = switch (event.getCategory()) {
-            case INDOOR -> venue.getCategory() == VenueCategory.INDOOR || venue.getCategory() == VenueCategory.CONVERTIBLE;
-            case OUTDOOR -> venue.getCategory() == VenueCategory.OUTDOOR || venue.getCategory() == VenueCategory.CONVERTIBLE;
-            case CONVERTIBLE -> venue.getCategory() == VenueCategory.CONVERTIBLE;
-        };
-
-        if (eventCategoryMatch) {
-            score += 25;}
+        boolean eventCategoryMatch = categoryMatches(event.getCategory(), venue.getCategory());
 
         // 4. Check if the event type matches one of the venue types.
-        if (venue.getVenueTypes().stream()
-                .map(type -> type.toString().trim().toLowerCase())
-                .collect(Collectors.toSet())            // Ensure uniqueness
-                .contains(event.getEventType().trim().toLowerCase())) {
-            score += 25;
-        }
+        boolean eventTypeMatch = VenueTypeDAO.isVenueSuitable(venue.getVenueId(), event.getEventType());
 
-        return score; // Score ranges from 0 to 100.
+        return new ScoreBreakdown(isAvailable, capacitySlack >= 0, eventCategoryMatch, eventTypeMatch, capacitySlack);
     }
 }
@@ -0,0 +1,361 @@
+package service;
+
+import dao.VenueDAO;
+import model.ChangeEvent;
+import model.VenueCategory;
+import model.VenueRow;
+import util.ChangeBus;
+import util.IntIntHashMap;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory trigram index used to search venues by name and venue type.
+ * <p>
+ * Each venue name and venue type list is split into words, and each word into overlapping three-character grams.
+ * Words are padded with leading spaces, so the start of a word produces its own grams. A query is scored by how
+ * many of its grams occur in a venue's name or types. This supports:
+ * <ul>
+ *   <li><b>Substring matches</b> such as "orum" finding "The Forum".</li>
+ *   <li><b>Prefix matches</b> for short input such as "e" or "es", using the word-start grams.</li>
+ *   <li><b>Fuzzy matches</b> such as "esplenade" finding "Esplanade Hotel", because most grams still match.</li>
+ * </ul>
+ * Results are ranked by the fraction of query grams matched. Name matches rank above type-only matches, and names
+ * that start with the query are boosted. Only the posting lists for the query's grams are visited, so a search
+ * does not scan every venue.
+ * </p>
+ * <p>
+ * The index is built lazily from the database on first use. It subscribes to the venue change events published on
+ * the {@link ChangeBus}, so venues added or deleted by any caller are applied to the index as they happen, and a
+ * cleared venue table causes the index to be rebuilt on the next search.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class VenueSearchIndex {
+
+    private static VenueSearchIndex instance;
+
+    /**
+     * Minimum fraction of a query's grams a venue must contain to be returned.
+     */
+    private static final double MIN_MATCH = 0.5;
+
+    /**
+     * Rank weight applied when a query only matches a venue's types, not its name.
+     */
+    private static final double TYPE_MATCH_WEIGHT = 0.8;
+
+    private static final double NAME_PREFIX_BONUS = 0.5;
+    private static final double WORD_PREFIX_BONUS = 0.25;
+
+    private final List<VenueRow> venues = new ArrayList<>();
+    private final List<String> normalisedNames = new ArrayList<>();
+    private final IntIntHashMap docByVenueId = new IntIntHashMap(-1);
+    private final Map<String, Postings> nameGrams = new HashMap<>();
+    private final Map<String, Postings> typeGrams = new HashMap<>();
+    private int[] nameHits = new int[0];
+    private int[] typeHits = new int[0];
+    private int[] touched = new int[0];
+    private int removedCount;
+    private boolean built;
+
+    /** Held so the bus keeps delivering venue changes for the lifetime of the index. */
+    private final List<ChangeBus.Subscription> subscriptions;
+
+    /**
+     * Private constructor to enforce the Singleton pattern.
+     */
+    private VenueSearchIndex() {
+        ChangeBus bus = ChangeBus.getInstance();
+        subscriptions = List.of(
+                bus.subscribe(ChangeEvent.VenueAdded.class, change -> add(change.venue())),
+                bus.subscribe(ChangeEvent.VenueDeleted.class, change -> remove(change.venueId())),
+                bus.subscribe(ChangeEvent.VenuesReset.class, change -> invalidate()));
+    }
+
+    /**
+     * Returns the singleton instance of the venue search index.
+     *
+     * @return the single {@code VenueSearchIndex} instance
+     */
+    public static synchronized VenueSearchIndex getInstance() {
+        if (instance == null) {
+            instance = new VenueSearchIndex();
+        }
+        return instance;
+    }
+
+    /**
+     * Searches venues by name and venue type, optionally restricted to a set of categories.
+     * <p>
+     * A blank query returns every venue (in the given categories) ordered by venue ID, matching the behaviour of
+     * an unfiltered table load.
+     * </p>
+     *
+     * @param query      the search text; may be {@code null} or blank
+     * @param categories the categories to include; {@code null} or empty means all categories
+     * @return the matching venues, best match first
+     */
+    public synchronized List<VenueRow> search(String query, List<String> categories) {
+        ensureBuilt();
+        Set<VenueCategory> allowed = toCategories(categories);
+
+        if (query == null || query.isBlank()) {
+            List<VenueRow> all = new ArrayList<>();
+            for (VenueRow venue : venues) {
+                if (venue != null && (allowed.isEmpty() || allowed.contains(venue.category()))) {
+                    all.add(venue);
+                }
+            }
+            all.sort(Comparator.comparingInt(VenueRow::venueId));
+            return all;
+        }
+
+        String normalised = normalise(query);
+        Set<String> grams = queryGrams(normalised);
+        if (grams.isEmpty()) {
+            return List.of();
+        }
+
+        // Count the query grams present in each venue's name and types, remembering which venues were touched.
+        int touchedCount = 0;
+        for (String gram : grams) {
+            Postings names = nameGrams.get(gram);
+            if (names != null) {
+                for (int i = 0; i < names.size; i++) {
+                    int doc = names.docs[i];
+                    if (nameHits[doc] == 0 && typeHits[doc] == 0) touched[touchedCount++] = doc;
+                    nameHits[doc]++;
+                }
+            }
+            Postings types = typeGrams.get(gram);
+            if (types != null) {
+                for (int i = 0; i < types.size; i++) {
+                    int doc = types.docs[i];
+                    if (nameHits[doc] == 0 && typeHits[doc] == 0) touched[touchedCount++] = doc;
+                    typeHits[doc]++;
+                }
+            }
+        }
+
+        String firstWord = " " + normalised.split(" ", 2)[0];
+        List<ScoredVenue> matches = new ArrayList<>();
+        for (int t = 0; t < touchedCount; t++) {
+            int doc = touched[t];
+            VenueRow venue = venues.get(doc);
+            double nameScore = (double) nameHits[doc] / grams.size();
+            double typeScore = (double) typeHits[doc] / grams.size();
+            nameHits[doc] = 0;
+            typeHits[doc] = 0;
+
+            if (venue == null || Math.max(nameScore, typeScore) < MIN_MATCH) continue;
+            if (!allowed.isEmpty() && !allowed.contains(venue.category())) continue;
+
+            double rank = Math.max(Math.min(nameScore, 1.0), Math.min(typeScore, 1.0) * TYPE_MATCH_WEIGHT);
+            String name = normalisedNames.get(doc);
+            if (name.startsWith(normalised, 1)) {
+                rank += NAME_PREFIX_BONUS;
+            } else if (name.contains(firstWord)) {
+                rank += WORD_PREFIX_BONUS;
+            }
+            matches.add(new ScoredVenue(venue, rank));
+        }
+
+        matches.sort(Comparator.comparingDouble(ScoredVenue::rank).reversed()
+                .thenComparingInt(scored -> scored.venue().venueId()));
+        return matches.stream().map(ScoredVenue::venue).toList();
+    }
+
+    /**
+     * Adds a venue to the index, replacing any existing entry with the same venue ID.
+     *
+     * @param venue the venue to add
+     */
+    public synchronized void add(VenueRow venue) {
+        if (!built) return;  // Picked up when the index is first built.
+        remove(venue.venueId());
+        index(venue);
+    }
+
+    /**
+     * Removes a venue from the index.
+     * <p>
+     * The venue's slot is cleared rather than compacted and its postings are skipped during searches. Once more
+     * than half of the slots are cleared, the index is rebuilt on the next search.
+     * </p>
+     *
+     * @param venueId the ID of the venue to remove
+     */
+    public synchronized void remove(int venueId) {
+        int doc = docByVenueId.remove(venueId);
+        if (doc != -1) {
+            venues.set(doc, null);
+            if (++removedCount > venues.size() / 2) {
+                built = false;
+            }
+        }
+    }
+
+    /**
+     * Discards the index so it is rebuilt from the database on the next search.
+     * <p>
+     * Used after bulk changes such as clearing the venue table, where reloading is simpler than applying each change.
+     * </p>
+     */
+    public synchronized void invalidate() {
+        built = false;
+    }
+
+    /**
+     * Builds the index from the database if it has not been built since the last invalidation.
+     */
+    private void ensureBuilt() {
+        if (built) return;
+
+        venues.clear();
+        normalisedNames.clear();
+        docByVenueId.clear();
+        nameGrams.clear();
+        typeGrams.clear();
+        removedCount = 0;
+        try {
+            for (VenueRow venue : VenueDAO.searchVenuesByNameAndCategory(null, null)) {
+                index(venue);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            System.err.println("Error building venue search index: " + e.getMessage());
+        }
+        built = true;
+    }
+
+    /**
+     * Appends a venue to the document list and its grams to the posting lists.
+     *
+     * @param venue the venue to index
+     */
+    private void index(VenueRow venue) {
+        int doc = venues.size();
+        String name = normalise(venue.name());
+        venues.add(venue);
+        normalisedNames.add(" " + name);  // Leading space so word starts can be found with contains(" " + word)
+        docByVenueId.put(venue.venueId(), doc);
+        if (nameHits.length <= doc) {
+            nameHits = Arrays.copyOf(nameHits, Math.max(16, doc * 2));
+            typeHits = Arrays.copyOf(typeHits, nameHits.length);
+            touched = Arrays.copyOf(touched, nameHits.length);
+        }
+
+        for (String gram : documentGrams(name)) {
+            nameGrams.computeIfAbsent(gram, g -> new Postings()).add(doc);
+        }
+        for (String gram : documentGrams(normalise(venue.venueTypes()))) {
+            typeGrams.computeIfAbsent(gram, g -> new Postings()).add(doc);
+        }
+    }
+
+    /**
+     * Returns the distinct grams of every word in a document field, including the two word-start grams.
+     *
+     * @param text the normalised field text
+     * @return the set of grams
+     */
+    private static Set<String> documentGrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (String word : text.split(" ")) {
+            if (word.isEmpty()) continue;
+            String padded = "  " + word;
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Returns the grams to look up for a query.
+     * <p>
+     * Words of three or more characters use only their interior grams, so they match anywhere in a word. Shorter
+     * words can only be matched as word prefixes, so they use their padded word-start gram.
+     * </p>
+     *
+     * @param query the normalised query text
+     * @return the set of grams
+     */
+    private static Set<String> queryGrams(String query) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : query.split(" ")) {
+            if (word.isEmpty()) continue;
+            if (word.length() < 3) {
+                grams.add(("  " + word).substring(word.length() - 1, word.length() + 2));
+            } else {
+                for (int i = 0; i + 3 <= word.length(); i++) {
+                    grams.add(word.substring(i, i + 3));
+                }
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Lower-cases text and replaces punctuation with spaces so that words split cleanly.
+     *
+     * @param text the text to normalise; may be {@code null}
+     * @return the normalised text
+     */
+    private static String normalise(String text) {
+        if (text == null) return "";
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    /**
+     * Converts category names into a set of {@link VenueCategory} values.
+     *
+     * @param categories the category names; may be {@code null}
+     * @return the categories, or an empty set if all categories are allowed
+     */
+    private static Set<VenueCategory> toCategories(List<String> categories) {
+        Set<VenueCategory> allowed = new HashSet<>();
+        if (categories != null) {
+            for (String category : categories) {
+                allowed.add(VenueCategory.valueOf(category.toUpperCase()));
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * A growable list of document numbers for a single gram.
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        private void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+
+    /**
+     * A matching venue and its rank.
+     *
+     * @param venue the matching venue
+     * @param rank  the rank; higher is better
+     */
+    private record ScoredVenue(VenueRow venue, double rank) {}
+}
@@ -3,16 +3,12 @@ package service;
 import dao.VenueDAO;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.scene.control.Alert;
 import model.Venue;
+import model.VenueRow;
 import model.VenueType;
-import util.AlertUtils;
 
-import java.sql.SQLException;
-import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 
 /**
@@ -34,7 +30,8 @@ public class VenueService {
      * Adds a new venue along with its associated venue types.
      * <p>
      * This method creates a new {@code Venue} object with the specified details and then saves it to the database
-     * using {@link dao.VenueDAO#addVenue(Venue, List)}.
+     * using {@link dao.VenueDAO#addVenue(Venue, List)}. The DAO publishes the new venue on the change bus, which
+     * adds it to the {@link VenueSearchIndex}.
      * </p>
      *
      * @param venueName  the name of the venue
@@ -50,45 +47,32 @@ public class VenueService {
     }
 
     /**
-     * Retrieves all venues from the database and formats their capacity and hire price for display.
+     * Retrieves all venues for display.
      * <p>
-     * This method fetches the list of venues via {@link dao.VenueDAO#getAllVenues()} and then formats each venue's
-     * capacity and hourly hire price using the appropriate number formats. The formatted values are set in the venue
-     * object and the list is returned as an {@code ObservableList}.
+     * This method returns every venue from the {@link VenueSearchIndex} as lightweight {@link VenueRow}
+     * projections. The rows format their capacity and hourly hire price on demand using the shared formatters
+     * in {@link util.NumberUtils}.
      * </p>
      *
-     * @return an {@code ObservableList<Venue>} containing all venues with formatted values
+     * @return an {@code ObservableList<VenueRow>} containing all venues
      */
-    public static ObservableList<Venue> getAllVenues() {
-        List<Venue> venues = VenueDAO.getAllVenues();
-
-        // Create formatters for currency and numbers.
-        NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(Locale.US);
-        NumberFormat numberFormat = NumberFormat.getInstance(Locale.US);
-
-        // Format each venue's capacity and hire price.
-        venues.forEach(venue -> {
-            venue.setFormattedCapacity(numberFormat.format(venue.getCapacity()));
-            venue.setFormattedPrice(currencyFormat.format(venue.getHirePricePerHour()));
-        });
-
-        return FXCollections.observableArrayList(venues);
+    public static ObservableList<VenueRow> getAllVenues() {
+        return searchVenues(null, (String) null);
     }
 
     /**
      * Searches for venues based on search text and a list of categories.
      * <p>
-     * This method delegates the search to {@link dao.VenueDAO#searchVenuesByNameAndCategory(String, List)},
-     * converts the resulting list into an {@code ObservableList}, and returns it.
+     * This method queries the in-memory {@link VenueSearchIndex}, which matches the search text against venue names
+     * and venue types (including prefix and approximate matches) and returns the results best match first.
      * </p>
      *
-     * @param searchText the text to search for in the venue name
+     * @param searchText the text to search for in the venue name or types
      * @param categories a list of venue categories to filter by
-     * @return an {@code ObservableList<Venue>} containing the search results
-     * @throws SQLException if a database access error occurs
+     * @return an {@code ObservableList<VenueRow>} containing the search results
      */
-    public static ObservableList<Venue> searchVenues(String searchText, List<String> categories) throws SQLException {
-        return FXCollections.observableArrayList(VenueDAO.searchVenuesByNameAndCategory(searchText, categories));
+    public static ObservableList<VenueRow> searchVenues(String searchText, List<String> categories) {
+        return FXCollections.observableArrayList(VenueSearchIndex.getInstance().search(searchText, categories));
     }
 
     /**
@@ -100,17 +84,10 @@ public class VenueService {
      *
      * @param name     the venue name to search for
      * @param category the venue category to filter by
-     * @return an {@code ObservableList<Venue>} containing the search results
+     * @return an {@code ObservableList<VenueRow>} containing the search results
      */
-    public static ObservableList<Venue> searchVenues(String name, String category) {
-        List<Venue> venues = new ArrayList<>();
-        try {
-            venues = VenueDAO.searchVenuesByNameAndCategory(name, getVenueCategories(category));
-        } catch (SQLException e) {
-            e.printStackTrace();
-            AlertUtils.showAlert("Database Error", "Failed to retrieve venues: " + e.getMessage(), Alert.AlertType.ERROR);
-        }
-        return FXCollections.observableArrayList(venues);
+    public static ObservableList<VenueRow> searchVenues(String name, String category) {
+        return searchVenues(name, getVenueCategories(category));
     }
 
     /**
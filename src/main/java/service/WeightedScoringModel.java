@@ -0,0 +1,128 @@
+package service;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * A {@link ScoringModel} with a configurable weight for each feature.
+ * <p>
+ * Models are immutable; {@link #withWeight} returns a copy with one weight changed, for example
+ * {@code WeightedScoringModel.STANDARD.withWeight(ScoringFeature.PRICE_PER_ATTENDEE, -2)} to prefer venues that
+ * are cheaper per attendee. Weights can also be given as text with {@link #parse}, as the batch tool's
+ * {@code --weights} option and the {@value ScoringModel#WEIGHTS_PROPERTY} system property do.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public final class WeightedScoringModel implements ScoringModel {
+
+    /** The standard compatibility model: 25 points each for availability, capacity, category and type. */
+    public static final WeightedScoringModel STANDARD = new WeightedScoringModel(new double[ScoringFeature.values().length])
+            .withWeight(ScoringFeature.AVAILABILITY, 25)
+            .withWeight(ScoringFeature.CAPACITY, 25)
+            .withWeight(ScoringFeature.CATEGORY, 25)
+            .withWeight(ScoringFeature.TYPE, 25);
+
+    private final double[] weights;
+
+    private WeightedScoringModel(double[] weights) {
+        this.weights = weights;
+    }
+
+    /**
+     * Returns a model with every weight zero.
+     *
+     * @return the empty model
+     */
+    public static WeightedScoringModel empty() {
+        return new WeightedScoringModel(new double[ScoringFeature.values().length]);
+    }
+
+    /**
+     * Returns a copy of this model with the weight of one feature changed.
+     *
+     * @param feature the feature
+     * @param weight  the new weight
+     * @return the new model
+     */
+    public WeightedScoringModel withWeight(ScoringFeature feature, double weight) {
+        double[] copy = Arrays.copyOf(weights, weights.length);
+        copy[feature.ordinal()] = weight;
+        return new WeightedScoringModel(copy);
+    }
+
+    /**
+     * Returns a copy of the standard model with the weights listed in a specification changed.
+     * <p>
+     * The specification is a comma-separated list of {@code FEATURE=WEIGHT} entries, such as
+     * {@code price-per-attendee=-2,capacity-utilisation=10}. Feature names are those of {@link ScoringFeature},
+     * in any case and with hyphens or underscores. Features not listed keep their standard weight.
+     * </p>
+     *
+     * @param spec the weights to change
+     * @return the new model
+     * @throws IllegalArgumentException if an entry names no feature or its weight is not a number
+     */
+    public static WeightedScoringModel parse(String spec) {
+        WeightedScoringModel model = STANDARD;
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int equals = entry.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Expected FEATURE=WEIGHT but found '" + entry.strip() + "'");
+            }
+            String name = entry.substring(0, equals).strip();
+            String weight = entry.substring(equals + 1).strip();
+            ScoringFeature feature;
+            try {
+                feature = ScoringFeature.valueOf(name.replace('-', '_').toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown scoring feature '" + name + "'; expected one of "
+                        + Arrays.toString(ScoringFeature.values()));
+            }
+            double value;
+            try {
+                value = Double.parseDouble(weight);
+            } catch (NumberFormatException e) {
+                value = Double.NaN;
+            }
+            if (!Double.isFinite(value)) {
+                throw new IllegalArgumentException("The weight of " + feature + " is not a number: '" + weight + "'");
+            }
+            model = model.withWeight(feature, value);
+        }
+        return model;
+    }
+
+    @Override
+    public double weight(ScoringFeature feature) {
+        return weights[feature.ordinal()];
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof WeightedScoringModel model && Arrays.equals(weights, model.weights);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(weights);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("WeightedScoringModel[");
+        for (ScoringFeature feature : ScoringFeature.values()) {
+            if (weights[feature.ordinal()] != 0) {
+                if (text.charAt(text.length() - 1) != '[') {
+                    text.append(", ");
+                }
+                text.append(feature).append('=').append(weights[feature.ordinal()]);
+            }
+        }
+        return text.append(']').toString();
+    }
+}
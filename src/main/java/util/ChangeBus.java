@@ -0,0 +1,150 @@
+package util;
+
+import javafx.application.Platform;
+import model.ChangeEvent;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process publish/subscribe bus for {@link ChangeEvent}s.
+ * <p>
+ * The DAO write methods publish a change event after each committed change. Controllers and in-memory caches
+ * subscribe to the event types they care about and update only the affected rows, so the cost of a refresh
+ * follows the size of the change rather than the size of the dataset.
+ * </p>
+ * <p>
+ * Events are delivered synchronously on the publishing thread, which is often a background task. Listeners
+ * that touch the UI should be wrapped with {@link #onFxThread(Consumer)}. An exception thrown by a listener is
+ * logged and does not stop delivery to the other listeners or fail the write that published the event.
+ * </p>
+ * <p>
+ * The bus holds subscriptions weakly. Controllers are recreated every time their scene is shown, so the bus
+ * must not keep old controllers alive. A subscriber keeps the returned {@link Subscription} in a field for as
+ * long as it wants to receive events, and can also {@link Subscription#cancel() cancel} it explicitly.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class ChangeBus {
+
+    private static ChangeBus instance;
+
+    private final List<WeakReference<Subscription>> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Private constructor to enforce the Singleton pattern.
+     */
+    private ChangeBus() {}
+
+    /**
+     * Returns the singleton instance of the change bus.
+     *
+     * @return the single {@code ChangeBus} instance
+     */
+    public static synchronized ChangeBus getInstance() {
+        if (instance == null) {
+            instance = new ChangeBus();
+        }
+        return instance;
+    }
+
+    /**
+     * Subscribes a listener to one type of change event.
+     *
+     * @param type     the change event type to receive
+     * @param listener the listener to call for each published event of that type
+     * @param <E>      the change event type
+     * @return the subscription, which the caller must keep a reference to for as long as events should be delivered
+     */
+    public <E extends ChangeEvent> Subscription subscribe(Class<E> type, Consumer<? super E> listener) {
+        Subscription subscription = new Subscription(type, listener);
+        subscriptions.add(new WeakReference<>(subscription));
+        return subscription;
+    }
+
+    /**
+     * Delivers a change event to every live subscription for its type.
+     * <p>
+     * Subscriptions that have been cancelled or garbage collected are removed as they are found.
+     * </p>
+     *
+     * @param event the change event to publish
+     */
+    public void publish(ChangeEvent event) {
+        for (WeakReference<Subscription> reference : subscriptions) {
+            Subscription subscription = reference.get();
+            if (subscription == null || subscription.cancelled) {
+                subscriptions.remove(reference);
+            } else if (subscription.type.isInstance(event)) {
+                try {
+                    subscription.deliver(event);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                    System.err.println("Error delivering change event " + event + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Publishes several change events in order.
+     *
+     * @param events the change events to publish
+     */
+    public void publishAll(List<? extends ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            publish(event);
+        }
+    }
+
+    /**
+     * Wraps a listener so that it runs on the JavaFX Application Thread.
+     * <p>
+     * Events published on the FX thread are handled immediately; events published on other threads are
+     * handed to {@link Platform#runLater(Runnable)}.
+     * </p>
+     *
+     * @param listener the listener that updates the UI
+     * @param <E>      the change event type
+     * @return a listener that can be passed to {@link #subscribe(Class, Consumer)}
+     */
+    public static <E> Consumer<E> onFxThread(Consumer<E> listener) {
+        return event -> {
+            if (Platform.isFxApplicationThread()) {
+                listener.accept(event);
+            } else {
+                Platform.runLater(() -> listener.accept(event));
+            }
+        };
+    }
+
+    /**
+     * A listener registered for one type of change event.
+     */
+    public static final class Subscription {
+        private final Class<? extends ChangeEvent> type;
+        private final Consumer<Object> listener;
+        private volatile boolean cancelled;
+
+        @SuppressWarnings("unchecked")
+        private Subscription(Class<? extends ChangeEvent> type, Consumer<?> listener) {
+            this.type = type;
+            this.listener = (Consumer<Object>) listener;
+        }
+
+        private void deliver(ChangeEvent event) {
+            listener.accept(event);
+        }
+
+        /**
+         * Stops delivering events to this subscription's listener.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
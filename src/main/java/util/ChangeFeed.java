@@ -0,0 +1,214 @@
+package util;
+
+import model.BookingStatus;
+import model.ChangeEvent;
+import model.VenueCategory;
+import model.VenueRow;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Numbered history of the most recent {@link ChangeEvent}s published on the {@link ChangeBus}, so another process
+ * can catch up with the changes made here.
+ * <p>
+ * Every published event is given the next revision number and kept in a ring buffer of the last
+ * {@link #CAPACITY} events. A reader passes the last revision it has seen and receives the events after it, or is
+ * told to reload everything if those events are no longer held. Revisions start from zero each time the feed is
+ * created, so a reader that has seen a later revision than the feed's is also told to reload.
+ * </p>
+ * <p>
+ * {@link #toJson(ChangeEvent)} and {@link #fromJson(Map)} convert the events to and from the {@link Json} shapes
+ * sent by the HTTP API.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class ChangeFeed {
+
+    /** The number of most recent events held. */
+    public static final int CAPACITY = 1024;
+
+    private final ChangeEvent[] events = new ChangeEvent[CAPACITY];
+    private long revision;
+
+    /** Held so the bus keeps delivering changes for the lifetime of the feed. */
+    private final ChangeBus.Subscription subscription;
+
+    /**
+     * Creates a feed that records every change event published from now on.
+     */
+    public ChangeFeed() {
+        subscription = ChangeBus.getInstance().subscribe(ChangeEvent.class, this::record);
+    }
+
+    /**
+     * The events after a revision.
+     *
+     * @param revision the revision of the last event, which the reader passes next time
+     * @param reset    {@code true} if the events after the reader's revision are no longer held, so the reader
+     *                 must reload everything; {@code changes} is then empty
+     * @param changes  the events, oldest first
+     */
+    public record Changes(long revision, boolean reset, List<ChangeEvent> changes) {}
+
+    /**
+     * Returns the revision of the last event recorded.
+     *
+     * @return the current revision, or 0 if nothing has been recorded
+     */
+    public synchronized long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Returns the events recorded after a revision.
+     *
+     * @param since the last revision the reader has seen
+     * @return the later events, or a reset if they are no longer held
+     */
+    public synchronized Changes since(long since) {
+        if (since > revision || since < revision - CAPACITY || since < 0) {
+            return new Changes(revision, true, List.of());
+        }
+        List<ChangeEvent> changes = new ArrayList<>((int) (revision - since));
+        for (long r = since + 1; r <= revision; r++) {
+            changes.add(events[(int) ((r - 1) % CAPACITY)]);
+        }
+        return new Changes(revision, false, changes);
+    }
+
+    private synchronized void record(ChangeEvent event) {
+        events[(int) (revision % CAPACITY)] = event;
+        revision++;
+    }
+
+    /**
+     * Stops recording change events.
+     */
+    public void close() {
+        subscription.cancel();
+    }
+
+    /**
+     * Converts a change event to a JSON object holding its type and fields.
+     *
+     * @param event the change event
+     * @return the JSON object, for {@link Json#write(Object)}
+     */
+    public static Map<String, Object> toJson(ChangeEvent event) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("type", event.getClass().getSimpleName());
+        switch (event) {
+            case ChangeEvent.BookingCreated change -> {
+                putBooking(json, change.bookingId(), change.eventId(), change.venueId(), change.clientId());
+                json.put("status", change.status());
+            }
+            case ChangeEvent.BookingCancelled change -> {
+                putBooking(json, change.bookingId(), change.eventId(), change.venueId(), change.clientId());
+                json.put("wasConfirmed", change.wasConfirmed());
+            }
+            case ChangeEvent.BookingUpdated change -> {
+                putBooking(json, change.bookingId(), change.eventId(), change.venueId(), change.clientId());
+                json.put("previousEventId", change.previousEventId());
+                json.put("previousClientId", change.previousClientId());
+                json.put("confirmed", change.confirmed());
+            }
+            case ChangeEvent.EventsAdded change -> json.put("eventIds", change.eventIds());
+            case ChangeEvent.EventUpdated change -> json.put("eventId", change.eventId());
+            case ChangeEvent.VenueAdded change -> {
+                VenueRow venue = change.venue();
+                json.put("venueId", venue.venueId());
+                json.put("name", venue.name());
+                json.put("category", venue.category());
+                json.put("capacity", venue.capacity());
+                json.put("hirePricePerHour", venue.hirePricePerHour());
+                json.put("venueTypes", venue.venueTypes());
+            }
+            case ChangeEvent.VenueDeleted change -> json.put("venueId", change.venueId());
+            case ChangeEvent.EventsReset change -> {}
+            case ChangeEvent.VenuesReset change -> {}
+        }
+        return json;
+    }
+
+    /**
+     * Reads a change event written by {@link #toJson(ChangeEvent)} and parsed by {@link Json#parse(String)}.
+     *
+     * @param json the JSON object
+     * @return the change event
+     * @throws IllegalArgumentException if the object is not a change event
+     */
+    public static ChangeEvent fromJson(Map<?, ?> json) {
+        String type = String.valueOf(json.get("type"));
+        return switch (type) {
+            case "BookingCreated" -> new ChangeEvent.BookingCreated(intField(json, "bookingId"),
+                    intField(json, "eventId"), intField(json, "venueId"), intField(json, "clientId"),
+                    BookingStatus.valueOf(stringField(json, "status")));
+            case "BookingCancelled" -> new ChangeEvent.BookingCancelled(intField(json, "bookingId"),
+                    intField(json, "eventId"), intField(json, "venueId"), intField(json, "clientId"),
+                    booleanField(json, "wasConfirmed"));
+            case "BookingUpdated" -> new ChangeEvent.BookingUpdated(intField(json, "bookingId"),
+                    intField(json, "eventId"), intField(json, "venueId"), intField(json, "clientId"),
+                    intField(json, "previousEventId"), intField(json, "previousClientId"),
+                    booleanField(json, "confirmed"));
+            case "EventsAdded" -> {
+                if (!(json.get("eventIds") instanceof List<?> ids)) {
+                    throw new IllegalArgumentException("EventsAdded needs a list of eventIds");
+                }
+                List<Integer> eventIds = new ArrayList<>(ids.size());
+                for (Object id : ids) {
+                    if (!(id instanceof Long eventId)) {
+                        throw new IllegalArgumentException("eventIds must be integers");
+                    }
+                    eventIds.add(eventId.intValue());
+                }
+                yield new ChangeEvent.EventsAdded(eventIds);
+            }
+            case "EventUpdated" -> new ChangeEvent.EventUpdated(intField(json, "eventId"));
+            case "EventsReset" -> new ChangeEvent.EventsReset();
+            case "VenueAdded" -> {
+                if (!(json.get("hirePricePerHour") instanceof Number price)) {
+                    throw new IllegalArgumentException("hirePricePerHour must be a number");
+                }
+                yield new ChangeEvent.VenueAdded(new VenueRow(intField(json, "venueId"), stringField(json, "name"),
+                        VenueCategory.valueOf(stringField(json, "category")), intField(json, "capacity"),
+                        price.doubleValue(), stringField(json, "venueTypes")));
+            }
+            case "VenueDeleted" -> new ChangeEvent.VenueDeleted(intField(json, "venueId"));
+            case "VenuesReset" -> new ChangeEvent.VenuesReset();
+            default -> throw new IllegalArgumentException("Unknown change event type " + type);
+        };
+    }
+
+    private static void putBooking(Map<String, Object> json, int bookingId, int eventId, int venueId, int clientId) {
+        json.put("bookingId", bookingId);
+        json.put("eventId", eventId);
+        json.put("venueId", venueId);
+        json.put("clientId", clientId);
+    }
+
+    private static int intField(Map<?, ?> json, String name) {
+        if (!(json.get(name) instanceof Long value)) {
+            throw new IllegalArgumentException(name + " must be an integer");
+        }
+        return value.intValue();
+    }
+
+    private static String stringField(Map<?, ?> json, String name) {
+        if (!(json.get(name) instanceof String value)) {
+            throw new IllegalArgumentException(name + " must be a string");
+        }
+        return value;
+    }
+
+    private static boolean booleanField(Map<?, ?> json, String name) {
+        if (!(json.get(name) instanceof Boolean value)) {
+            throw new IllegalArgumentException(name + " must be true or false");
+        }
+        return value;
+    }
+}
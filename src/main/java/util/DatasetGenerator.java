@@ -0,0 +1,683 @@
+package util;
+
+import dao.DatabaseHandler;
+import dao.ReportingDAO;
+import model.BookingStatus;
+import model.VenueCategory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates synthetic venues, clients, events and bookings for load and performance testing.
+ * <p>
+ * The data is shaped like the bundled sample files: venues have a category, one to three related venue types, a
+ * capacity and an hourly price that grows with capacity. Events start mostly in the evening, last one to five
+ * hours and belong to a client. A share of events is booked at a compatible venue as a confirmed, pending or
+ * cancelled booking. Each venue takes at most one booking per day, so there are no double-bookings unless a
+ * double-booking rate is set with {@link #withDoubleBookings(double)}.
+ * </p>
+ * <p>
+ * Generation is deterministic: the same sizes and seed always produce the same data. Rows are streamed to the
+ * output, so only a few small arrays per venue are held in memory and scales up to tens of millions of events
+ * are practical. The data can be written as:
+ * <ul>
+ *   <li><b>CSV files</b> in the formats read by {@link service.CSVHandler} ({@code venues.csv} and
+ *   {@code requests.csv}). These formats have no client or booking columns, so bookings are not written.</li>
+ *   <li><b>Database rows</b> inserted directly into the schema tables, appended after any existing rows.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * It can also be run from the command line, for example:
+ * {@code java util.DatasetGenerator --rows 1000000 --seed 42 --format db --out db/load_test.db}
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class DatasetGenerator {
+
+    /**
+     * The first event date when no start date is given.
+     */
+    public static final LocalDate DEFAULT_START_DATE = LocalDate.of(2025, 1, 1);
+
+    /**
+     * Venue types ordered so that neighbouring types suit the same kind of venue.
+     */
+    private static final String[] VENUE_TYPES = {
+            "gig", "disco", "party", "comedy", "theatre", "live concert", "large live concert", "festival"
+    };
+
+    private static final String[] VENUE_ADJECTIVES = {
+            "Royal", "Grand", "Old", "Blue", "Golden", "Northern", "Velvet", "Electric", "Corner", "Railway",
+            "Harbour", "Empire", "Crown", "Union", "Palace", "Station"
+    };
+    private static final String[] VENUE_NOUNS = {
+            "Hotel", "Hall", "Theatre", "Bandroom", "Forum", "Arena", "Tavern", "Gardens", "Pavilion", "Club",
+            "Lounge", "Amphitheatre", "Warehouse", "Ballroom", "Park", "Showgrounds"
+    };
+    private static final String[] CLIENT_FIRST = {
+            "Mousetrap", "Party People", "Harbour", "Midnight", "Sunset", "Neon", "Pulse", "Echo", "Golden Hour",
+            "Backstage", "Southside", "Lantern", "Riverside", "Skyline", "Outback", "Laneway"
+    };
+    private static final String[] CLIENT_LAST = {
+            "Events", "Productions", "Entertainment", "Promotions", "Collective", "Agency", "Presents", "Live"
+    };
+    private static final String[] ARTIST_FIRST = {
+            "Velvet", "Midnight", "Electric", "Silver", "Wild", "Neon", "Crystal", "Paper", "Hollow", "Lunar",
+            "Static", "Golden"
+    };
+    private static final String[] ARTIST_LAST = {
+            "Foxes", "Echoes", "Tigers", "Satellites", "Rivers", "Hearts", "Ghosts", "Kites", "Pilots", "Sparrows",
+            "Lights", "Machines"
+    };
+    private static final String[] TITLE_SUFFIXES = {
+            "Live", "Summer Tour", "Album Launch", "Night", "Farewell Show", "Reunion", "Unplugged", "Winter Tour"
+    };
+
+    private static final int[] START_HOURS = {10, 12, 14, 17, 18, 19, 20, 21, 22};
+    private static final int[] START_HOUR_WEIGHTS = {2, 4, 4, 6, 10, 18, 26, 20, 10};
+    private static final int[] DURATION_WEIGHTS = {10, 35, 30, 18, 7};  // for 1 to 5 hours
+
+    /**
+     * Number of days over which unbooked events are spread.
+     */
+    private static final int EVENT_DAYS = 365;
+
+    /**
+     * Largest gap in days between consecutive bookings at the same venue.
+     */
+    private static final int MAX_BOOKING_GAP = 14;
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final int venueCount;
+    private final int clientCount;
+    private final int eventCount;
+    private final double bookingRate;
+    private final long seed;
+    private double doubleBookingRate;
+    private LocalDate startDate = DEFAULT_START_DATE;
+
+    /**
+     * Constructs a generator with explicit sizes.
+     *
+     * @param venueCount  the number of venues to generate
+     * @param clientCount the number of clients to generate
+     * @param eventCount  the number of events to generate
+     * @param bookingRate the fraction of events that are booked, between 0 and 1
+     * @param seed        the random seed
+     * @throws IllegalArgumentException if a count is not positive or the booking rate is out of range
+     */
+    public DatasetGenerator(int venueCount, int clientCount, int eventCount, double bookingRate, long seed) {
+        if (venueCount < 1 || clientCount < 1 || eventCount < 1) {
+            throw new IllegalArgumentException("Venue, client and event counts must be positive");
+        }
+        if (bookingRate < 0 || bookingRate > 1) {
+            throw new IllegalArgumentException("Booking rate must be between 0 and 1");
+        }
+        this.venueCount = venueCount;
+        this.clientCount = clientCount;
+        this.eventCount = eventCount;
+        this.bookingRate = bookingRate;
+        this.seed = seed;
+    }
+
+    /**
+     * Creates a generator sized by a scale factor.
+     * <p>
+     * The scale factor is the number of events. There is one venue for every ten events, one client for every
+     * fifty events, and 60% of events are booked.
+     * </p>
+     *
+     * @param rows the number of events, e.g. 1,000 to 10,000,000
+     * @param seed the random seed
+     * @return the generator
+     */
+    public static DatasetGenerator ofScale(int rows, long seed) {
+        return new DatasetGenerator(Math.max(10, rows / 10), Math.max(10, rows / 50), rows, 0.6, seed);
+    }
+
+    /**
+     * Sets the fraction of bookings that deliberately clash with the venue's previous booking. A clashing booking
+     * starts on the same day and at the same time as the previous one, so the two always overlap.
+     *
+     * @param rate the double-booking rate, between 0 and 1; 0 (the default) means no double-bookings
+     * @return this generator
+     */
+    public DatasetGenerator withDoubleBookings(double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Double-booking rate must be between 0 and 1");
+        }
+        this.doubleBookingRate = rate;
+        return this;
+    }
+
+    /**
+     * Sets the first event date.
+     *
+     * @param startDate the first event date
+     * @return this generator
+     */
+    public DatasetGenerator withStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+        return this;
+    }
+
+    public int getVenueCount() {
+        return venueCount;
+    }
+
+    public int getClientCount() {
+        return clientCount;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Writes the venues and events as {@code venues.csv} and {@code requests.csv} in the given directory.
+     *
+     * @param directory the output directory, created if it does not exist
+     * @throws IOException if the files cannot be written
+     */
+    public void writeCSV(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (BufferedWriter venues = Files.newBufferedWriter(directory.resolve("venues.csv"));
+             BufferedWriter events = Files.newBufferedWriter(directory.resolve("requests.csv"))) {
+            venues.write("Name,Capacity,Suitable for,Category,Booking price / hour");
+            venues.newLine();
+            events.write("Client,Title,Artist,Date,Time,Duration,Target Audience,Type,Category");
+            events.newLine();
+            generate(new CSVSink(venues, events));
+        }
+    }
+
+    /**
+     * Inserts the generated data into the database returned by {@link DatabaseHandler#getConnection()}.
+     * <p>
+     * Rows are appended after the highest existing IDs and inserted in a single transaction. Bookings are made by
+     * the existing users in turn, or by "generator" if there are none. The reporting summaries are rebuilt
+     * afterwards.
+     * </p>
+     *
+     * @throws SQLException if a database access error occurs; no rows are inserted in that case
+     */
+    public void writeDatabase() throws SQLException {
+        try (Connection connection = DatabaseHandler.getConnection()) {
+            connection.setAutoCommit(false);
+            try (DatabaseSink sink = new DatabaseSink(connection)) {
+                generate(sink);
+                sink.flush();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+        ReportingDAO.rebuildSummaries();
+    }
+
+    /**
+     * Generates the data set and passes each row to the sink.
+     *
+     * @param sink the destination for the rows
+     * @param <X>  the type of exception the sink throws
+     * @throws X if the sink fails
+     */
+    private <X extends Exception> void generate(Sink<X> sink) throws X {
+        Random random = new Random(seed);
+
+        // Venues. Their attributes are kept so that booked events can be fitted to the venue.
+        VenueCategory[] categories = new VenueCategory[venueCount];
+        int[] capacities = new int[venueCount];
+        byte[] firstType = new byte[venueCount];
+        byte[] typeCount = new byte[venueCount];
+        for (int v = 0; v < venueCount; v++) {
+            int roll = random.nextInt(10);
+            categories[v] = roll < 6 ? VenueCategory.INDOOR : roll < 8 ? VenueCategory.OUTDOOR : VenueCategory.CONVERTIBLE;
+            capacities[v] = roundTo(logUniform(random, 50, 20_000), 50);
+            double price = roundTo((int) (100 + capacities[v] * (0.3 + random.nextDouble() * 0.4)), 50);
+
+            int start = switch (categories[v]) {
+                case INDOOR -> random.nextInt(5);
+                case OUTDOOR -> 4 + random.nextInt(4);
+                case CONVERTIBLE -> random.nextInt(VENUE_TYPES.length);
+            };
+            firstType[v] = (byte) start;
+            typeCount[v] = (byte) Math.min(1 + random.nextInt(3), VENUE_TYPES.length - start);
+            List<String> types = Arrays.asList(VENUE_TYPES).subList(start, start + typeCount[v]);
+
+            sink.venue(new VenueSpec(v + 1, compoundName(v, VENUE_ADJECTIVES, VENUE_NOUNS, "The "),
+                    categories[v], capacities[v], price, types));
+        }
+
+        for (int c = 0; c < clientCount; c++) {
+            sink.client(c + 1, compoundName(c, CLIENT_FIRST, CLIENT_LAST, ""));
+        }
+
+        // Events and bookings. Each venue's bookings move forward through the calendar one day at a time, so a
+        // venue is never booked twice on the same day unless a clash is requested.
+        int artistCount = Math.max(1, eventCount / 4);
+        int[] nextFreeDay = new int[venueCount];
+        int[] lastBookedDay = new int[venueCount];
+        LocalTime[] lastBookedTime = new LocalTime[venueCount];
+        Arrays.fill(lastBookedDay, -1);
+        for (int e = 0; e < eventCount; e++) {
+            int client = random.nextInt(clientCount);
+            String artist = compoundName(random.nextInt(artistCount), ARTIST_FIRST, ARTIST_LAST, "");
+            String title = artist + " " + TITLE_SUFFIXES[random.nextInt(TITLE_SUFFIXES.length)];
+            LocalTime time = LocalTime.of(START_HOURS[weighted(random, START_HOUR_WEIGHTS)], random.nextInt(4) == 0 ? 30 : 0);
+            int duration = 1 + weighted(random, DURATION_WEIGHTS);
+
+            if (random.nextDouble() >= bookingRate) {
+                LocalDate date = startDate.plusDays(random.nextInt(EVENT_DAYS));
+                VenueCategory category = VenueCategory.values()[random.nextInt(VenueCategory.values().length)];
+                String type = VENUE_TYPES[random.nextInt(VENUE_TYPES.length)];
+                int audience = roundTo(logUniform(random, 50, 20_000), 10);
+                sink.event(new EventSpec(e + 1, title, artist, date, time, duration, audience, type, category,
+                        client + 1, compoundName(client, CLIENT_FIRST, CLIENT_LAST, "")));
+                continue;
+            }
+
+            int v = random.nextInt(venueCount);
+            int day;
+            if (lastBookedDay[v] >= 0 && random.nextDouble() < doubleBookingRate) {
+                day = lastBookedDay[v];
+                time = lastBookedTime[v];
+            } else {
+                day = nextFreeDay[v] + random.nextInt(MAX_BOOKING_GAP);
+                nextFreeDay[v] = day + 1;
+            }
+            lastBookedDay[v] = day;
+            lastBookedTime[v] = time;
+
+            LocalDate date = startDate.plusDays(day);
+            VenueCategory category = categories[v] == VenueCategory.CONVERTIBLE
+                    ? VenueCategory.values()[random.nextInt(VenueCategory.values().length)]
+                    : categories[v];
+            String type = VENUE_TYPES[firstType[v] + random.nextInt(typeCount[v])];
+            int audience = Math.max(10, roundTo((int) (capacities[v] * (0.3 + random.nextDouble() * 0.7)), 10));
+            int roll = random.nextInt(20);
+            BookingStatus status = roll < 14 ? BookingStatus.CONFIRMED : roll < 17 ? BookingStatus.PENDING : BookingStatus.CANCELLED;
+            LocalDate bookingDate = date.minusDays(1 + random.nextInt(90));
+
+            sink.event(new EventSpec(e + 1, title, artist, date, time, duration, audience, type, category,
+                    client + 1, compoundName(client, CLIENT_FIRST, CLIENT_LAST, "")));
+            sink.booking(new BookingSpec(e + 1, v + 1, client + 1, bookingDate, status));
+        }
+    }
+
+    /**
+     * Builds a unique name from two word lists, adding a number once every combination has been used.
+     *
+     * @param index  the zero-based index of the name
+     * @param first  the first words
+     * @param second the second words
+     * @param prefix text to put before the name
+     * @return the name
+     */
+    private static String compoundName(int index, String[] first, String[] second, String prefix) {
+        int combinations = first.length * second.length;
+        String name = prefix + first[index % first.length] + " " + second[(index / first.length) % second.length];
+        return index < combinations ? name : name + " " + (index / combinations + 1);
+    }
+
+    /**
+     * Returns a random value between the bounds with a logarithmic distribution, so small values are more common.
+     */
+    private static int logUniform(Random random, int min, int max) {
+        return (int) Math.round(min * Math.pow((double) max / min, random.nextDouble()));
+    }
+
+    private static int roundTo(int value, int step) {
+        return Math.max(step, Math.round((float) value / step) * step);
+    }
+
+    /**
+     * Picks an index with probability proportional to its weight.
+     */
+    private static int weighted(Random random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    /**
+     * Generates a data set from the command line.
+     * <p>
+     * Options: {@code --rows} (events, default 1000), {@code --seed} (default 42), {@code --format} ({@code csv}
+     * or {@code db}, default {@code csv}), {@code --out} (directory for CSV files or database file, default
+     * {@code generated}), and {@code --double-bookings} (rate, default 0).
+     * </p>
+     *
+     * @param args the command-line options
+     */
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i], args[i + 1]);
+        }
+        int rows = Integer.parseInt(options.getOrDefault("--rows", "1000"));
+        long seed = Long.parseLong(options.getOrDefault("--seed", "42"));
+        String format = options.getOrDefault("--format", "csv");
+        String out = options.getOrDefault("--out", "generated");
+        DatasetGenerator generator = ofScale(rows, seed)
+                .withDoubleBookings(Double.parseDouble(options.getOrDefault("--double-bookings", "0")));
+
+        try {
+            if (format.equalsIgnoreCase("db")) {
+                System.setProperty(DatabaseHandler.DB_URL_PROPERTY, "jdbc:sqlite:" + out);
+                DatabaseHandler.initialiseDatabase();
+                generator.writeDatabase();
+            } else {
+                generator.writeCSV(Path.of(out));
+            }
+            System.out.println("Generated " + generator.getVenueCount() + " venues, " + generator.getClientCount()
+                    + " clients and " + generator.getEventCount() + " events in " + out);
+        } catch (IOException | SQLException e) {
+            e.printStackTrace();
+            System.err.println("Error generating data set: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * A generated venue.
+     *
+     * @param number    the one-based venue number
+     * @param name      the venue name
+     * @param category  the venue category
+     * @param capacity  the venue capacity
+     * @param hirePrice the hire price per hour
+     * @param types     the venue types
+     */
+    private record VenueSpec(int number, String name, VenueCategory category, int capacity, double hirePrice,
+                             List<String> types) {}
+
+    /**
+     * A generated event.
+     *
+     * @param number     the one-based event number
+     * @param title      the event title
+     * @param artist     the artist
+     * @param date       the event date
+     * @param time       the start time
+     * @param duration   the duration in hours
+     * @param audience   the expected audience
+     * @param type       the event type
+     * @param category   the required venue category
+     * @param client     the one-based client number
+     * @param clientName the client name
+     */
+    private record EventSpec(int number, String title, String artist, LocalDate date, LocalTime time, int duration,
+                             int audience, String type, VenueCategory category, int client, String clientName) {}
+
+    /**
+     * A generated booking.
+     *
+     * @param event       the one-based event number
+     * @param venue       the one-based venue number
+     * @param client      the one-based client number
+     * @param bookingDate the date the booking was made
+     * @param status      the booking status
+     */
+    private record BookingSpec(int event, int venue, int client, LocalDate bookingDate, BookingStatus status) {}
+
+    /**
+     * Receives generated rows.
+     *
+     * @param <X> the type of exception thrown when a row cannot be written
+     */
+    private interface Sink<X extends Exception> {
+        void venue(VenueSpec venue) throws X;
+
+        void client(int number, String name) throws X;
+
+        void event(EventSpec event) throws X;
+
+        void booking(BookingSpec booking) throws X;
+    }
+
+    /**
+     * Writes venues and events in the {@link service.CSVHandler} formats. Clients are written as part of each
+     * event row and bookings are skipped.
+     */
+    private static final class CSVSink implements Sink<IOException> {
+        private final BufferedWriter venues;
+        private final BufferedWriter events;
+
+        private CSVSink(BufferedWriter venues, BufferedWriter events) {
+            this.venues = venues;
+            this.events = events;
+        }
+
+        @Override
+        public void venue(VenueSpec venue) throws IOException {
+            String category = venue.category().name().charAt(0) + venue.category().name().substring(1).toLowerCase();
+            venues.write(venue.name() + "," + venue.capacity() + "," + String.join("; ", venue.types()) + ","
+                    + category + "," + (int) venue.hirePrice());
+            venues.newLine();
+        }
+
+        @Override
+        public void client(int number, String name) {
+            // Clients are named in each event row.
+        }
+
+        @Override
+        public void event(EventSpec event) throws IOException {
+            LocalDate date = event.date();
+            LocalTime time = event.time();
+            String startTime = time.getMinute() == 0
+                    ? (time.getHour() % 12 == 0 ? 12 : time.getHour() % 12) + (time.getHour() < 12 ? "am" : "pm")
+                    : time.toString();
+            events.write(event.clientName() + ", " + event.title() + ", " + event.artist() + ", "
+                    + date.getDayOfMonth() + "-" + date.getMonthValue() + "-" + String.format("%02d", date.getYear() % 100)
+                    + ", " + startTime + "," + event.duration() + "," + event.audience() + ", " + event.type()
+                    + ", " + event.category().name().toLowerCase());
+            events.newLine();
+        }
+
+        @Override
+        public void booking(BookingSpec booking) {
+            // The CSV formats have no booking file.
+        }
+    }
+
+    /**
+     * Inserts rows with batched prepared statements, offsetting the generated numbers by the highest existing IDs.
+     * <p>
+     * Client names are unique regardless of case, and the generator produces the same names on every run, so a
+     * client whose name is already in the database is reused rather than inserted again.
+     * </p>
+     */
+    private static final class DatabaseSink implements Sink<SQLException>, AutoCloseable {
+        private final PreparedStatement venueStmt;
+        private final PreparedStatement venueTypeStmt;
+        private final PreparedStatement clientStmt;
+        private final PreparedStatement eventStmt;
+        private final PreparedStatement bookingStmt;
+        private final List<PreparedStatement> statements;
+        private final Map<String, Integer> venueTypeIds = new HashMap<>();
+        private final List<String> usernames = new ArrayList<>();
+        private final Map<String, Integer> existingClients = new HashMap<>();
+        private final IntIntHashMap clientIds = new IntIntHashMap(0);
+        private final int venueBase;
+        private final int clientBase;
+        private final int eventBase;
+        private int pending;
+        private int bookingCount;
+
+        private DatabaseSink(Connection connection) throws SQLException {
+            venueBase = maxId(connection, "venue_id", "venues");
+            clientBase = maxId(connection, "client_id", "clients");
+            eventBase = maxId(connection, "event_id", "events");
+
+            try (PreparedStatement insertType = connection.prepareStatement("INSERT OR IGNORE INTO venue_types (venue_type) VALUES (?)")) {
+                for (String type : VENUE_TYPES) {
+                    insertType.setString(1, type);
+                    insertType.addBatch();
+                }
+                insertType.executeBatch();
+            }
+            try (Statement stmt = connection.createStatement()) {
+                try (ResultSet rs = stmt.executeQuery("SELECT venue_type_id, venue_type FROM venue_types")) {
+                    while (rs.next()) {
+                        venueTypeIds.put(rs.getString("venue_type"), rs.getInt("venue_type_id"));
+                    }
+                }
+                try (ResultSet rs = stmt.executeQuery("SELECT user_name FROM users ORDER BY user_id")) {
+                    while (rs.next()) {
+                        usernames.add(rs.getString("user_name"));
+                    }
+                }
+                try (ResultSet rs = stmt.executeQuery("SELECT client_id, client_name FROM clients")) {
+                    while (rs.next()) {
+                        existingClients.put(rs.getString("client_name").toLowerCase(Locale.ROOT), rs.getInt("client_id"));
+                    }
+                }
+            }
+            if (usernames.isEmpty()) {
+                usernames.add("generator");
+            }
+
+            venueStmt = connection.prepareStatement(
+                    "INSERT INTO venues (venue_id, venue_name, venue_category, venue_capacity, hire_price) VALUES (?, ?, ?, ?, ?)");
+            venueTypeStmt = connection.prepareStatement(
+                    "INSERT INTO venue_types_venues (venue_type_id, venue_id) VALUES (?, ?)");
+            clientStmt = connection.prepareStatement(
+                    "INSERT INTO clients (client_id, client_name) VALUES (?, ?)");
+            eventStmt = connection.prepareStatement("""
+                    INSERT INTO events (event_id, event_name, event_artist, event_date, event_time, event_end_time,
+                                        event_duration, required_capacity, event_type, event_category, client_id)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """);
+            bookingStmt = connection.prepareStatement("""
+                    INSERT INTO bookings (booking_date, booking_status, event_id, venue_id, client_id, booked_by)
+                    VALUES (?, ?, ?, ?, ?, ?)
+                    """);
+            statements = List.of(venueStmt, venueTypeStmt, clientStmt, eventStmt, bookingStmt);
+        }
+
+        private static int maxId(Connection connection, String column, String table) throws SQLException {
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table)) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+
+        @Override
+        public void venue(VenueSpec venue) throws SQLException {
+            int venueId = venueBase + venue.number();
+            venueStmt.setInt(1, venueId);
+            venueStmt.setString(2, venue.name());
+            venueStmt.setString(3, venue.category().name());
+            venueStmt.setInt(4, venue.capacity());
+            venueStmt.setDouble(5, venue.hirePrice());
+            venueStmt.addBatch();
+            for (String type : venue.types()) {
+                venueTypeStmt.setInt(1, venueTypeIds.get(type));
+                venueTypeStmt.setInt(2, venueId);
+                venueTypeStmt.addBatch();
+            }
+            added();
+        }
+
+        @Override
+        public void client(int number, String name) throws SQLException {
+            Integer existing = existingClients.get(name.toLowerCase(Locale.ROOT));
+            if (existing != null) {
+                clientIds.put(number, existing);
+                return;
+            }
+            clientIds.put(number, clientBase + number);
+            clientStmt.setInt(1, clientBase + number);
+            clientStmt.setString(2, name);
+            clientStmt.addBatch();
+            added();
+        }
+
+        @Override
+        public void event(EventSpec event) throws SQLException {
+            eventStmt.setInt(1, eventBase + event.number());
+            eventStmt.setString(2, event.title());
+            eventStmt.setString(3, event.artist());
+            eventStmt.setString(4, String.valueOf(event.date().toEpochDay()));
+            eventStmt.setString(5, event.time().toString());
+            eventStmt.setString(6, event.time().plusHours(event.duration()) + ":00");
+            eventStmt.setInt(7, event.duration());
+            eventStmt.setInt(8, event.audience());
+            eventStmt.setString(9, event.type());
+            eventStmt.setString(10, event.category().name());
+            eventStmt.setInt(11, clientIds.get(event.client()));
+            eventStmt.addBatch();
+            added();
+        }
+
+        @Override
+        public void booking(BookingSpec booking) throws SQLException {
+            bookingStmt.setString(1, String.valueOf(booking.bookingDate().toEpochDay()));
+            bookingStmt.setString(2, booking.status().name());
+            bookingStmt.setInt(3, eventBase + booking.event());
+            bookingStmt.setInt(4, venueBase + booking.venue());
+            bookingStmt.setInt(5, clientIds.get(booking.client()));
+            bookingStmt.setString(6, usernames.get(bookingCount++ % usernames.size()));
+            bookingStmt.addBatch();
+            added();
+        }
+
+        /**
+         * Executes the pending batches once enough rows have been queued.
+         */
+        private void added() throws SQLException {
+            if (++pending >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        /**
+         * Executes every pending batch, parents before children.
+         */
+        private void flush() throws SQLException {
+            for (PreparedStatement statement : statements) {
+                statement.executeBatch();
+            }
+            pending = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            for (PreparedStatement statement : statements) {
+                statement.close();
+            }
+        }
+    }
+}
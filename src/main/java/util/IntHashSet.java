@@ -0,0 +1,223 @@
+package util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A set of {@code int} values, such as record IDs, stored without boxing.
+ * <p>
+ * Values are kept in a single open-addressing table with linear probing, so adding and probing an ID touches one
+ * or two adjacent array slots instead of allocating an {@code Integer} and following a {@code HashMap} node. An
+ * empty slot holds 0, and the value 0 itself is tracked by a flag outside the table. Removal shifts the following
+ * entries back rather than leaving tombstones, so probe lengths stay short after deletes.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class IntHashSet {
+
+    private int[] keys;
+    private boolean containsZero;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    /**
+     * Creates an empty set.
+     */
+    public IntHashSet() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty set sized to hold the given number of values without resizing.
+     *
+     * @param expectedSize the number of values expected
+     */
+    public IntHashSet(int expectedSize) {
+        allocate(IntHashing.tableSize(expectedSize));
+    }
+
+    /**
+     * Adds a value to the set.
+     *
+     * @param key the value to add
+     * @return {@code true} if the value was not already in the set
+     */
+    public boolean add(int key) {
+        if (key == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int slot = IntHashing.slot(key, mask);
+        int current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++size > resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a value is in the set.
+     *
+     * @param key the value to look for
+     * @return {@code true} if the set contains the value
+     */
+    public boolean contains(int key) {
+        if (key == 0) {
+            return containsZero;
+        }
+        int slot = IntHashing.slot(key, mask);
+        int current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes a value from the set.
+     *
+     * @param key the value to remove
+     * @return {@code true} if the value was in the set
+     */
+    public boolean remove(int key) {
+        if (key == 0) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int slot = IntHashing.slot(key, mask);
+        int current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                shiftBack(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of values in the set.
+     *
+     * @return the size of the set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the set is empty.
+     *
+     * @return {@code true} if the set has no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every value, keeping the current capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    /**
+     * Passes each value in the set to an action, in no particular order.
+     *
+     * @param action the action to run for each value
+     */
+    public void forEach(IntConsumer action) {
+        if (containsZero) {
+            action.accept(0);
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the values in the set as an array, in no particular order.
+     *
+     * @return a new array of the values
+     */
+    public int[] toArray() {
+        int[] values = new int[size];
+        int i = containsZero ? 1 : 0;  // The array starts zeroed, so 0 is already in place.
+        for (int key : keys) {
+            if (key != 0) {
+                values[i++] = key;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Empties a slot and moves later entries of the same probe run back into the gap.
+     *
+     * @param gap the slot being emptied
+     */
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int key = keys[slot];
+            if (key == 0) {
+                break;
+            }
+            if (IntHashing.canShift(IntHashing.slot(key, mask), gap, slot)) {
+                keys[gap] = key;
+                gap = slot;
+            }
+        }
+        keys[gap] = 0;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = IntHashing.resizeAt(capacity);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        allocate(capacity);
+        for (int key : oldKeys) {
+            if (key != 0) {
+                int slot = IntHashing.slot(key, mask);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package util;
+
+/**
+ * Table sizing and probing helpers shared by the open-addressing {@code int} collections.
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+final class IntHashing {
+
+    /**
+     * Tables are resized once they are this full, which keeps linear probe runs short.
+     */
+    private static final double LOAD_FACTOR = 0.6;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private IntHashing() {}
+
+    /**
+     * Returns the home slot of a key. Sequential IDs are spread across the table by Fibonacci hashing.
+     *
+     * @param key  the key
+     * @param mask the table capacity minus one
+     * @return the slot to start probing at
+     */
+    static int slot(int key, int mask) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Returns the power-of-two table capacity for an expected number of entries.
+     *
+     * @param expectedSize the number of entries expected
+     * @return the table capacity
+     */
+    static int tableSize(int expectedSize) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 4) / LOAD_FACTOR);
+        if (needed >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    /**
+     * Returns the number of entries a table of the given capacity holds before it is resized.
+     *
+     * @param capacity the table capacity
+     * @return the resize threshold
+     */
+    static int resizeAt(int capacity) {
+        return capacity == MAX_CAPACITY ? capacity - 1 : (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Checks whether the entry at {@code slot}, whose home slot is {@code home}, may move back into {@code gap}
+     * during a removal. It may, unless its home lies cyclically after the gap and at or before its current slot.
+     *
+     * @param home the entry's home slot
+     * @param gap  the empty slot
+     * @param slot the entry's current slot
+     * @return {@code true} if the entry can be moved into the gap
+     */
+    static boolean canShift(int home, int gap, int slot) {
+        return gap <= slot
+                ? home <= gap || home > slot
+                : home <= gap && home > slot;
+    }
+}
@@ -0,0 +1,258 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * A map from {@code int} keys to {@code int} values, such as ID to row position, stored without boxing.
+ * <p>
+ * Uses the same open-addressing layout as {@link IntHashSet}, with the values in a parallel array. Lookups of
+ * absent keys return the map's <em>missing value</em>, chosen when the map is created, rather than {@code null}.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class IntIntHashMap {
+
+    private final int missingValue;
+    private int[] keys;
+    private int[] values;
+    private boolean containsZero;
+    private int zeroValue;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    /**
+     * Creates an empty map.
+     *
+     * @param missingValue the value returned by {@link #get(int)} and {@link #remove(int)} for absent keys
+     */
+    public IntIntHashMap(int missingValue) {
+        this(16, missingValue);
+    }
+
+    /**
+     * Creates an empty map sized to hold the given number of entries without resizing.
+     *
+     * @param expectedSize the number of entries expected
+     * @param missingValue the value returned by {@link #get(int)} and {@link #remove(int)} for absent keys
+     */
+    public IntIntHashMap(int expectedSize, int missingValue) {
+        this.missingValue = missingValue;
+        allocate(IntHashing.tableSize(expectedSize));
+    }
+
+    /**
+     * Returns the value for a key.
+     *
+     * @param key the key
+     * @return the value, or the missing value if the key is absent
+     */
+    public int get(int key) {
+        if (key == 0) {
+            return containsZero ? zeroValue : missingValue;
+        }
+        int slot = IntHashing.slot(key, mask);
+        int current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    /**
+     * Checks whether the map has an entry for a key.
+     *
+     * @param key the key
+     * @return {@code true} if the key is present
+     */
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return containsZero;
+        }
+        int slot = IntHashing.slot(key, mask);
+        int current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Sets the value for a key.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the previous value, or the missing value if the key was absent
+     */
+    public int put(int key, int value) {
+        if (key == 0) {
+            int previous = containsZero ? zeroValue : missingValue;
+            if (!containsZero) {
+                containsZero = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+        int slot = IntHashing.slot(key, mask);
+        int current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return missingValue;
+    }
+
+    /**
+     * Removes the entry for a key.
+     *
+     * @param key the key
+     * @return the removed value, or the missing value if the key was absent
+     */
+    public int remove(int key) {
+        if (key == 0) {
+            if (!containsZero) {
+                return missingValue;
+            }
+            containsZero = false;
+            size--;
+            return zeroValue;
+        }
+        int slot = IntHashing.slot(key, mask);
+        int current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                int previous = values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    /**
+     * Returns the number of entries in the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the map is empty.
+     *
+     * @return {@code true} if the map has no entries
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every entry, keeping the current capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    /**
+     * Passes each entry to an action, in no particular order.
+     *
+     * @param action the action to run for each key and value
+     */
+    public void forEach(EntryConsumer action) {
+        if (containsZero) {
+            action.accept(0, zeroValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                action.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /**
+     * Empties a slot and moves later entries of the same probe run back into the gap.
+     *
+     * @param gap the slot being emptied
+     */
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int key = keys[slot];
+            if (key == 0) {
+                break;
+            }
+            if (IntHashing.canShift(IntHashing.slot(key, mask), gap, slot)) {
+                keys[gap] = key;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = 0;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = IntHashing.resizeAt(capacity);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != 0) {
+                int slot = IntHashing.slot(key, mask);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * An action taking one map entry.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        /**
+         * Runs the action for one entry.
+         *
+         * @param key   the entry's key
+         * @param value the entry's value
+         */
+        void accept(int key, int value);
+    }
+}
@@ -0,0 +1,315 @@
+package util;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON writer and reader for the HTTP API.
+ * <p>
+ * {@link #write(Object)} renders maps, collections, strings, numbers, booleans, {@code null}, enums and
+ * {@code java.time} values (as their ISO strings). {@link #parse(String)} reads any JSON document into the same
+ * shapes: objects become {@link LinkedHashMap}s, arrays {@link ArrayList}s, and numbers {@link Long} or
+ * {@link Double}. Objects and arrays may be nested at most {@link #MAX_DEPTH} deep, so a hostile document cannot
+ * exhaust the reader's stack.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public final class Json {
+
+    /** The deepest nesting of objects and arrays {@link #parse(String)} accepts. */
+    public static final int MAX_DEPTH = 64;
+
+    private Json() {}
+
+    /**
+     * Thrown when a document is not valid JSON.
+     */
+    public static class ParseException extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        ParseException(String message, int position) {
+            super(message + " at position " + position);
+        }
+    }
+
+    /**
+     * Renders a value as JSON.
+     *
+     * @param value the value
+     * @return the JSON text
+     */
+    public static String write(Object value) {
+        StringBuilder out = new StringBuilder();
+        write(value, out);
+        return out.toString();
+    }
+
+    /**
+     * Parses a JSON document.
+     *
+     * @param text the JSON text
+     * @return the value: a {@code Map}, {@code List}, {@code String}, {@code Long}, {@code Double}, {@code Boolean}
+     *         or {@code null}
+     * @throws ParseException if the text is not a single valid JSON value, or nests objects and arrays more than
+     *                        {@link #MAX_DEPTH} deep
+     */
+    public static Object parse(String text) {
+        Reader reader = new Reader(text);
+        Object value = reader.value();
+        reader.skipWhitespace();
+        if (reader.pos < text.length()) {
+            throw new ParseException("Unexpected text after the value", reader.pos);
+        }
+        return value;
+    }
+
+    private static void write(Object value, StringBuilder out) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof String || value instanceof Enum<?> || value instanceof TemporalAccessor) {
+            quote(value.toString(), out);
+        } else if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            if (Double.isFinite(number)) {
+                out.append(number == Math.rint(number) && Math.abs(number) < 1e15 ? Long.toString((long) number)
+                                                                                  : Double.toString(number));
+            } else {
+                out.append("null");
+            }
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value);
+        } else if (value instanceof Map<?, ?> map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                quote(String.valueOf(entry.getKey()), out);
+                out.append(':');
+                write(entry.getValue(), out);
+            }
+            out.append('}');
+        } else if (value instanceof Collection<?> collection) {
+            out.append('[');
+            boolean first = true;
+            for (Object element : collection) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                write(element, out);
+            }
+            out.append(']');
+        } else {
+            throw new IllegalArgumentException("Cannot write " + value.getClass().getName() + " as JSON");
+        }
+    }
+
+    private static void quote(String text, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * A recursive-descent reader over one document.
+     */
+    private static final class Reader {
+        private final String text;
+        private int pos;
+        private int depth;
+
+        Reader(String text) {
+            this.text = text;
+        }
+
+        Object value() {
+            skipWhitespace();
+            if (pos >= text.length()) {
+                throw new ParseException("Unexpected end of input", pos);
+            }
+            char c = text.charAt(pos);
+            return switch (c) {
+                case '{', '[' -> {
+                    if (++depth > MAX_DEPTH) {
+                        throw new ParseException("Nested more than " + MAX_DEPTH + " deep", pos);
+                    }
+                    Object nested = c == '{' ? object() : array();
+                    depth--;
+                    yield nested;
+                }
+                case '"' -> string();
+                case 't' -> literal("true", Boolean.TRUE);
+                case 'f' -> literal("false", Boolean.FALSE);
+                case 'n' -> literal("null", null);
+                default -> {
+                    if (c == '-' || (c >= '0' && c <= '9')) {
+                        yield number();
+                    }
+                    throw new ParseException("Unexpected character '" + c + "'", pos);
+                }
+            };
+        }
+
+        private Map<String, Object> object() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            pos++;
+            skipWhitespace();
+            if (peek('}')) {
+                pos++;
+                return map;
+            }
+            while (true) {
+                skipWhitespace();
+                if (!peek('"')) {
+                    throw new ParseException("Expected a member name", pos);
+                }
+                String key = string();
+                skipWhitespace();
+                expect(':');
+                map.put(key, value());
+                skipWhitespace();
+                if (peek(',')) {
+                    pos++;
+                } else {
+                    expect('}');
+                    return map;
+                }
+            }
+        }
+
+        private List<Object> array() {
+            List<Object> list = new ArrayList<>();
+            pos++;
+            skipWhitespace();
+            if (peek(']')) {
+                pos++;
+                return list;
+            }
+            while (true) {
+                list.add(value());
+                skipWhitespace();
+                if (peek(',')) {
+                    pos++;
+                } else {
+                    expect(']');
+                    return list;
+                }
+            }
+        }
+
+        private String string() {
+            StringBuilder out = new StringBuilder();
+            pos++;
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return out.toString();
+                }
+                if (c != '\\') {
+                    out.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) {
+                    break;
+                }
+                char escape = text.charAt(pos++);
+                switch (escape) {
+                    case '"', '\\', '/' -> out.append(escape);
+                    case 'b' -> out.append('\b');
+                    case 'f' -> out.append('\f');
+                    case 'n' -> out.append('\n');
+                    case 'r' -> out.append('\r');
+                    case 't' -> out.append('\t');
+                    case 'u' -> {
+                        if (pos + 4 > text.length()) {
+                            throw new ParseException("Incomplete unicode escape", pos);
+                        }
+                        try {
+                            out.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw new ParseException("Invalid unicode escape", pos);
+                        }
+                        pos += 4;
+                    }
+                    default -> throw new ParseException("Invalid escape '\\" + escape + "'", pos - 1);
+                }
+            }
+            throw new ParseException("Unterminated string", pos);
+        }
+
+        private Object number() {
+            int start = pos;
+            if (peek('-')) {
+                pos++;
+            }
+            boolean integral = true;
+            while (pos < text.length()) {
+                char c = text.charAt(pos);
+                if (c >= '0' && c <= '9') {
+                    pos++;
+                } else if (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                    integral = false;
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+            String number = text.substring(start, pos);
+            try {
+                return integral ? (Object) Long.parseLong(number) : (Object) Double.parseDouble(number);
+            } catch (NumberFormatException e) {
+                throw new ParseException("Invalid number '" + number + "'", start);
+            }
+        }
+
+        private Object literal(String word, Object value) {
+            if (!text.startsWith(word, pos)) {
+                throw new ParseException("Unexpected text", pos);
+            }
+            pos += word.length();
+            return value;
+        }
+
+        private boolean peek(char c) {
+            return pos < text.length() && text.charAt(pos) == c;
+        }
+
+        private void expect(char c) {
+            if (!peek(c)) {
+                throw new ParseException("Expected '" + c + "'", pos);
+            }
+            pos++;
+        }
+
+        void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
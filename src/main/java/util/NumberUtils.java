@@ -9,6 +9,10 @@ import java.util.Locale;
  * The {@code NumberUtils} class provides static helper methods to format numeric values according
  * to the US locale. This class follows the utility class pattern and should not be instantiated.
  * </p>
+ * <p>
+ * {@code NumberFormat} is expensive to create and is not thread-safe, so each thread reuses its own
+ * formatter instances rather than model objects or callers creating one per value.
+ * </p>
  *
  * @author Bodene Downie
  * @version 1.0
@@ -20,6 +24,12 @@ public class NumberUtils {
      */
     private NumberUtils() {}
 
+    private static final ThreadLocal<NumberFormat> CURRENCY_FORMAT =
+            ThreadLocal.withInitial(() -> NumberFormat.getCurrencyInstance(Locale.US));
+
+    private static final ThreadLocal<NumberFormat> NUMBER_FORMAT =
+            ThreadLocal.withInitial(() -> NumberFormat.getInstance(Locale.US));
+
     /**
      * Formats a double value as currency using the US locale.
      * <p>
@@ -30,8 +40,7 @@ public class NumberUtils {
      * @return a formatted currency string
      */
     public static String formatCurrency(double value) {
-        NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(Locale.US);
-        return currencyFormat.format(value);
+        return CURRENCY_FORMAT.get().format(value);
     }
 
     /**
@@ -44,7 +53,6 @@ public class NumberUtils {
      * @return a formatted number string
      */
     public static String formatNumber(int value) {
-        NumberFormat numberFormat = NumberFormat.getInstance(Locale.US);
-        return numberFormat.format(value);
+        return NUMBER_FORMAT.get().format(value);
     }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package util;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The rule for when two bookings' time slots clash, shared by the database checks and the in-memory checks.
+ * <p>
+ * A slot runs from its event's start for the event's duration, as a half-open interval of minutes since the epoch,
+ * so it may run past midnight into the next day. Two slots overlap if each starts before the other ends; a slot
+ * that ends exactly when another starts does not overlap it. The SQL form of the rule computes the same minutes
+ * from the <em>events</em> table's date, start time and duration, so a booking accepted by one check is accepted
+ * by the other.
+ * </p>
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public final class TimeSlots {
+
+    /** The number of minutes in one day. */
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private TimeSlots() {}
+
+    /**
+     * Returns the minute since the epoch at which a slot starts.
+     *
+     * @param date  the date of the event
+     * @param start the start time of the event
+     * @return the start minute
+     */
+    public static long startMinute(LocalDate date, LocalTime start) {
+        return date.toEpochDay() * MINUTES_PER_DAY + start.toSecondOfDay() / 60;
+    }
+
+    /**
+     * Returns the minute since the epoch at which a slot ends.
+     *
+     * @param date          the date of the event
+     * @param start         the start time of the event
+     * @param durationHours the duration of the event in hours
+     * @return the end minute, which falls on a later date if the slot runs past midnight
+     */
+    public static long endMinute(LocalDate date, LocalTime start, int durationHours) {
+        return startMinute(date, start) + durationHours * 60L;
+    }
+
+    /**
+     * Checks whether two slots overlap.
+     *
+     * @param start      the start minute of the first slot
+     * @param end        the end minute of the first slot
+     * @param otherStart the start minute of the second slot
+     * @param otherEnd   the end minute of the second slot
+     * @return {@code true} if each slot starts before the other ends
+     */
+    public static boolean overlaps(long start, long end, long otherStart, long otherEnd) {
+        return start < otherEnd && otherStart < end;
+    }
+
+    /**
+     * Returns an SQL condition that holds when an event's slot overlaps a given slot, using the same rule as
+     * {@link #overlaps}.
+     * <p>
+     * The condition has two parameters, bound in order to the start and end minute of the given slot. The event's
+     * minutes are computed from its date, start time and duration rather than its stored end time, which is a
+     * time of day and wraps at midnight.
+     * </p>
+     *
+     * @param events the name or alias of the <em>events</em> table in the query
+     * @return the SQL condition
+     */
+    public static String overlapsSql(String events) {
+        return "? < " + endMinuteSql(events) + " AND " + startMinuteSql(events) + " < ?";
+    }
+
+    /**
+     * Returns an SQL expression for the minute since the epoch at which an event starts.
+     *
+     * @param events the name or alias of the <em>events</em> table in the query
+     * @return the SQL expression
+     */
+    public static String startMinuteSql(String events) {
+        return "(CAST(" + events + ".event_date AS INTEGER) * " + MINUTES_PER_DAY
+                + " + CAST(substr(" + events + ".event_time, 1, 2) AS INTEGER) * 60"
+                + " + CAST(substr(" + events + ".event_time, 4, 2) AS INTEGER))";
+    }
+
+    /**
+     * Returns an SQL expression for the minute since the epoch at which an event ends.
+     *
+     * @param events the name or alias of the <em>events</em> table in the query
+     * @return the SQL expression
+     */
+    public static String endMinuteSql(String events) {
+        return "(" + startMinuteSql(events) + " + " + events + ".event_duration * 60)";
+    }
+}
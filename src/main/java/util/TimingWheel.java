@@ -0,0 +1,165 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hashed timing wheel: a timer for many items that each expire at their own deadline.
+ * <p>
+ * Time is divided into ticks of fixed length. The wheel has a power-of-two number of buckets, and an item due in
+ * tick {@code t} is kept in bucket {@code t mod size}. Scheduling and cancelling cost O(1), and advancing by one
+ * tick visits only that tick's bucket, so the cost of finding the due items follows the number of items per
+ * bucket rather than the number of items scheduled. Items due more than one turn of the wheel ahead share a
+ * bucket with nearer items and are skipped until their turn.
+ * </p>
+ * <p>
+ * An item is reported no earlier than its deadline and at most one tick, plus the caller's advancing interval,
+ * after it. The wheel is safe for use from several threads.
+ * </p>
+ *
+ * @param <T> the type of the scheduled items
+ *
+ * @author  Bodene Downie
+ * @version 1.0
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<List<Timeout<T>>> buckets;
+
+    /** The next tick to be processed. */
+    private long nextTick;
+    private int size;
+
+    /**
+     * Creates an empty wheel.
+     *
+     * @param tickMillis  the length of one tick in milliseconds
+     * @param wheelSize   the number of buckets, rounded up to a power of two
+     * @param startMillis the time the wheel starts at, in epoch milliseconds
+     */
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("The tick length and wheel size must be positive");
+        }
+        int buckets = Integer.highestOneBit(Math.max(wheelSize - 1, 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = buckets - 1;
+        this.buckets = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            this.buckets.add(new ArrayList<>());
+        }
+        this.nextTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules an item to expire at a deadline.
+     * <p>
+     * An item whose deadline has already passed expires at the next tick.
+     * </p>
+     *
+     * @param item           the item
+     * @param deadlineMillis when the item expires, in epoch milliseconds
+     * @return a handle for cancelling the item
+     */
+    public synchronized Timeout<T> schedule(T item, long deadlineMillis) {
+        // The first tick starting at or after the deadline, so an item never expires early.
+        long tick = Math.max(-Math.floorDiv(-deadlineMillis, tickMillis), nextTick);
+        Timeout<T> timeout = new Timeout<>(this, item, tick);
+        buckets.get((int) (tick & mask)).add(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel to a time, removing and returning every item due by then.
+     *
+     * @param nowMillis the current time, in epoch milliseconds
+     * @return the due items; cancelled items are never returned
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> due = new ArrayList<>();
+        long lastTick = Math.floorDiv(nowMillis, tickMillis);
+        // Once every bucket has been visited, further ticks would only revisit them.
+        long stop = Math.min(lastTick, nextTick + mask);
+        for (; nextTick <= stop; nextTick++) {
+            expireBucket(buckets.get((int) (nextTick & mask)), lastTick, due);
+        }
+        nextTick = Math.max(nextTick, lastTick + 1);
+        return due;
+    }
+
+    /**
+     * Returns the number of items scheduled and not yet expired or cancelled.
+     *
+     * @return the number of pending items
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void expireBucket(List<Timeout<T>> bucket, long lastTick, List<T> due) {
+        int kept = 0;
+        for (Timeout<T> timeout : bucket) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (timeout.tick <= lastTick) {
+                timeout.expired = true;
+                size--;
+                due.add(timeout.item);
+            } else {
+                bucket.set(kept++, timeout);
+            }
+        }
+        bucket.subList(kept, bucket.size()).clear();
+    }
+
+    private synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.cancelled || timeout.expired) {
+            return false;
+        }
+        // Left in its bucket and dropped when the bucket is next visited.
+        timeout.cancelled = true;
+        size--;
+        return true;
+    }
+
+    /**
+     * The handle of one scheduled item.
+     *
+     * @param <T> the type of the item
+     */
+    public static final class Timeout<T> {
+        private final TimingWheel<T> wheel;
+        private final T item;
+        private final long tick;
+        private boolean cancelled;
+        private boolean expired;
+
+        private Timeout(TimingWheel<T> wheel, T item, long tick) {
+            this.wheel = wheel;
+            this.item = item;
+            this.tick = tick;
+        }
+
+        /**
+         * Returns the scheduled item.
+         *
+         * @return the item
+         */
+        public T getItem() {
+            return item;
+        }
+
+        /**
+         * Cancels the item, so it is never returned by {@link TimingWheel#advance(long)}.
+         *
+         * @return {@code true} if the item was pending, {@code false} if it had already expired or been cancelled
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+    }
+}
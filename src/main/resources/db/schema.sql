@@ -5,6 +5,10 @@ CREATE TABLE IF NOT EXISTS clients (
                                        contact_info TEXT
 );
 
+-- Client names are unique regardless of case, so concurrent find-or-create calls cannot add the same client twice
+-- Existing duplicates are merged by DatabaseHandler before this index is first created
+CREATE UNIQUE INDEX IF NOT EXISTS idx_clients_name ON clients (client_name COLLATE NOCASE);
+
 -- Events Table
 CREATE TABLE IF NOT EXISTS events (
                         event_id INTEGER PRIMARY KEY AUTOINCREMENT,
@@ -45,6 +49,16 @@ CREATE TABLE IF NOT EXISTS bookings (
                                         FOREIGN KEY (booked_by) REFERENCES users(user_id)
 );
 
+-- Booking Holds Table (when each PENDING booking stops holding its slot, in epoch seconds)
+CREATE TABLE IF NOT EXISTS booking_holds (
+                                        booking_id INTEGER PRIMARY KEY,
+                                        expires_at INTEGER NOT NULL,
+                                        FOREIGN KEY (booking_id) REFERENCES bookings(booking_id) ON DELETE CASCADE
+);
+
+-- Holds are loaded, and overdue holds found, by expiry time
+CREATE INDEX IF NOT EXISTS idx_booking_holds_expiry ON booking_holds (expires_at);
+
 -- Users Table
 CREATE TABLE IF NOT EXISTS users (
                                      user_id INTEGER PRIMARY KEY AUTOINCREMENT,
@@ -69,3 +83,21 @@ CREATE TABLE IF NOT EXISTS venue_types_venues (
                                             FOREIGN KEY (venue_type_id) REFERENCES venue_types(venue_type_id),
                                             FOREIGN KEY (venue_id) REFERENCES venues(venue_id)
 );
+
+-- Venue Utilisation Summary Table (materialised, maintained by the booking write paths)
+CREATE TABLE IF NOT EXISTS venue_utilisation_summary (
+                                            venue_id INTEGER PRIMARY KEY,
+                                            confirmed_count INTEGER NOT NULL DEFAULT 0,
+                                            FOREIGN KEY (venue_id) REFERENCES venues(venue_id) ON DELETE CASCADE
+);
+
+-- Client Booking Summary Table (materialised, maintained by the booking write paths)
+CREATE TABLE IF NOT EXISTS client_booking_summary (
+                                            client_id INTEGER PRIMARY KEY,
+                                            confirmed_count INTEGER NOT NULL DEFAULT 0,
+                                            total_hire REAL NOT NULL DEFAULT 0,
+                                            FOREIGN KEY (client_id) REFERENCES clients(client_id) ON DELETE CASCADE
+);
+
+-- Revenue per day is not reported, so the daily summary that earlier versions maintained is removed
+DROP TABLE IF EXISTS daily_revenue_summary;